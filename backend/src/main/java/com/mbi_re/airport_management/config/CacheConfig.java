@@ -0,0 +1,128 @@
+package com.mbi_re.airport_management.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mbi_re.airport_management.dto.FaqDTO;
+import com.mbi_re.airport_management.dto.FlightDTO;
+import com.mbi_re.airport_management.dto.PaymentDTO;
+import com.mbi_re.airport_management.model.Passenger;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.StringUtils;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Cache configuration.
+ * <p>
+ * All Spring caches are Caffeine caches: bounded in size or weight, evicted with W-TinyLFU and
+ * expired after write or access. Every cache uses {@code cache.default-spec} unless
+ * {@code cache.specs[<name>]} gives it its own policy; both are Caffeine specs, e.g.
+ * {@code maximumSize=1000,expireAfterWrite=10m}. With {@code maximumWeight} a cached collection weighs
+ * its number of elements and any other value weighs 1. Statistics are always recorded (see
+ * {@code CacheStatsService}).
+ * </p>
+ * <p>
+ * The caches listed in {@code cache.stale-while-revalidate} keep serving evicted entries while they are
+ * reloaded in the background (see {@link StaleWhileRevalidateCache}); an eviction inside a transaction
+ * takes effect when it commits. The reloads share a small pool of
+ * {@value #RELOAD_THREADS} threads.
+ * </p>
+ * <p>
+ * The tenant-wide collections in {@link #KEYED_COLLECTIONS} are kept as keyed lists that writes patch
+ * one element at a time (see {@link KeyedCollectionCache}); this takes precedence over
+ * {@code cache.stale-while-revalidate}.
+ * </p>
+ */
+@Configuration
+public class CacheConfig {
+
+    /** Policy of caches without their own spec */
+    static final String DEFAULT_SPEC = "maximumSize=500,expireAfterWrite=10m";
+
+    /** Caches of tenant-wide collections patched per element, with the key of their elements */
+    static final Map<String, Function<Object, Object>> KEYED_COLLECTIONS = Map.of(
+            "flights_all", keyOf(FlightDTO.class, FlightDTO::getId),
+            "passengers", keyOf(Passenger.class, Passenger::getId),
+            "faqs", keyOf(FaqDTO.class, FaqDTO::getId),
+            "payments", keyOf(PaymentDTO.class, PaymentDTO::getReference));
+
+    /** Threads reloading stale entries */
+    static final int RELOAD_THREADS = 2;
+
+    /** Reloads waiting for a thread; further reloads are skipped and retried on a later lookup */
+    private static final int RELOAD_QUEUE = 100;
+
+    /**
+     * @param environment the environment holding the cache policies
+     * @return the cache manager
+     * @throws IllegalArgumentException if a spec is invalid
+     */
+    @Bean
+    public CacheManager cacheManager(Environment environment) {
+        Map<String, String> specs = Binder.get(environment)
+                .bind("cache.specs", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+        Set<String> staleWhileRevalidate = StringUtils.commaDelimitedListToSet(
+                environment.getProperty("cache.stale-while-revalidate", ""));
+        return cacheManager(environment.getProperty("cache.default-spec", DEFAULT_SPEC), specs,
+                staleWhileRevalidate, staleWhileRevalidate.isEmpty() ? Runnable::run : reloadExecutor());
+    }
+
+    static CaffeineCacheManager cacheManager(String defaultSpec, Map<String, String> specs) {
+        return cacheManager(defaultSpec, specs, Set.of(), Runnable::run);
+    }
+
+    static CaffeineCacheManager cacheManager(String defaultSpec, Map<String, String> specs,
+                                             Set<String> staleWhileRevalidate, Executor reloadExecutor) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                if (KEYED_COLLECTIONS.containsKey(name)) {
+                    return new KeyedCollectionCache(name, cache, isAllowNullValues(), KEYED_COLLECTIONS.get(name));
+                }
+                return staleWhileRevalidate.contains(name)
+                        ? new StaleWhileRevalidateCache(name, cache, isAllowNullValues(), reloadExecutor)
+                        : super.adaptCaffeineCache(name, cache);
+            }
+        };
+        cacheManager.setCaffeine(builder(defaultSpec));
+        specs.forEach((name, spec) -> cacheManager.registerCustomCache(name, builder(spec).build()));
+        return cacheManager;
+    }
+
+    private static <T> Function<Object, Object> keyOf(Class<T> type, Function<T, Object> key) {
+        return element -> type.isInstance(element) ? key.apply(type.cast(element)) : null;
+    }
+
+    private static Executor reloadExecutor() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-reload-");
+        threadFactory.setDaemon(true);
+        return new ThreadPoolExecutor(RELOAD_THREADS, RELOAD_THREADS, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(RELOAD_QUEUE), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static Caffeine<Object, Object> builder(String spec) {
+        Caffeine<Object, Object> builder = Caffeine.from(spec);
+        if (!spec.contains("recordStats")) {
+            builder.recordStats();
+        }
+        if (spec.contains("maximumWeight")) {
+            builder.weigher((key, value) -> value instanceof Collection<?> collection ? Math.max(1, collection.size()) : 1);
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,190 @@
+package com.mbi_re.airport_management.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * Caffeine cache for tenant-wide collections that writes patch one element at a time.
+ * <p>
+ * Every cached collection is stored as a {@link KeyedList}: an immutable list that also indexes its
+ * elements by their key (e.g. their ID) and carries a version incremented on every patch. Putting a
+ * collection replaces the entry as usual, while putting a single element (e.g. the result of a
+ * {@code @CachePut} method) inserts or replaces that element in the cached collection.
+ * {@link #remove(Cache, Object, Object)} drops one element. Patches are atomic per cache key and
+ * copy the list, so readers always see a complete version. An entry that is not cached is left alone,
+ * to be loaded in full by the next read.
+ * </p>
+ */
+public class KeyedCollectionCache extends CaffeineCache {
+
+    private final Function<Object, Object> keyOf;
+
+    KeyedCollectionCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                         boolean allowNullValues, Function<Object, Object> keyOf) {
+        super(name, cache, allowNullValues);
+        this.keyOf = keyOf;
+    }
+
+    /**
+     * Inserts or replaces an element of a cached collection, or evicts the whole entry if the cache
+     * does not keep keyed collections.
+     *
+     * @param cache   the cache, may be {@code null}
+     * @param key     the cache key of the collection
+     * @param element the new version of the element
+     */
+    public static void upsert(Cache cache, Object key, Object element) {
+        if (cache instanceof KeyedCollectionCache keyed) {
+            keyed.upsertElement(key, element);
+        } else if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    /**
+     * Removes an element from a cached collection, or evicts the whole entry if the cache does not keep
+     * keyed collections.
+     *
+     * @param cache      the cache, may be {@code null}
+     * @param key        the cache key of the collection
+     * @param elementKey the key of the element
+     */
+    public static void remove(Cache cache, Object key, Object elementKey) {
+        if (cache instanceof KeyedCollectionCache keyed) {
+            keyed.getNativeCache().asMap().computeIfPresent(key,
+                    (k, current) -> current instanceof KeyedList list ? list.without(elementKey) : null);
+        } else if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) fromStoreValue(getNativeCache().get(key, missing -> toStoreValue(keyed(load(key, valueLoader)))));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value instanceof Collection<?>) {
+            super.put(key, keyed(value));
+        } else if (value != null) {
+            upsertElement(key, value);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return super.putIfAbsent(key, keyed(value));
+    }
+
+    private void upsertElement(Object key, Object element) {
+        Object elementKey = keyOf.apply(element);
+        if (elementKey == null) {
+            evict(key);
+            return;
+        }
+        getNativeCache().asMap().computeIfPresent(key,
+                (k, current) -> current instanceof KeyedList list ? list.with(elementKey, element) : null);
+    }
+
+    private Object keyed(Object value) {
+        return value instanceof Collection<?> elements ? new KeyedList(elements, keyOf) : value;
+    }
+
+    private static Object load(Object key, Callable<?> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+    }
+
+    /**
+     * Immutable list whose elements are also indexed by key. Elements without a key are kept but cannot
+     * be patched.
+     */
+    public static final class KeyedList extends AbstractList<Object> implements RandomAccess {
+
+        private final Object[] elements;
+        private final Map<Object, Integer> positions;
+        private final long version;
+
+        private KeyedList(Collection<?> elements, Function<Object, Object> keyOf) {
+            this.elements = elements.toArray();
+            this.positions = new HashMap<>();
+            for (int i = 0; i < this.elements.length; i++) {
+                Object key = keyOf.apply(this.elements[i]);
+                if (key != null) {
+                    positions.put(key, i);
+                }
+            }
+            this.version = 0;
+        }
+
+        private KeyedList(Object[] elements, Map<Object, Integer> positions, long version) {
+            this.elements = elements;
+            this.positions = positions;
+            this.version = version;
+        }
+
+        /**
+         * @return number of patches applied since the collection was loaded
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        @Override
+        public Object get(int index) {
+            return elements[index];
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+
+        private KeyedList with(Object key, Object element) {
+            Integer position = positions.get(key);
+            if (position != null) {
+                Object[] next = elements.clone();
+                next[position] = element;
+                return new KeyedList(next, positions, version + 1);
+            }
+            Object[] next = Arrays.copyOf(elements, elements.length + 1);
+            next[elements.length] = element;
+            Map<Object, Integer> nextPositions = new HashMap<>(positions);
+            nextPositions.put(key, elements.length);
+            return new KeyedList(next, nextPositions, version + 1);
+        }
+
+        private KeyedList without(Object key) {
+            Integer position = positions.get(key);
+            if (position == null) {
+                return this;
+            }
+            Object[] next = new Object[elements.length - 1];
+            System.arraycopy(elements, 0, next, 0, position);
+            System.arraycopy(elements, position + 1, next, position, next.length - position);
+            Map<Object, Integer> nextPositions = new HashMap<>(positions.size());
+            positions.forEach((k, p) -> {
+                if (p < position) {
+                    nextPositions.put(k, p);
+                } else if (p > position) {
+                    nextPositions.put(k, p - 1);
+                }
+            });
+            return new KeyedList(next, nextPositions, version + 1);
+        }
+    }
+}
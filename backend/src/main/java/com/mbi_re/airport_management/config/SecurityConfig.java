@@ -103,7 +103,10 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/api/support").permitAll()
                         .requestMatchers("/api/payments").permitAll()
                         .requestMatchers("/api/staff/all").hasRole("ADMIN")
+                        .requestMatchers("/api/caches", "/api/caches/**").hasRole("ADMIN")
                         .requestMatchers("/api/flights/filter").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/flights/itineraries", "/api/flights/fare-calendar").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/board/**").permitAll()
                         .requestMatchers("/api/announcements").permitAll()
                         .requestMatchers("/api/faqs").permitAll()
                         .requestMatchers("/api/airlines", "/api/airlines/**").permitAll()
@@ -120,6 +123,7 @@ public class SecurityConfig {
                         .requestMatchers("/api/trending-places", "/api/trending-places/**").permitAll()
                         .requestMatchers("/api/languages/**").permitAll()
                         .requestMatchers("/api/policies", "/api/policies/**").permitAll()
+                        .requestMatchers("/ws", "/ws/**").permitAll()
                         .requestMatchers(
                                 "/v3/api-docs/**",
                                 "/swagger-ui/**",
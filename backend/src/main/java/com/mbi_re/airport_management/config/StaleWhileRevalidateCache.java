@@ -0,0 +1,173 @@
+package com.mbi_re.airport_management.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Caffeine cache that keeps serving an evicted value while a fresh one is loaded in the background.
+ * <p>
+ * {@link #evict} and {@link #clear} only mark entries as stale. A synchronized lookup
+ * ({@code @Cacheable(sync = true)}) that finds a stale entry returns it right away and starts a single
+ * background reload of the key on the given executor; once that finishes, the fresh value replaces the
+ * stale one. If the key is evicted again while it reloads, the entry stays stale and the next lookup
+ * reloads it once more, so a write is never hidden by a reload that started before it. Keys missing
+ * altogether are loaded by the caller, one loader per key.
+ * </p>
+ * <p>
+ * Inside a transaction, entries are only marked stale after it commits, like {@code FareCalendarService}
+ * does for its keys. Otherwise a reload started before the commit could read the old rows and put them
+ * back as fresh.
+ * </p>
+ * <p>
+ * The reload runs in the {@link TenantContext} of the caller that triggered it. Plain lookups treat a
+ * stale entry as a miss, and {@link #invalidate} removes all entries for good.
+ * </p>
+ */
+@Slf4j
+class StaleWhileRevalidateCache extends CaffeineCache {
+
+    private final Executor executor;
+    private final Set<Object> reloading = ConcurrentHashMap.newKeySet();
+
+    StaleWhileRevalidateCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                              boolean allowNullValues, Executor executor) {
+        super(name, cache, allowNullValues);
+        this.executor = executor;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = getNativeCache().getIfPresent(key);
+        return value instanceof Stale ? null : value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = getNativeCache().get(key, missing -> toStoreValue(load(key, valueLoader)));
+        if (value instanceof Stale stale) {
+            reload(key, stale, valueLoader);
+            value = stale.value;
+        }
+        return (T) fromStoreValue(value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Object[] existing = new Object[1];
+        getNativeCache().asMap().compute(key, (k, current) -> {
+            if (current == null || current instanceof Stale) {
+                return toStoreValue(value);
+            }
+            existing[0] = current;
+            return current;
+        });
+        return existing[0] != null ? toValueWrapper(existing[0]) : null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictIfPresent(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        if (afterCommit(() -> markStale(key))) {
+            return getNativeCache().asMap().containsKey(key);
+        }
+        return markStale(key);
+    }
+
+    @Override
+    public void clear() {
+        if (!afterCommit(this::markAllStale)) {
+            markAllStale();
+        }
+    }
+
+    private boolean markStale(Object key) {
+        return getNativeCache().asMap().computeIfPresent(key, (k, current) -> Stale.of(current)) != null;
+    }
+
+    private void markAllStale() {
+        getNativeCache().asMap().replaceAll((k, current) -> Stale.of(current));
+    }
+
+    /**
+     * Defers an action until the current transaction commits.
+     *
+     * @return {@code true} if the action was deferred, {@code false} if there is no transaction
+     */
+    private static boolean afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+        return true;
+    }
+
+    private void reload(Object key, Stale stale, Callable<?> valueLoader) {
+        if (!reloading.add(key)) {
+            return;
+        }
+        String tenantId = TenantContext.getTenantId();
+        try {
+            executor.execute(() -> {
+                if (tenantId != null) {
+                    TenantContext.setTenantId(tenantId);
+                }
+                ConcurrentMap<Object, Object> entries = getNativeCache().asMap();
+                try {
+                    entries.replace(key, stale, toStoreValue(valueLoader.call()));
+                } catch (Exception ex) {
+                    log.warn("Reloading key {} of cache {} failed", key, getName(), ex);
+                    entries.remove(key, stale);
+                } finally {
+                    reloading.remove(key);
+                    TenantContext.clear();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // the stale value is served until a later lookup gets a reload through
+            reloading.remove(key);
+        }
+    }
+
+    private static Object load(Object key, Callable<?> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+    }
+
+    /**
+     * An evicted value. Compared by identity, so every eviction yields a distinct entry.
+     */
+    private static final class Stale {
+
+        private final Object value;
+
+        private Stale(Object value) {
+            this.value = value;
+        }
+
+        private static Stale of(Object current) {
+            return new Stale(current instanceof Stale stale ? stale.value : current);
+        }
+    }
+}
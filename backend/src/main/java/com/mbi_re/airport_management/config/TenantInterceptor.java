@@ -19,17 +19,16 @@ import org.springframework.web.servlet.HandlerInterceptor;
 public class TenantInterceptor implements HandlerInterceptor {
 
     /**
-     * Extracts the tenant ID from the host name in the HTTP request.
+     * Extracts the tenant ID from the host name of an HTTP request.
      * <p>
      * Assumes the tenant ID is the first segment of the hostname (subdomain).
      * For example, for "tenant1.example.com", returns "tenant1".
      * If no subdomain is found (e.g., "localhost" or "example.com"), returns "default".
      *
-     * @param request the HTTP servlet request
+     * @param host the host name of the request (e.g., tenant1.example.com)
      * @return the extracted tenant ID or "default" if none found
      */
-    private String extractTenantIdFromHost(HttpServletRequest request) {
-        String host = request.getServerName(); // e.g., tenant1.example.com
+    static String extractTenantIdFromHost(String host) {
         String[] parts = host.split("\\.");
         return (parts.length > 2) ? parts[0] : "default"; // fallback for dev/local
     }
@@ -49,7 +48,7 @@ public class TenantInterceptor implements HandlerInterceptor {
      */
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        String tenantFromHost = extractTenantIdFromHost(request);
+        String tenantFromHost = extractTenantIdFromHost(request.getServerName());
 
         // Optional: only use this in dev to compare with X-Tenant-ID
         String tenantFromHeader = request.getHeader("X-Tenant-ID");
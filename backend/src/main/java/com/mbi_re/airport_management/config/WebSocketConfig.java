@@ -0,0 +1,151 @@
+package com.mbi_re.airport_management.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
+
+/**
+ * STOMP over WebSocket configuration for real-time flight updates.
+ * <p>
+ * Clients connect to {@code /ws}. The tenant of the connection is taken from the host name during the
+ * handshake, the same way {@link TenantInterceptor} does for HTTP requests, and a client may only
+ * subscribe to destinations of that tenant:
+ * <ul>
+ *     <li>{@code /app/tenants/{tenantId}/flights}: one-off snapshot of today's and upcoming flights</li>
+ *     <li>{@code /topic/tenants/{tenantId}/flights}: flight deltas pushed as they happen</li>
+ * </ul>
+ * Clients cannot send messages; all traffic flows from the server to the boards.
+ * </p>
+ * <p>
+ * By default {@code /topic} is served by Spring's in-memory broker, which only reaches clients connected
+ * to the same instance. Flight status deltas are published by the instance that owns the flight's shard
+ * (see {@link com.mbi_re.airport_management.service.FlightStatusService}), so with more than one instance
+ * a board would miss the deltas of flights owned elsewhere. Setting {@code websocket.broker.relay-host}
+ * relays {@code /topic} to an external STOMP broker (e.g. RabbitMQ or ActiveMQ) shared by all instances
+ * instead; multi-instance deployments must set it.
+ * </p>
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    /** Session attribute holding the tenant of a WebSocket connection */
+    static final String TENANT_ATTRIBUTE = "tenantId";
+
+    private final String relayHost;
+    private final int relayPort;
+    private final String relayLogin;
+    private final String relayPasscode;
+
+    public WebSocketConfig(@Value("${websocket.broker.relay-host:}") String relayHost,
+                           @Value("${websocket.broker.relay-port:61613}") int relayPort,
+                           @Value("${websocket.broker.relay-login:guest}") String relayLogin,
+                           @Value("${websocket.broker.relay-passcode:guest}") String relayPasscode) {
+        this.relayHost = relayHost;
+        this.relayPort = relayPort;
+        this.relayLogin = relayLogin;
+        this.relayPasscode = relayPasscode;
+    }
+
+    /**
+     * Registers the {@code /ws} endpoint and records the tenant of each connection.
+     *
+     * @param registry the STOMP endpoint registry
+     */
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws")
+                .setAllowedOrigins("http://localhost:5179", "http://localhost:5173")
+                .addInterceptors(new HandshakeInterceptor() {
+                    @Override
+                    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+                        attributes.put(TENANT_ATTRIBUTE,
+                                TenantInterceptor.extractTenantIdFromHost(request.getURI().getHost()));
+                        return true;
+                    }
+
+                    @Override
+                    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                               WebSocketHandler wsHandler, Exception exception) {
+                    }
+                });
+    }
+
+    /**
+     * Relays {@code /topic} to the external broker when one is configured, or enables the in-memory broker
+     * otherwise, and routes {@code /app} to annotated handlers.
+     *
+     * @param registry the message broker registry
+     */
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        if (relayHost.isBlank()) {
+            registry.enableSimpleBroker("/topic");
+        } else {
+            registry.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode);
+        }
+        registry.setApplicationDestinationPrefixes("/app");
+    }
+
+    /**
+     * Rejects messages sent by clients and subscriptions to other tenants' destinations.
+     *
+     * @param registration the inbound channel registration
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+                if (StompCommand.SEND.equals(accessor.getCommand())) {
+                    throw new MessageDeliveryException("Clients cannot send messages");
+                }
+                if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+                    Map<String, Object> attributes = accessor.getSessionAttributes();
+                    Object tenantId = attributes != null ? attributes.get(TENANT_ATTRIBUTE) : null;
+                    if (tenantId == null || !isTenantDestination(accessor.getDestination(), tenantId.toString())) {
+                        throw new MessageDeliveryException("Subscription not allowed: " + accessor.getDestination());
+                    }
+                }
+                return message;
+            }
+        });
+    }
+
+    /**
+     * @param destination the subscription destination
+     * @param tenantId    the tenant of the connection
+     * @return {@code true} if the destination belongs to the tenant
+     */
+    static boolean isTenantDestination(String destination, String tenantId) {
+        if (destination == null) {
+            return false;
+        }
+        String suffix = "/tenants/" + tenantId + "/";
+        return destination.startsWith("/topic" + suffix) || destination.startsWith("/app" + suffix);
+    }
+}
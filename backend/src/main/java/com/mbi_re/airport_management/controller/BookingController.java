@@ -1,9 +1,12 @@
 package com.mbi_re.airport_management.controller;
 
 import com.mbi_re.airport_management.dto.BookingDTO;
+import com.mbi_re.airport_management.dto.CursorPageDTO;
+import com.mbi_re.airport_management.dto.GroupBookingDTO;
 import com.mbi_re.airport_management.model.Booking;
 import com.mbi_re.airport_management.security.JwtService;
 import com.mbi_re.airport_management.service.BookingService;
+import com.mbi_re.airport_management.service.IdempotencyService;
 import com.mbi_re.airport_management.utils.TenantUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -27,20 +30,24 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService service;
+    private final IdempotencyService idempotencyService;
 
     @Autowired
     private JwtService jwtService;
 
-    public BookingController(BookingService service) {
+    public BookingController(BookingService service, IdempotencyService idempotencyService) {
         this.service = service;
+        this.idempotencyService = idempotencyService;
     }
 
     /**
      * Create a new booking.
      * <p>
-     * Accessible by authenticated users.
+     * Accessible by authenticated users. A retry with the same {@code Idempotency-Key}
+     * returns the original booking instead of creating a duplicate.
      *
-     * @param dto the booking data transfer object containing booking details
+     * @param dto            the booking data transfer object containing booking details
+     * @param idempotencyKey optional client-generated key identifying this request across retries
      * @return the created Booking object
      */
     @Operation(
@@ -49,18 +56,51 @@ public class BookingController {
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Booking created successfully"),
-            @ApiResponse(responseCode = "403", description = "Missing or invalid tenant")
+            @ApiResponse(responseCode = "403", description = "Missing or invalid tenant"),
+            @ApiResponse(responseCode = "409", description = "A request with this Idempotency-Key is still being processed"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used for a different request")
     })
     @PostMapping
     public ResponseEntity<Booking> createBooking(
             @RequestBody
             @Parameter(description = "Booking data", required = true)
-            BookingDTO dto) {
+            BookingDTO dto,
+            @Parameter(description = "Client-generated key that makes retries of this request safe")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
 
         TenantUtil.validateTenantFromContext();
         String tenantId = TenantUtil.getCurrentTenant();
         dto.setCheckedIn(false);
-        Booking booking = service.createBooking(dto, tenantId);
+        Booking booking = idempotencyService.execute(idempotencyKey, tenantId, "bookings", dto, Booking.class,
+                () -> service.createBooking(dto, tenantId));
+        return ResponseEntity.ok(booking);
+    }
+
+    /**
+     * Create a group booking for several seats of one flight.
+     * <p>
+     * Either all requested seats are booked in a single booking or none are.
+     *
+     * @param dto the flight, seat numbers and lead passenger
+     * @return the created Booking object
+     */
+    @Operation(
+            summary = "Create a group booking",
+            description = "Atomically books several seats of a flight. Tenant ID is validated from context."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Group booking created successfully"),
+            @ApiResponse(responseCode = "403", description = "Missing or invalid tenant"),
+            @ApiResponse(responseCode = "409", description = "A seat is already taken or not enough seats are left")
+    })
+    @PostMapping("/group")
+    public ResponseEntity<Booking> createGroupBooking(
+            @RequestBody
+            @Parameter(description = "Group booking data", required = true)
+            GroupBookingDTO dto) {
+
+        TenantUtil.validateTenantFromContext();
+        Booking booking = service.createGroupBooking(dto, TenantUtil.getCurrentTenant());
         return ResponseEntity.ok(booking);
     }
 
@@ -86,6 +126,51 @@ public class BookingController {
         return ResponseEntity.ok(service.getAllBookings());
     }
 
+    /**
+     * Retrieve bookings page by page using cursor (keyset) pagination.
+     * <p>
+     * Restricted to users with the ADMIN role.
+     *
+     * @param status       optional booking status filter
+     * @param flightNumber optional flight filter
+     * @param passengerId  optional passenger filter
+     * @param sort         sort field
+     * @param direction    sort direction
+     * @param cursor       cursor of the previous page, omitted for the first page
+     * @param limit        page size
+     * @return the page of bookings and the cursor of the next page
+     */
+    @Operation(
+            summary = "Get bookings page by page",
+            description = "Admin-only endpoint to retrieve bookings with cursor pagination, sorting and filtering."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Bookings page fetched successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid sort or cursor"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<Booking>> getPage(
+            @RequestParam(required = false)
+            @Parameter(description = "Booking status, e.g. PAID") String status,
+            @RequestParam(required = false)
+            @Parameter(description = "Flight as stored on the booking") String flightNumber,
+            @RequestParam(required = false)
+            @Parameter(description = "Passenger ID") Long passengerId,
+            @RequestParam(required = false)
+            @Parameter(description = "Sort field: id, bookingTime (default id)") String sort,
+            @RequestParam(required = false)
+            @Parameter(description = "Sort direction: asc or desc (default asc)") String direction,
+            @RequestParam(required = false)
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") String cursor,
+            @RequestParam(required = false)
+            @Parameter(description = "Page size (default 50, max 200)") Integer limit) {
+        TenantUtil.validateTenantFromContext();
+        return ResponseEntity.ok(service.getBookingsPage(TenantUtil.getCurrentTenant(), status, flightNumber,
+                passengerId, sort, direction, cursor, limit));
+    }
+
     /**
      * Retrieve a booking by its ID.
      * <p>
@@ -113,6 +198,66 @@ public class BookingController {
         return ResponseEntity.ok(service.getBookingById(id));
     }
 
+    /**
+     * Retrieve the bookings of a flight (passenger manifest).
+     * <p>
+     * Restricted to users with the ADMIN role.
+     *
+     * @param flightId the flight ID
+     * @return list of bookings with at least one seat on the flight
+     */
+    @Operation(
+            summary = "Get flight manifest",
+            description = "Admin-only endpoint to retrieve all bookings holding seats on a flight."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Bookings fetched successfully"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/flight/{flightId}")
+    public ResponseEntity<List<Booking>> getFlightManifest(
+            @PathVariable
+            @Parameter(description = "Flight ID", required = true)
+            Long flightId) {
+
+        TenantUtil.validateTenantFromContext();
+        return ResponseEntity.ok(service.getFlightManifest(flightId));
+    }
+
+    /**
+     * Retrieve the booking that holds a seat on a flight.
+     * <p>
+     * Restricted to users with the ADMIN role.
+     *
+     * @param flightId   the flight ID
+     * @param seatNumber the seat number (e.g. C12)
+     * @return the Booking holding the seat, or 404 Not Found if the seat is free
+     */
+    @Operation(
+            summary = "Get seat owner",
+            description = "Admin-only endpoint to find which booking holds a seat on a flight."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Booking returned successfully"),
+            @ApiResponse(responseCode = "404", description = "Seat is not booked")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/flight/{flightId}/seats/{seatNumber}")
+    public ResponseEntity<Booking> getSeatOwner(
+            @PathVariable
+            @Parameter(description = "Flight ID", required = true)
+            Long flightId,
+            @PathVariable
+            @Parameter(description = "Seat number", required = true)
+            String seatNumber) {
+
+        TenantUtil.validateTenantFromContext();
+        return service.getSeatOwner(flightId, seatNumber)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * Update an existing booking by its ID.
      * <p>
@@ -205,4 +350,32 @@ public class BookingController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Confirm a pending booking after payment.
+     * <p>
+     * Books the seats held for the booking. Fails with 409 if the seat hold has already expired.
+     *
+     * @param id the booking ID
+     * @return the confirmed Booking if found, or 404 Not Found
+     */
+    @Operation(
+            summary = "Confirm a pending booking",
+            description = "Confirms the seat hold of a PENDING booking and marks it as PAID."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Booking confirmed"),
+            @ApiResponse(responseCode = "404", description = "Booking not found"),
+            @ApiResponse(responseCode = "409", description = "Seat hold expired")
+    })
+    @PutMapping("/{id}/confirm")
+    public ResponseEntity<Booking> confirmBooking(
+            @PathVariable
+            @Parameter(description = "Booking ID", required = true)
+            Long id) {
+
+        TenantUtil.validateTenantFromContext();
+        return service.confirmBooking(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
 }
@@ -0,0 +1,50 @@
+package com.mbi_re.airport_management.controller;
+
+import com.mbi_re.airport_management.dto.CacheStatsDTO;
+import com.mbi_re.airport_management.service.CacheStatsService;
+import com.mbi_re.airport_management.utils.TenantUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller exposing the statistics of the application caches to administrators.
+ */
+@RestController
+@RequestMapping("/api/caches")
+@Tag(name = "Caches", description = "Hit, miss and eviction statistics of the application caches")
+public class CacheStatsController {
+
+    private final CacheStatsService cacheStatsService;
+
+    public CacheStatsController(CacheStatsService cacheStatsService) {
+        this.cacheStatsService = cacheStatsService;
+    }
+
+    /**
+     * Returns the statistics of every cache created so far.
+     *
+     * @return the statistics ordered by cache name
+     */
+    @Operation(
+            summary = "Get cache statistics",
+            description = "Size, hits, misses, hit rate and evictions of every cache since startup. Admin access only."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Access denied or invalid tenant")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/stats")
+    public List<CacheStatsDTO> getStats() {
+        TenantUtil.validateTenantFromContext();
+        return cacheStatsService.getStats();
+    }
+}
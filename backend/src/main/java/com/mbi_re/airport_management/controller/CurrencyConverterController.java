@@ -1,6 +1,7 @@
 package com.mbi_re.airport_management.controller;
 
 import com.mbi_re.airport_management.config.TenantContext;
+import com.mbi_re.airport_management.dto.CurrencyBatchConversionDTO;
 import com.mbi_re.airport_management.model.CurrencyRate;
 import com.mbi_re.airport_management.service.CurrencyConverterService;
 import com.mbi_re.airport_management.utils.TenantUtil;
@@ -52,7 +53,6 @@ public class CurrencyConverterController {
             @ApiResponse(responseCode = "200", description = "Conversion successful"),
             @ApiResponse(responseCode = "403", description = "Invalid or missing tenant ID")
     })
-    @Cacheable(value = "conversionResults", key = "#tenantId + ':' + #from + ':' + #to + ':' + #value")
     public ResponseEntity<Map<String, Object>> convertCurrency(
             @RequestHeader("X-Tenant-ID")
             @Parameter(description = "Tenant ID from header", required = true)
@@ -79,6 +79,42 @@ public class CurrencyConverterController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Converts a list of amounts from one currency to another for the given tenant in a single request.
+     * All amounts are converted with the same rate, which suits whole price lists.
+     * This is a public endpoint requiring tenant identification through the "X-Tenant-ID" header.
+     *
+     * @param tenantId   The tenant ID provided in the request header.
+     * @param conversion The source and target currency codes and the amounts to convert.
+     * @return The request with the converted amounts filled in, in the order of the amounts sent.
+     */
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Convert a batch of amounts",
+            description = "Convert a list of amounts from one currency to another with a single rate. Public endpoint, requires tenant ID in header."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Conversion successful"),
+            @ApiResponse(responseCode = "400", description = "Missing or unknown currency codes, or missing amounts"),
+            @ApiResponse(responseCode = "403", description = "Invalid or missing tenant ID")
+    })
+    public ResponseEntity<CurrencyBatchConversionDTO> convertBatch(
+            @RequestHeader("X-Tenant-ID")
+            @Parameter(description = "Tenant ID from header", required = true)
+            String tenantId,
+            @RequestBody
+            @Parameter(description = "Currencies and amounts to convert", required = true)
+            CurrencyBatchConversionDTO conversion) {
+
+        TenantUtil.validateTenant(tenantId);
+        if (conversion.getFrom() == null || conversion.getTo() == null || conversion.getAmounts() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        conversion.setConvertedAmounts(
+                converterService.convertAll(conversion.getFrom(), conversion.getTo(), conversion.getAmounts()));
+        return ResponseEntity.ok(conversion);
+    }
+
     /**
      * Adds a new currency rate for the current tenant.
      * Access restricted to users with ADMIN role.
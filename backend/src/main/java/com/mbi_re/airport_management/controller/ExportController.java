@@ -0,0 +1,129 @@
+package com.mbi_re.airport_management.controller;
+
+import com.mbi_re.airport_management.service.ExportService;
+import com.mbi_re.airport_management.utils.TenantUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST controller for exporting tenant data as NDJSON or CSV.
+ * <p>
+ * Exports are streamed: rows are written to the response while they are read from the database,
+ * so the response can be arbitrarily large. All endpoints are restricted to ADMIN users and scoped
+ * to the tenant of the current request.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/export")
+@Tag(name = "Export", description = "Streaming NDJSON/CSV exports of flights and bookings")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * Exports all flights of the current tenant.
+     *
+     * @param format "ndjson" (default) or "csv"
+     * @return the streamed export
+     */
+    @Operation(
+            summary = "Export flights",
+            description = "Streams all flights of the current tenant as NDJSON or CSV. Admin access only."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format"),
+            @ApiResponse(responseCode = "403", description = "Access denied or invalid tenant")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/flights")
+    public ResponseEntity<StreamingResponseBody> exportFlights(
+            @RequestParam(defaultValue = "ndjson")
+            @Parameter(description = "Export format: ndjson or csv") String format) {
+        TenantUtil.validateTenantFromContext();
+        String tenantId = TenantUtil.getCurrentTenant();
+        ExportService.Format exportFormat = ExportService.Format.from(format);
+        return stream("flights", exportFormat, out -> exportService.exportFlights(tenantId, exportFormat, out));
+    }
+
+    /**
+     * Exports all bookings of the current tenant.
+     *
+     * @param format "ndjson" (default) or "csv"
+     * @return the streamed export
+     */
+    @Operation(
+            summary = "Export bookings",
+            description = "Streams all bookings of the current tenant as NDJSON or CSV. Admin access only."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format"),
+            @ApiResponse(responseCode = "403", description = "Access denied or invalid tenant")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/bookings")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(defaultValue = "ndjson")
+            @Parameter(description = "Export format: ndjson or csv") String format) {
+        TenantUtil.validateTenantFromContext();
+        String tenantId = TenantUtil.getCurrentTenant();
+        ExportService.Format exportFormat = ExportService.Format.from(format);
+        return stream("bookings", exportFormat, out -> exportService.exportBookings(tenantId, exportFormat, out));
+    }
+
+    /**
+     * Exports the passenger manifest of a flight: every booking holding one of its seats.
+     *
+     * @param flightId the flight ID
+     * @param format   "ndjson" (default) or "csv"
+     * @return the streamed export
+     */
+    @Operation(
+            summary = "Export flight manifest",
+            description = "Streams the bookings on a flight as NDJSON or CSV. Admin access only."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format"),
+            @ApiResponse(responseCode = "403", description = "Access denied or invalid tenant")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/flights/{flightId}/manifest")
+    public ResponseEntity<StreamingResponseBody> exportManifest(
+            @PathVariable
+            @Parameter(description = "Flight ID", required = true) Long flightId,
+            @RequestParam(defaultValue = "ndjson")
+            @Parameter(description = "Export format: ndjson or csv") String format) {
+        TenantUtil.validateTenantFromContext();
+        String tenantId = TenantUtil.getCurrentTenant();
+        ExportService.Format exportFormat = ExportService.Format.from(format);
+        return stream("manifest-" + flightId, exportFormat,
+                out -> exportService.exportManifest(tenantId, flightId, exportFormat, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, ExportService.Format format,
+                                                         StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(name + "." + format.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,93 @@
+package com.mbi_re.airport_management.controller;
+
+import com.mbi_re.airport_management.dto.BoardEntryDTO;
+import com.mbi_re.airport_management.service.FlightBoardService;
+import com.mbi_re.airport_management.utils.TenantUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * REST controller for the departures and arrivals boards shown on airport screens.
+ * <p>
+ * Boards are served from memory (see {@link FlightBoardService}) and are accessible without
+ * authentication by providing the tenant ID in the "X-Tenant-ID" header.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/board")
+@Tag(name = "Flight Board", description = "Departures and arrivals boards per airport and terminal")
+public class FlightBoardController {
+
+    private final FlightBoardService flightBoardService;
+
+    public FlightBoardController(FlightBoardService flightBoardService) {
+        this.flightBoardService = flightBoardService;
+    }
+
+    /**
+     * Retrieves the departures of an airport, optionally for one terminal, in the coming hours.
+     *
+     * @param tenantId   tenant identifier from the request header
+     * @param airport    the departure airport
+     * @param terminalId the terminal, or all terminals when omitted
+     * @param hours      the number of hours to show, 4 by default and at most 24
+     * @return the departures ordered by scheduled departure time
+     */
+    @GetMapping("/departures")
+    @Operation(
+            summary = "Get departures board",
+            description = "Retrieve the flights departing from an airport (and terminal) in the coming hours. Accessible without login by providing tenant header."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Departures retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Invalid or missing tenant context")
+    })
+    public List<BoardEntryDTO> getDepartures(
+            @RequestHeader("X-Tenant-ID")
+            @Parameter(description = "Tenant identifier from request header", required = true) String tenantId,
+            @RequestParam @Parameter(description = "Departure airport", required = true) String airport,
+            @RequestParam(required = false) @Parameter(description = "Terminal ID; all terminals when omitted") Long terminalId,
+            @RequestParam(required = false) @Parameter(description = "Hours ahead to show (default 4, max 24)") Integer hours) {
+
+        TenantUtil.validateTenant(tenantId);
+        return flightBoardService.getDepartures(tenantId, airport, terminalId, window(hours));
+    }
+
+    /**
+     * Retrieves the arrivals of an airport in the coming hours.
+     *
+     * @param tenantId tenant identifier from the request header
+     * @param airport  the arrival airport
+     * @param hours    the number of hours to show, 4 by default and at most 24
+     * @return the arrivals ordered by scheduled arrival time
+     */
+    @GetMapping("/arrivals")
+    @Operation(
+            summary = "Get arrivals board",
+            description = "Retrieve the flights arriving at an airport in the coming hours. Accessible without login by providing tenant header."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Arrivals retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Invalid or missing tenant context")
+    })
+    public List<BoardEntryDTO> getArrivals(
+            @RequestHeader("X-Tenant-ID")
+            @Parameter(description = "Tenant identifier from request header", required = true) String tenantId,
+            @RequestParam @Parameter(description = "Arrival airport", required = true) String airport,
+            @RequestParam(required = false) @Parameter(description = "Hours ahead to show (default 4, max 24)") Integer hours) {
+
+        TenantUtil.validateTenant(tenantId);
+        return flightBoardService.getArrivals(tenantId, airport, window(hours));
+    }
+
+    private static Duration window(Integer hours) {
+        return hours == null ? null : Duration.ofHours(hours);
+    }
+}
@@ -0,0 +1,38 @@
+package com.mbi_re.airport_management.controller;
+
+import com.mbi_re.airport_management.dto.FlightDTO;
+import com.mbi_re.airport_management.service.FlightService;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.List;
+
+/**
+ * STOMP controller serving the initial state of departure boards.
+ * <p>
+ * A board subscribes to {@code /app/tenants/{tenantId}/flights} once to receive the current flights,
+ * then keeps them up to date from the deltas on {@code /topic/tenants/{tenantId}/flights}.
+ * The tenant is checked when subscribing (see {@code WebSocketConfig}).
+ * </p>
+ */
+@Controller
+public class FlightBoardSocketController {
+
+    private final FlightService flightService;
+
+    public FlightBoardSocketController(FlightService flightService) {
+        this.flightService = flightService;
+    }
+
+    /**
+     * Returns today's and upcoming flights of a tenant to the subscribing board.
+     *
+     * @param tenantId the tenant of the board
+     * @return the flights
+     */
+    @SubscribeMapping("/tenants/{tenantId}/flights")
+    public List<FlightDTO> snapshot(@DestinationVariable String tenantId) {
+        return flightService.getTodayAndUpcomingFlights(tenantId);
+    }
+}
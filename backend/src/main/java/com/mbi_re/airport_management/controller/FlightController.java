@@ -1,11 +1,15 @@
 package com.mbi_re.airport_management.controller;
 
 import com.mbi_re.airport_management.config.TenantContext;
+import com.mbi_re.airport_management.dto.CursorPageDTO;
+import com.mbi_re.airport_management.dto.FareCalendarDayDTO;
 import com.mbi_re.airport_management.dto.FlightDTO;
-import com.mbi_re.airport_management.model.Flight;
+import com.mbi_re.airport_management.dto.ItineraryDTO;
 import com.mbi_re.airport_management.model.FlightStatus;
-import com.mbi_re.airport_management.repository.FlightRepository;
+import com.mbi_re.airport_management.service.CurrencyConverterService;
+import com.mbi_re.airport_management.service.FareCalendarService;
 import com.mbi_re.airport_management.service.FlightService;
+import com.mbi_re.airport_management.service.ItineraryService;
 import com.mbi_re.airport_management.utils.TenantUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,15 +18,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * REST controller for managing flight-related operations.
@@ -30,11 +35,14 @@ import java.util.stream.Collectors;
  * <p>This controller supports:</p>
  * <ul>
  *     <li>Retrieving today's and upcoming flights (public access with tenant header)</li>
- *     <li>Viewing all flights (admin access only)</li>
+ *     <li>Viewing all flights, at once or page by page (admin access only)</li>
  *     <li>Adding and deleting flights (admin access only)</li>
  *     <li>Filtering flights based on various criteria (public access with tenant header)</li>
  * </ul>
  *
+ * <p>The public listing and search endpoints accept an optional {@code currency} parameter that converts
+ * all prices of the response with a single rate lookup.</p>
+ *
  * <p>Multi-tenancy is supported via the "X-Tenant-ID" header for unauthenticated requests
  * and via {@link TenantContext} for authenticated users.</p>
  */
@@ -48,13 +56,20 @@ public class FlightController {
     private FlightService flightService;
 
     @Autowired
-    private FlightRepository flightRepository;
+    private ItineraryService itineraryService;
+
+    @Autowired
+    private FareCalendarService fareCalendarService;
+
+    @Autowired
+    private CurrencyConverterService currencyConverterService;
 
     /**
      * Retrieves flights scheduled for today and future dates.
      * <p>This endpoint is accessible without authentication by providing the tenant ID in the "X-Tenant-ID" header.</p>
      *
      * @param tenantId Tenant identifier from the request header.
+     * @param currency Optional currency code to convert prices to.
      * @return List of upcoming flight DTOs.
      */
     @GetMapping
@@ -68,10 +83,13 @@ public class FlightController {
     })
     public List<FlightDTO> getFlights(
             @RequestHeader("X-Tenant-ID")
-            @Parameter(description = "Tenant identifier from request header", required = true) String tenantId) {
+            @Parameter(description = "Tenant identifier from request header", required = true) String tenantId,
+            @RequestParam(required = false)
+            @Parameter(description = "Currency code to show prices in (default: stored currency)") String currency) {
 
         TenantUtil.validateTenant(tenantId);
-        return flightService.getTodayAndUpcomingFlights(tenantId);
+        List<FlightDTO> flights = flightService.getTodayAndUpcomingFlights(tenantId);
+        return currency == null ? flights : currencyConverterService.convertFlightPrices(tenantId, flights, currency);
     }
 
     /**
@@ -95,6 +113,57 @@ public class FlightController {
         return flightService.getAllFlights(TenantContext.getTenantId());
     }
 
+    /**
+     * Retrieves one page of the authenticated tenant's flights using cursor (keyset) pagination.
+     * <p>This endpoint is restricted to users with ADMIN role.</p>
+     *
+     * @param departureAirport Optional departure airport filter.
+     * @param arrivalAirport   Optional arrival airport filter.
+     * @param status           Optional flight status filter.
+     * @param fromDate         Optional earliest flight date (yyyy-MM-dd).
+     * @param toDate           Optional latest flight date (yyyy-MM-dd).
+     * @param sort             Sort field.
+     * @param direction        Sort direction.
+     * @param cursor           Cursor of the previous page, omitted for the first page.
+     * @param limit            Page size.
+     * @return The page of flight DTOs and the cursor of the next page.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/page")
+    @Operation(
+            summary = "Get flights page by page",
+            description = "Retrieve the current tenant's flights with cursor pagination, sorting and filtering. Admin access only."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Flights page retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid sort or cursor"),
+            @ApiResponse(responseCode = "403", description = "Access denied or invalid tenant")
+    })
+    public CursorPageDTO<FlightDTO> getFlightsPage(
+            @RequestParam(required = false)
+            @Parameter(description = "Departure airport code") String departureAirport,
+            @RequestParam(required = false)
+            @Parameter(description = "Arrival airport code") String arrivalAirport,
+            @RequestParam(required = false)
+            @Parameter(description = "Flight status") FlightStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Earliest flight date (yyyy-MM-dd)") LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Latest flight date (yyyy-MM-dd)") LocalDate toDate,
+            @RequestParam(required = false)
+            @Parameter(description = "Sort field: id, flightDate, flightNumber (default id)") String sort,
+            @RequestParam(required = false)
+            @Parameter(description = "Sort direction: asc or desc (default asc)") String direction,
+            @RequestParam(required = false)
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") String cursor,
+            @RequestParam(required = false)
+            @Parameter(description = "Page size (default 50, max 200)") Integer limit) {
+
+        TenantUtil.validateTenantFromContext();
+        return flightService.getFlightsPage(TenantContext.getTenantId(), departureAirport, arrivalAirport, status,
+                fromDate, toDate, sort, direction, cursor, limit);
+    }
+
     /**
      * Adds a new flight for the current tenant.
      * <p>This endpoint is restricted to users with ADMIN role.</p>
@@ -162,6 +231,7 @@ public class FlightController {
      * @param startDate  Start date of the search range (ISO format: yyyy-MM-dd).
      * @param endDate    End date of the search range (ISO format: yyyy-MM-dd).
      * @param passengers Minimum number of available seats required.
+     * @param currency   Optional currency code to convert prices to.
      * @return List of flight DTOs matching the filter criteria or empty list on invalid input.
      */
     @GetMapping("/filter")
@@ -185,7 +255,9 @@ public class FlightController {
             @RequestParam
             @Parameter(description = "End date (yyyy-MM-dd)", required = true) String endDate,
             @RequestParam
-            @Parameter(description = "Minimum available seats", required = true) int passengers) {
+            @Parameter(description = "Minimum available seats", required = true) int passengers,
+            @RequestParam(required = false)
+            @Parameter(description = "Currency code to show prices in (default: stored currency)") String currency) {
 
         TenantUtil.validateTenant(tenantId);
 
@@ -193,14 +265,10 @@ public class FlightController {
             LocalDate start = LocalDate.parse(startDate);
             LocalDate end = LocalDate.parse(endDate);
 
-            List<Flight> flights = flightRepository
-                    .findByTenantIdAndDepartureAirportIgnoreCaseAndArrivalAirportIgnoreCaseAndFlightDateBetweenAndAvailableSeatGreaterThanEqual(
-                            tenantId, from, to, start, end, passengers
-                    );
-
-            List<FlightDTO> dtos = flights.stream()
-                    .map(flightService::mapToDTO) // Ensure this method is public in FlightService
-                    .collect(Collectors.toList());
+            List<FlightDTO> dtos = flightService.searchFlights(tenantId, from, to, start, end, passengers);
+            if (currency != null) {
+                dtos = currencyConverterService.convertFlightPrices(tenantId, dtos, currency);
+            }
 
             return ResponseEntity.ok(dtos);
         } catch (Exception e) {
@@ -208,4 +276,86 @@ public class FlightController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Collections.emptyList());
         }
     }
+
+    /**
+     * Searches direct and connecting itineraries whose first flight leaves on the given date.
+     * <p>This endpoint is publicly accessible with the tenant ID provided in the "X-Tenant-ID" header.</p>
+     *
+     * @param tenantId   Tenant identifier from the request header.
+     * @param from       Departure airport code.
+     * @param to         Arrival airport code.
+     * @param date       Date of the first departure.
+     * @param passengers Seats needed on every flight.
+     * @param maxStops   Most stops allowed (0 to 2).
+     * @param currency   Optional currency code to convert prices to.
+     * @return Itineraries ordered by arrival time.
+     */
+    @GetMapping("/itineraries")
+    @Operation(
+            summary = "Search itineraries",
+            description = "Search direct, 1-stop and 2-stop itineraries between two airports respecting minimum connection times. Public access with tenant header."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Itineraries retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request parameters")
+    })
+    public ResponseEntity<List<ItineraryDTO>> getItineraries(
+            @RequestHeader("X-Tenant-ID")
+            @Parameter(description = "Tenant identifier from request header", required = true) String tenantId,
+            @RequestParam
+            @Parameter(description = "Departure airport code (IATA format)", required = true) String from,
+            @RequestParam
+            @Parameter(description = "Arrival airport code (IATA format)", required = true) String to,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Date of the first departure (yyyy-MM-dd)", required = true) LocalDate date,
+            @RequestParam(defaultValue = "1")
+            @Parameter(description = "Seats needed on every flight") int passengers,
+            @RequestParam(defaultValue = "2")
+            @Parameter(description = "Most stops allowed, 0 to 2 (default 2)") int maxStops,
+            @RequestParam(required = false)
+            @Parameter(description = "Currency code to show prices in (default: stored currency)") String currency) {
+
+        TenantUtil.validateTenant(tenantId);
+        List<ItineraryDTO> itineraries = itineraryService.search(tenantId, from, to, date, passengers, maxStops);
+        return ResponseEntity.ok(currency == null ? itineraries
+                : currencyConverterService.convertItineraryPrices(tenantId, itineraries, currency));
+    }
+
+    /**
+     * Returns the lowest fare and the free seats per day of a month for a route.
+     * <p>This endpoint is publicly accessible with the tenant ID provided in the "X-Tenant-ID" header.</p>
+     *
+     * @param tenantId Tenant identifier from the request header.
+     * @param from     Departure airport code.
+     * @param to       Arrival airport code.
+     * @param month    The month (yyyy-MM).
+     * @param currency Optional currency code to convert prices to.
+     * @return One entry per date of the month with flights.
+     */
+    @GetMapping("/fare-calendar")
+    @Operation(
+            summary = "Get fare calendar",
+            description = "Lowest fare and available seats per day of a month for a route. Public access with tenant header."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Fare calendar retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request parameters")
+    })
+    public ResponseEntity<List<FareCalendarDayDTO>> getFareCalendar(
+            @RequestHeader("X-Tenant-ID")
+            @Parameter(description = "Tenant identifier from request header", required = true) String tenantId,
+            @RequestParam
+            @Parameter(description = "Departure airport code (IATA format)", required = true) String from,
+            @RequestParam
+            @Parameter(description = "Arrival airport code (IATA format)", required = true) String to,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM")
+            @Parameter(description = "Month (yyyy-MM)", required = true) YearMonth month,
+            @RequestParam(required = false)
+            @Parameter(description = "Currency code to show prices in (default: stored currency)") String currency) {
+
+        TenantUtil.validateTenant(tenantId);
+        List<FareCalendarDayDTO> days = fareCalendarService.getFareCalendar(tenantId, from, to, month);
+        return ResponseEntity.ok(currency == null ? days
+                : currencyConverterService.convertFareCalendar(tenantId, days, currency));
+    }
 }
@@ -1,5 +1,6 @@
 package com.mbi_re.airport_management.controller;
 
+import com.mbi_re.airport_management.dto.CursorPageDTO;
 import com.mbi_re.airport_management.dto.PassengerDTO;
 import com.mbi_re.airport_management.model.Passenger;
 import com.mbi_re.airport_management.service.PassengerService;
@@ -63,6 +64,48 @@ public class PassengerController {
         return passengerService.getAllByTenantId(jwtTenantId);
     }
 
+    /**
+     * Retrieves the authenticated tenant's passengers page by page using cursor (keyset) pagination.
+     *
+     * <p>Accessible only by users with ADMIN role. Tenant ID is extracted from JWT token.</p>
+     *
+     * @param jwtTenantId the tenant ID from JWT token, injected by security filter
+     * @param email       optional email filter
+     * @param sort        sort field
+     * @param direction   sort direction
+     * @param cursor      cursor of the previous page, omitted for the first page
+     * @param limit       page size
+     * @return the page of passengers and the cursor of the next page
+     */
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Get passengers page by page",
+            description = "Fetch the authenticated tenant's passengers with cursor pagination, sorting and filtering (ADMIN only)."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved page of passengers"),
+            @ApiResponse(responseCode = "400", description = "Invalid sort or cursor"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - invalid or missing tenant ID")
+    })
+    public CursorPageDTO<PassengerDTO> getPage(
+            @RequestAttribute("jwtTenantId")
+            @Parameter(description = "Tenant ID extracted from JWT token", required = true)
+            String jwtTenantId,
+            @RequestParam(required = false)
+            @Parameter(description = "Passenger email") String email,
+            @RequestParam(required = false)
+            @Parameter(description = "Sort field: id, fullName (default id)") String sort,
+            @RequestParam(required = false)
+            @Parameter(description = "Sort direction: asc or desc (default asc)") String direction,
+            @RequestParam(required = false)
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") String cursor,
+            @RequestParam(required = false)
+            @Parameter(description = "Page size (default 50, max 200)") Integer limit) {
+        TenantUtil.validateTenant(jwtTenantId);
+        return passengerService.getPassengersPage(jwtTenantId, email, sort, direction, cursor, limit);
+    }
+
     /**
      * Updates an existing passenger's details.
      *
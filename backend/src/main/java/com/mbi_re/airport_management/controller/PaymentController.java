@@ -1,6 +1,8 @@
 package com.mbi_re.airport_management.controller;
 
+import com.mbi_re.airport_management.dto.CursorPageDTO;
 import com.mbi_re.airport_management.dto.PaymentDTO;
+import com.mbi_re.airport_management.service.IdempotencyService;
 import com.mbi_re.airport_management.service.PaymentService;
 import com.mbi_re.airport_management.utils.TenantUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -32,6 +34,9 @@ public class PaymentController {
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     /**
      * Retrieves all payments for the specified tenant.
      *
@@ -57,13 +62,59 @@ public class PaymentController {
         return paymentService.getPaymentsByTenant(tenantId);
     }
 
+    /**
+     * Retrieves the payments of the specified tenant page by page using cursor (keyset) pagination.
+     *
+     * <p>Requires USER or ADMIN role.</p>
+     *
+     * @param tenantId  the tenant identifier extracted from the "X-Tenant-ID" request header
+     * @param status    optional payment status filter
+     * @param method    optional payment method filter
+     * @param sort      sort field
+     * @param direction sort direction
+     * @param cursor    cursor of the previous page, omitted for the first page
+     * @param limit     page size
+     * @return the page of payment records and the cursor of the next page
+     */
+    @Operation(
+            summary = "Get payments page by page",
+            description = "Retrieves the tenant's payments with cursor pagination, sorting and filtering. Requires USER or ADMIN role."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved page of payments"),
+            @ApiResponse(responseCode = "400", description = "Invalid sort or cursor"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - unauthorized or invalid tenant")
+    })
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @GetMapping("/page")
+    public CursorPageDTO<PaymentDTO> getPaymentsPage(
+            @Parameter(description = "Tenant ID from X-Tenant-ID header", required = true)
+            @RequestHeader("X-Tenant-ID") String tenantId,
+            @RequestParam(required = false)
+            @Parameter(description = "Payment status, e.g. PAID") String status,
+            @RequestParam(required = false)
+            @Parameter(description = "Payment method") String method,
+            @RequestParam(required = false)
+            @Parameter(description = "Sort field: id, paymentTime, amount (default id)") String sort,
+            @RequestParam(required = false)
+            @Parameter(description = "Sort direction: asc or desc (default asc)") String direction,
+            @RequestParam(required = false)
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") String cursor,
+            @RequestParam(required = false)
+            @Parameter(description = "Page size (default 50, max 200)") Integer limit) {
+        TenantUtil.validateTenant(tenantId);
+        return paymentService.getPaymentsPage(tenantId, status, method, sort, direction, cursor, limit);
+    }
+
     /**
      * Saves a new payment for the specified tenant.
      *
-     * <p>Automatically sets payment status to "PAID". Requires ADMIN role.</p>
+     * <p>Automatically sets payment status to "PAID". Requires ADMIN role.
+     * A retry with the same {@code Idempotency-Key} returns the original response instead of saving again.</p>
      *
-     * @param paymentDTO the payment information to be saved
-     * @param tenantId   the tenant identifier extracted from the "X-Tenant-ID" request header
+     * @param paymentDTO     the payment information to be saved
+     * @param tenantId       the tenant identifier extracted from the "X-Tenant-ID" request header
+     * @param idempotencyKey optional client-generated key identifying this request across retries
      * @return the saved PaymentDTO with updated information
      */
     @Operation(
@@ -73,7 +124,9 @@ public class PaymentController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Payment saved successfully"),
             @ApiResponse(responseCode = "403", description = "Forbidden - unauthorized or invalid tenant"),
-            @ApiResponse(responseCode = "400", description = "Invalid payment data")
+            @ApiResponse(responseCode = "400", description = "Invalid payment data"),
+            @ApiResponse(responseCode = "409", description = "A request with this Idempotency-Key is still being processed"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used for a different request")
     })
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping
@@ -81,11 +134,14 @@ public class PaymentController {
             @Parameter(description = "Payment information", required = true)
             @RequestBody PaymentDTO paymentDTO,
             @Parameter(description = "Tenant ID from X-Tenant-ID header", required = true)
-            @RequestHeader("X-Tenant-ID") String tenantId) {
+            @RequestHeader("X-Tenant-ID") String tenantId,
+            @Parameter(description = "Client-generated key that makes retries of this request safe")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         TenantUtil.validateTenant(tenantId);
         paymentDTO.setTenantId(tenantId);
         paymentDTO.setStatus("PAID");
-        return paymentService.savePayment(paymentDTO);
+        return idempotencyService.execute(idempotencyKey, tenantId, "payments", paymentDTO, PaymentDTO.class,
+                () -> paymentService.savePayment(paymentDTO));
     }
 
     /**
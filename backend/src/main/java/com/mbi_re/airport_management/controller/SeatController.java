@@ -1,6 +1,8 @@
 package com.mbi_re.airport_management.controller;
 
 import com.mbi_re.airport_management.dto.SeatDTO;
+import com.mbi_re.airport_management.dto.SeatHoldDTO;
+import com.mbi_re.airport_management.service.SeatHoldService;
 import com.mbi_re.airport_management.service.SeatService;
 import com.mbi_re.airport_management.utils.TenantUtil;
 import com.mbi_re.airport_management.config.TenantContext;
@@ -21,7 +23,8 @@ import java.util.List;
 /**
  * REST controller for managing seat-related operations such as availability and booking.
  * <p>
- * Provides endpoints to get available seats, all seats for a flight, and to mark seats as unavailable.
+ * Provides endpoints to get available seats, all seats for a flight, to mark seats as unavailable
+ * and to hold seats temporarily during checkout.
  * Tenant validation is enforced on all methods.
  * </p>
  */
@@ -34,6 +37,9 @@ public class SeatController {
     @Autowired
     private SeatService seatService;
 
+    @Autowired
+    private SeatHoldService seatHoldService;
+
     /**
      * Retrieves a list of available seats for the specified flight.
      * This endpoint is public (no authentication required).
@@ -117,4 +123,57 @@ public class SeatController {
         TenantUtil.validateTenant(TenantContext.getTenantId());
         return seatService.markSeatAsUnavailable(seatId, TenantContext.getTenantId());
     }
+
+    /**
+     * Holds seats of a flight for a limited time during checkout.
+     * Held seats are not available to others until the hold is confirmed through a booking or expires.
+     * Requires authenticated user with role USER or ADMIN.
+     *
+     * @param request flight ID and seat numbers to hold
+     * @return the created hold, including its ID and expiry time
+     */
+    @PostMapping("/holds")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(
+            summary = "Hold seats",
+            description = "Temporarily holds all given seats of a flight, or none if one of them is taken. Requires authentication."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Seats held",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SeatHoldDTO.class))),
+            @ApiResponse(responseCode = "403", description = "Unauthorized or tenant mismatch"),
+            @ApiResponse(responseCode = "409", description = "One of the seats is already taken")
+    })
+    public SeatHoldDTO holdSeats(
+            @Parameter(description = "Flight ID and seat numbers to hold", required = true)
+            @RequestBody SeatHoldDTO request
+    ) {
+        TenantUtil.validateTenant(TenantContext.getTenantId());
+        return seatHoldService.hold(request.getFlightId(), request.getSeatNumbers(), TenantContext.getTenantId());
+    }
+
+    /**
+     * Releases a seat hold before it expires.
+     * Requires authenticated user with role USER or ADMIN.
+     *
+     * @param holdId ID of the hold to release
+     */
+    @DeleteMapping("/holds/{holdId}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(
+            summary = "Release a seat hold",
+            description = "Releases the seats of an active hold. Requires authentication."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hold released"),
+            @ApiResponse(responseCode = "403", description = "Unauthorized or tenant mismatch"),
+            @ApiResponse(responseCode = "409", description = "Hold already expired or confirmed")
+    })
+    public void releaseHold(
+            @Parameter(description = "ID of the hold to release", required = true)
+            @PathVariable String holdId
+    ) {
+        TenantUtil.validateTenant(TenantContext.getTenantId());
+        seatHoldService.release(holdId, TenantContext.getTenantId());
+    }
 }
@@ -0,0 +1,54 @@
+package com.mbi_re.airport_management.dto;
+
+import com.mbi_re.airport_management.model.FlightStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO për një rresht të tabelës së nisjeve ose mbërritjeve të një aeroporti.
+ * Ruhet në memorie nga {@code FlightBoardService} dhe nuk ndryshohet pasi krijohet;
+ * çdo ndryshim i fluturimit krijon një rresht të ri.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class BoardEntryDTO {
+
+    /** ID e fluturimit */
+    private Long flightId;
+
+    /** Numri i fluturimit (p.sh., W64001) */
+    private String flightNumber;
+
+    /** Emri i kompanisë ajrore */
+    private String airlineName;
+
+    /** Aeroporti i nisjes */
+    private String departureAirport;
+
+    /** Aeroporti i mbërritjes */
+    private String arrivalAirport;
+
+    /** ID e terminalit të nisjes (nëse dihet) */
+    private Long terminalId;
+
+    /** Emri i terminalit të nisjes (nëse dihet) */
+    private String terminalName;
+
+    /** Numri i portës (nëse është caktuar) */
+    private String gateNumber;
+
+    /** Data dhe ora e planifikuar e nisjes */
+    private LocalDateTime scheduledDeparture;
+
+    /** Data dhe ora e planifikuar e mbërritjes; ditën tjetër nëse ora e mbërritjes është para nisjes */
+    private LocalDateTime scheduledArrival;
+
+    /** Statusi aktual i fluturimit */
+    private FlightStatus flightStatus;
+}
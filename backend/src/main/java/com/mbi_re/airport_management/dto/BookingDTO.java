@@ -33,6 +33,12 @@ public class BookingDTO {
     /** Tregon nëse pasagjeri ka bërë check-in apo jo */
     private boolean checkedIn;
 
+    /**
+     * ID e mbajtjes së ulëseve (opsionale). Nëse jepet, rezervimi krijohet me statusin PENDING
+     * dhe bëhet PAID vetëm pas konfirmimit.
+     */
+    private String holdId;
+
     /**
      * Kontrollon nëse pasagjeri është check-in.
      *
@@ -176,4 +182,22 @@ public class BookingDTO {
     public void setStatus(String status) {
         this.status = status;
     }
+
+    /**
+     * Merr ID e mbajtjes së ulëseve.
+     *
+     * @return holdId ose {@code null}
+     */
+    public String getHoldId() {
+        return holdId;
+    }
+
+    /**
+     * Vendos ID e mbajtjes së ulëseve.
+     *
+     * @param holdId ID e mbajtjes
+     */
+    public void setHoldId(String holdId) {
+        this.holdId = holdId;
+    }
 }
@@ -0,0 +1,34 @@
+package com.mbi_re.airport_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO me statistikat e një cache-i që nga nisja e aplikacionit.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheStatsDTO {
+
+    /** Emri i cache-it */
+    private String name;
+
+    /** Numri i përafërt i elementeve në cache */
+    private long size;
+
+    /** Numri i leximeve të gjetura në cache */
+    private long hits;
+
+    /** Numri i leximeve që nuk u gjetën në cache */
+    private long misses;
+
+    /** Pjesa e leximeve të gjetura, nga 0 deri në 1 */
+    private double hitRate;
+
+    /** Numri i elementeve të hequra për shkak të madhësisë ose skadimit */
+    private long evictions;
+}
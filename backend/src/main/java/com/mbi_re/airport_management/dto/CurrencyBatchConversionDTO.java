@@ -0,0 +1,29 @@
+package com.mbi_re.airport_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO për konvertimin e një liste shumash nga një monedhë në një tjetër me një kërkesë të vetme.
+ * Shumat konvertohen me të njëjtin kurs, në rendin në të cilin janë dërguar.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CurrencyBatchConversionDTO {
+
+    /** Kodi i monedhës burim (p.sh., "EUR") */
+    private String from;
+
+    /** Kodi i monedhës së synuar (p.sh., "USD") */
+    private String to;
+
+    /** Shumat që do të konvertohen */
+    private double[] amounts;
+
+    /** Shumat e konvertuara, në të njëjtin rend si {@code amounts}; plotësohen në përgjigje */
+    private double[] convertedAmounts;
+}
@@ -0,0 +1,28 @@
+package com.mbi_re.airport_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO për një faqe rezultatesh me paginim me kursor (keyset).
+ * Faqja tjetër kërkohet duke dërguar {@code nextCursor} si parametrin {@code cursor}.
+ *
+ * @param <T> tipi i elementeve
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    /** Elementet e kësaj faqeje */
+    private List<T> items;
+
+    /** Kursori i faqes tjetër; {@code null} nëse kjo është faqja e fundit */
+    private String nextCursor;
+
+    /** Tregon nëse ka më shumë elemente pas kësaj faqeje */
+    private boolean hasMore;
+}
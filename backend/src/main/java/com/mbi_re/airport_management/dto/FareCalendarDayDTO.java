@@ -0,0 +1,30 @@
+package com.mbi_re.airport_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO për një ditë të kalendarit të çmimeve të një rruge: çmimi më i ulët dhe vendet e lira në atë datë.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FareCalendarDayDTO {
+
+    /** Data e fluturimeve */
+    private LocalDate date;
+
+    /** Çmimi më i ulët ndër fluturimet me vende të lira; {@code null} nëse të gjitha janë plot */
+    private Double minPrice;
+
+    /** Numri total i vendeve të lira në fluturimet e ditës */
+    private Long availableSeats;
+
+    /** Numri i fluturimeve të ditës */
+    private Long flights;
+}
@@ -16,7 +16,7 @@ import java.time.LocalTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class FlightDTO {
 
     /** ID unike e fluturimit */
@@ -43,6 +43,12 @@ public class FlightDTO {
     /** Numri i ulëseve të lira */
     private int availableSeat;
 
+    /** Numri total i ulëseve; nëse mungon, merret {@code availableSeat} */
+    private Integer seatCapacity;
+
+    /** Numri i ulëseve për rresht; nëse mungon, merret 6 */
+    private Integer seatsPerRow;
+
     /** Çmimi i biletës së fluturimit */
     private double price;
 
@@ -125,6 +131,22 @@ public class FlightDTO {
         this.availableSeat = availableSeat;
     }
 
+    public Integer getSeatCapacity() {
+        return seatCapacity;
+    }
+
+    public void setSeatCapacity(Integer seatCapacity) {
+        this.seatCapacity = seatCapacity;
+    }
+
+    public Integer getSeatsPerRow() {
+        return seatsPerRow;
+    }
+
+    public void setSeatsPerRow(Integer seatsPerRow) {
+        this.seatsPerRow = seatsPerRow;
+    }
+
     public double getPrice() {
         return price;
     }
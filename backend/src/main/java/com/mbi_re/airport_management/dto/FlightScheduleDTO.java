@@ -0,0 +1,37 @@
+package com.mbi_re.airport_management.dto;
+
+import com.mbi_re.airport_management.model.FlightStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * DTO me orarin dhe statusin e një fluturimi, i mjaftueshëm për llogaritjen e tranzicioneve të statusit
+ * pa ngarkuar entitetin e plotë {@link com.mbi_re.airport_management.model.Flight}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightScheduleDTO {
+
+    /** ID e fluturimit */
+    private Long id;
+
+    /** ID e tenantit */
+    private String tenantId;
+
+    /** Data e fluturimit */
+    private LocalDate flightDate;
+
+    /** Ora e nisjes */
+    private LocalTime departureTime;
+
+    /** Ora e mbërritjes; nëse është para nisjes, mbërritja është ditën tjetër */
+    private LocalTime arrivalTime;
+
+    /** Statusi aktual */
+    private FlightStatus flightStatus;
+}
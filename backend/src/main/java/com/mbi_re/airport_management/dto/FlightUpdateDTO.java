@@ -0,0 +1,40 @@
+package com.mbi_re.airport_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO për një ndryshim (delta) të një fluturimi që dërgohet në kohë reale te ekranet e
+ * fluturimeve përmes topic-ut STOMP të tenantit. Përmban vetëm fushat që kanë ndryshuar.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightUpdateDTO {
+
+    /**
+     * Lloji i ndryshimit.
+     */
+    public enum Type {
+        /** Fluturimi u krijua ose u ndryshua; {@code changes} përmban të gjitha fushat e ekranit */
+        UPSERT,
+        /** Statusi i fluturimit ndryshoi */
+        STATUS,
+        /** Porta e fluturimit ndryshoi; {@code gateId} dhe {@code gateNumber} janë {@code null} kur porta lirohet */
+        GATE,
+        /** Fluturimi u fshi */
+        DELETE
+    }
+
+    /** Lloji i ndryshimit */
+    private Type type;
+
+    /** ID e fluturimit */
+    private Long flightId;
+
+    /** Fushat e ndryshuara dhe vlerat e tyre të reja; bosh për {@link Type#DELETE} */
+    private Map<String, Object> changes;
+}
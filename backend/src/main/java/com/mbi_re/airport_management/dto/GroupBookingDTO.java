@@ -0,0 +1,29 @@
+package com.mbi_re.airport_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO për një rezervim grupor: disa ulëse të të njëjtit fluturim rezervohen së bashku,
+ * ose të gjitha ose asnjëra.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupBookingDTO {
+
+    /** ID e fluturimit */
+    private Long flightId;
+
+    /** Numrat e ulëseve që rezervohen (p.sh., "A1", "A2", "A3") */
+    private List<String> seatNumbers;
+
+    /** Emri i pasagjerit kryesor të grupit */
+    private String passengerName;
+
+    /** ID e pasagjerit kryesor në sistem */
+    private Long passengerId;
+}
@@ -0,0 +1,37 @@
+package com.mbi_re.airport_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO për një itinerar nga një aeroport në një tjetër, me një ose disa fluturime të njëpasnjëshme.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItineraryDTO {
+
+    /** Fluturimet e itinerarit, sipas radhës */
+    private List<FlightDTO> legs;
+
+    /** Numri i ndalesave (0 për fluturim direkt) */
+    private int stops;
+
+    /** Data dhe ora e nisjes së fluturimit të parë */
+    private LocalDateTime departure;
+
+    /** Data dhe ora e mbërritjes së fluturimit të fundit */
+    private LocalDateTime arrival;
+
+    /** Kohëzgjatja totale e udhëtimit në minuta, përfshirë pritjet ndërmjet fluturimeve */
+    private long durationMinutes;
+
+    /** Çmimi total i një bilete për të gjitha fluturimet */
+    private double totalPrice;
+}
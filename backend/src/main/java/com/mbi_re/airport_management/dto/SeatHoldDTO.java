@@ -0,0 +1,30 @@
+package com.mbi_re.airport_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO për një mbajtje të përkohshme (hold) të ulëseve gjatë pagesës.
+ * Ulëset e mbajtura nuk janë të disponueshme për të tjerët deri në konfirmim ose skadim.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHoldDTO {
+
+    /** ID unike e mbajtjes; plotësohet nga serveri */
+    private String holdId;
+
+    /** ID e fluturimit */
+    private Long flightId;
+
+    /** Numrat e ulëseve të mbajtura (p.sh., "A1", "A2") */
+    private List<String> seatNumbers;
+
+    /** Koha kur mbajtja skadon nëse nuk konfirmohet; plotësohet nga serveri */
+    private LocalDateTime expiresAt;
+}
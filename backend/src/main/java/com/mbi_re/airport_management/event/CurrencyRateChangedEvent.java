@@ -0,0 +1,10 @@
+package com.mbi_re.airport_management.event;
+
+/**
+ * Published when a currency rate was added, updated or deleted.
+ *
+ * @param code     the currency code
+ * @param tenantId the tenant whose rates changed
+ */
+public record CurrencyRateChangedEvent(String code, String tenantId) {
+}
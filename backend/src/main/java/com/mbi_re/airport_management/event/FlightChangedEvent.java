@@ -0,0 +1,10 @@
+package com.mbi_re.airport_management.event;
+
+/**
+ * Published when a flight is created, updated or deleted.
+ *
+ * @param flightId the changed flight
+ * @param tenantId the tenant that owns the flight
+ */
+public record FlightChangedEvent(Long flightId, String tenantId) {
+}
@@ -0,0 +1,11 @@
+package com.mbi_re.airport_management.event;
+
+/**
+ * Published when seats of a flight were sold and its available seat count was decremented.
+ *
+ * @param flightId the flight
+ * @param tenantId the tenant that owns the flight
+ * @param seats    the number of seats sold
+ */
+public record FlightSeatsSoldEvent(Long flightId, String tenantId, int seats) {
+}
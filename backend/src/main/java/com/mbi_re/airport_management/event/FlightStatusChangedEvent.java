@@ -0,0 +1,13 @@
+package com.mbi_re.airport_management.event;
+
+import com.mbi_re.airport_management.model.FlightStatus;
+
+/**
+ * Published after the status of a flight was changed by the status scheduler.
+ *
+ * @param flightId the flight
+ * @param tenantId the tenant that owns the flight
+ * @param status   the new status
+ */
+public record FlightStatusChangedEvent(Long flightId, String tenantId, FlightStatus status) {
+}
@@ -0,0 +1,14 @@
+package com.mbi_re.airport_management.event;
+
+/**
+ * Published when a gate was assigned to a flight, released by it, or renamed while assigned.
+ *
+ * @param tenantId         the tenant that owns the gate
+ * @param gateId           the gate
+ * @param gateNumber       the gate number after the change
+ * @param previousFlightId the flight assigned before the change, or {@code null}
+ * @param flightId         the flight assigned after the change, or {@code null}
+ */
+public record GateAssignmentChangedEvent(String tenantId, Long gateId, String gateNumber,
+                                         Long previousFlightId, Long flightId) {
+}
@@ -0,0 +1,10 @@
+package com.mbi_re.airport_management.event;
+
+/**
+ * Published when a seat hold expires before it was confirmed; its seats are already free again.
+ *
+ * @param holdId   the expired hold
+ * @param tenantId the tenant that owned the hold
+ */
+public record SeatHoldExpiredEvent(String holdId, String tenantId) {
+}
@@ -16,9 +16,10 @@ import java.time.LocalDateTime;
 @Builder
 public class Booking {
 
-    /** ID unike e rezervimit, gjeneruar automatikisht */
+    /** ID unike e rezervimit, e alokuar në blloqe nga sekuenca {@code bookings_seq} */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     /** Emri i pasagjerit që ka bërë rezervimin */
@@ -50,6 +51,10 @@ public class Booking {
     /** Flaga që tregon nëse pasagjeri është check-in apo jo */
     private boolean checkedIn;
 
+    /** ID e mbajtjes së ulëseve (seat hold) për rezervimet që presin pagesën */
+    @Column(name = "hold_id")
+    private String holdId;
+
     /**
      * Kontrollon nëse pasagjeri ka kryer check-in.
      *
@@ -229,4 +234,22 @@ public class Booking {
     public void setTenantId(String tenantId) {
         this.tenantId = tenantId;
     }
+
+    /**
+     * Merr ID-në e mbajtjes së ulëseve.
+     *
+     * @return holdId, ose {@code null} nëse rezervimi nuk ka kaluar nga një mbajtje
+     */
+    public String getHoldId() {
+        return holdId;
+    }
+
+    /**
+     * Vendos ID-në e mbajtjes së ulëseve.
+     *
+     * @param holdId ID e mbajtjes
+     */
+    public void setHoldId(String holdId) {
+        this.holdId = holdId;
+    }
 }
@@ -0,0 +1,84 @@
+package com.mbi_re.airport_management.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+
+/**
+ * Entiteti {@code BookingSeat} lidh një ulëse të një fluturimi me rezervimin që e zotëron.
+ * <p>
+ * Çelësi primar {@code (tenant_id, flight_id, seat_number)} garanton që një ulëse i përket
+ * më së shumti një rezervimi dhe i përgjigjet pyetjes "kush e ka ulësen 12C në fluturimin X"
+ * me një kërkim në indeks, në vend të leximit të {@code bookings.seat_number}.
+ */
+@Entity
+@Table(name = "booking_seat")
+@IdClass(BookingSeat.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class BookingSeat implements Persistable<BookingSeat.Key> {
+
+    /** ID e tenantit për mbështetjen e sistemit multi-tenant */
+    @Id
+    @Column(name = "tenant_id")
+    private String tenantId;
+
+    /** ID e fluturimit */
+    @Id
+    @Column(name = "flight_id")
+    private Long flightId;
+
+    /** Numri i ulëses (p.sh., "C12") */
+    @Id
+    @Column(name = "seat_number")
+    private String seatNumber;
+
+    /** ID e rezervimit që e zotëron ulësen */
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    /**
+     * Rreshtat e rinj futen gjithmonë me INSERT, kështu që një ulëse e zënë tashmë
+     * shkakton shkelje të çelësit primar në vend që t'i kalojë një rezervimi tjetër.
+     */
+    @Transient
+    private boolean isNew = true;
+
+    public BookingSeat(String tenantId, Long flightId, String seatNumber, Long bookingId) {
+        this.tenantId = tenantId;
+        this.flightId = flightId;
+        this.seatNumber = seatNumber;
+        this.bookingId = bookingId;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(tenantId, flightId, seatNumber);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    /**
+     * Çelësi primar i përbërë i {@link BookingSeat}.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String tenantId;
+        private Long flightId;
+        private String seatNumber;
+    }
+}
@@ -43,6 +43,17 @@ public class Flight {
     /** Numri i ulëseve të disponueshme për këtë fluturim */
     private int availableSeat;
 
+    /**
+     * Numri total i ulëseve të fluturimit; harta e ulëseve derivohet nga ky konfigurim (shih {@link SeatLayout}).
+     * Për fluturimet e vjetra pa këtë vlerë përdoret {@code availableSeat}.
+     */
+    @Column(name = "seat_capacity")
+    private Integer seatCapacity;
+
+    /** Numri i ulëseve për rresht (p.sh., 6 për A1..A6) */
+    @Column(name = "seats_per_row")
+    private Integer seatsPerRow;
+
     /** Çmimi i një bilete për këtë fluturim */
     private double price;
 
@@ -69,6 +80,10 @@ public class Flight {
     @JoinColumn(name = "airline_id", nullable = false)
     private Airline airline;
 
+    /** Versioni për kyçje optimiste; rritet në çdo ndryshim të inventarit të ulëseve */
+    @Version
+    private Long version;
+
     // Getters dhe Setters të manualizuar
 
     public Long getId() {
@@ -135,6 +150,22 @@ public class Flight {
         this.availableSeat = availableSeat;
     }
 
+    public Integer getSeatCapacity() {
+        return seatCapacity;
+    }
+
+    public void setSeatCapacity(Integer seatCapacity) {
+        this.seatCapacity = seatCapacity;
+    }
+
+    public Integer getSeatsPerRow() {
+        return seatsPerRow;
+    }
+
+    public void setSeatsPerRow(Integer seatsPerRow) {
+        this.seatsPerRow = seatsPerRow;
+    }
+
     public double getPrice() {
         return price;
     }
@@ -182,4 +213,12 @@ public class Flight {
     public void setAirline(Airline airline) {
         this.airline = airline;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
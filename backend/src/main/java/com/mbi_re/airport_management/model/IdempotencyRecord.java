@@ -0,0 +1,61 @@
+package com.mbi_re.airport_management.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Entiteti {@code IdempotencyRecord} ruan përgjigjen e një kërkese POST të identifikuar nga
+ * header-i {@code Idempotency-Key}, që përsëritjet e së njëjtës kërkesë të marrin të njëjtën përgjigje
+ * në vend që të krijojnë rreshta të dyfishtë.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@IdClass(IdempotencyRecord.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    /** ID e tenantit për mbështetjen e sistemit multi-tenant */
+    @Id
+    @Column(name = "tenant_id")
+    private String tenantId;
+
+    /** Operacioni të cilit i përket çelësi (p.sh., "bookings", "payments") */
+    @Id
+    @Column(name = "scope")
+    private String scope;
+
+    /** Vlera e header-it {@code Idempotency-Key} */
+    @Id
+    @Column(name = "idem_key")
+    private String idemKey;
+
+    /** Hash SHA-256 i trupit të kërkesës, për të dalluar ripërdorimin e çelësit me kërkesë tjetër */
+    @Column(name = "request_hash", nullable = false)
+    private String requestHash;
+
+    /** Përgjigja origjinale në JSON; {@code null} derisa kërkesa origjinale të përfundojë */
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    /** Koha kur çelësi skadon dhe mund të fshihet */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Çelësi primar i përbërë i {@link IdempotencyRecord}.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String tenantId;
+        private String scope;
+        private String idemKey;
+    }
+}
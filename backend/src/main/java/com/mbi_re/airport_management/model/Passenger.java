@@ -10,9 +10,10 @@ import jakarta.persistence.*;
 @Table(name = "passengers")
 public class Passenger {
 
-    /** ID unike e pasagjerit, e gjeneruar automatikisht nga databaza */
+    /** ID unike e pasagjerit, e alokuar në blloqe nga sekuenca {@code passengers_seq} */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "passengers_seq")
+    @SequenceGenerator(name = "passengers_seq", sequenceName = "passengers_seq", allocationSize = 50)
     private Long id;
 
     /** Emri i plotë i pasagjerit */
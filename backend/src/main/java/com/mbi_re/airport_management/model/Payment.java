@@ -18,9 +18,10 @@ import java.time.LocalDateTime;
 @Builder
 public class Payment {
 
-    /** ID unike e pagesës, e gjeneruar automatikisht nga databaza */
+    /** ID unike e pagesës, e alokuar në blloqe nga sekuenca {@code payments_seq} */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_seq")
+    @SequenceGenerator(name = "payments_seq", sequenceName = "payments_seq", allocationSize = 50)
     private Long id;
 
     /** Metoda e pagesës (p.sh., "CREDIT_CARD", "PAYPAL") */
@@ -0,0 +1,36 @@
+package com.mbi_re.airport_management.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entiteti {@code SchedulerLock} përfaqëson qiranë (lease) e një pune të planifikuar, që puna
+ * të ekzekutohet vetëm nga një instancë e aplikacionit në të njëjtën kohë.
+ */
+@Entity
+@Table(name = "scheduler_lock")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerLock {
+
+    /** Emri i punës, ose i pjesës (shard) së punës */
+    @Id
+    @Column(name = "name")
+    private String name;
+
+    /** Koha deri kur qiraja mbahet; pas saj mund të merret nga një instancë tjetër */
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    /** Koha kur qiraja u mor për herë të fundit */
+    @Column(name = "locked_at", nullable = false)
+    private LocalDateTime lockedAt;
+
+    /** Identifikuesi i instancës që e mban qiranë */
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+}
@@ -3,10 +3,14 @@ package com.mbi_re.airport_management.model;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 /**
  * Entiteti {@code Seat} përfaqëson një ulëse në një fluturim specifik.
  * Ulësja është e lidhur me një fluturim dhe përfshin informacione si numri i ulëses,
  * statusi i rezervimit, dhe identifikuesi i tenantit për mbështetjen e multi-tenancy.
+ * <p>
+ * Në databazë ruhen vetëm ulëset e rezervuara; ulëset e lira derivohen nga {@link SeatLayout}.
  */
 @Entity
 @Getter
@@ -16,9 +20,8 @@ import lombok.*;
 @Builder
 public class Seat {
 
-    /** ID unike e ulëses, e gjeneruar automatikisht nga databaza */
+    /** ID e ulëses, e derivuar nga fluturimi dhe pozicioni (shih {@link SeatLayout#seatId(long, int)}) */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     /** Numri i ulëses (p.sh., "12A", "3B") */
@@ -36,6 +39,27 @@ public class Seat {
     @Column(name = "booked")
     private boolean booked;
 
+    /** ID e mbajtjes së përkohshme që ka zënë ulësen, ose {@code null} kur ulësja është blerë */
+    @Column(name = "hold_id")
+    private String holdId;
+
+    /** Koha kur skadon mbajtja e përkohshme, ose {@code null} kur ulësja është blerë */
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+
+    /**
+     * Krijon një ulëse që nuk mbahet përkohësisht.
+     *
+     * @param id         ID e ulëses
+     * @param seatNumber numri i ulëses
+     * @param flight     fluturimi
+     * @param tenantId   ID e tenantit
+     * @param booked     {@code true} nëse është e rezervuar
+     */
+    public Seat(Long id, String seatNumber, Flight flight, String tenantId, boolean booked) {
+        this(id, seatNumber, flight, tenantId, booked, null, null);
+    }
+
     /**
      * Kontrollon nëse ulësja është e rezervuar.
      *
@@ -0,0 +1,160 @@
+package com.mbi_re.airport_management.model;
+
+/**
+ * {@code SeatLayout} përshkruan konfigurimin e ulëseve të një fluturimi (kapaciteti dhe ulëse për rresht).
+ * <p>
+ * Harta e ulëseve derivohet nga ky konfigurim në vend që të ruhet një rresht {@link Seat} për çdo ulëse;
+ * në databazë ruhen vetëm ulëset e rezervuara. Çdo ulëse identifikohet nga pozicioni i saj
+ * ({@code ordinal}, duke filluar nga 0) dhe ka një ID të qëndrueshme {@code flightId * MAX_SEATS + ordinal},
+ * e njëjtë para dhe pas rezervimit.
+ * <p>
+ * Rreshtat emërtohen A, B, ..., Z, AA, AB, ... dhe kolonat 1 deri në {@code seatsPerRow} (p.sh., "A1", "C6").
+ */
+public final class SeatLayout {
+
+    /** Numri maksimal i ulëseve për fluturim; përcakton edhe hapin e ID-ve të ulëseve */
+    public static final int MAX_SEATS = 1000;
+
+    /** Numri i ulëseve për rresht kur fluturimi nuk e specifikon */
+    public static final int DEFAULT_SEATS_PER_ROW = 6;
+
+    private final int capacity;
+    private final int seatsPerRow;
+
+    /**
+     * Krijon një konfigurim ulësesh.
+     *
+     * @param capacity    numri total i ulëseve (0 deri në {@link #MAX_SEATS})
+     * @param seatsPerRow numri i ulëseve në një rresht (të paktën 1)
+     * @throws IllegalArgumentException nëse vlerat janë jashtë kufijve
+     */
+    public SeatLayout(int capacity, int seatsPerRow) {
+        if (capacity < 0 || capacity > MAX_SEATS) {
+            throw new IllegalArgumentException("Seat capacity must be between 0 and " + MAX_SEATS);
+        }
+        if (seatsPerRow < 1) {
+            throw new IllegalArgumentException("Seats per row must be at least 1");
+        }
+        this.capacity = capacity;
+        this.seatsPerRow = seatsPerRow;
+    }
+
+    /**
+     * Kthen konfigurimin e ulëseve të një fluturimi.
+     *
+     * @param flight fluturimi
+     * @return konfigurimi, me {@link #DEFAULT_SEATS_PER_ROW} nëse fluturimi nuk e ka të caktuar
+     */
+    public static SeatLayout of(Flight flight) {
+        int capacity = flight.getSeatCapacity() != null ? flight.getSeatCapacity() : flight.getAvailableSeat();
+        int seatsPerRow = flight.getSeatsPerRow() != null ? flight.getSeatsPerRow() : DEFAULT_SEATS_PER_ROW;
+        return new SeatLayout(capacity, seatsPerRow);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSeatsPerRow() {
+        return seatsPerRow;
+    }
+
+    /**
+     * Kontrollon nëse pozicioni ekziston në këtë konfigurim.
+     *
+     * @param ordinal pozicioni i ulëses
+     * @return {@code true} nëse {@code 0 <= ordinal < capacity}
+     */
+    public boolean contains(int ordinal) {
+        return ordinal >= 0 && ordinal < capacity;
+    }
+
+    /**
+     * Kthen numrin e ulëses për një pozicion.
+     *
+     * @param ordinal pozicioni i ulëses
+     * @return numri i ulëses (p.sh., "B3")
+     */
+    public String seatNumber(int ordinal) {
+        return rowLabel(ordinal / seatsPerRow) + (ordinal % seatsPerRow + 1);
+    }
+
+    /**
+     * Kthen pozicionin e ulëses nga numri i saj.
+     *
+     * @param seatNumber numri i ulëses (p.sh., "B3")
+     * @return pozicioni, ose -1 nëse numri nuk i përket këtij konfigurimi
+     */
+    public int ordinalOf(String seatNumber) {
+        if (seatNumber == null) {
+            return -1;
+        }
+        String value = seatNumber.trim().toUpperCase();
+        int split = 0;
+        int row = 0;
+        while (split < value.length() && Character.isLetter(value.charAt(split))) {
+            char c = value.charAt(split);
+            if (c < 'A' || c > 'Z') {
+                return -1;
+            }
+            row = row * 26 + (c - 'A' + 1);
+            split++;
+        }
+        if (split == 0 || split == value.length()) {
+            return -1;
+        }
+        int column;
+        try {
+            column = Integer.parseInt(value.substring(split));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        if (column < 1 || column > seatsPerRow) {
+            return -1;
+        }
+        long ordinal = (long) (row - 1) * seatsPerRow + column - 1;
+        return ordinal < capacity ? (int) ordinal : -1;
+    }
+
+    /**
+     * Kthen ID-në e qëndrueshme të ulëses.
+     *
+     * @param flightId ID-ja e fluturimit
+     * @param ordinal  pozicioni i ulëses
+     * @return ID-ja e ulëses
+     */
+    public static long seatId(long flightId, int ordinal) {
+        return flightId * MAX_SEATS + ordinal;
+    }
+
+    /**
+     * Kthen ID-në e fluturimit nga ID-ja e ulëses.
+     *
+     * @param seatId ID-ja e ulëses
+     * @return ID-ja e fluturimit
+     */
+    public static long flightIdOf(long seatId) {
+        return seatId / MAX_SEATS;
+    }
+
+    /**
+     * Kthen pozicionin e ulëses nga ID-ja e saj.
+     *
+     * @param seatId ID-ja e ulëses
+     * @return pozicioni i ulëses
+     */
+    public static int ordinalOfSeat(long seatId) {
+        return (int) (seatId % MAX_SEATS);
+    }
+
+    private static String rowLabel(int row) {
+        StringBuilder label = new StringBuilder();
+        int n = row + 1;
+        while (n > 0) {
+            n--;
+            label.insert(0, (char) ('A' + n % 26));
+            n /= 26;
+        }
+        return label.toString();
+    }
+}
@@ -1,16 +1,23 @@
 package com.mbi_re.airport_management.repository;
 
 import com.mbi_re.airport_management.model.Booking;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * {@code BookingRepository} ofron qasje në të dhënat e rezervimeve të fluturimeve,
  * me mbështetje për filtrimin sipas tenant-it për aplikacione multi-tenant.
  */
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking> {
 
     /**
      * Gjen të gjitha rezervimet që i përkasin një tenant-i të caktuar.
@@ -28,4 +35,55 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @return {@link Optional} që përmban rezervimin nëse ekziston
      */
     Optional<Booking> findByIdAndTenantId(Long id, String tenantId);
+
+    /**
+     * Gjen rezervimin që i përket një mbajtjeje ulësesh.
+     *
+     * @param holdId   ID-ja e mbajtjes
+     * @param tenantId identifikuesi i tenant-it
+     * @return {@link Optional} që përmban rezervimin nëse ekziston
+     */
+    Optional<Booking> findByHoldIdAndTenantId(String holdId, String tenantId);
+
+    /**
+     * Kthen rezervimet që kanë të paktën një ulëse në një fluturim (manifesti i pasagjerëve).
+     *
+     * @param tenantId identifikuesi i tenant-it
+     * @param flightId ID-ja e fluturimit
+     * @return listë me rezervimet e fluturimit
+     */
+    @Query("SELECT b FROM Booking b WHERE b.tenantId = :tenantId AND b.id IN " +
+           "(SELECT bs.bookingId FROM BookingSeat bs WHERE bs.tenantId = :tenantId AND bs.flightId = :flightId)")
+    List<Booking> findByFlight(@Param("tenantId") String tenantId, @Param("flightId") Long flightId);
+
+    /**
+     * Lexon të gjitha rezervimet e një tenant-i si rrjedhë (stream), për eksport.
+     * Rreshtat merren nga databaza në blloqe prej 500; rrjedha duhet konsumuar brenda
+     * një transaksioni dhe mbyllur pas përdorimit.
+     *
+     * @param tenantId identifikuesi i tenant-it
+     * @return rrjedhë me rezervimet, të renditura sipas ID-së
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b WHERE b.tenantId = :tenantId ORDER BY b.id")
+    Stream<Booking> streamByTenantId(@Param("tenantId") String tenantId);
+
+    /**
+     * Lexon rezervimet me të paktën një ulëse në një fluturim si rrjedhë (stream), për eksportin e manifestit.
+     *
+     * @param tenantId identifikuesi i tenant-it
+     * @param flightId ID-ja e fluturimit
+     * @return rrjedhë me rezervimet, të renditura sipas ID-së
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b WHERE b.tenantId = :tenantId AND b.id IN " +
+           "(SELECT bs.bookingId FROM BookingSeat bs WHERE bs.tenantId = :tenantId AND bs.flightId = :flightId) " +
+           "ORDER BY b.id")
+    Stream<Booking> streamByFlight(@Param("tenantId") String tenantId, @Param("flightId") Long flightId);
 }
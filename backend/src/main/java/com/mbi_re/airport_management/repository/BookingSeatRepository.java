@@ -0,0 +1,55 @@
+package com.mbi_re.airport_management.repository;
+
+import com.mbi_re.airport_management.model.BookingSeat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@code BookingSeatRepository} ofron pyetje për zotërimin e ulëseve dhe manifestin e fluturimeve.
+ * Të gjitha pyetjet përdorin çelësin primar {@code (tenant_id, flight_id, seat_number)} ose
+ * indeksin mbi {@code booking_id}.
+ */
+public interface BookingSeatRepository extends JpaRepository<BookingSeat, BookingSeat.Key> {
+
+    /**
+     * Gjen rezervimin që zotëron një ulëse të caktuar.
+     *
+     * @param tenantId   identifikuesi i tenant-it
+     * @param flightId   ID-ja e fluturimit
+     * @param seatNumber numri i ulëses
+     * @return {@link Optional} me lidhjen nëse ulësja është e rezervuar
+     */
+    Optional<BookingSeat> findByTenantIdAndFlightIdAndSeatNumber(String tenantId, Long flightId, String seatNumber);
+
+    /**
+     * Kthen të gjitha ulëset e rezervuara të një fluturimi (manifesti i ulëseve).
+     *
+     * @param tenantId identifikuesi i tenant-it
+     * @param flightId ID-ja e fluturimit
+     * @return listë me ulëset e rezervuara, të renditura sipas numrit
+     */
+    List<BookingSeat> findByTenantIdAndFlightIdOrderBySeatNumber(String tenantId, Long flightId);
+
+    /**
+     * Kthen ulëset e një rezervimi.
+     *
+     * @param bookingId ID-ja e rezervimit
+     * @return listë me ulëset e rezervimit
+     */
+    List<BookingSeat> findByBookingId(Long bookingId);
+
+    /**
+     * Liron të gjitha ulëset e një rezervimi me një DELETE të vetëm.
+     *
+     * @param bookingId ID-ja e rezervimit
+     * @return numri i ulëseve të liruara
+     */
+    @Modifying
+    @Query("DELETE FROM BookingSeat bs WHERE bs.bookingId = :bookingId")
+    int deleteByBookingId(@Param("bookingId") Long bookingId);
+}
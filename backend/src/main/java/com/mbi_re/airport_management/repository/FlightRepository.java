@@ -1,19 +1,40 @@
 package com.mbi_re.airport_management.repository;
 
+import com.mbi_re.airport_management.dto.FareCalendarDayDTO;
+import com.mbi_re.airport_management.dto.FlightDTO;
+import com.mbi_re.airport_management.dto.FlightScheduleDTO;
 import com.mbi_re.airport_management.model.Flight;
+import com.mbi_re.airport_management.model.FlightStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * {@code FlightRepository} ofron operacione CRUD për entitetet {@link Flight},
  * me filtrim të të dhënave sipas tenant-it në një sistem multi-tenant.
  */
 @Repository
-public interface FlightRepository extends JpaRepository<Flight, Long> {
+public interface FlightRepository extends JpaRepository<Flight, Long>, JpaSpecificationExecutor<Flight>,
+        FlightRepositoryCustom {
+
+    /** Projeksioni i përbashkët që lexon fluturimet direkt si {@link FlightDTO} */
+    String SELECT_FLIGHT_DTO = "SELECT new com.mbi_re.airport_management.dto.FlightDTO(" +
+            "f.id, f.flightNumber, f.departureAirport, f.arrivalAirport, f.departureTime, f.arrivalTime, " +
+            "f.flightDate, f.availableSeat, f.seatCapacity, f.seatsPerRow, f.price, f.flightStatus, f.tenantId, " +
+            "f.gate.id, f.terminal.id, f.airline.id) FROM Flight f ";
 
     /**
      * Gjen të gjitha fluturimet që fillojnë nga një datë e caktuar e tutje për një tenant specifik.
@@ -41,6 +62,15 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
      */
     Optional<Flight> findByIdAndTenantId(Long id, String tenantId);
 
+    /**
+     * Gjen fluturimet me një numër të caktuar brenda një tenant-i.
+     *
+     * @param flightNumber numri i fluturimit
+     * @param tenantId     identifikuesi i tenant-it
+     * @return listë me fluturimet përkatëse
+     */
+    List<Flight> findByFlightNumberAndTenantId(String flightNumber, String tenantId);
+
     /**
      * Gjen të gjitha fluturimet që i përkasin një tenant-i të caktuar.
      *
@@ -52,6 +82,8 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
     /**
      * Kthen të gjitha fluturimet që përputhen me kriteret e filtrimit për një tenant:
      * aeroporti i nisjes, aeroporti i mbërritjes, periudha e datave dhe numri i vendeve të lira.
+     * Aeroportet krahasohen pa dallim shkronjash me {@code lower()}, që përputhet me indeksin
+     * {@code idx_flight_route_search}; rezultati lexohet si DTO pa ngarkuar entitetet e lidhura.
      *
      * @param tenantId   identifikuesi i tenant-it
      * @param from       aeroporti i nisjes
@@ -59,9 +91,172 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
      * @param start      data e fillimit
      * @param end        data e përfundimit
      * @param passengers numri minimal i vendeve të lira
-     * @return listë me fluturimet që përputhen me kërkesën
+     * @return listë me fluturimet që përputhen me kërkesën, të renditura sipas datës dhe orës së nisjes
+     */
+    @Query(SELECT_FLIGHT_DTO + "WHERE f.tenantId = :tenantId " +
+           "AND lower(f.departureAirport) = lower(:from) AND lower(f.arrivalAirport) = lower(:to) " +
+           "AND f.flightDate BETWEEN :start AND :end AND f.availableSeat >= :passengers " +
+           "ORDER BY f.flightDate, f.departureTime")
+    List<FlightDTO> searchRoute(@Param("tenantId") String tenantId,
+                                @Param("from") String from,
+                                @Param("to") String to,
+                                @Param("start") LocalDate start,
+                                @Param("end") LocalDate end,
+                                @Param("passengers") int passengers);
+
+    /**
+     * Zbret numrin e ulëseve të lira me një UPDATE të vetëm të kushtëzuar, pa kyçur rreshtin paraprakisht.
+     * Përditësimi ndodh vetëm nëse ka të paktën {@code seats} ulëse të lira; versioni rritet
+     * që entitetet e ngarkuara më parë të dështojnë në kontrollin optimist.
+     *
+     * @param id       ID-ja e fluturimit
+     * @param tenantId identifikuesi i tenant-it
+     * @param seats    numri i ulëseve që rezervohen
+     * @return 1 nëse inventari u përditësua, 0 nëse nuk ka mjaftueshëm ulëse
+     */
+    @Modifying
+    @Query("UPDATE Flight f SET f.availableSeat = f.availableSeat - :seats, f.version = f.version + 1 " +
+           "WHERE f.id = :id AND f.tenantId = :tenantId AND f.availableSeat >= :seats")
+    int decrementAvailableSeats(@Param("id") Long id, @Param("tenantId") String tenantId, @Param("seats") int seats);
+
+    /**
+     * Lexon të gjitha fluturimet e një tenant-i si rrjedhë (stream), për eksport.
+     * Rreshtat merren nga databaza në blloqe prej 500, pa u ngarkuar të gjitha në memorie;
+     * rrjedha duhet konsumuar brenda një transaksioni dhe mbyllur pas përdorimit.
+     *
+     * @param tenantId identifikuesi i tenant-it
+     * @return rrjedhë me fluturimet, të renditura sipas datës, orës së nisjes dhe ID-së
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT f FROM Flight f LEFT JOIN FETCH f.airline LEFT JOIN FETCH f.gate LEFT JOIN FETCH f.terminal " +
+           "WHERE f.tenantId = :tenantId ORDER BY f.flightDate, f.departureTime, f.id")
+    Stream<Flight> streamByTenantId(@Param("tenantId") String tenantId);
+
+    /**
+     * Kthen fluturimet e të gjithë tenant-ëve në një interval datash, me kompaninë ajrore, portën
+     * dhe terminalin e ngarkuar, për ndërtimin e tabelave të nisjeve dhe mbërritjeve.
+     *
+     * @param fromDate data e parë (përfshirë)
+     * @param toDate   data e fundit (përfshirë)
+     * @return fluturimet në interval
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT f FROM Flight f LEFT JOIN FETCH f.airline LEFT JOIN FETCH f.gate LEFT JOIN FETCH f.terminal " +
+           "WHERE f.flightDate BETWEEN :fromDate AND :toDate")
+    List<Flight> findBoardFlights(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    /**
+     * Kthen për çdo datë të një periudhe çmimin më të ulët, vendet e lira dhe numrin e fluturimeve
+     * të një rruge, me një pyetje të vetme agreguese mbi indeksin {@code idx_flight_route_search}.
+     * Fluturimet e anuluara nuk llogariten.
+     *
+     * @param tenantId identifikuesi i tenant-it
+     * @param from     aeroporti i nisjes
+     * @param to       aeroporti i mbërritjes
+     * @param start    data e fillimit
+     * @param end      data e përfundimit
+     * @return një rresht për çdo datë me fluturime, të renditura sipas datës
+     */
+    @Query("SELECT new com.mbi_re.airport_management.dto.FareCalendarDayDTO(" +
+           "f.flightDate, MIN(CASE WHEN f.availableSeat > 0 THEN f.price END), SUM(f.availableSeat), COUNT(f)) " +
+           "FROM Flight f WHERE f.tenantId = :tenantId " +
+           "AND lower(f.departureAirport) = lower(:from) AND lower(f.arrivalAirport) = lower(:to) " +
+           "AND f.flightDate BETWEEN :start AND :end " +
+           "AND (f.flightStatus IS NULL OR f.flightStatus <> com.mbi_re.airport_management.model.FlightStatus.CANCELLED) " +
+           "GROUP BY f.flightDate ORDER BY f.flightDate")
+    List<FareCalendarDayDTO> findFareCalendar(@Param("tenantId") String tenantId,
+                                              @Param("from") String from,
+                                              @Param("to") String to,
+                                              @Param("start") LocalDate start,
+                                              @Param("end") LocalDate end);
+
+    /**
+     * Kthen fluturimet e një tenant-i nga një datë e caktuar si DTO, për indeksin e kërkimit në memorie.
+     *
+     * @param tenantId identifikuesi i tenant-it
+     * @param fromDate data më e hershme e fluturimit
+     * @return listë me fluturimet si {@link FlightDTO}
+     */
+    @Query(SELECT_FLIGHT_DTO + "WHERE f.tenantId = :tenantId AND f.flightDate >= :fromDate")
+    List<FlightDTO> findSearchFlights(@Param("tenantId") String tenantId, @Param("fromDate") LocalDate fromDate);
+
+    /**
+     * Kthen një fluturim si DTO, për indeksin e kërkimit në memorie.
+     *
+     * @param id ID-ja e fluturimit
+     * @return fluturimi, ose bosh nëse nuk ekziston
+     */
+    @Query(SELECT_FLIGHT_DTO + "WHERE f.id = :id")
+    Optional<FlightDTO> findSearchFlightById(@Param("id") Long id);
+
+    /**
+     * Kthen një fluturim me kompaninë ajrore, portën dhe terminalin e ngarkuar.
+     *
+     * @param id ID-ja e fluturimit
+     * @return fluturimi, ose bosh nëse nuk ekziston
+     */
+    @Query("SELECT f FROM Flight f LEFT JOIN FETCH f.airline LEFT JOIN FETCH f.gate LEFT JOIN FETCH f.terminal " +
+           "WHERE f.id = :id")
+    Optional<Flight> findBoardFlightById(@Param("id") Long id);
+
+    /**
+     * Kthen orarin e fluturimeve që nga një datë e caktuar, statusi i të cilave nuk është përfundimtar.
+     *
+     * @param fromDate data më e hershme e fluturimit
+     * @param terminal statuset përfundimtare që përjashtohen
+     * @return listë me oraret e fluturimeve
+     */
+    @Query("SELECT new com.mbi_re.airport_management.dto.FlightScheduleDTO(" +
+           "f.id, f.tenantId, f.flightDate, f.departureTime, f.arrivalTime, f.flightStatus) " +
+           "FROM Flight f WHERE f.flightDate >= :fromDate " +
+           "AND (f.flightStatus IS NULL OR f.flightStatus NOT IN :terminal)")
+    List<FlightScheduleDTO> findActiveSchedules(@Param("fromDate") LocalDate fromDate,
+                                                @Param("terminal") Collection<FlightStatus> terminal);
+
+    /**
+     * Kthen orarin e një fluturimi.
+     *
+     * @param id ID-ja e fluturimit
+     * @return orari, ose bosh nëse fluturimi nuk ekziston
+     */
+    @Query("SELECT new com.mbi_re.airport_management.dto.FlightScheduleDTO(" +
+           "f.id, f.tenantId, f.flightDate, f.departureTime, f.arrivalTime, f.flightStatus) " +
+           "FROM Flight f WHERE f.id = :id")
+    Optional<FlightScheduleDTO> findScheduleById(@Param("id") Long id);
+
+    /**
+     * Vendos statusin e disa fluturimeve me një UPDATE të vetëm.
+     * Fluturimet me status përfundimtar ose që e kanë tashmë këtë status nuk preken.
+     *
+     * @param ids      ID-të e fluturimeve
+     * @param status   statusi i ri
+     * @param terminal statuset përfundimtare që nuk mbishkruhen
+     * @return numri i fluturimeve të përditësuara
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Flight f SET f.flightStatus = :status, f.version = f.version + 1 " +
+           "WHERE f.id IN :ids AND (f.flightStatus IS NULL OR " +
+           "(f.flightStatus <> :status AND f.flightStatus NOT IN :terminal))")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("status") FlightStatus status,
+                     @Param("terminal") Collection<FlightStatus> terminal);
+
+    /**
+     * Shënon si të aterruara (LANDED) të gjitha fluturimet para një date që kanë mbetur me status jo përfundimtar.
+     *
+     * @param before   data kufi (përjashtuese)
+     * @param terminal statuset përfundimtare që nuk mbishkruhen
+     * @return numri i fluturimeve të përditësuara
      */
-    List<Flight> findByTenantIdAndDepartureAirportIgnoreCaseAndArrivalAirportIgnoreCaseAndFlightDateBetweenAndAvailableSeatGreaterThanEqual(
-            String tenantId, String from, String to, LocalDate start, LocalDate end, int passengers
-    );
+    @Modifying
+    @Transactional
+    @Query("UPDATE Flight f SET f.flightStatus = com.mbi_re.airport_management.model.FlightStatus.LANDED, " +
+           "f.version = f.version + 1 " +
+           "WHERE f.flightDate < :before AND (f.flightStatus IS NULL OR f.flightStatus NOT IN :terminal)")
+    int markLandedBefore(@Param("before") LocalDate before,
+                         @Param("terminal") Collection<FlightStatus> terminal);
 }
@@ -0,0 +1,27 @@
+package com.mbi_re.airport_management.repository;
+
+import com.mbi_re.airport_management.model.FlightStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * {@code FlightRepositoryCustom} përmban operacione për fluturimet që nuk mund të shprehen
+ * si query të derivuara nga Spring Data, si kalimi në masë i statusit me SQL native.
+ */
+public interface FlightRepositoryCustom {
+
+    /**
+     * Kalon në statusin e dhënë, me një UPDATE të vetëm, të gjitha fluturimet aktive orari i të cilëve
+     * e kërkon atë status në momentin {@code now}. Fluturimet në status përfundimtar
+     * (LANDED, CANCELLED, DIVERTED) dhe ato që e kanë tashmë këtë status nuk preken.
+     *
+     * @param target         statusi i ri: SCHEDULED, BOARDING, IN_AIR ose LANDED
+     * @param now            koha aktuale lokale
+     * @param boardingWindow sa kohë para nisjes fillon imbarkimi
+     * @return ID-të e fluturimeve të ndryshuara dhe tenant-i i secilit
+     * @throws IllegalArgumentException nëse statusi nuk është pjesë e ciklit automatik
+     */
+    Map<Long, String> transitionStatus(FlightStatus target, LocalDateTime now, Duration boardingWindow);
+}
@@ -0,0 +1,95 @@
+package com.mbi_re.airport_management.repository;
+
+import com.mbi_re.airport_management.model.FlightStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Implementimi JDBC i {@link FlightRepositoryCustom}.
+ * <p>
+ * Çdo kalim statusi është një {@code UPDATE ... RETURNING} i vetëm. Filtri mbi statusin përsërit
+ * kushtin e indeksit të pjesshëm {@code idx_flight_active_schedule}, dhe filtri mbi
+ * {@code flight_date}/{@code departure_time} e kufizon skanimin në dritaren e datave përkatëse,
+ * kështu që historiku i fluturimeve të përfunduara nuk lexohet.
+ */
+public class FlightRepositoryImpl implements FlightRepositoryCustom {
+
+    /** Duhet të përputhet me kushtin e indeksit të pjesshëm në V31 */
+    private static final String ACTIVE =
+            "(flight_status IS NULL OR flight_status NOT IN ('LANDED', 'CANCELLED', 'DIVERTED'))";
+
+    private static final String DEPARTURE = "(flight_date + departure_time)";
+
+    // mbërritja para nisjes do të thotë që fluturimi ulet ditën tjetër
+    private static final String ARRIVAL = "(flight_date + arrival_time"
+            + " + CASE WHEN arrival_time < departure_time THEN INTERVAL '1 day' ELSE INTERVAL '0 day' END)";
+
+    private static final String UPDATE_PREFIX =
+            "UPDATE flight SET flight_status = :target, version = version + 1 WHERE " + ACTIVE
+            + " AND departure_time IS NOT NULL AND arrival_time IS NOT NULL";
+
+    private static final String RETURNING = " RETURNING id, tenant_id";
+
+    private static final String LANDED_SQL = UPDATE_PREFIX
+            + " AND flight_date <= :today"
+            + " AND " + ARRIVAL + " <= :now"
+            + RETURNING;
+
+    private static final String IN_AIR_SQL = UPDATE_PREFIX
+            + " AND flight_status IS DISTINCT FROM 'IN_AIR'"
+            + " AND flight_date BETWEEN :yesterday AND :today"
+            + " AND " + DEPARTURE + " <= :now AND " + ARRIVAL + " > :now"
+            + RETURNING;
+
+    private static final String BOARDING_SQL = UPDATE_PREFIX
+            + " AND flight_status IS DISTINCT FROM 'BOARDING'"
+            + " AND flight_date BETWEEN :today AND :boardingDate"
+            + " AND " + DEPARTURE + " > :now AND " + DEPARTURE + " <= :boardingUntil"
+            + RETURNING;
+
+    private static final String SCHEDULED_SQL = UPDATE_PREFIX
+            + " AND flight_status IS DISTINCT FROM 'SCHEDULED'"
+            + " AND flight_date >= :today"
+            + " AND " + DEPARTURE + " > :boardingUntil"
+            + RETURNING;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public FlightRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public Map<Long, String> transitionStatus(FlightStatus target, LocalDateTime now, Duration boardingWindow) {
+        LocalDateTime boardingUntil = now.plus(boardingWindow);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("target", target.name())
+                .addValue("now", now)
+                .addValue("today", now.toLocalDate())
+                .addValue("yesterday", now.toLocalDate().minusDays(1))
+                .addValue("boardingDate", boardingUntil.toLocalDate())
+                .addValue("boardingUntil", boardingUntil);
+
+        Map<Long, String> changed = new LinkedHashMap<>();
+        jdbcTemplate.query(sql(target), params, rs -> {
+            changed.put(rs.getLong("id"), rs.getString("tenant_id"));
+        });
+        return changed;
+    }
+
+    private static String sql(FlightStatus target) {
+        return switch (target) {
+            case LANDED -> LANDED_SQL;
+            case IN_AIR -> IN_AIR_SQL;
+            case BOARDING -> BOARDING_SQL;
+            case SCHEDULED -> SCHEDULED_SQL;
+            default -> throw new IllegalArgumentException("Unsupported automatic status: " + target);
+        };
+    }
+}
@@ -2,7 +2,10 @@ package com.mbi_re.airport_management.repository;
 
 import com.mbi_re.airport_management.model.Gate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,4 +31,22 @@ public interface GateRepository extends JpaRepository<Gate, Long> {
      * @return {@link Optional} me portën nëse ekziston
      */
     Optional<Gate> findByIdAndTenantId(Long id, String tenantId);
+
+    /**
+     * Gjen portat e caktuara për fluturimet e një intervali datash, me fluturimin e ngarkuar.
+     *
+     * @param fromDate data e parë e fluturimit (përfshirë)
+     * @param toDate   data e fundit e fluturimit (përfshirë)
+     * @return portat e caktuara
+     */
+    @Query("SELECT g FROM Gate g JOIN FETCH g.flight f WHERE f.flightDate BETWEEN :fromDate AND :toDate")
+    List<Gate> findAssignedForFlightDates(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    /**
+     * Gjen portat e caktuara për një fluturim.
+     *
+     * @param flightId ID-ja e fluturimit
+     * @return portat e caktuara
+     */
+    List<Gate> findByFlightId(Long flightId);
 }
@@ -0,0 +1,90 @@
+package com.mbi_re.airport_management.repository;
+
+import com.mbi_re.airport_management.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * {@code IdempotencyRecordRepository} ofron qasje në përgjigjet e ruajtura sipas {@code Idempotency-Key}.
+ */
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, IdempotencyRecord.Key> {
+
+    /**
+     * Rezervon një çelës për kërkesën aktuale. Një çelës i skaduar merret përsipër, edhe kur
+     * kërkesa që e rezervoi nuk përfundoi kurrë.
+     *
+     * @param tenantId    ID e tenantit
+     * @param scope       operacioni
+     * @param idemKey     vlera e {@code Idempotency-Key}
+     * @param requestHash hash i trupit të kërkesës
+     * @param now         koha aktuale
+     * @param expiresAt   koha deri kur mbahet rezervimi gjatë përpunimit
+     * @return 1 nëse çelësi u rezervua, 0 nëse ekziston tashmë dhe nuk ka skaduar
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO idempotency_keys (tenant_id, scope, idem_key, request_hash, response_body, expires_at) " +
+            "VALUES (:tenantId, :scope, :idemKey, :requestHash, NULL, :expiresAt) " +
+            "ON CONFLICT (tenant_id, scope, idem_key) DO UPDATE SET request_hash = EXCLUDED.request_hash, " +
+            "response_body = NULL, expires_at = EXCLUDED.expires_at " +
+            "WHERE idempotency_keys.expires_at < :now", nativeQuery = true)
+    int claim(@Param("tenantId") String tenantId,
+              @Param("scope") String scope,
+              @Param("idemKey") String idemKey,
+              @Param("requestHash") String requestHash,
+              @Param("now") LocalDateTime now,
+              @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Ruan përgjigjen e kërkesës për një çelës të rezervuar dhe e zgjat çelësin deri në skadimin përfundimtar.
+     * Një çelës që ka tashmë përgjigje nuk mbishkruhet.
+     *
+     * @param tenantId     ID e tenantit
+     * @param scope        operacioni
+     * @param idemKey      vlera e {@code Idempotency-Key}
+     * @param responseBody përgjigja në JSON
+     * @param expiresAt    koha e skadimit të çelësit
+     * @return numri i rreshtave të përditësuar
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.responseBody = :responseBody, r.expiresAt = :expiresAt " +
+            "WHERE r.tenantId = :tenantId AND r.scope = :scope AND r.idemKey = :idemKey AND r.responseBody IS NULL")
+    int complete(@Param("tenantId") String tenantId,
+                 @Param("scope") String scope,
+                 @Param("idemKey") String idemKey,
+                 @Param("responseBody") String responseBody,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Liron një çelës të rezervuar, kur kërkesa origjinale dështon.
+     *
+     * @param tenantId ID e tenantit
+     * @param scope    operacioni
+     * @param idemKey  vlera e {@code Idempotency-Key}
+     * @return numri i rreshtave të fshirë
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r " +
+            "WHERE r.tenantId = :tenantId AND r.scope = :scope AND r.idemKey = :idemKey AND r.responseBody IS NULL")
+    int release(@Param("tenantId") String tenantId,
+                @Param("scope") String scope,
+                @Param("idemKey") String idemKey);
+
+    /**
+     * Fshin të gjithë çelësat e skaduar me një DELETE të vetëm.
+     *
+     * @param now koha aktuale
+     * @return numri i çelësave të fshirë
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -2,6 +2,7 @@ package com.mbi_re.airport_management.repository;
 
 import com.mbi_re.airport_management.model.Passenger;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,7 +13,7 @@ import java.util.Optional;
  * për entitetin {@link Passenger}, me izolim sipas {@code tenantId} për mbështetje multi-tenant.
  */
 @Repository
-public interface PassengerRepository extends JpaRepository<Passenger, Long> {
+public interface PassengerRepository extends JpaRepository<Passenger, Long>, JpaSpecificationExecutor<Passenger> {
 
     /**
      * Gjen të gjithë pasagjerët që i përkasin një tenant-i të caktuar.
@@ -2,6 +2,7 @@ package com.mbi_re.airport_management.repository;
 
 import com.mbi_re.airport_management.model.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,7 +12,7 @@ import java.util.List;
  * duke siguruar izolim të të dhënave për secilin tenant në një arkitekturë multi-tenant.
  */
 @Repository
-public interface PaymentRepository extends JpaRepository<Payment, Long> {
+public interface PaymentRepository extends JpaRepository<Payment, Long>, JpaSpecificationExecutor<Payment> {
 
     /**
      * Kthen të gjitha pagesat që i përkasin një tenant-i specifik.
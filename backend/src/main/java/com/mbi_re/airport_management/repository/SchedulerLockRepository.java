@@ -0,0 +1,56 @@
+package com.mbi_re.airport_management.repository;
+
+import com.mbi_re.airport_management.model.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * {@code SchedulerLockRepository} merr dhe liron qiratë e punëve të planifikuara.
+ * <p>
+ * Kohët llogariten me orën e bazës së të dhënave, që instancat me orë të ndryshme të mos
+ * marrin të njëjtën qira. Çdo operacion kryhet në transaksionin e vet, që qiraja të jetë e
+ * dukshme për instancat e tjera menjëherë, edhe kur thirret brenda një transaksioni tjetër.
+ */
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    /**
+     * Merr qiranë e një pune nëse është e lirë, ose e zgjat nëse e mban tashmë e njëjta instancë.
+     *
+     * @param name          emri i punës
+     * @param owner         identifikuesi i instancës
+     * @param lockAtMostFor kohëzgjatja maksimale e qirasë në milisekonda, nëse instanca nuk e liron
+     * @return 1 nëse qiraja u mor, 0 nëse e mban një instancë tjetër
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = "INSERT INTO scheduler_lock (name, locked_until, locked_at, locked_by) " +
+            "VALUES (:name, LOCALTIMESTAMP + :lockAtMostFor * INTERVAL '1 millisecond', LOCALTIMESTAMP, :owner) " +
+            "ON CONFLICT (name) DO UPDATE SET locked_until = EXCLUDED.locked_until, " +
+            "locked_at = EXCLUDED.locked_at, locked_by = EXCLUDED.locked_by " +
+            "WHERE scheduler_lock.locked_until <= LOCALTIMESTAMP OR scheduler_lock.locked_by = :owner",
+            nativeQuery = true)
+    int tryLock(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("lockAtMostFor") long lockAtMostFor);
+
+    /**
+     * Liron qiranë e mbajtur nga instanca, por jo para se të kalojë {@code lockAtLeastFor} nga marrja e saj.
+     *
+     * @param name           emri i punës
+     * @param owner          identifikuesi i instancës
+     * @param lockAtLeastFor kohëzgjatja minimale e qirasë në milisekonda
+     * @return 1 nëse qiraja u lirua, 0 nëse e mban tashmë një instancë tjetër
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = "UPDATE scheduler_lock " +
+            "SET locked_until = GREATEST(LOCALTIMESTAMP, locked_at + :lockAtLeastFor * INTERVAL '1 millisecond') " +
+            "WHERE name = :name AND locked_by = :owner", nativeQuery = true)
+    int unlock(@Param("name") String name,
+               @Param("owner") String owner,
+               @Param("lockAtLeastFor") long lockAtLeastFor);
+}
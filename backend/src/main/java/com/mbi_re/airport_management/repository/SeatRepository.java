@@ -2,7 +2,12 @@ package com.mbi_re.airport_management.repository;
 
 import com.mbi_re.airport_management.model.Seat;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,7 +15,7 @@ import java.util.Optional;
  * {@code SeatRepository} ofron operacione për menaxhimin e entiteteve {@link Seat},
  * me filtrime të përshtatshme për secilin tenant në një arkitekturë multi-tenant.
  */
-public interface SeatRepository extends JpaRepository<Seat, Long> {
+public interface SeatRepository extends JpaRepository<Seat, Long>, SeatRepositoryCustom {
 
     /**
      * Gjen të gjitha ulëset për një fluturim të caktuar dhe tenant.
@@ -22,13 +27,13 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
     List<Seat> findByFlightIdAndTenantId(Long flightId, String tenantId);
 
     /**
-     * Gjen të gjitha ulëset e lira (jo të rezervuara) për një fluturim dhe tenant.
+     * Gjen të gjitha ulëset e rezervuara për një fluturim dhe tenant.
      *
      * @param flightId ID-ja e fluturimit
      * @param tenantId identifikuesi i tenant-it
-     * @return listë me ulëse të disponueshme
+     * @return listë me ulëse të rezervuara
      */
-    List<Seat> findByFlightIdAndTenantIdAndBookedFalse(Long flightId, String tenantId);
+    List<Seat> findByFlightIdAndTenantIdAndBookedTrue(Long flightId, String tenantId);
 
     /**
      * Gjen një ulëse të caktuar sipas ID-së dhe tenant-it përkatës.
@@ -46,4 +51,49 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
      * @param tenantId identifikuesi i tenant-it
      */
     void deleteByFlightIdAndTenantId(Long flightId, String tenantId);
+
+    /**
+     * Gjen ulëset e një mbajtjeje të përkohshme.
+     *
+     * @param holdId   ID e mbajtjes
+     * @param tenantId identifikuesi i tenant-it
+     * @return ulëset e mbajtura, bosh nëse mbajtja u konfirmua, u lirua ose nuk ekziston
+     */
+    List<Seat> findByHoldIdAndTenantId(String holdId, String tenantId);
+
+    /**
+     * Gjen ulëset e mbajtjeve që kanë skaduar para një kohe të caktuar.
+     *
+     * @param time koha e krahasimit
+     * @return ulëset e mbajtjeve të skaduara
+     */
+    List<Seat> findByHoldExpiresAtBefore(LocalDateTime time);
+
+    /**
+     * Konfirmon një mbajtje që nuk ka skaduar: ulëset mbeten të rezervuara dhe nuk i përkasin më mbajtjes.
+     *
+     * @param holdId   ID e mbajtjes
+     * @param tenantId identifikuesi i tenant-it
+     * @param now      koha aktuale
+     * @return numri i ulëseve të konfirmuara, 0 nëse mbajtja ka skaduar ose nuk ekziston
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Seat s SET s.holdId = NULL, s.holdExpiresAt = NULL " +
+            "WHERE s.holdId = :holdId AND s.tenantId = :tenantId AND s.holdExpiresAt > :now")
+    int confirmHold(@Param("holdId") String holdId,
+                    @Param("tenantId") String tenantId,
+                    @Param("now") LocalDateTime now);
+
+    /**
+     * Fshin ulëset e një mbajtjeje që nuk është konfirmuar, që të lirohen.
+     *
+     * @param holdId   ID e mbajtjes
+     * @param tenantId identifikuesi i tenant-it
+     * @return numri i ulëseve të liruara, 0 nëse mbajtja u konfirmua ose nuk ekziston
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Seat s WHERE s.holdId = :holdId AND s.tenantId = :tenantId AND s.holdExpiresAt IS NOT NULL")
+    int deleteHold(@Param("holdId") String holdId, @Param("tenantId") String tenantId);
 }
@@ -0,0 +1,24 @@
+package com.mbi_re.airport_management.repository;
+
+import com.mbi_re.airport_management.model.Seat;
+
+import java.util.List;
+
+/**
+ * {@code SeatRepositoryCustom} përmban operacione për ulëset që nuk mund të shprehen
+ * si query të derivuara nga Spring Data, si ruajtja në masë e ulëseve të rezervuara.
+ */
+public interface SeatRepositoryCustom {
+
+    /**
+     * Ruan ulëset si të rezervuara me {@code ON CONFLICT DO NOTHING}. Rreshti i ulëses është
+     * rezervimi i vërtetë: një ulëse që ekziston tashmë (p.sh. e rezervuar nga një nyje tjetër)
+     * nuk mbishkruhet, por kthehet si rezervim i humbur.
+     *
+     * Ulëset e një mbajtjeje të përkohshme ruhen bashkë me ID-në dhe skadimin e mbajtjes.
+     *
+     * @param seats ulëset me ID, numër, fluturim dhe tenant të plotësuar
+     * @return ulëset që nuk u ruajtën sepse ishin rezervuar tashmë, bosh nëse u ruajtën të gjitha
+     */
+    List<Seat> saveBookedSeats(List<Seat> seats);
+}
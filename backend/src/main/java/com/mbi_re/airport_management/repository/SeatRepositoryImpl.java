@@ -0,0 +1,55 @@
+package com.mbi_re.airport_management.repository;
+
+import com.mbi_re.airport_management.model.Seat;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementimi JDBC i {@link SeatRepositoryCustom}.
+ * <p>
+ * Ulëset dërgohen si vargje në një INSERT të vetëm dhe me {@code RETURNING} lexohen ato që u futën
+ * vërtet, sepse JDBC batching me {@code reWriteBatchedInserts=true} nuk raporton rreshtat e prekur
+ * për secilën ulëse.
+ */
+public class SeatRepositoryImpl implements SeatRepositoryCustom {
+
+    private static final String CLAIM_BOOKED_SEATS_SQL =
+            "INSERT INTO seat (id, seat_number, flight_id, tenant_id, booked, hold_id, hold_expires_at) " +
+            "SELECT s.id, s.seat_number, s.flight_id, s.tenant_id, TRUE, s.hold_id, s.hold_expires_at " +
+            "FROM unnest(?::bigint[], ?::varchar[], ?::bigint[], ?::varchar[], ?::varchar[], ?::timestamp[]) " +
+            "AS s(id, seat_number, flight_id, tenant_id, hold_id, hold_expires_at) " +
+            "ON CONFLICT (id) DO NOTHING RETURNING id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SeatRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Seat> saveBookedSeats(List<Seat> seats) {
+        if (seats.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> inserted = new HashSet<>(jdbcTemplate.query(CLAIM_BOOKED_SEATS_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("bigint", seats.stream().map(Seat::getId).toArray()));
+            ps.setArray(2, connection.createArrayOf("varchar", seats.stream().map(Seat::getSeatNumber).toArray()));
+            ps.setArray(3, connection.createArrayOf("bigint",
+                    seats.stream().map(seat -> seat.getFlight().getId()).toArray()));
+            ps.setArray(4, connection.createArrayOf("varchar", seats.stream().map(Seat::getTenantId).toArray()));
+            ps.setArray(5, connection.createArrayOf("varchar", seats.stream().map(Seat::getHoldId).toArray()));
+            ps.setArray(6, connection.createArrayOf("timestamp", seats.stream()
+                    .map(seat -> seat.getHoldExpiresAt() != null ? Timestamp.valueOf(seat.getHoldExpiresAt()) : null)
+                    .toArray()));
+        }, (rs, rowNum) -> rs.getLong(1)));
+        return seats.stream()
+                .filter(seat -> !inserted.contains(seat.getId()))
+                .toList();
+    }
+}
@@ -2,35 +2,84 @@ package com.mbi_re.airport_management.service;
 
 import com.mbi_re.airport_management.config.TenantContext;
 import com.mbi_re.airport_management.dto.BookingDTO;
+import com.mbi_re.airport_management.dto.CursorPageDTO;
+import com.mbi_re.airport_management.dto.GroupBookingDTO;
+import com.mbi_re.airport_management.dto.SeatHoldDTO;
+import com.mbi_re.airport_management.event.FlightSeatsSoldEvent;
+import com.mbi_re.airport_management.event.SeatHoldExpiredEvent;
 import com.mbi_re.airport_management.model.Booking;
+import com.mbi_re.airport_management.model.BookingSeat;
+import com.mbi_re.airport_management.model.Flight;
 import com.mbi_re.airport_management.repository.BookingRepository;
+import com.mbi_re.airport_management.repository.BookingSeatRepository;
+import com.mbi_re.airport_management.repository.FlightRepository;
+import com.mbi_re.airport_management.utils.KeysetPagination;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Service
 public class BookingService {
 
+    private static final KeysetPagination<Booking> PAGES = new KeysetPagination<>(Booking::getId)
+            .field("bookingTime", Booking::getBookingTime, LocalDateTime::parse);
+
     private final BookingRepository repository;
+    private final SeatHoldService seatHoldService;
+    private final SeatInventory seatInventory;
+    private final FlightRepository flightRepository;
+    private final BookingSeatRepository bookingSeatRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public BookingService(BookingRepository repository) {
+    public BookingService(BookingRepository repository,
+                          SeatHoldService seatHoldService,
+                          SeatInventory seatInventory,
+                          FlightRepository flightRepository,
+                          BookingSeatRepository bookingSeatRepository,
+                          ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
+        this.seatHoldService = seatHoldService;
+        this.seatInventory = seatInventory;
+        this.flightRepository = flightRepository;
+        this.bookingSeatRepository = bookingSeatRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Creates a new booking for the specified tenant.
      * Evicts the bookings cache for the tenant to maintain cache consistency.
+     * <p>
+     * If the DTO references a seat hold, the booking takes the held seats and stays {@code PENDING}
+     * until {@link #confirmBooking(Long)} is called; otherwise it is created as {@code PAID}.
+     * When the flight can be resolved, the seats of a {@code PAID} booking are claimed and sold the same way
+     * as in {@link #createGroupBooking}, and the booked seats are recorded in {@code booking_seat}.
+     * </p>
      *
      * @param dto      the booking data transfer object containing booking details
      * @param tenantId the tenant identifier to associate the booking with
      * @return the created Booking entity
+     * @throws RuntimeException        if one of the seats does not exist on the resolved flight
+     * @throws ResponseStatusException with {@code 409 CONFLICT} if the referenced hold has expired,
+     *                                 a seat is taken or not enough seats are left
      */
+    @Transactional
     @CacheEvict(value = "bookings", key = "#tenantId + '_all'")
     public Booking createBooking(BookingDTO dto, String tenantId) {
         Booking booking = new Booking();
@@ -43,21 +92,178 @@ public class BookingService {
         booking.setBookingId(generateBookingId());
         booking.setTenantId(tenantId);
 
-        return repository.save(booking);
+        Optional<Long> flightId;
+        if (dto.getHoldId() != null) {
+            SeatHoldDTO hold = seatHoldService.getHold(dto.getHoldId(), tenantId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "Seat hold expired or not found"));
+            booking.setSeatNumber(String.join(",", hold.getSeatNumbers()));
+            booking.setHoldId(hold.getHoldId());
+            booking.setStatus("PENDING");
+            flightId = Optional.of(hold.getFlightId());
+        } else {
+            flightId = resolveFlightId(dto.getFlightNumber(), tenantId);
+            List<String> seatNumbers = seatNumbers(dto.getSeatNumber());
+            if (flightId.isPresent() && !seatNumbers.isEmpty()) {
+                SeatInventory.FlightSeats seats = seatInventory.get(flightId.get(), tenantId)
+                        .orElseThrow(() -> new RuntimeException("Flight not found"));
+                bookSeats(seats, seats.ordinalsOf(seatNumbers), tenantId);
+            }
+        }
+
+        Booking saved = repository.save(booking);
+        flightId.ifPresent(id -> linkSeats(saved, id));
+        return saved;
+    }
+
+    /**
+     * Books several seats of one flight atomically: either all seats are booked or none.
+     * <p>
+     * The seats are first reserved in {@link SeatInventory} with compare-and-set. The flight's
+     * seat count is then decremented with a single conditional UPDATE that also bumps its version,
+     * so no row lock is taken. The seats and the booking are written in the same transaction.
+     * If any step fails, the transaction rolls back and the in-memory reservations are released.
+     * </p>
+     *
+     * @param dto      the flight, seats and lead passenger
+     * @param tenantId the tenant identifier
+     * @return the created Booking entity with status {@code PAID}
+     * @throws RuntimeException        if the flight or one of the seats does not exist for the tenant
+     * @throws ResponseStatusException with {@code 409 CONFLICT} if a seat is taken or not enough seats are left
+     */
+    @Transactional
+    @CacheEvict(value = "bookings", key = "#tenantId + '_all'")
+    public Booking createGroupBooking(GroupBookingDTO dto, String tenantId) {
+        SeatInventory.FlightSeats seats = seatInventory.get(dto.getFlightId(), tenantId)
+                .orElseThrow(() -> new RuntimeException("Flight not found"));
+        int[] ordinals = seats.ordinalsOf(dto.getSeatNumbers());
+        bookSeats(seats, ordinals, tenantId);
+
+        List<String> seatNumbers = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            seatNumbers.add(seats.getLayout().seatNumber(ordinal));
+        }
+
+        Booking booking = new Booking();
+        booking.setFlightNumber(seats.getFlightNumber());
+        booking.setPassengerName(dto.getPassengerName());
+        booking.setPassengerId(dto.getPassengerId());
+        booking.setSeatNumber(String.join(",", seatNumbers));
+        booking.setBookingTime(LocalDateTime.now());
+        booking.setStatus("PAID");
+        booking.setBookingId(generateBookingId());
+        booking.setTenantId(tenantId);
+        Booking saved = repository.save(booking);
+        linkSeats(saved, seats.getFlightId());
+        return saved;
+    }
+
+    /**
+     * Confirms a pending booking after payment by confirming its seat hold and selling the held seats,
+     * in one transaction. Like a group booking, the sale decrements the flight's seat count and publishes
+     * a {@link FlightSeatsSoldEvent}.
+     * <p>
+     * If the hold has already expired, nothing is changed; the booking is marked {@code EXPIRED}
+     * by {@link #onSeatHoldExpired} once the expiry is processed.
+     * </p>
+     *
+     * @param id the booking ID
+     * @return Optional containing the booking if found, else empty
+     * @throws ResponseStatusException with {@code 409 CONFLICT} if the seat hold has expired
+     *                                 or not enough seats are left
+     */
+    @Transactional
+    @CacheEvict(value = "bookings", key = "T(com.mbi_re.airport_management.config.TenantContext).getTenantId() + '_all'")
+    public Optional<Booking> confirmBooking(Long id) {
+        String tenantId = TenantContext.getTenantId();
+        return repository.findByIdAndTenantId(id, tenantId).map(booking -> {
+            if (!"PENDING".equals(booking.getStatus())) {
+                return booking;
+            }
+            SeatHoldDTO hold = seatHoldService.confirm(booking.getHoldId(), tenantId);
+            sellSeats(hold.getFlightId(), tenantId, hold.getSeatNumbers().size());
+            booking.setStatus("PAID");
+            return repository.save(booking);
+        });
+    }
+
+    /**
+     * Marks the pending booking of an expired or released seat hold as {@code EXPIRED}.
+     * The held seats are released by {@link SeatHoldService}.
+     *
+     * @param event the expired hold
+     */
+    @EventListener
+    @Transactional
+    @CacheEvict(value = "bookings", key = "#event.tenantId() + '_all'")
+    public void onSeatHoldExpired(SeatHoldExpiredEvent event) {
+        repository.findByHoldIdAndTenantId(event.holdId(), event.tenantId())
+                .filter(booking -> "PENDING".equals(booking.getStatus()))
+                .ifPresent(booking -> {
+                    booking.setStatus("EXPIRED");
+                    repository.save(booking);
+                    bookingSeatRepository.deleteByBookingId(booking.getId());
+                });
+    }
+
+    /**
+     * Finds the booking that holds a seat on a flight, for the current tenant.
+     *
+     * @param flightId   the flight ID
+     * @param seatNumber the seat number (e.g. "C12")
+     * @return Optional containing the booking if the seat is booked, else empty
+     */
+    public Optional<Booking> getSeatOwner(Long flightId, String seatNumber) {
+        String tenantId = TenantContext.getTenantId();
+        return bookingSeatRepository.findByTenantIdAndFlightIdAndSeatNumber(tenantId, flightId, normalizeSeat(seatNumber))
+                .flatMap(bookingSeat -> repository.findByIdAndTenantId(bookingSeat.getBookingId(), tenantId));
+    }
+
+    /**
+     * Retrieves the bookings with at least one seat on a flight, for the current tenant.
+     *
+     * @param flightId the flight ID
+     * @return list of Booking entities on the flight
+     */
+    public List<Booking> getFlightManifest(Long flightId) {
+        return repository.findByFlight(TenantContext.getTenantId(), flightId);
     }
 
     /**
      * Retrieves all bookings for the current tenant.
-     * Results are cached for performance improvement.
+     * Results are cached for performance improvement; concurrent misses for a tenant share a single query.
      *
      * @return list of Booking entities associated with the current tenant
      */
-    @Cacheable(value = "bookings", key = "T(com.mbi_re.airport_management.config.TenantContext).getTenantId() + '_all'")
+    @Cacheable(value = "bookings", key = "T(com.mbi_re.airport_management.config.TenantContext).getTenantId() + '_all'", sync = true)
     public List<Booking> getAllBookings() {
         String tenantId = TenantContext.getTenantId();
         return repository.findByTenantId(tenantId);
     }
 
+    /**
+     * Retrieves one page of the tenant's bookings using cursor (keyset) pagination.
+     * Unlike {@link #getAllBookings()}, the result is bounded by {@code limit} and not cached.
+     *
+     * @param tenantId     the tenant identifier
+     * @param status       optional booking status filter (e.g. "PAID")
+     * @param flightNumber optional flight filter, as stored on the booking
+     * @param passengerId  optional passenger filter
+     * @param sort         sort field: {@code id} or {@code bookingTime}
+     * @param direction    {@code asc} or {@code desc}
+     * @param cursor       cursor returned with the previous page, or {@code null} for the first page
+     * @param limit        page size
+     * @return the page of bookings and the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Booking> getBookingsPage(String tenantId, String status, String flightNumber, Long passengerId,
+                                                  String sort, String direction, String cursor, Integer limit) {
+        Specification<Booking> filter = Specification.<Booking>where(KeysetPagination.tenant(tenantId))
+                .and(KeysetPagination.equalIfPresent("status", status))
+                .and(KeysetPagination.equalIfPresent("flightNumber", flightNumber))
+                .and(KeysetPagination.equalIfPresent("passengerId", passengerId));
+        return PAGES.page(repository, filter, sort, direction, cursor, limit, Function.identity());
+    }
+
     /**
      * Retrieves a booking by its ID for the current tenant.
      * Returns null if the booking is not found or does not belong to the tenant.
@@ -73,11 +279,13 @@ public class BookingService {
     /**
      * Updates an existing booking for the current tenant by booking ID.
      * Evicts the bookings cache for the tenant after update.
+     * The booking's rows in {@code booking_seat} are rebuilt from the updated seats.
      *
      * @param id  the booking ID to update
      * @param dto the booking data transfer object containing updated fields
      * @return the updated Booking entity, or null if not found or unauthorized
      */
+    @Transactional
     @CacheEvict(value = "bookings", key = "T(com.mbi_re.airport_management.config.TenantContext).getTenantId() + '_all'")
     public Booking updateBooking(Long id, BookingDTO dto) {
         String tenantId = TenantContext.getTenantId();
@@ -90,7 +298,11 @@ public class BookingService {
             b.setFlightNumber(dto.getFlightNumber());
             b.setSeatNumber(dto.getSeatNumber());
             b.setStatus(dto.getStatus());
-            return repository.save(b);
+            Booking saved = repository.save(b);
+
+            bookingSeatRepository.deleteByBookingId(saved.getId());
+            resolveFlightId(saved.getFlightNumber(), tenantId).ifPresent(flightId -> linkSeats(saved, flightId));
+            return saved;
         }).orElse(null);
     }
 
@@ -124,6 +336,120 @@ public class BookingService {
         });
     }
 
+    /**
+     * Reserves seats in {@link SeatInventory}, sells them and writes their rows. The reservations are
+     * released if the surrounding transaction rolls back, or right away when there is none.
+     *
+     * @param seats    the seat map of the flight
+     * @param ordinals the seat positions
+     * @param tenantId the tenant identifier
+     * @throws ResponseStatusException with {@code 409 CONFLICT} if a seat is taken or not enough seats are left
+     */
+    private void bookSeats(SeatInventory.FlightSeats seats, int[] ordinals, String tenantId) {
+        seatInventory.reserveAll(seats, ordinals);
+
+        boolean releaseOnRollback = TransactionSynchronizationManager.isSynchronizationActive();
+        if (releaseOnRollback) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        seatInventory.releaseAll(seats, ordinals);
+                    }
+                }
+            });
+        }
+
+        try {
+            sellSeats(seats.getFlightId(), tenantId, ordinals.length);
+            seatInventory.persistAll(seats, ordinals);
+        } catch (RuntimeException e) {
+            if (!releaseOnRollback) {
+                seatInventory.releaseAll(seats, ordinals);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Decrements the seat count of a flight with a single conditional UPDATE and publishes a
+     * {@link FlightSeatsSoldEvent}, which listeners receive after commit.
+     *
+     * @param flightId the flight ID
+     * @param tenantId the tenant identifier
+     * @param count    the number of seats sold
+     * @throws ResponseStatusException with {@code 409 CONFLICT} if not enough seats are left
+     */
+    private void sellSeats(Long flightId, String tenantId, int count) {
+        if (flightRepository.decrementAvailableSeats(flightId, tenantId, count) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Not enough seats available");
+        }
+        eventPublisher.publishEvent(new FlightSeatsSoldEvent(flightId, tenantId, count));
+    }
+
+    /**
+     * Records the seats of a booking in {@code booking_seat}.
+     * A seat that already belongs to another booking fails the primary key and is refused.
+     *
+     * @param booking  the saved booking
+     * @param flightId the flight the seats belong to
+     * @throws ResponseStatusException with {@code 409 CONFLICT} if a seat already belongs to another booking
+     */
+    private void linkSeats(Booking booking, Long flightId) {
+        List<BookingSeat> seats = seatNumbers(booking.getSeatNumber()).stream()
+                .map(seatNumber -> new BookingSeat(booking.getTenantId(), flightId, seatNumber, booking.getId()))
+                .toList();
+        try {
+            bookingSeatRepository.saveAllAndFlush(seats);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Seat already booked");
+        }
+    }
+
+    /**
+     * Splits the comma-separated seats of a booking into distinct, normalized seat numbers.
+     *
+     * @param seatNumber the value of {@code Booking.seatNumber}, may be {@code null}
+     * @return the seat numbers, empty if none
+     */
+    private List<String> seatNumbers(String seatNumber) {
+        if (seatNumber == null) {
+            return List.of();
+        }
+        return Arrays.stream(seatNumber.split(","))
+                .map(this::normalizeSeat)
+                .filter(value -> !value.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Resolves the flight of a booking. Bookings store either the flight number or,
+     * from the web client, the flight ID; a flight number is only used if it is unique for the tenant.
+     *
+     * @param flightNumber the value of {@code Booking.flightNumber}
+     * @param tenantId     the tenant identifier
+     * @return the flight ID, or empty if it cannot be resolved
+     */
+    private Optional<Long> resolveFlightId(String flightNumber, String tenantId) {
+        if (flightNumber == null || flightNumber.isBlank()) {
+            return Optional.empty();
+        }
+        if (flightNumber.chars().allMatch(Character::isDigit)) {
+            Optional<Long> byId = flightRepository.findByIdAndTenantId(Long.valueOf(flightNumber), tenantId)
+                    .map(Flight::getId);
+            if (byId.isPresent()) {
+                return byId;
+            }
+        }
+        List<Flight> flights = flightRepository.findByFlightNumberAndTenantId(flightNumber, tenantId);
+        return flights.size() == 1 ? Optional.of(flights.get(0).getId()) : Optional.empty();
+    }
+
+    private String normalizeSeat(String seatNumber) {
+        return seatNumber.trim().toUpperCase();
+    }
+
     /**
      * Generates a unique booking ID string.
      * The format is "BOOK-" followed by an 8-character uppercase UUID substring.
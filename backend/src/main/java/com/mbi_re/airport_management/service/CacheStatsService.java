@@ -0,0 +1,45 @@
+package com.mbi_re.airport_management.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mbi_re.airport_management.dto.CacheStatsDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service reporting the hit, miss and eviction statistics of the application caches.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheStatsService {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * @return the statistics of every cache created so far, ordered by name
+     */
+    public List<CacheStatsDTO> getStats() {
+        List<CacheStatsDTO> result = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames().stream().sorted().toList()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof CaffeineCache caffeineCache) {
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+                CacheStats stats = nativeCache.stats();
+                result.add(CacheStatsDTO.builder()
+                        .name(name)
+                        .size(nativeCache.estimatedSize())
+                        .hits(stats.hitCount())
+                        .misses(stats.missCount())
+                        .hitRate(stats.hitRate())
+                        .evictions(stats.evictionCount())
+                        .build());
+            }
+        }
+        return result;
+    }
+}
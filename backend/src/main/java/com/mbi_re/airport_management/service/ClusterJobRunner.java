@@ -0,0 +1,156 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.repository.SchedulerLockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Runs scheduled jobs on one instance of the cluster at a time.
+ * <p>
+ * Every instance keeps its {@code @Scheduled} methods, but the body of a job only runs on the
+ * instance that holds the job's lease in the {@code scheduler_lock} table; the others skip that run.
+ * A lease is held for at most {@code lockAtMostFor}, so a job whose instance dies is picked up
+ * again once the lease runs out, and for at least {@code lockAtLeastFor}, so a short job is not
+ * repeated by an instance whose schedule is slightly behind.
+ * </p>
+ * <p>
+ * A job that grows too large for one instance can be split into tenant shards with
+ * {@link #runSharded}: every shard has its own lease, so each shard runs on one instance while
+ * different shards may run on different instances.
+ * </p>
+ */
+@Slf4j
+@Service
+public class ClusterJobRunner {
+
+    private final SchedulerLockRepository lockRepository;
+    private final String nodeId;
+
+    public ClusterJobRunner(SchedulerLockRepository lockRepository,
+                            @Value("${scheduler.node-id:}") String nodeId) {
+        this.lockRepository = lockRepository;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? defaultNodeId() : nodeId;
+    }
+
+    /**
+     * @return identifier of this instance in the {@code scheduler_lock} table
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Runs a job if no other instance is running it.
+     *
+     * @param job            the job name
+     * @param lockAtMostFor  how long the lease is kept if this instance dies while running the job
+     * @param lockAtLeastFor how long the lease is kept even if the job finishes earlier
+     * @param task           the job
+     * @return {@code true} if the job ran on this instance
+     */
+    public boolean runExclusive(String job, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable task) {
+        if (!tryLock(job, lockAtMostFor)) {
+            return false;
+        }
+        try {
+            task.run();
+        } finally {
+            unlock(job, lockAtLeastFor);
+        }
+        return true;
+    }
+
+    /**
+     * Runs the shards of a job that no other instance is running. Shards are tried starting from a
+     * different one on each instance, so that concurrent instances tend to pick different shards.
+     *
+     * @param job            the job name
+     * @param shards         number of shards; 1 runs the whole job on one instance
+     * @param lockAtMostFor  how long the lease of a shard is kept if this instance dies while running it
+     * @param lockAtLeastFor how long the lease of a shard is kept even if it finishes earlier
+     * @param task           the job, called once per shard run on this instance
+     * @return number of shards run on this instance
+     * @throws IllegalArgumentException if {@code shards} is not positive
+     */
+    public int runSharded(String job, int shards, Duration lockAtMostFor, Duration lockAtLeastFor,
+                          Consumer<Shard> task) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("Number of shards must be positive: " + shards);
+        }
+        int first = Math.floorMod(nodeId.hashCode(), shards);
+        int ran = 0;
+        for (int i = 0; i < shards; i++) {
+            Shard shard = new Shard((first + i) % shards, shards);
+            if (runExclusive(shard.lockName(job), lockAtMostFor, lockAtLeastFor, () -> task.accept(shard))) {
+                ran++;
+            }
+        }
+        return ran;
+    }
+
+    /**
+     * Gives up the lease of a shard held by this instance, e.g. on shutdown, so that another
+     * instance can take the shard over without waiting for the lease to run out.
+     *
+     * @param job   the job name
+     * @param shard the shard
+     */
+    public void release(String job, Shard shard) {
+        unlock(shard.lockName(job), Duration.ZERO);
+    }
+
+    private boolean tryLock(String name, Duration lockAtMostFor) {
+        try {
+            return lockRepository.tryLock(name, nodeId, lockAtMostFor.toMillis()) > 0;
+        } catch (RuntimeException e) {
+            log.warn("Failed to acquire scheduler lock {}, skipping this run", name, e);
+            return false;
+        }
+    }
+
+    private void unlock(String name, Duration lockAtLeastFor) {
+        try {
+            lockRepository.unlock(name, nodeId, lockAtLeastFor.toMillis());
+        } catch (RuntimeException e) {
+            // the lease simply runs out after lockAtMostFor
+            log.warn("Failed to release scheduler lock {}", name, e);
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + ":" + ProcessHandle.current().pid();
+    }
+
+    /**
+     * One of {@code count} partitions of the tenants.
+     *
+     * @param index the shard index, from 0 to {@code count - 1}
+     * @param count the number of shards
+     */
+    public record Shard(int index, int count) {
+
+        /**
+         * @param tenantId the tenant ID
+         * @return {@code true} if the tenant belongs to this shard
+         */
+        public boolean owns(String tenantId) {
+            return count == 1 || Math.floorMod(tenantId.hashCode(), count) == index;
+        }
+
+        private String lockName(String job) {
+            return count == 1 ? job : job + ":" + index + "/" + count;
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package com.mbi_re.airport_management.service;
 
 import com.mbi_re.airport_management.config.TenantContext;
+import com.mbi_re.airport_management.dto.FareCalendarDayDTO;
+import com.mbi_re.airport_management.dto.FlightDTO;
+import com.mbi_re.airport_management.dto.ItineraryDTO;
+import com.mbi_re.airport_management.event.CurrencyRateChangedEvent;
 import com.mbi_re.airport_management.model.CurrencyRate;
 import com.mbi_re.airport_management.repository.CurrencyRateRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 
@@ -20,10 +28,19 @@ public class CurrencyConverterService {
     @Autowired
     private CurrencyRateRepository currencyRateRepository;
 
+    @Autowired
+    private CurrencyRateTable currencyRateTable;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /** Currency in which flight prices are stored */
+    @Value("${flight.price.currency:USD}")
+    private String priceCurrency;
+
     /**
      * Converts an amount from one currency to another using tenant-specific exchange rates.
-     * The conversion is cached per unique combination of source, target currency,
-     * amount, and tenant ID to improve performance.
+     * The rates are read from the in-memory {@link CurrencyRateTable}, so no database access is needed.
      *
      * @param from  the source currency code (e.g., "EUR")
      * @param to    the target currency code (e.g., "USD")
@@ -31,62 +48,146 @@ public class CurrencyConverterService {
      * @return the converted amount in the target currency
      * @throws RuntimeException if either the source or target currency is not found for the tenant
      */
-    @Cacheable(
-            value = "currencyConversion",
-            key = "#from + '_' + #to + '_' + #value + '_' + T(com.mbi_re.airport_management.config.TenantContext).getTenantId()",
-            unless = "#result == null"
-    )
     public double convert(String from, String to, double value) {
-        String tenantId = TenantContext.getTenantId();
+        return currencyRateTable.convert(TenantContext.getTenantId(), from, to, value);
+    }
+
+    /**
+     * Converts a batch of amounts from one currency to another with a single read of the
+     * tenant's rates, so all amounts use the same rate.
+     *
+     * @param from    the source currency code (e.g., "EUR")
+     * @param to      the target currency code (e.g., "USD")
+     * @param amounts the amounts to convert
+     * @return the converted amounts, in the order of {@code amounts}
+     * @throws ResponseStatusException with 400 if the tenant has no rate for either currency
+     */
+    public double[] convertAll(String from, String to, double[] amounts) {
+        double factor;
+        try {
+            factor = currencyRateTable.factor(TenantContext.getTenantId(), from, to);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        double[] converted = new double[amounts.length];
+        for (int i = 0; i < amounts.length; i++) {
+            converted[i] = amounts[i] * factor;
+        }
+        return converted;
+    }
+
+    /**
+     * Returns copies of the given flights with their prices converted to another currency.
+     * The flights themselves are left untouched, as they may be shared by caches.
+     *
+     * @param tenantId the tenant ID
+     * @param flights  the flights, priced in {@code flight.price.currency}
+     * @param currency the target currency code
+     * @return the converted flights, in the same order
+     * @throws ResponseStatusException with 400 if the tenant has no rate for the currency
+     */
+    public List<FlightDTO> convertFlightPrices(String tenantId, List<FlightDTO> flights, String currency) {
+        double factor = priceFactor(tenantId, currency);
+        return flights.stream().map(flight -> convertFlight(flight, factor)).toList();
+    }
+
+    /**
+     * Returns copies of the given itineraries with their leg and total prices converted to another currency.
+     *
+     * @param tenantId    the tenant ID
+     * @param itineraries the itineraries, priced in {@code flight.price.currency}
+     * @param currency    the target currency code
+     * @return the converted itineraries, in the same order
+     * @throws ResponseStatusException with 400 if the tenant has no rate for the currency
+     */
+    public List<ItineraryDTO> convertItineraryPrices(String tenantId, List<ItineraryDTO> itineraries, String currency) {
+        double factor = priceFactor(tenantId, currency);
+        return itineraries.stream()
+                .map(itinerary -> ItineraryDTO.builder()
+                        .legs(itinerary.getLegs().stream().map(leg -> convertFlight(leg, factor)).toList())
+                        .stops(itinerary.getStops())
+                        .departure(itinerary.getDeparture())
+                        .arrival(itinerary.getArrival())
+                        .durationMinutes(itinerary.getDurationMinutes())
+                        .totalPrice(itinerary.getTotalPrice() * factor)
+                        .build())
+                .toList();
+    }
 
-        CurrencyRate fromRate = currencyRateRepository.findByCodeAndTenantId(from.toUpperCase(), tenantId)
-                .orElseThrow(() -> new RuntimeException("Currency not found: " + from));
-        CurrencyRate toRate = currencyRateRepository.findByCodeAndTenantId(to.toUpperCase(), tenantId)
-                .orElseThrow(() -> new RuntimeException("Currency not found: " + to));
+    /**
+     * Returns copies of the given fare calendar days with their lowest fares converted to another currency.
+     *
+     * @param tenantId the tenant ID
+     * @param days     the fare calendar days, priced in {@code flight.price.currency}
+     * @param currency the target currency code
+     * @return the converted days, in the same order
+     * @throws ResponseStatusException with 400 if the tenant has no rate for the currency
+     */
+    public List<FareCalendarDayDTO> convertFareCalendar(String tenantId, List<FareCalendarDayDTO> days, String currency) {
+        double factor = priceFactor(tenantId, currency);
+        return days.stream()
+                .map(day -> new FareCalendarDayDTO(day.getDate(),
+                        day.getMinPrice() != null ? day.getMinPrice() * factor : null,
+                        day.getAvailableSeats(), day.getFlights()))
+                .toList();
+    }
+
+    private double priceFactor(String tenantId, String currency) {
+        try {
+            return currencyRateTable.factor(tenantId, priceCurrency, currency);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 
-        double usdValue = value / fromRate.getRateToUSD();
-        return usdValue * toRate.getRateToUSD();
+    private static FlightDTO convertFlight(FlightDTO flight, double factor) {
+        return flight.toBuilder().price(flight.getPrice() * factor).build();
     }
 
     /**
      * Adds a new currency rate for the current tenant.
-     * Evicts all related caches to ensure cache consistency.
+     * Evicts the cached rate lists and refreshes the rate table of the tenant.
      *
      * @param rate the CurrencyRate entity to add
      * @return the saved CurrencyRate entity
      */
-    @CacheEvict(value = {"currencyRates", "currencyConversion"}, allEntries = true)
+    @CacheEvict(value = "currencyRates", allEntries = true)
     public CurrencyRate addRate(CurrencyRate rate) {
         String tenantId = TenantContext.getTenantId();
         rate.setTenantId(tenantId);
-        return currencyRateRepository.save(rate);
+        CurrencyRate saved = currencyRateRepository.save(rate);
+        eventPublisher.publishEvent(new CurrencyRateChangedEvent(saved.getCode(), tenantId));
+        return saved;
     }
 
     /**
      * Updates an existing currency rate for the current tenant.
-     * Evicts all related caches to ensure cache consistency.
+     * Evicts the cached rate lists and refreshes the rate table of the tenant.
      *
      * @param code the currency code identifying the rate to update
      * @param rate the CurrencyRate entity containing updated information
      * @return the updated CurrencyRate entity
      */
-    @CacheEvict(value = {"currencyRates", "currencyConversion"}, allEntries = true)
+    @CacheEvict(value = "currencyRates", allEntries = true)
     public CurrencyRate updateRate(String code, CurrencyRate rate) {
         String tenantId = TenantContext.getTenantId();
         rate.setCode(code);
         rate.setTenantId(tenantId);
-        return currencyRateRepository.save(rate);
+        CurrencyRate saved = currencyRateRepository.save(rate);
+        eventPublisher.publishEvent(new CurrencyRateChangedEvent(saved.getCode(), tenantId));
+        return saved;
     }
 
     /**
      * Deletes a currency rate by its currency code for the current tenant.
-     * Evicts all related caches to maintain cache correctness.
+     * Evicts the cached rate lists and refreshes the rate table of the tenant.
      *
      * @param code the currency code of the rate to delete
      */
-    @CacheEvict(value = {"currencyRates", "currencyConversion"}, allEntries = true)
+    @CacheEvict(value = "currencyRates", allEntries = true)
     public void deleteRate(String code) {
         currencyRateRepository.deleteById(code);
+        eventPublisher.publishEvent(new CurrencyRateChangedEvent(code, TenantContext.getTenantId()));
     }
 
     /**
@@ -1,11 +1,13 @@
 package com.mbi_re.airport_management.service;
 
 import com.mbi_re.airport_management.config.TenantContext;
+import com.mbi_re.airport_management.event.CurrencyRateChangedEvent;
 import com.mbi_re.airport_management.model.CurrencyRate;
 import com.mbi_re.airport_management.repository.CurrencyRateRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -18,6 +20,9 @@ public class CurrencyRateService {
     @Autowired
     private CurrencyRateRepository currencyRateRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Retrieves all currency rates associated with the current tenant.
      * <p>
@@ -42,7 +47,9 @@ public class CurrencyRateService {
      */
     public CurrencyRate saveRate(CurrencyRate rate) {
         rate.setTenantId(TenantContext.getTenantId());
-        return currencyRateRepository.save(rate);
+        CurrencyRate saved = currencyRateRepository.save(rate);
+        eventPublisher.publishEvent(new CurrencyRateChangedEvent(saved.getCode(), saved.getTenantId()));
+        return saved;
     }
 
     /**
@@ -62,5 +69,6 @@ public class CurrencyRateService {
      */
     public void deleteByCode(String code) {
         currencyRateRepository.deleteByCodeAndTenantId(code, TenantContext.getTenantId());
+        eventPublisher.publishEvent(new CurrencyRateChangedEvent(code, TenantContext.getTenantId()));
     }
 }
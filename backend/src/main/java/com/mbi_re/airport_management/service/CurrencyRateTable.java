@@ -0,0 +1,133 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.event.CurrencyRateChangedEvent;
+import com.mbi_re.airport_management.model.CurrencyRate;
+import com.mbi_re.airport_management.repository.CurrencyRateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory table of the exchange rates of every tenant, used by {@link CurrencyConverterService}.
+ * <p>
+ * Every currency code is interned once to a small index shared by all tenants, and the rates of a
+ * tenant are held in an immutable {@code double[]} indexed by it ({@code NaN} where the tenant has no
+ * rate). A conversion is therefore two map lookups and two array reads, without allocating or touching
+ * the database.
+ * </p>
+ * <p>
+ * The rates of a tenant are loaded on first use. When a rate changes, a {@link CurrencyRateChangedEvent}
+ * replaces the array of the tenant with a freshly loaded one, so readers always see either the old or
+ * the new rates in full.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class CurrencyRateTable {
+
+    private final CurrencyRateRepository currencyRateRepository;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private final AtomicInteger nextCode = new AtomicInteger();
+    private final Map<String, double[]> rates = new ConcurrentHashMap<>();
+
+    /**
+     * Converts an amount between two currencies of a tenant.
+     *
+     * @param tenantId the tenant ID
+     * @param from     the source currency code, case-insensitive
+     * @param to       the target currency code, case-insensitive
+     * @param value    the amount to convert
+     * @return the converted amount
+     * @throws IllegalArgumentException if the tenant has no rate for either currency
+     */
+    public double convert(String tenantId, String from, String to, double value) {
+        return value * factor(tenantId, from, to);
+    }
+
+    /**
+     * Returns the factor converting amounts between two currencies of a tenant, read from a single
+     * snapshot of its rates. Multiplying a batch of amounts by it converts them all consistently.
+     *
+     * @param tenantId the tenant ID
+     * @param from     the source currency code, case-insensitive
+     * @param to       the target currency code, case-insensitive
+     * @return the amount in {@code to} that one unit of {@code from} is worth
+     * @throws IllegalArgumentException if the tenant has no rate for either currency
+     */
+    public double factor(String tenantId, String from, String to) {
+        double[] table = ratesOf(tenantId);
+        double fromRate = rate(table, from);
+        if (Double.isNaN(fromRate)) {
+            throw new IllegalArgumentException("Currency not found: " + from);
+        }
+        double toRate = rate(table, to);
+        if (Double.isNaN(toRate)) {
+            throw new IllegalArgumentException("Currency not found: " + to);
+        }
+        return toRate / fromRate;
+    }
+
+    /**
+     * Reloads the rates of the tenant once the change is committed.
+     * <p>
+     * The currency code is the primary key of a rate, so a code written for one tenant no longer
+     * belongs to any other; the tables of other tenants holding it are dropped and reloaded on next use.
+     * </p>
+     *
+     * @param event the rate change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRateChanged(CurrencyRateChangedEvent event) {
+        Integer index = event.code() != null ? codes.get(normalize(event.code())) : null;
+        if (index != null) {
+            rates.entrySet().removeIf(entry -> !entry.getKey().equals(event.tenantId())
+                    && index < entry.getValue().length && !Double.isNaN(entry.getValue()[index]));
+        }
+        rates.compute(event.tenantId(), (tenant, current) -> current != null ? load(tenant) : null);
+    }
+
+    private double[] ratesOf(String tenantId) {
+        return rates.computeIfAbsent(tenantId, this::load);
+    }
+
+    private double rate(double[] table, String code) {
+        Integer index = codes.get(code);
+        if (index == null) {
+            // only lower- or mixed-case codes pay for the conversion
+            index = codes.get(normalize(code));
+        }
+        return index != null && index < table.length ? table[index] : Double.NaN;
+    }
+
+    private double[] load(String tenantId) {
+        List<CurrencyRate> tenantRates = currencyRateRepository.findAllByTenantId(tenantId);
+        int[] indexes = new int[tenantRates.size()];
+        int size = 0;
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = intern(tenantRates.get(i).getCode());
+            size = Math.max(size, indexes[i] + 1);
+        }
+        double[] table = new double[size];
+        Arrays.fill(table, Double.NaN);
+        for (int i = 0; i < indexes.length; i++) {
+            table[indexes[i]] = tenantRates.get(i).getRateToUSD();
+        }
+        return table;
+    }
+
+    private int intern(String code) {
+        return codes.computeIfAbsent(normalize(code), key -> nextCode.getAndIncrement());
+    }
+
+    private static String normalize(String code) {
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,200 @@
+package com.mbi_re.airport_management.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mbi_re.airport_management.dto.FlightDTO;
+import com.mbi_re.airport_management.model.Booking;
+import com.mbi_re.airport_management.repository.BookingRepository;
+import com.mbi_re.airport_management.repository.FlightRepository;
+import com.mbi_re.airport_management.utils.CsvWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Service for exporting flights and bookings as NDJSON or CSV.
+ * <p>
+ * Rows are read from the database through a {@link Stream} with a JDBC fetch size, detached from the
+ * persistence context and written straight to the output, so memory use does not grow with the
+ * number of exported rows. Each export runs in a read-only transaction, which the PostgreSQL driver
+ * needs to honour the fetch size.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    /** Number of rows written between two flushes of the output */
+    static final int FLUSH_EVERY = 500;
+
+    private static final String[] FLIGHT_COLUMNS = {
+            "id", "flightNumber", "airlineId", "departureAirport", "arrivalAirport", "flightDate",
+            "departureTime", "arrivalTime", "availableSeat", "seatCapacity", "price", "flightStatus"
+    };
+
+    private static final String[] BOOKING_COLUMNS = {
+            "id", "bookingId", "passengerName", "passengerId", "flightNumber", "seatNumber",
+            "bookingTime", "status", "checkedIn"
+    };
+
+    private final FlightRepository flightRepository;
+    private final BookingRepository bookingRepository;
+    private final FlightService flightService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Supported export formats.
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Parses a format name case-insensitively.
+         *
+         * @param value the format name ("ndjson" or "csv")
+         * @return the format
+         * @throws ResponseStatusException with {@code 400 BAD_REQUEST} for an unknown format
+         */
+        public static Format from(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + value);
+        }
+    }
+
+    /**
+     * Writes all flights of a tenant, ordered by date and departure time.
+     *
+     * @param tenantId the tenant identifier
+     * @param format   the output format
+     * @param out      the output; flushed but not closed
+     * @throws IOException if writing fails
+     */
+    @Transactional(readOnly = true)
+    public void exportFlights(String tenantId, Format format, OutputStream out) throws IOException {
+        try (Stream<FlightDTO> flights = flightRepository.streamByTenantId(tenantId)
+                .map(flight -> {
+                    FlightDTO dto = flightService.mapToDTO(flight);
+                    entityManager.detach(flight);
+                    return dto;
+                })) {
+            write(flights, format, out, FLIGHT_COLUMNS, this::flightRow);
+        }
+    }
+
+    /**
+     * Writes all bookings of a tenant, ordered by ID.
+     *
+     * @param tenantId the tenant identifier
+     * @param format   the output format
+     * @param out      the output; flushed but not closed
+     * @throws IOException if writing fails
+     */
+    @Transactional(readOnly = true)
+    public void exportBookings(String tenantId, Format format, OutputStream out) throws IOException {
+        try (Stream<Booking> bookings = bookingRepository.streamByTenantId(tenantId).map(this::detach)) {
+            write(bookings, format, out, BOOKING_COLUMNS, this::bookingRow);
+        }
+    }
+
+    /**
+     * Writes the passenger manifest of a flight: the bookings holding at least one of its seats.
+     *
+     * @param tenantId the tenant identifier
+     * @param flightId the flight ID
+     * @param format   the output format
+     * @param out      the output; flushed but not closed
+     * @throws IOException if writing fails
+     */
+    @Transactional(readOnly = true)
+    public void exportManifest(String tenantId, Long flightId, Format format, OutputStream out) throws IOException {
+        try (Stream<Booking> bookings = bookingRepository.streamByFlight(tenantId, flightId).map(this::detach)) {
+            write(bookings, format, out, BOOKING_COLUMNS, this::bookingRow);
+        }
+    }
+
+    private <T> void write(Stream<T> rows, Format format, OutputStream out, String[] columns,
+                           Function<T, Object[]> csvRow) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        ObjectWriter json = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        CsvWriter csv = new CsvWriter(writer);
+        if (format == Format.CSV) {
+            csv.writeRow((Object[]) columns);
+        }
+
+        int count = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            T row = iterator.next();
+            if (format == Format.CSV) {
+                csv.writeRow(csvRow.apply(row));
+            } else {
+                json.writeValue(writer, row);
+                writer.write('\n');
+            }
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    private <T> T detach(T entity) {
+        entityManager.detach(entity);
+        return entity;
+    }
+
+    private Object[] flightRow(FlightDTO flight) {
+        return new Object[]{
+                flight.getId(), flight.getFlightNumber(), flight.getAirlineId(), flight.getDepartureAirport(),
+                flight.getArrivalAirport(), flight.getFlightDate(), flight.getDepartureTime(), flight.getArrivalTime(),
+                flight.getAvailableSeat(), flight.getSeatCapacity(), flight.getPrice(), flight.getFlightStatus()
+        };
+    }
+
+    private Object[] bookingRow(Booking booking) {
+        return new Object[]{
+                booking.getId(), booking.getBookingId(), booking.getPassengerName(), booking.getPassengerId(),
+                booking.getFlightNumber(), booking.getSeatNumber(), booking.getBookingTime(), booking.getStatus(),
+                booking.isCheckedIn()
+        };
+    }
+}
@@ -1,11 +1,13 @@
 package com.mbi_re.airport_management.service;
 
+import com.mbi_re.airport_management.config.KeyedCollectionCache;
 import com.mbi_re.airport_management.dto.FaqDTO;
 import com.mbi_re.airport_management.model.Faq;
 import com.mbi_re.airport_management.repository.FaqRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
@@ -23,6 +25,9 @@ public class FaqService {
     @Autowired
     private FaqRepository faqRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     /**
      * Retrieves all FAQs belonging to the specified tenant.
      * <p>
@@ -42,12 +47,12 @@ public class FaqService {
     /**
      * Saves or updates an FAQ for the given tenant.
      * <p>
-     * Evicts the cached FAQs for the tenant after saving to ensure cache consistency.
+     * Adds or replaces the FAQ in the tenant's cached list.
      *
      * @param dto the FAQ DTO to save or update
      * @return the saved {@link FaqDTO} object
      */
-    @CacheEvict(value = "faqs", key = "#dto.tenantId")
+    @CachePut(value = "faqs", key = "#dto.tenantId")
     public FaqDTO saveFaq(FaqDTO dto) {
         Faq faq = toEntity(dto);
         Faq saved = faqRepository.save(faq);
@@ -57,18 +62,18 @@ public class FaqService {
     /**
      * Deletes an FAQ by its ID and tenant ID.
      * <p>
-     * Evicts the cached FAQs for the tenant after deletion.
+     * Removes the FAQ from the tenant's cached list.
      * Throws a runtime exception if the FAQ is not found or the tenant does not match.
      *
      * @param id the FAQ ID to delete
      * @param tenantId the tenant identifier
      * @throws RuntimeException if the FAQ is not found or tenant mismatch occurs
      */
-    @CacheEvict(value = "faqs", key = "#tenantId")
     public void deleteFaq(Long id, String tenantId) {
         Optional<Faq> faqOpt = faqRepository.findByIdAndTenantId(id, tenantId);
         if (faqOpt.isPresent()) {
             faqRepository.delete(faqOpt.get());
+            KeyedCollectionCache.remove(cacheManager.getCache("faqs"), tenantId, id);
         } else {
             throw new RuntimeException("FAQ not found or tenant mismatch.");
         }
@@ -0,0 +1,113 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.dto.FareCalendarDayDTO;
+import com.mbi_re.airport_management.event.FlightSeatsSoldEvent;
+import com.mbi_re.airport_management.repository.FlightRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Service providing the fare calendar of a route: the lowest fare and the free seats per day of a month.
+ * <p>
+ * A month is read with a single aggregate query and cached per tenant, route and month in the
+ * "fare_calendar" cache. {@link FlightService} evicts the month of a flight when the flight is added
+ * or deleted, and seat sales evict it through {@link FlightSeatsSoldEvent}; evictions inside a
+ * transaction take effect once it commits.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class FareCalendarService {
+
+    static final String CACHE = "fare_calendar";
+
+    private final FlightRepository flightRepository;
+    private final CacheManager cacheManager;
+
+    /**
+     * Returns the fare calendar of a route for one month.
+     *
+     * @param tenantId the tenant ID
+     * @param from     departure airport code, case-insensitive
+     * @param to       arrival airport code, case-insensitive
+     * @param month    the month
+     * @return one entry per date of the month with flights, ordered by date
+     */
+    @Cacheable(value = CACHE, key = "T(com.mbi_re.airport_management.service.FareCalendarService).key(#tenantId, #from, #to, #month)")
+    public List<FareCalendarDayDTO> getFareCalendar(String tenantId, String from, String to, YearMonth month) {
+        return flightRepository.findFareCalendar(tenantId, from, to, month.atDay(1), month.atEndOfMonth());
+    }
+
+    /**
+     * Evicts the cached month of a flight after its price or seats changed.
+     *
+     * @param tenantId the tenant ID
+     * @param from     departure airport of the flight
+     * @param to       arrival airport of the flight
+     * @param date     date of the flight
+     */
+    public void evict(String tenantId, String from, String to, LocalDate date) {
+        if (from == null || to == null || date == null) {
+            return;
+        }
+        String key = key(tenantId, from, to, YearMonth.from(date));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictKey(key);
+                }
+            });
+        } else {
+            evictKey(key);
+        }
+    }
+
+    /**
+     * Evicts the cached month of a flight whose seats were sold.
+     *
+     * @param event the seat sale
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsSold(FlightSeatsSoldEvent event) {
+        // already after commit, so the key is evicted right away
+        flightRepository.findSearchFlightById(event.flightId())
+                .filter(flight -> flight.getDepartureAirport() != null && flight.getArrivalAirport() != null
+                        && flight.getFlightDate() != null)
+                .ifPresent(flight -> evictKey(key(event.tenantId(), flight.getDepartureAirport(),
+                        flight.getArrivalAirport(), YearMonth.from(flight.getFlightDate()))));
+    }
+
+    /**
+     * @param tenantId the tenant ID
+     * @param from     departure airport code, case-insensitive
+     * @param to       arrival airport code, case-insensitive
+     * @param month    the month
+     * @return the cache key of a route and month
+     */
+    public static String key(String tenantId, String from, String to, YearMonth month) {
+        return tenantId + "_" + normalize(from) + "_" + normalize(to) + "_" + month;
+    }
+
+    private void evictKey(String key) {
+        Cache cache = cacheManager.getCache(CACHE);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private static String normalize(String airport) {
+        return airport.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,318 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.dto.BoardEntryDTO;
+import com.mbi_re.airport_management.event.FlightChangedEvent;
+import com.mbi_re.airport_management.event.FlightStatusChangedEvent;
+import com.mbi_re.airport_management.event.GateAssignmentChangedEvent;
+import com.mbi_re.airport_management.model.Flight;
+import com.mbi_re.airport_management.model.Gate;
+import com.mbi_re.airport_management.model.Terminal;
+import com.mbi_re.airport_management.repository.FlightRepository;
+import com.mbi_re.airport_management.repository.GateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory departures and arrivals boards per tenant, airport and terminal.
+ * <p>
+ * Every board is a sorted map of {@link BoardEntryDTO} by scheduled time, so "the next N hours" is a
+ * range view that is answered from memory without touching the database. A departure appears on the
+ * board of its departure airport and terminal and on the airport-wide board; an arrival appears on the
+ * airport-wide arrivals board of its arrival airport (flights only record their departure terminal).
+ * </p>
+ * <p>
+ * The boards hold the flights from yesterday to {@value #DAYS_AHEAD} days ahead, and a board's "now" is the
+ * local time of its airport (see {@link TenantTimeZoneService}). They are built from
+ * {@link Flight}, {@link Gate} and {@link Terminal} on startup and every
+ * {@code flight.board.rebuild-interval-ms}, which also moves the date window forward, and kept up to
+ * date in between from {@link FlightChangedEvent}, {@link FlightStatusChangedEvent} and
+ * {@link GateAssignmentChangedEvent}. Writers are serialized; readers never block.
+ * </p>
+ */
+@Slf4j
+@Service
+public class FlightBoardService {
+
+    /** Days after today whose flights are kept on the boards */
+    static final int DAYS_AHEAD = 2;
+
+    /** Period shown when the client does not ask for one */
+    public static final Duration DEFAULT_WINDOW = Duration.ofHours(4);
+
+    /** Longest period a client may ask for */
+    public static final Duration MAX_WINDOW = Duration.ofHours(24);
+
+    private final FlightRepository flightRepository;
+    private final GateRepository gateRepository;
+    private final TenantTimeZoneService tenantTimeZoneService;
+    private final Clock clock;
+
+    private volatile State state = new State(null, null);
+
+    @Autowired
+    public FlightBoardService(FlightRepository flightRepository, GateRepository gateRepository,
+                              TenantTimeZoneService tenantTimeZoneService) {
+        this(flightRepository, gateRepository, tenantTimeZoneService, Clock.systemDefaultZone());
+    }
+
+    FlightBoardService(FlightRepository flightRepository, GateRepository gateRepository,
+                       TenantTimeZoneService tenantTimeZoneService, Clock clock) {
+        this.flightRepository = flightRepository;
+        this.gateRepository = gateRepository;
+        this.tenantTimeZoneService = tenantTimeZoneService;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the departures of an airport in the coming period.
+     *
+     * @param tenantId   the tenant ID
+     * @param airport    the departure airport, case-insensitive
+     * @param terminalId the departure terminal, or {@code null} for all terminals
+     * @param window     the period from now, {@link #DEFAULT_WINDOW} when {@code null}; capped at {@link #MAX_WINDOW}
+     * @return the departures ordered by scheduled departure
+     */
+    public List<BoardEntryDTO> getDepartures(String tenantId, String airport, Long terminalId, Duration window) {
+        return read(new BoardKey(tenantId, Direction.DEPARTURES, normalize(airport), terminalId), window);
+    }
+
+    /**
+     * Returns the arrivals of an airport in the coming period.
+     *
+     * @param tenantId the tenant ID
+     * @param airport  the arrival airport, case-insensitive
+     * @param window   the period from now, {@link #DEFAULT_WINDOW} when {@code null}; capped at {@link #MAX_WINDOW}
+     * @return the arrivals ordered by scheduled arrival
+     */
+    public List<BoardEntryDTO> getArrivals(String tenantId, String airport, Duration window) {
+        return read(new BoardKey(tenantId, Direction.ARRIVALS, normalize(airport), null), window);
+    }
+
+    /**
+     * Rebuilds all boards from the database for the current date window. The window is wide enough for
+     * airports in every time zone, since flight dates and times are local to their airport.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${flight.board.rebuild-interval-ms:900000}",
+            initialDelayString = "${flight.board.rebuild-interval-ms:900000}")
+    public synchronized void rebuild() {
+        LocalDate from = LocalDate.now(clock.withZone(ZoneOffset.MIN)).minusDays(1);
+        LocalDate to = LocalDate.now(clock.withZone(ZoneOffset.MAX)).plusDays(DAYS_AHEAD);
+        Map<Long, Gate> assigned = new HashMap<>();
+        for (Gate gate : gateRepository.findAssignedForFlightDates(from, to)) {
+            assigned.put(gate.getFlight().getId(), gate);
+        }
+
+        State next = new State(from, to);
+        for (Flight flight : flightRepository.findBoardFlights(from, to)) {
+            next.put(entry(flight, assigned.get(flight.getId())), flight.getTenantId());
+        }
+        state = next;
+        log.debug("Rebuilt flight boards with {} flights", next.placements.size());
+    }
+
+    /**
+     * Updates the boards after a flight was created, changed or deleted.
+     *
+     * @param event the flight change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        refresh(event.flightId());
+    }
+
+    /**
+     * Updates the boards after a gate was assigned, released or renamed.
+     *
+     * @param event the gate assignment change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGateAssignmentChanged(GateAssignmentChangedEvent event) {
+        if (event.previousFlightId() != null) {
+            refresh(event.previousFlightId());
+        }
+        if (event.flightId() != null && !event.flightId().equals(event.previousFlightId())) {
+            refresh(event.flightId());
+        }
+    }
+
+    /**
+     * Updates the status shown for a flight.
+     *
+     * @param event the status change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onStatusChanged(FlightStatusChangedEvent event) {
+        Placement placement = state.placements.get(event.flightId());
+        if (placement != null) {
+            state.put(placement.entry.toBuilder().flightStatus(event.status()).build(), placement.tenantId);
+        }
+    }
+
+    private void refresh(Long flightId) {
+        Optional<Flight> flight = flightRepository.findBoardFlightById(flightId);
+        Gate gate = flight.isPresent() ? gateRepository.findByFlightId(flightId).stream().findFirst().orElse(null) : null;
+        synchronized (this) {
+            State current = state;
+            if (flight.isPresent() && current.covers(flight.get().getFlightDate())) {
+                current.put(entry(flight.get(), gate), flight.get().getTenantId());
+            } else {
+                current.remove(flightId);
+            }
+        }
+    }
+
+    private List<BoardEntryDTO> read(BoardKey key, Duration window) {
+        NavigableMap<EntryKey, BoardEntryDTO> board = state.boards.get(key);
+        if (board == null) {
+            return List.of();
+        }
+        Duration period = window == null ? DEFAULT_WINDOW
+                : window.compareTo(MAX_WINDOW) > 0 ? MAX_WINDOW
+                : window.isNegative() ? Duration.ZERO : window;
+        // scheduled times are local to the airport, so "now" is too
+        LocalDateTime now = LocalDateTime.now(clock.withZone(tenantTimeZoneService.zoneOf(key.tenantId, key.airport)));
+        return new ArrayList<>(board.subMap(
+                new EntryKey(now, Long.MIN_VALUE), true,
+                new EntryKey(now.plus(period), Long.MAX_VALUE), true).values());
+    }
+
+    private static BoardEntryDTO entry(Flight flight, Gate assignedGate) {
+        // the gate assigned through GateService wins over the flight's own gate reference
+        Gate gate = assignedGate != null ? assignedGate : flight.getGate();
+        Terminal terminal = flight.getTerminal() != null ? flight.getTerminal()
+                : gate != null ? gate.getTerminal() : null;
+
+        LocalDateTime departure = null;
+        LocalDateTime arrival = null;
+        if (flight.getFlightDate() != null && flight.getDepartureTime() != null) {
+            departure = LocalDateTime.of(flight.getFlightDate(), flight.getDepartureTime());
+            if (flight.getArrivalTime() != null) {
+                arrival = LocalDateTime.of(flight.getFlightDate(), flight.getArrivalTime());
+                // Adjust for overnight flights (arrival next day)
+                if (arrival.isBefore(departure)) {
+                    arrival = arrival.plusDays(1);
+                }
+            }
+        }
+
+        return BoardEntryDTO.builder()
+                .flightId(flight.getId())
+                .flightNumber(flight.getFlightNumber())
+                .airlineName(flight.getAirline() != null ? flight.getAirline().getName() : null)
+                .departureAirport(flight.getDepartureAirport())
+                .arrivalAirport(flight.getArrivalAirport())
+                .terminalId(terminal != null ? terminal.getId() : null)
+                .terminalName(terminal != null ? terminal.getName() : null)
+                .gateNumber(gate != null ? gate.getGateNumber() : null)
+                .scheduledDeparture(departure)
+                .scheduledArrival(arrival)
+                .flightStatus(flight.getFlightStatus())
+                .build();
+    }
+
+    private static String normalize(String airport) {
+        return airport == null ? null : airport.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private enum Direction {
+        DEPARTURES, ARRIVALS
+    }
+
+    private record BoardKey(String tenantId, Direction direction, String airport, Long terminalId) {
+    }
+
+    private record EntryKey(LocalDateTime time, long flightId) implements Comparable<EntryKey> {
+
+        @Override
+        public int compareTo(EntryKey other) {
+            int byTime = time.compareTo(other.time);
+            return byTime != 0 ? byTime : Long.compare(flightId, other.flightId);
+        }
+    }
+
+    private record Slot(BoardKey board, EntryKey key) {
+    }
+
+    /**
+     * Where a flight is shown: its current entry and the board positions holding it.
+     */
+    private record Placement(String tenantId, BoardEntryDTO entry, List<Slot> slots) {
+    }
+
+    /**
+     * The boards of one date window. Only modified while holding the service lock.
+     */
+    private static final class State {
+
+        private final LocalDate from;
+        private final LocalDate to;
+        private final Map<BoardKey, NavigableMap<EntryKey, BoardEntryDTO>> boards = new ConcurrentHashMap<>();
+        private final Map<Long, Placement> placements = new HashMap<>();
+
+        private State(LocalDate from, LocalDate to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        private boolean covers(LocalDate date) {
+            return from != null && date != null && !date.isBefore(from) && !date.isAfter(to);
+        }
+
+        private void put(BoardEntryDTO entry, String tenantId) {
+            if (entry.getScheduledDeparture() == null) {
+                remove(entry.getFlightId());
+                return;
+            }
+            List<Slot> slots = new ArrayList<>(3);
+            String origin = normalize(entry.getDepartureAirport());
+            EntryKey departure = new EntryKey(entry.getScheduledDeparture(), entry.getFlightId());
+            slots.add(new Slot(new BoardKey(tenantId, Direction.DEPARTURES, origin, null), departure));
+            if (entry.getTerminalId() != null) {
+                slots.add(new Slot(new BoardKey(tenantId, Direction.DEPARTURES, origin, entry.getTerminalId()), departure));
+            }
+            if (entry.getScheduledArrival() != null) {
+                slots.add(new Slot(new BoardKey(tenantId, Direction.ARRIVALS, normalize(entry.getArrivalAirport()), null),
+                        new EntryKey(entry.getScheduledArrival(), entry.getFlightId())));
+            }
+            // entries at an unchanged position are replaced in place, so readers never miss the flight
+            for (Slot slot : slots) {
+                boards.computeIfAbsent(slot.board, key -> new ConcurrentSkipListMap<>()).put(slot.key, entry);
+            }
+            Placement previous = placements.put(entry.getFlightId(), new Placement(tenantId, entry, slots));
+            if (previous != null) {
+                removeSlots(previous, slots);
+            }
+        }
+
+        private void remove(Long flightId) {
+            Placement placement = placements.remove(flightId);
+            if (placement != null) {
+                removeSlots(placement, List.of());
+            }
+        }
+
+        private void removeSlots(Placement placement, List<Slot> keep) {
+            for (Slot slot : placement.slots) {
+                NavigableMap<EntryKey, BoardEntryDTO> board = boards.get(slot.board);
+                if (board != null && !keep.contains(slot)) {
+                    board.remove(slot.key);
+                }
+            }
+        }
+    }
+}
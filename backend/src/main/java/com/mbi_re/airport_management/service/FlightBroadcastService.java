@@ -0,0 +1,118 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.dto.FlightUpdateDTO;
+import com.mbi_re.airport_management.event.FlightChangedEvent;
+import com.mbi_re.airport_management.event.FlightStatusChangedEvent;
+import com.mbi_re.airport_management.event.GateAssignmentChangedEvent;
+import com.mbi_re.airport_management.model.Flight;
+import com.mbi_re.airport_management.repository.FlightRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pushes flight changes to departure boards over STOMP.
+ * <p>
+ * Each tenant has its own topic ({@link #topic(String)}). Boards load the current flights once by
+ * subscribing to {@code /app/tenants/{tenantId}/flights} and then apply the {@link FlightUpdateDTO}
+ * deltas published here, so they never have to poll. Deltas are sent after the change is committed;
+ * a board that missed some (e.g. after a reconnect) simply subscribes again to get a new snapshot.
+ * </p>
+ */
+@Slf4j
+@Service
+public class FlightBroadcastService {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final FlightRepository flightRepository;
+
+    public FlightBroadcastService(SimpMessagingTemplate messagingTemplate, FlightRepository flightRepository) {
+        this.messagingTemplate = messagingTemplate;
+        this.flightRepository = flightRepository;
+    }
+
+    /**
+     * @param tenantId the tenant ID
+     * @return the STOMP destination carrying the flight deltas of the tenant
+     */
+    public static String topic(String tenantId) {
+        return "/topic/tenants/" + tenantId + "/flights";
+    }
+
+    /**
+     * Sends the new status of a flight.
+     *
+     * @param event the status change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(FlightStatusChangedEvent event) {
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("flightStatus", event.status());
+        send(event.tenantId(), new FlightUpdateDTO(FlightUpdateDTO.Type.STATUS, event.flightId(), changes));
+    }
+
+    /**
+     * Sends the board fields of a created or changed flight, or its removal once it is deleted.
+     *
+     * @param event the flight change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        FlightUpdateDTO update = flightRepository.findByIdAndTenantId(event.flightId(), event.tenantId())
+                .map(flight -> new FlightUpdateDTO(FlightUpdateDTO.Type.UPSERT, flight.getId(), boardFields(flight)))
+                .orElseGet(() -> new FlightUpdateDTO(FlightUpdateDTO.Type.DELETE, event.flightId(), Map.of()));
+        send(event.tenantId(), update);
+    }
+
+    /**
+     * Sends the gate of the flights a gate was moved from and to.
+     *
+     * @param event the gate assignment change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGateAssignmentChanged(GateAssignmentChangedEvent event) {
+        if (event.previousFlightId() != null && !event.previousFlightId().equals(event.flightId())) {
+            send(event.tenantId(), gateUpdate(event.previousFlightId(), null, null));
+        }
+        if (event.flightId() != null) {
+            send(event.tenantId(), gateUpdate(event.flightId(), event.gateId(), event.gateNumber()));
+        }
+    }
+
+    private static FlightUpdateDTO gateUpdate(Long flightId, Long gateId, String gateNumber) {
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("gateId", gateId);
+        changes.put("gateNumber", gateNumber);
+        return new FlightUpdateDTO(FlightUpdateDTO.Type.GATE, flightId, changes);
+    }
+
+    private static Map<String, Object> boardFields(Flight flight) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("flightNumber", flight.getFlightNumber());
+        fields.put("departureAirport", flight.getDepartureAirport());
+        fields.put("arrivalAirport", flight.getArrivalAirport());
+        fields.put("flightDate", flight.getFlightDate());
+        fields.put("departureTime", flight.getDepartureTime());
+        fields.put("arrivalTime", flight.getArrivalTime());
+        fields.put("flightStatus", flight.getFlightStatus());
+        fields.put("gateId", flight.getGate() != null ? flight.getGate().getId() : null);
+        fields.put("gateNumber", flight.getGate() != null ? flight.getGate().getGateNumber() : null);
+        fields.put("terminalId", flight.getTerminal() != null ? flight.getTerminal().getId() : null);
+        return fields;
+    }
+
+    private void send(String tenantId, FlightUpdateDTO update) {
+        try {
+            messagingTemplate.convertAndSend(topic(tenantId), update);
+        } catch (MessagingException e) {
+            // boards re-sync from a new snapshot; a lost delta must not fail the change itself
+            log.warn("Failed to push update of flight {} to tenant {}", update.getFlightId(), tenantId, e);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.dto.FlightDTO;
+import com.mbi_re.airport_management.event.FlightChangedEvent;
+import com.mbi_re.airport_management.event.FlightSeatsSoldEvent;
+import com.mbi_re.airport_management.event.FlightStatusChangedEvent;
+import com.mbi_re.airport_management.repository.FlightRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Optional in-memory engine for the route search behind {@code /api/flights/filter}.
+ * <p>
+ * For the tenants listed in {@code flight.search.index.tenants}, every route (departure and arrival
+ * airport, case-insensitive) maps to an array of its flights sorted by date and departure time. A search
+ * is a binary search for the first date followed by a scan up to the last date, answered without
+ * touching the database. Searches for other tenants, or for dates before the indexed period, fall
+ * back to {@link FlightRepository#searchRoute}.
+ * </p>
+ * <p>
+ * The index holds the flights from yesterday onwards. It is loaded on startup and every
+ * {@code flight.search.index.rebuild-interval-ms}, and kept up to date in between from
+ * {@link FlightChangedEvent}, {@link FlightStatusChangedEvent} and {@link FlightSeatsSoldEvent}.
+ * Route arrays are copy-on-write and their entries are replaced rather than modified, so writers are
+ * serialized while readers never block.
+ * </p>
+ */
+@Slf4j
+@Service
+public class FlightSearchIndex {
+
+    private static final FlightDTO[] NO_FLIGHTS = new FlightDTO[0];
+
+    private static final Comparator<FlightDTO> ORDER = Comparator
+            .comparing(FlightDTO::getFlightDate)
+            .thenComparing(FlightDTO::getDepartureTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(FlightDTO::getId);
+
+    private final FlightRepository flightRepository;
+    private final Set<String> tenants;
+    private final Clock clock;
+
+    private final Map<String, TenantIndex> indexes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public FlightSearchIndex(FlightRepository flightRepository,
+                             @Value("${flight.search.index.tenants:}") String tenants) {
+        this(flightRepository, tenants, Clock.systemDefaultZone());
+    }
+
+    FlightSearchIndex(FlightRepository flightRepository, String tenants, Clock clock) {
+        this.flightRepository = flightRepository;
+        this.tenants = parseTenants(tenants);
+        this.clock = clock;
+    }
+
+    /**
+     * @param tenantId the tenant ID
+     * @param start    the first date searched
+     * @return {@code true} if the search can be answered from the index
+     */
+    public boolean covers(String tenantId, LocalDate start) {
+        TenantIndex index = indexes.get(tenantId);
+        return index != null && start != null && !start.isBefore(index.from);
+    }
+
+    /**
+     * Searches the indexed flights of a route within a date range that have enough free seats.
+     *
+     * @param tenantId   the tenant ID
+     * @param from       departure airport code, case-insensitive
+     * @param to         arrival airport code, case-insensitive
+     * @param start      earliest flight date (inclusive)
+     * @param end        latest flight date (inclusive)
+     * @param passengers minimum number of available seats
+     * @return the matching flights ordered by date and departure time; empty if the tenant is not indexed
+     */
+    public List<FlightDTO> search(String tenantId, String from, String to,
+                                  LocalDate start, LocalDate end, int passengers) {
+        TenantIndex index = indexes.get(tenantId);
+        if (index == null) {
+            return List.of();
+        }
+        FlightDTO[] flights = index.routes.getOrDefault(new RouteKey(normalize(from), normalize(to)), NO_FLIGHTS);
+        List<FlightDTO> result = new ArrayList<>();
+        for (int i = firstOnOrAfter(flights, start); i < flights.length; i++) {
+            FlightDTO flight = flights[i];
+            if (flight.getFlightDate().isAfter(end)) {
+                break;
+            }
+            if (flight.getAvailableSeat() >= passengers) {
+                result.add(flight);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reloads the index of every configured tenant from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${flight.search.index.rebuild-interval-ms:900000}",
+            initialDelayString = "${flight.search.index.rebuild-interval-ms:900000}")
+    public synchronized void rebuild() {
+        LocalDate from = LocalDate.now(clock).minusDays(1);
+        for (String tenantId : tenants) {
+            List<FlightDTO> flights = flightRepository.findSearchFlights(tenantId, from);
+            TenantIndex next = new TenantIndex(from, flights);
+            indexes.put(tenantId, next);
+            log.debug("Rebuilt flight search index of tenant {} with {} flights", tenantId, next.flights.size());
+        }
+    }
+
+    /**
+     * Updates the index after a flight was created, changed or deleted.
+     *
+     * @param event the flight change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        reload(event.tenantId(), event.flightId());
+    }
+
+    /**
+     * Updates the status of an indexed flight.
+     *
+     * @param event the status change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(FlightStatusChangedEvent event) {
+        update(event.tenantId(), event.flightId(), flight -> flight.toBuilder().flightStatus(event.status()).build());
+    }
+
+    /**
+     * Re-reads the available seats of a flight once the sale is committed. The committed count is read
+     * rather than the sold seats subtracted, so a sale that a rebuild has already picked up is not counted twice.
+     *
+     * @param event the seat sale
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsSold(FlightSeatsSoldEvent event) {
+        reload(event.tenantId(), event.flightId());
+    }
+
+    private void reload(String tenantId, Long flightId) {
+        if (!indexes.containsKey(tenantId)) {
+            return;
+        }
+        Optional<FlightDTO> flight = flightRepository.findSearchFlightById(flightId);
+        synchronized (this) {
+            TenantIndex index = indexes.get(tenantId);
+            if (flight.isPresent()) {
+                index.put(flight.get());
+            } else {
+                index.remove(flightId);
+            }
+        }
+    }
+
+    private synchronized void update(String tenantId, Long flightId, UnaryOperator<FlightDTO> change) {
+        TenantIndex index = indexes.get(tenantId);
+        FlightDTO flight = index != null ? index.flights.get(flightId) : null;
+        if (flight != null) {
+            index.put(change.apply(flight));
+        }
+    }
+
+    private static int firstOnOrAfter(FlightDTO[] flights, LocalDate date) {
+        int low = 0;
+        int high = flights.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (flights[mid].getFlightDate().isBefore(date)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static Set<String> parseTenants(String tenants) {
+        Set<String> result = new LinkedHashSet<>();
+        if (tenants != null) {
+            for (String tenant : tenants.split(",")) {
+                if (!tenant.isBlank()) {
+                    result.add(tenant.trim());
+                }
+            }
+        }
+        return Collections.unmodifiableSet(result);
+    }
+
+    private static String normalize(String airport) {
+        return airport == null ? "" : airport.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static RouteKey routeOf(FlightDTO flight) {
+        return new RouteKey(normalize(flight.getDepartureAirport()), normalize(flight.getArrivalAirport()));
+    }
+
+    private record RouteKey(String from, String to) {
+    }
+
+    /**
+     * The indexed flights of one tenant. Only modified while holding the service lock.
+     */
+    private static final class TenantIndex {
+
+        private final LocalDate from;
+        private final Map<RouteKey, FlightDTO[]> routes = new ConcurrentHashMap<>();
+        private final Map<Long, FlightDTO> flights = new HashMap<>();
+
+        private TenantIndex(LocalDate from, List<FlightDTO> initial) {
+            this.from = from;
+            Map<RouteKey, List<FlightDTO>> byRoute = new HashMap<>();
+            for (FlightDTO flight : initial) {
+                if (indexable(flight)) {
+                    flights.put(flight.getId(), flight);
+                    byRoute.computeIfAbsent(routeOf(flight), key -> new ArrayList<>()).add(flight);
+                }
+            }
+            byRoute.forEach((route, list) -> {
+                list.sort(ORDER);
+                routes.put(route, list.toArray(NO_FLIGHTS));
+            });
+        }
+
+        private boolean indexable(FlightDTO flight) {
+            return flight.getId() != null && flight.getFlightDate() != null && !flight.getFlightDate().isBefore(from);
+        }
+
+        private void put(FlightDTO flight) {
+            if (!indexable(flight)) {
+                remove(flight.getId());
+                return;
+            }
+            FlightDTO previous = flights.put(flight.getId(), flight);
+            RouteKey route = routeOf(flight);
+            if (previous != null && !routeOf(previous).equals(route)) {
+                removeFrom(routeOf(previous), flight.getId());
+            }
+            // replaced in a single array swap, so readers never miss a flight that stays on its route
+            List<FlightDTO> next = new ArrayList<>(Arrays.asList(routes.getOrDefault(route, NO_FLIGHTS)));
+            next.removeIf(existing -> existing.getId().equals(flight.getId()));
+            int position = Collections.binarySearch(next, flight, ORDER);
+            next.add(position < 0 ? -position - 1 : position, flight);
+            routes.put(route, next.toArray(NO_FLIGHTS));
+        }
+
+        private void remove(Long flightId) {
+            FlightDTO previous = flights.remove(flightId);
+            if (previous != null) {
+                removeFrom(routeOf(previous), flightId);
+            }
+        }
+
+        private void removeFrom(RouteKey route, Long flightId) {
+            FlightDTO[] current = routes.get(route);
+            if (current == null) {
+                return;
+            }
+            FlightDTO[] next = Arrays.stream(current)
+                    .filter(existing -> !existing.getId().equals(flightId))
+                    .toArray(FlightDTO[]::new);
+            if (next.length == 0) {
+                routes.remove(route);
+            } else {
+                routes.put(route, next);
+            }
+        }
+    }
+}
@@ -1,29 +1,57 @@
 package com.mbi_re.airport_management.service;
 
+import com.mbi_re.airport_management.config.KeyedCollectionCache;
+import com.mbi_re.airport_management.dto.CursorPageDTO;
 import com.mbi_re.airport_management.dto.FlightDTO;
+import com.mbi_re.airport_management.event.FlightChangedEvent;
+import com.mbi_re.airport_management.event.FlightStatusChangedEvent;
 import com.mbi_re.airport_management.model.Airline;
 import com.mbi_re.airport_management.model.Flight;
-import com.mbi_re.airport_management.model.Seat;
+import com.mbi_re.airport_management.model.FlightStatus;
+import com.mbi_re.airport_management.model.SeatLayout;
 import com.mbi_re.airport_management.repository.*;
+import com.mbi_re.airport_management.utils.KeysetPagination;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Service for managing flight-related operations.
  * Handles creation, deletion, and retrieval of tenant-scoped flights.
+ * <p>
+ * Today's and upcoming flights are cached per tenant and service date, where the service date is the
+ * current date at the tenant's airport (see {@link TenantTimeZoneService}). The list therefore rolls
+ * over at local midnight without an eviction, and the next day's list is loaded shortly before
+ * midnight so that the first requests of the day are served from the cache.
+ * </p>
  */
 @Service
 @RequiredArgsConstructor
 public class FlightService {
 
+    private static final KeysetPagination<Flight> PAGES = new KeysetPagination<>(Flight::getId)
+            .field("flightDate", Flight::getFlightDate, LocalDate::parse)
+            .field("flightNumber", Flight::getFlightNumber, Function.identity());
+
     @Autowired
     private FlightRepository flightRepository;
     @Autowired
@@ -34,29 +62,43 @@ public class FlightService {
     private TerminalRepository terminalRepository;
     @Autowired
     private AirlineRepository airlineRepository;
+    @Autowired
+    private SeatInventory seatInventory;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private TenantTimeZoneService tenantTimeZoneService;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private FlightSearchIndex flightSearchIndex;
+    @Autowired
+    private FareCalendarService fareCalendarService;
+
+    /** How long before local midnight the next day's flights are loaded into the cache */
+    @Value("${flight.cache.prewarm-lead:5m}")
+    private Duration prewarmLead;
 
     /**
-     * Retrieves today's and upcoming flights for a given tenant.
+     * Retrieves today's and upcoming flights for a given tenant, where today is the current date
+     * at the tenant's airport.
      *
      * @param tenantId the tenant identifier
      * @return a list of {@link FlightDTO} representing today's and upcoming flights
      */
-    @Cacheable(value = "flights_today_upcoming", key = "#tenantId")
+    @Cacheable(value = "flights_today_upcoming", key = "#tenantId + '_' + @tenantTimeZoneService.today(#tenantId)")
     public List<FlightDTO> getTodayAndUpcomingFlights(String tenantId) {
-        LocalDate today = LocalDate.now();
-        return flightRepository.findByFlightDateGreaterThanEqualAndTenantId(today, tenantId)
-                .stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return loadTodayAndUpcoming(tenantId, tenantTimeZoneService.today(tenantId));
     }
 
     /**
      * Retrieves all flights for the authenticated tenant.
+     * Concurrent cache misses for a tenant share a single query.
      *
      * @param tenantId the tenant identifier
      * @return a list of {@link FlightDTO} for all flights of the tenant
      */
-    @Cacheable(value = "flights_all", key = "#tenantId")
+    @Cacheable(value = "flights_all", key = "#tenantId", sync = true)
     public List<FlightDTO> getAllFlights(String tenantId) {
         return flightRepository.findByTenantId(tenantId)
                 .stream()
@@ -65,41 +107,184 @@ public class FlightService {
     }
 
     /**
-     * Adds a new flight and automatically generates seats for it.
-     * Evicts relevant flight caches for the tenant.
+     * Retrieves one page of the tenant's flights using cursor (keyset) pagination.
+     * Unlike {@link #getAllFlights(String)}, the result is bounded by {@code limit} and not cached.
+     *
+     * @param tenantId         the tenant identifier
+     * @param departureAirport optional departure airport filter (case-insensitive)
+     * @param arrivalAirport   optional arrival airport filter (case-insensitive)
+     * @param status           optional flight status filter
+     * @param fromDate         optional earliest flight date (inclusive)
+     * @param toDate           optional latest flight date (inclusive)
+     * @param sort             sort field: {@code id}, {@code flightDate} or {@code flightNumber}
+     * @param direction        {@code asc} or {@code desc}
+     * @param cursor           cursor returned with the previous page, or {@code null} for the first page
+     * @param limit            page size
+     * @return the page of {@link FlightDTO} and the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<FlightDTO> getFlightsPage(String tenantId, String departureAirport, String arrivalAirport,
+                                                   FlightStatus status, LocalDate fromDate, LocalDate toDate,
+                                                   String sort, String direction, String cursor, Integer limit) {
+        Specification<Flight> filter = Specification.<Flight>where(KeysetPagination.tenant(tenantId))
+                .and(KeysetPagination.equalIgnoreCaseIfPresent("departureAirport", departureAirport))
+                .and(KeysetPagination.equalIgnoreCaseIfPresent("arrivalAirport", arrivalAirport))
+                .and(KeysetPagination.equalIfPresent("flightStatus", status))
+                .and(KeysetPagination.between("flightDate", fromDate, toDate));
+        return PAGES.page(flightRepository, filter, sort, direction, cursor, limit, this::mapToDTO);
+    }
+
+    /**
+     * Searches a tenant's flights on a route within a date range that have enough free seats.
+     * Airports are matched case-insensitively. Tenants served by the {@link FlightSearchIndex} are
+     * answered from memory; otherwise the rows are read straight into DTOs through the route search
+     * index, without loading the flight entities.
+     *
+     * @param tenantId   the tenant identifier
+     * @param from       departure airport code
+     * @param to         arrival airport code
+     * @param start      earliest flight date (inclusive)
+     * @param end        latest flight date (inclusive)
+     * @param passengers minimum number of available seats
+     * @return the matching flights ordered by date and departure time
+     */
+    public List<FlightDTO> searchFlights(String tenantId, String from, String to,
+                                         LocalDate start, LocalDate end, int passengers) {
+        if (flightSearchIndex.covers(tenantId, start)) {
+            return flightSearchIndex.search(tenantId, from, to, start, end, passengers);
+        }
+        return flightRepository.searchRoute(tenantId, from, to, start, end, passengers);
+    }
+
+    /**
+     * Adds a new flight together with its seat layout and publishes a {@link FlightChangedEvent},
+     * which evicts the tenant's flight caches once the transaction commits. The fare calendar
+     * month of the flight's route is evicted as well.
+     * <p>
+     * No seat rows are created here: the seat map is derived from the layout
+     * (see {@link SeatLayout}) and only booked seats are persisted.
+     * </p>
      *
      * @param dto the flight data transfer object to add
      * @return the created flight as a {@link FlightDTO}
+     * @throws IllegalArgumentException if the seat layout is out of range
      */
-    @CacheEvict(value = { "flights_today_upcoming", "flights_all" }, key = "#dto.tenantId")
+    @Transactional
     public FlightDTO addFlight(FlightDTO dto) {
         Flight flight = mapToEntity(dto);
         flight.setTenantId(dto.getTenantId());
         Flight saved = flightRepository.save(flight);
-
-        generateSeats(saved);
+        fareCalendarService.evict(saved.getTenantId(), saved.getDepartureAirport(), saved.getArrivalAirport(),
+                saved.getFlightDate());
+        eventPublisher.publishEvent(new FlightChangedEvent(saved.getId(), saved.getTenantId()));
         return mapToDTO(saved);
     }
 
     /**
      * Deletes a flight and all associated seats for the specified tenant.
-     * Evicts relevant flight caches after deletion.
+     * Publishes a {@link FlightChangedEvent}, which evicts the tenant's flight caches once the
+     * transaction commits, and evicts the fare calendar month of the flight's route.
      *
      * @param flightId the ID of the flight to delete
      * @param tenantId the tenant identifier
      * @throws RuntimeException if the flight is not found or tenant access is denied
      */
     @Transactional
-    @CacheEvict(value = { "flights_today_upcoming", "flights_all" }, key = "#tenantId")
     public void deleteFlight(Long flightId, String tenantId) {
         Flight flight = flightRepository.findByIdAndTenantId(flightId, tenantId)
                 .orElseThrow(() -> new RuntimeException("Flight not found or access denied"));
 
-        // Delete all seats associated with the flight
+        // Delete the booked seats persisted for the flight
         seatRepository.deleteByFlightIdAndTenantId(flightId, tenantId);
 
         // Delete the flight
         flightRepository.delete(flight);
+        seatInventory.evict(flightId);
+        fareCalendarService.evict(tenantId, flight.getDepartureAirport(), flight.getArrivalAirport(),
+                flight.getFlightDate());
+        eventPublisher.publishEvent(new FlightChangedEvent(flightId, tenantId));
+    }
+
+    /**
+     * Updates the flight caches of the tenant whose flight was added, changed or deleted.
+     * The flight is replaced in, added to or removed from the cached list of all flights, while the
+     * upcoming flights are evicted for today and, in case they were already pre-warmed, tomorrow.
+     *
+     * @param event the flight change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Caching(evict = {
+            @CacheEvict(value = "flights_today_upcoming",
+                    key = "#event.tenantId() + '_' + @tenantTimeZoneService.today(#event.tenantId())"),
+            @CacheEvict(value = "flights_today_upcoming",
+                    key = "#event.tenantId() + '_' + @tenantTimeZoneService.today(#event.tenantId()).plusDays(1)")
+    })
+    public void onFlightChanged(FlightChangedEvent event) {
+        refreshCachedFlight(event.tenantId(), event.flightId());
+    }
+
+    /**
+     * Updates the flight caches of the tenant whose flight changed status.
+     *
+     * @param event the flight status change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Caching(evict = {
+            @CacheEvict(value = "flights_today_upcoming",
+                    key = "#event.tenantId() + '_' + @tenantTimeZoneService.today(#event.tenantId())"),
+            @CacheEvict(value = "flights_today_upcoming",
+                    key = "#event.tenantId() + '_' + @tenantTimeZoneService.today(#event.tenantId()).plusDays(1)")
+    })
+    public void onFlightStatusChanged(FlightStatusChangedEvent event) {
+        refreshCachedFlight(event.tenantId(), event.flightId());
+    }
+
+    private void refreshCachedFlight(String tenantId, Long flightId) {
+        Cache cache = cacheManager.getCache("flights_all");
+        Optional<FlightDTO> flight = flightRepository.findSearchFlightById(flightId)
+                .filter(dto -> tenantId.equals(dto.getTenantId()));
+        if (flight.isPresent()) {
+            KeyedCollectionCache.upsert(cache, tenantId, flight.get());
+        } else {
+            KeyedCollectionCache.remove(cache, tenantId, flightId);
+        }
+    }
+
+    /**
+     * Rolls the cached upcoming flights of every known tenant over to the next service date:
+     * drops the entry of the previous day and, within {@code flight.cache.prewarm-lead} of local
+     * midnight, loads the entry of the next day.
+     *
+     * @return number of tenants whose next day was loaded
+     */
+    @Scheduled(fixedDelayString = "${flight.cache.prewarm-interval-ms:60000}")
+    public int prewarmTodayAndUpcoming() {
+        Cache cache = cacheManager.getCache("flights_today_upcoming");
+        if (cache == null) {
+            return 0;
+        }
+        int warmed = 0;
+        for (String tenantId : tenantTimeZoneService.knownTenants()) {
+            ZonedDateTime now = tenantTimeZoneService.now(tenantId);
+            LocalDate today = now.toLocalDate();
+            cache.evict(tenantId + "_" + today.minusDays(1));
+
+            LocalDate tomorrow = today.plusDays(1);
+            ZonedDateTime midnight = tomorrow.atStartOfDay(now.getZone());
+            String key = tenantId + "_" + tomorrow;
+            if (Duration.between(now, midnight).compareTo(prewarmLead) <= 0 && cache.get(key) == null) {
+                cache.put(key, loadTodayAndUpcoming(tenantId, tomorrow));
+                warmed++;
+            }
+        }
+        return warmed;
+    }
+
+    private List<FlightDTO> loadTodayAndUpcoming(String tenantId, LocalDate date) {
+        return flightRepository.findByFlightDateGreaterThanEqualAndTenantId(date, tenantId)
+                .stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -118,6 +303,8 @@ public class FlightService {
         dto.setArrivalTime(flight.getArrivalTime());
         dto.setFlightDate(flight.getFlightDate());
         dto.setAvailableSeat(flight.getAvailableSeat());
+        dto.setSeatCapacity(flight.getSeatCapacity());
+        dto.setSeatsPerRow(flight.getSeatsPerRow());
         dto.setPrice(flight.getPrice());
         dto.setFlightStatus(flight.getFlightStatus());
         dto.setTenantId(flight.getTenantId());
@@ -135,6 +322,7 @@ public class FlightService {
      * @param dto the flight DTO
      * @return the corresponding {@link Flight} entity
      * @throws RuntimeException if related Airline, Gate, or Terminal is not found for the tenant
+     * @throws IllegalArgumentException if the seat layout is out of range
      */
     private Flight mapToEntity(FlightDTO dto) {
         Flight flight = new Flight();
@@ -145,6 +333,13 @@ public class FlightService {
         flight.setArrivalTime(dto.getArrivalTime());
         flight.setFlightDate(dto.getFlightDate());
         flight.setAvailableSeat(dto.getAvailableSeat());
+
+        SeatLayout layout = new SeatLayout(
+                dto.getSeatCapacity() != null ? dto.getSeatCapacity() : dto.getAvailableSeat(),
+                dto.getSeatsPerRow() != null ? dto.getSeatsPerRow() : SeatLayout.DEFAULT_SEATS_PER_ROW);
+        flight.setSeatCapacity(layout.getCapacity());
+        flight.setSeatsPerRow(layout.getSeatsPerRow());
+
         flight.setPrice(dto.getPrice());
         flight.setFlightStatus(dto.getFlightStatus());
         flight.setTenantId(dto.getTenantId());
@@ -167,30 +362,4 @@ public class FlightService {
 
         return flight;
     }
-
-    /**
-     * Auto-generates seats for a newly created flight.
-     * Seats are labeled in rows (A, B, C, ...) and columns (1 to 6).
-     *
-     * @param saved the flight entity for which seats are generated
-     */
-    private void generateSeats(Flight saved) {
-        int totalSeats = saved.getAvailableSeat();
-        int seatsPerRow = 6;
-        char row = 'A';
-        int seatCount = 0;
-
-        while (seatCount < totalSeats) {
-            for (int col = 1; col <= seatsPerRow && seatCount < totalSeats; col++) {
-                Seat seat = new Seat();
-                seat.setSeatNumber("" + row + col);
-                seat.setBooked(false);
-                seat.setFlight(saved);
-                seat.setTenantId(saved.getTenantId());
-                seatRepository.save(seat);
-                seatCount++;
-            }
-            row++;
-        }
-    }
 }
@@ -1,84 +1,461 @@
 package com.mbi_re.airport_management.service;
 
-import com.mbi_re.airport_management.model.Flight;
+import com.mbi_re.airport_management.dto.FlightScheduleDTO;
+import com.mbi_re.airport_management.event.FlightChangedEvent;
+import com.mbi_re.airport_management.event.FlightStatusChangedEvent;
 import com.mbi_re.airport_management.model.FlightStatus;
 import com.mbi_re.airport_management.repository.FlightRepository;
-import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service responsible for automatically updating the status of flights based on their scheduled times.
+ * <p>
+ * A flight moves through the following statuses:
+ * <ul>
+ *     <li>{@link FlightStatus#SCHEDULED}: More than 60 minutes before departure</li>
+ *     <li>{@link FlightStatus#BOARDING}: Within 60 minutes before departure</li>
+ *     <li>{@link FlightStatus#IN_AIR}: Between departure and arrival times</li>
+ *     <li>{@link FlightStatus#LANDED}: After arrival time</li>
+ * </ul>
+ * An arrival time before the departure time means the flight lands the next day.
+ * </p>
+ * <p>
+ * Only flights in a non-terminal status (see {@link #TERMINAL}) are tracked. Each tracked flight has
+ * exactly one pending transition in a {@link DelayQueue}, and a worker thread sleeps until the earliest
+ * one is due, so the work done is proportional to the number of transitions rather than to the size of
+ * the flight table. Due transitions are applied with one UPDATE per target status. Flights are
+ * (re)tracked when a {@link FlightChangedEvent} is received, and the tracked set is reconciled with the
+ * database every {@code flight.status.reconcile-interval-ms} as a safety net for changes made elsewhere.
+ * </p>
+ * <p>
+ * This is the default engine; {@code flight.status.engine=sql} selects {@link FlightStatusSweepService} instead.
+ * </p>
+ * <p>
+ * In a cluster the tenants are split into {@code flight.status.shards} shards and each instance only
+ * tracks the flights of the shards whose lease it holds (see {@link ClusterJobRunner}). Leases are
+ * renewed every {@code flight.status.lease-heartbeat-ms}, independently of the reconcile, and last three
+ * heartbeats, so a stopped instance's shards are taken over within a few heartbeats; an instance that
+ * shuts down cleanly gives its leases up right away. Newly acquired shards are reconciled at once, so
+ * every flight is moved by exactly one instance. Changes made on an instance that does not own the
+ * flight's shard are picked up by the owner on its next reconcile.
+ * </p>
  */
+@Slf4j
 @Service
-@RequiredArgsConstructor
+@ConditionalOnProperty(name = "flight.status.engine", havingValue = "queue", matchIfMissing = true)
 public class FlightStatusService {
 
+    /** Statuses that are never changed automatically */
+    public static final Set<FlightStatus> TERMINAL =
+            Collections.unmodifiableSet(EnumSet.of(FlightStatus.LANDED, FlightStatus.CANCELLED, FlightStatus.DIVERTED));
+
+    /** How long before departure boarding starts */
+    static final long BOARDING_WINDOW_MS = TimeUnit.MINUTES.toMillis(60);
+
+    /** Name of the job whose shard leases decide which instance tracks which tenants */
+    static final String SHARD_JOB = "flight-status";
+
+    /** Delay before retrying transitions whose update failed */
+    static final long RETRY_DELAY_MS = TimeUnit.SECONDS.toMillis(5);
+
+    private final FlightRepository flightRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClusterJobRunner jobRunner;
+    private final Duration shardLease;
+    private final int shards;
+    private final Clock clock;
+
+    private volatile Set<ClusterJobRunner.Shard> ownedShards = Set.of();
+    private final DelayQueue<Transition> queue = new DelayQueue<>();
+    private final Map<Long, Transition> pending = new ConcurrentHashMap<>();
+    private volatile Thread worker;
+
     @Autowired
-    private FlightRepository flightRepository;
+    public FlightStatusService(FlightRepository flightRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               ClusterJobRunner jobRunner,
+                               @Value("${flight.status.lease-heartbeat-ms:30000}") long leaseHeartbeatMs,
+                               @Value("${flight.status.shards:1}") int shards) {
+        this(flightRepository, eventPublisher, jobRunner, leaseHeartbeatMs, shards,
+                Clock.systemDefaultZone());
+    }
+
+    FlightStatusService(FlightRepository flightRepository,
+                        ApplicationEventPublisher eventPublisher,
+                        ClusterJobRunner jobRunner,
+                        long leaseHeartbeatMs,
+                        int shards,
+                        Clock clock) {
+        this.flightRepository = flightRepository;
+        this.eventPublisher = eventPublisher;
+        this.jobRunner = jobRunner;
+        // held across three heartbeats, so the owner renews it before anyone else can take it
+        this.shardLease = Duration.ofMillis(3 * leaseHeartbeatMs);
+        this.shards = shards;
+        this.clock = clock;
+    }
 
     /**
-     * Periodically updates the status of all flights.
-     * <p>
-     * This method runs every minute and updates each flight's status according to the following rules:
-     * <ul>
-     *     <li>{@link FlightStatus#SCHEDULED}: More than 60 minutes before departure</li>
-     *     <li>{@link FlightStatus#BOARDING}: Within 60 minutes before departure</li>
-     *     <li>{@link FlightStatus#IN_AIR}: Between departure and arrival times</li>
-     *     <li>{@link FlightStatus#LANDED}: After arrival time</li>
-     *     <li>{@link FlightStatus#UNKNOWN}: Fallback status if none of the above conditions apply</li>
-     * </ul>
-     * <p>
-     * Handles overnight flights by adjusting arrival time if it is before departure time.
+     * Acquires the shard leases, loads their flights and starts the worker thread once the application is ready.
      */
-    @Scheduled(fixedRate = 60000)
-    @Transactional
-    public void updateFlightStatuses() {
-        List<Flight> flights = flightRepository.findAll();
-        LocalDateTime now = LocalDateTime.now();
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        renewLeases();
+        if (worker == null) {
+            worker = new Thread(this::run, "flight-status");
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
 
-        for (Flight flight : flights) {
-            LocalDateTime departure = LocalDateTime.of(flight.getFlightDate(), flight.getDepartureTime());
-            LocalDateTime arrival = LocalDateTime.of(flight.getFlightDate(), flight.getArrivalTime());
+    /**
+     * Stops the worker thread and gives up the shard leases of this instance.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (worker != null) {
+            worker.interrupt();
+            worker = null;
+        }
+        Set<ClusterJobRunner.Shard> owned = ownedShards;
+        ownedShards = Set.of();
+        pending.clear();
+        queue.clear();
+        for (ClusterJobRunner.Shard shard : owned) {
+            jobRunner.release(SHARD_JOB, shard);
+        }
+    }
 
-            // Adjust for overnight flights (arrival next day)
-            if (arrival.isBefore(departure)) {
-                arrival = arrival.plusDays(1);
+    /**
+     * Renews the shard leases of this instance and takes over shards whose lease ran out. The flights of
+     * newly acquired shards are reconciled right away; those of shards lost to another instance are dropped.
+     */
+    @Scheduled(fixedDelayString = "${flight.status.lease-heartbeat-ms:30000}",
+            initialDelayString = "${flight.status.lease-heartbeat-ms:30000}")
+    public synchronized void renewLeases() {
+        Set<ClusterJobRunner.Shard> owned = new HashSet<>();
+        jobRunner.runSharded(SHARD_JOB, shards, shardLease, shardLease, owned::add);
+        Set<ClusterJobRunner.Shard> acquired = new HashSet<>(owned);
+        acquired.removeAll(ownedShards);
+        ownedShards = owned;
+
+        pending.forEach((flightId, transition) -> {
+            if (!owns(transition.flight.tenantId)) {
+                untrack(flightId);
             }
+        });
+        if (!acquired.isEmpty()) {
+            reconcile(acquired);
+        }
+    }
+
+    /**
+     * Re-reads the non-terminal flights of this instance's shards from the database and re-schedules
+     * their next transition. Flights older than yesterday that were never completed are marked
+     * {@link FlightStatus#LANDED} with a single UPDATE instead of being tracked.
+     */
+    @Scheduled(fixedDelayString = "${flight.status.reconcile-interval-ms:900000}",
+            initialDelayString = "${flight.status.reconcile-interval-ms:900000}")
+    public synchronized void reconcile() {
+        reconcile(ownedShards);
+    }
+
+    private void reconcile(Set<ClusterJobRunner.Shard> shards) {
+        if (shards.isEmpty()) {
+            return;
+        }
 
-            FlightStatus newStatus = determineStatus(now, departure, arrival);
+        LocalDate yesterday = LocalDate.now(clock).minusDays(1);
+        // the history clean-up spans all tenants, so only the owner of the first shard runs it
+        if (shards.stream().anyMatch(shard -> shard.index() == 0)) {
+            int landed = flightRepository.markLandedBefore(yesterday, TERMINAL);
+            if (landed > 0) {
+                log.info("Marked {} past flights as landed", landed);
+            }
+        }
 
-            if (flight.getFlightStatus() != newStatus) {
-                flight.setFlightStatus(newStatus);
-                flightRepository.save(flight);
+        Set<Long> active = new HashSet<>();
+        for (FlightScheduleDTO schedule : flightRepository.findActiveSchedules(yesterday, TERMINAL)) {
+            if (owns(shards, schedule.getTenantId())) {
+                active.add(schedule.getId());
+                track(schedule);
             }
         }
+        pending.forEach((flightId, transition) -> {
+            if (!active.contains(flightId) && owns(shards, transition.flight.tenantId)) {
+                untrack(flightId);
+            }
+        });
     }
 
     /**
-     * Determines the appropriate flight status based on current time relative to departure and arrival.
+     * Re-tracks a flight after it was created, changed or deleted.
      *
-     * @param now       the current date and time
-     * @param departure the scheduled departure date and time
-     * @param arrival   the scheduled arrival date and time
-     * @return the evaluated {@link FlightStatus} corresponding to the current phase of the flight
+     * @param event the flight change
      */
-    private FlightStatus determineStatus(LocalDateTime now, LocalDateTime departure, LocalDateTime arrival) {
-        if (now.isBefore(departure.minusMinutes(60))) {
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        if (!owns(event.tenantId())) {
+            return;
+        }
+        flightRepository.findScheduleById(event.flightId())
+                .ifPresentOrElse(this::track, () -> untrack(event.flightId()));
+    }
+
+    /**
+     * @return number of flights with a pending status transition
+     */
+    public int trackedFlights() {
+        return pending.size();
+    }
+
+    /**
+     * @return number of transitions waiting in the delay queue
+     */
+    int queuedTransitions() {
+        return queue.size();
+    }
+
+    /**
+     * Schedules the next transition of a flight, replacing any pending one. A pending transition to
+     * the same status at the same time is kept as is, so re-tracking an unchanged flight on every
+     * reconcile does not touch the queue.
+     *
+     * @param schedule the flight schedule and current status
+     */
+    void track(FlightScheduleDTO schedule) {
+        if (schedule.getFlightDate() == null || schedule.getDepartureTime() == null
+                || schedule.getArrivalTime() == null
+                || (schedule.getFlightStatus() != null && TERMINAL.contains(schedule.getFlightStatus()))) {
+            untrack(schedule.getId());
+            return;
+        }
+        Transition next = next(new TrackedFlight(schedule, clock.getZone()), clock.millis());
+        if (next == null) {
+            untrack(schedule.getId());
+            return;
+        }
+        Transition previous = pending.get(schedule.getId());
+        if (previous != null && previous.dueAtMs == next.dueAtMs && previous.target == next.target) {
+            return;
+        }
+        previous = pending.put(schedule.getId(), next);
+        if (previous != null) {
+            queue.remove(previous);
+        }
+        queue.add(next);
+    }
+
+    /**
+     * Stops tracking a flight and drops its pending transition from the queue.
+     *
+     * @param flightId the flight ID
+     */
+    private void untrack(Long flightId) {
+        Transition previous = pending.remove(flightId);
+        if (previous != null) {
+            queue.remove(previous);
+        }
+    }
+
+    /**
+     * Applies all transitions that are due without waiting.
+     *
+     * @return number of transitions applied
+     */
+    int processDue() {
+        List<Transition> due = new ArrayList<>();
+        queue.drainTo(due);
+        return apply(due);
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Transition> due = new ArrayList<>();
+            try {
+                due.add(queue.take());
+                queue.drainTo(due);
+                apply(due);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Failed to apply {} flight status transitions, will retry", due.size(), e);
+                long retryAt = clock.millis() + RETRY_DELAY_MS;
+                for (Transition transition : due) {
+                    Transition retry = new Transition(transition.flight, retryAt, transition.target);
+                    if (pending.replace(transition.flight.id, transition, retry)) {
+                        queue.add(retry);
+                    }
+                }
+            }
+        }
+    }
+
+    private int apply(List<Transition> due) {
+        Map<FlightStatus, List<Transition>> byStatus = new EnumMap<>(FlightStatus.class);
+        for (Transition transition : due) {
+            // a flight that was re-tracked or dropped has a different pending transition
+            if (pending.get(transition.flight.id) == transition) {
+                byStatus.computeIfAbsent(transition.target, status -> new ArrayList<>()).add(transition);
+            }
+        }
+
+        int applied = 0;
+        for (Map.Entry<FlightStatus, List<Transition>> entry : byStatus.entrySet()) {
+            FlightStatus status = entry.getKey();
+            List<Transition> transitions = entry.getValue();
+            List<Long> ids = transitions.stream().map(transition -> transition.flight.id).toList();
+            int updated = flightRepository.updateStatus(ids, status, TERMINAL);
+
+            for (Transition transition : transitions) {
+                TrackedFlight flight = transition.flight;
+                if (updated < ids.size() && !hasStatus(flight.id, status)) {
+                    // changed by someone else in the meantime; pick up its current state
+                    if (pending.get(flight.id) == transition) {
+                        flightRepository.findScheduleById(flight.id)
+                                .ifPresentOrElse(this::track, () -> pending.remove(flight.id, transition));
+                    }
+                    continue;
+                }
+                flight.status = status;
+                Transition next = next(flight, clock.millis());
+                if (next == null) {
+                    pending.remove(flight.id, transition);
+                } else if (pending.replace(flight.id, transition, next)) {
+                    queue.add(next);
+                }
+                applied++;
+                eventPublisher.publishEvent(new FlightStatusChangedEvent(flight.id, flight.tenantId, status));
+            }
+        }
+        return applied;
+    }
+
+    private boolean owns(String tenantId) {
+        return owns(ownedShards, tenantId);
+    }
+
+    private static boolean owns(Set<ClusterJobRunner.Shard> shards, String tenantId) {
+        for (ClusterJobRunner.Shard shard : shards) {
+            if (shard.owns(tenantId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasStatus(Long flightId, FlightStatus status) {
+        return flightRepository.findScheduleById(flightId)
+                .map(schedule -> schedule.getFlightStatus() == status)
+                .orElse(false);
+    }
+
+    /**
+     * Determines the next transition of a flight: immediately if its stored status is out of date,
+     * otherwise at the next boundary of its schedule.
+     *
+     * @return the transition, or {@code null} once the flight has landed
+     */
+    private Transition next(TrackedFlight flight, long nowMs) {
+        FlightStatus expected = statusAt(flight, nowMs);
+        if (expected != flight.status) {
+            return new Transition(flight, nowMs, expected);
+        }
+        if (nowMs < flight.boardingAtMs) {
+            return new Transition(flight, flight.boardingAtMs, FlightStatus.BOARDING);
+        }
+        if (nowMs < flight.departureMs) {
+            return new Transition(flight, flight.departureMs, FlightStatus.IN_AIR);
+        }
+        if (nowMs < flight.arrivalMs) {
+            return new Transition(flight, flight.arrivalMs, FlightStatus.LANDED);
+        }
+        return null;
+    }
+
+    private static FlightStatus statusAt(TrackedFlight flight, long nowMs) {
+        if (nowMs < flight.boardingAtMs) {
             return FlightStatus.SCHEDULED;
-        } else if (now.isAfter(departure.minusMinutes(60)) && now.isBefore(departure)) {
+        } else if (nowMs < flight.departureMs) {
             return FlightStatus.BOARDING;
-        } else if (now.isAfter(departure) && now.isBefore(arrival)) {
+        } else if (nowMs < flight.arrivalMs) {
             return FlightStatus.IN_AIR;
-        } else if (now.isAfter(arrival)) {
-            return FlightStatus.LANDED;
-        } else {
-            return FlightStatus.UNKNOWN;
+        }
+        return FlightStatus.LANDED;
+    }
+
+    /**
+     * Schedule of a tracked flight in epoch milliseconds.
+     */
+    private static final class TrackedFlight {
+
+        private final Long id;
+        private final String tenantId;
+        private final long boardingAtMs;
+        private final long departureMs;
+        private final long arrivalMs;
+        private volatile FlightStatus status;
+
+        private TrackedFlight(FlightScheduleDTO schedule, ZoneId zone) {
+            LocalDateTime departure = LocalDateTime.of(schedule.getFlightDate(), schedule.getDepartureTime());
+            LocalDateTime arrival = LocalDateTime.of(schedule.getFlightDate(), schedule.getArrivalTime());
+            // Adjust for overnight flights (arrival next day)
+            if (arrival.isBefore(departure)) {
+                arrival = arrival.plusDays(1);
+            }
+            this.id = schedule.getId();
+            this.tenantId = schedule.getTenantId();
+            this.departureMs = departure.atZone(zone).toInstant().toEpochMilli();
+            this.arrivalMs = arrival.atZone(zone).toInstant().toEpochMilli();
+            this.boardingAtMs = departureMs - BOARDING_WINDOW_MS;
+            this.status = schedule.getFlightStatus();
+        }
+    }
+
+    /**
+     * A status change of a flight that becomes due at {@code dueAtMs}.
+     */
+    private final class Transition implements Delayed {
+
+        private final TrackedFlight flight;
+        private final long dueAtMs;
+        private final FlightStatus target;
+
+        private Transition(TrackedFlight flight, long dueAtMs, FlightStatus target) {
+            this.flight = flight;
+            this.dueAtMs = dueAtMs;
+            this.target = target;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMs - clock.millis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAtMs, ((Transition) other).dueAtMs);
         }
     }
 }
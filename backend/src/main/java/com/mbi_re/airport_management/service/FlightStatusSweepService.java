@@ -0,0 +1,103 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.event.FlightStatusChangedEvent;
+import com.mbi_re.airport_management.model.FlightStatus;
+import com.mbi_re.airport_management.repository.FlightRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based alternative to {@link FlightStatusService}, selected with {@code flight.status.engine=sql}.
+ * <p>
+ * Every {@code flight.status.sweep-interval-ms} each status transition is applied to all flights that
+ * are due for it with a single {@code UPDATE ... RETURNING} statement (see
+ * {@link FlightRepository#transitionStatus}). The statements only touch non-terminal flights within a
+ * few days of today through a partial index, so a sweep costs four indexed statements no matter how
+ * much flight history the table holds. The flights returned by each statement are announced with a
+ * {@link FlightStatusChangedEvent}.
+ * </p>
+ * <p>
+ * Transitions are applied from the last status to the first, so a flight whose stored status is
+ * several steps behind (e.g. after downtime) moves straight to its current status in one sweep.
+ * </p>
+ * <p>
+ * Each sweep runs on a single instance of the cluster (see {@link ClusterJobRunner}).
+ * </p>
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "flight.status.engine", havingValue = "sql")
+public class FlightStatusSweepService {
+
+    /** Order in which the transitions are applied during a sweep */
+    static final List<FlightStatus> SWEEP_ORDER =
+            List.of(FlightStatus.LANDED, FlightStatus.IN_AIR, FlightStatus.BOARDING, FlightStatus.SCHEDULED);
+
+    /** Name of the sweep job in the {@code scheduler_lock} table */
+    static final String JOB = "flight-status-sweep";
+
+    private static final Duration LOCK_AT_MOST_FOR = Duration.ofMinutes(5);
+    private static final Duration LOCK_AT_LEAST_FOR = Duration.ofSeconds(10);
+
+    private static final Duration BOARDING_WINDOW = Duration.ofMillis(FlightStatusService.BOARDING_WINDOW_MS);
+
+    private final FlightRepository flightRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClusterJobRunner jobRunner;
+    private final Clock clock;
+
+    @Autowired
+    public FlightStatusSweepService(FlightRepository flightRepository,
+                                    ApplicationEventPublisher eventPublisher,
+                                    ClusterJobRunner jobRunner) {
+        this(flightRepository, eventPublisher, jobRunner, Clock.systemDefaultZone());
+    }
+
+    FlightStatusSweepService(FlightRepository flightRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             ClusterJobRunner jobRunner,
+                             Clock clock) {
+        this.flightRepository = flightRepository;
+        this.eventPublisher = eventPublisher;
+        this.jobRunner = jobRunner;
+        this.clock = clock;
+    }
+
+    /**
+     * Applies all due status transitions, unless another instance is already sweeping.
+     *
+     * @return number of flights whose status changed on this instance
+     */
+    @Scheduled(fixedDelayString = "${flight.status.sweep-interval-ms:60000}")
+    public int sweep() {
+        int[] changed = {0};
+        jobRunner.runExclusive(JOB, LOCK_AT_MOST_FOR, LOCK_AT_LEAST_FOR, () -> changed[0] = applyDue());
+        return changed[0];
+    }
+
+    private int applyDue() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        int changed = 0;
+        for (FlightStatus status : SWEEP_ORDER) {
+            Map<Long, String> flights = flightRepository.transitionStatus(status, now, BOARDING_WINDOW);
+            for (Map.Entry<Long, String> flight : flights.entrySet()) {
+                eventPublisher.publishEvent(new FlightStatusChangedEvent(flight.getKey(), flight.getValue(), status));
+            }
+            changed += flights.size();
+        }
+        if (changed > 0) {
+            log.debug("Flight status sweep changed {} flights", changed);
+        }
+        return changed;
+    }
+}
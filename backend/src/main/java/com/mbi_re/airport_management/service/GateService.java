@@ -2,6 +2,7 @@ package com.mbi_re.airport_management.service;
 
 import com.mbi_re.airport_management.dto.GateDTO;
 import com.mbi_re.airport_management.dto.GateResponseDTO;
+import com.mbi_re.airport_management.event.GateAssignmentChangedEvent;
 import com.mbi_re.airport_management.model.Flight;
 import com.mbi_re.airport_management.model.Gate;
 import com.mbi_re.airport_management.model.Terminal;
@@ -11,10 +12,12 @@ import com.mbi_re.airport_management.repository.TerminalRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 
 @Service
 public class GateService {
@@ -22,13 +25,16 @@ public class GateService {
     private final GateRepository gateRepository;
     private final TerminalRepository terminalRepository;
     private final FlightRepository flightRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public GateService(GateRepository gateRepository,
                        TerminalRepository terminalRepository,
-                       FlightRepository flightRepository) {
+                       FlightRepository flightRepository,
+                       ApplicationEventPublisher eventPublisher) {
         this.gateRepository = gateRepository;
         this.terminalRepository = terminalRepository;
         this.flightRepository = flightRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -70,6 +76,7 @@ public class GateService {
      * <p>
      * The method validates the terminal association, optionally associates a flight,
      * and evicts the "gates" cache for the tenant to keep data consistent.
+     * A {@link GateAssignmentChangedEvent} is published when a flight is assigned.
      *
      * @param dto      the GateDTO containing data to create the gate
      * @param tenantId the tenant ID for whom the gate is created
@@ -97,13 +104,16 @@ public class GateService {
                     .ifPresent(gate::setFlight);
         }
 
-        return gateRepository.save(gate);
+        Gate saved = gateRepository.save(gate);
+        publishAssignment(saved, null);
+        return saved;
     }
 
     /**
      * Deletes a gate identified by ID for the specified tenant.
      * <p>
-     * Only gates owned by the tenant can be deleted. The cache for "gates" is evicted after deletion.
+     * Only gates owned by the tenant can be deleted. The cache for "gates" is evicted after deletion,
+     * and a {@link GateAssignmentChangedEvent} is published if a flight was assigned to the gate.
      *
      * @param id       the ID of the gate to delete
      * @param tenantId the tenant ID to scope the deletion
@@ -116,6 +126,10 @@ public class GateService {
                 .orElseThrow(() -> new EntityNotFoundException("Gate not found or not owned by tenant"));
 
         gateRepository.delete(gate);
+        if (gate.getFlight() != null) {
+            eventPublisher.publishEvent(new GateAssignmentChangedEvent(
+                    tenantId, gate.getId(), gate.getGateNumber(), gate.getFlight().getId(), null));
+        }
     }
 
     /**
@@ -123,7 +137,8 @@ public class GateService {
      * <p>
      * The method updates gate number, status, terminal, and flight association.
      * If no flight ID is provided, any existing flight assignment is cleared.
-     * Cache for "gates" is evicted to keep the data fresh.
+     * Cache for "gates" is evicted to keep the data fresh, and a {@link GateAssignmentChangedEvent}
+     * is published if the assigned flight or the number of an assigned gate changed.
      *
      * @param id       the ID of the gate to update
      * @param dto      the GateDTO containing updated information
@@ -135,6 +150,8 @@ public class GateService {
     public Gate updateGate(Long id, GateDTO dto, String tenantId) {
         Gate existingGate = gateRepository.findByIdAndTenantId(id, tenantId)
                 .orElseThrow(() -> new EntityNotFoundException("Gate not found or not owned by tenant"));
+        Long previousFlightId = existingGate.getFlight() != null ? existingGate.getFlight().getId() : null;
+        String previousGateNumber = existingGate.getGateNumber();
 
         if (dto.getGateNumber() != null) {
             existingGate.setGateNumber(dto.getGateNumber());
@@ -158,7 +175,25 @@ public class GateService {
             existingGate.setFlight(null); // Clear existing flight if not provided
         }
 
-        return gateRepository.save(existingGate);
+        Gate saved = gateRepository.save(existingGate);
+        if (!Objects.equals(previousFlightId, flightId(saved))
+                || !Objects.equals(previousGateNumber, saved.getGateNumber())) {
+            publishAssignment(saved, previousFlightId);
+        }
+        return saved;
+    }
+
+    private void publishAssignment(Gate gate, Long previousFlightId) {
+        Long flightId = flightId(gate);
+        if (previousFlightId == null && flightId == null) {
+            return;
+        }
+        eventPublisher.publishEvent(new GateAssignmentChangedEvent(
+                gate.getTenantId(), gate.getId(), gate.getGateNumber(), previousFlightId, flightId));
+    }
+
+    private static Long flightId(Gate gate) {
+        return gate.getFlight() != null ? gate.getFlight().getId() : null;
     }
 
 }
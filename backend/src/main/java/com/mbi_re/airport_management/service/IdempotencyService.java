@@ -0,0 +1,267 @@
+package com.mbi_re.airport_management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mbi_re.airport_management.model.IdempotencyRecord;
+import com.mbi_re.airport_management.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Service that makes POST requests safe to retry through the {@code Idempotency-Key} header.
+ * <p>
+ * The first request with a key runs the operation and stores its JSON response; retries with the
+ * same key and body get that response back instead of running the operation again. Keys are
+ * claimed in the {@code idempotency_keys} table before the operation runs, so retries arriving on
+ * another instance see the claim, and recent responses are also kept in memory so that retries
+ * on the same instance are answered without a database round trip. Keys expire after
+ * {@code idempotency.ttl}.
+ * </p>
+ * <p>
+ * A claim is first only held for {@code idempotency.processing-lease} and extended to the full TTL
+ * once the response is stored. If the instance running the operation dies, or its response cannot
+ * be stored, the lease runs out and a retry takes the key over instead of getting {@code 409} for
+ * the rest of the TTL. The lease must therefore outlast the slowest operation.
+ * </p>
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    /** Maximum accepted length of an {@code Idempotency-Key} header */
+    static final int MAX_KEY_LENGTH = 255;
+
+    private static final String PURGE_JOB = "idempotency-purge";
+    private static final Duration PURGE_LOCK_AT_MOST_FOR = Duration.ofMinutes(5);
+    private static final Duration PURGE_LOCK_AT_LEAST_FOR = Duration.ofSeconds(30);
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final ClusterJobRunner jobRunner;
+    private final Duration ttl;
+    private final Duration localTtl;
+    private final Duration processingLease;
+
+    private final Map<LocalKey, Entry> local = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              ObjectMapper objectMapper,
+                              ClusterJobRunner jobRunner,
+                              @Value("${idempotency.ttl:24h}") Duration ttl,
+                              @Value("${idempotency.local-ttl:10m}") Duration localTtl,
+                              @Value("${idempotency.processing-lease:2m}") Duration processingLease) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.jobRunner = jobRunner;
+        this.ttl = ttl;
+        this.localTtl = localTtl.compareTo(ttl) < 0 ? localTtl : ttl;
+        this.processingLease = processingLease.compareTo(ttl) < 0 ? processingLease : ttl;
+    }
+
+    /**
+     * Runs an operation at most once per idempotency key.
+     *
+     * @param key      the {@code Idempotency-Key} header; the operation simply runs when it is {@code null} or blank
+     * @param tenantId the tenant ID
+     * @param scope    the operation the key belongs to (e.g. "bookings")
+     * @param request  the request body, used to detect a key reused for a different request
+     * @param type     the response type
+     * @param action   the operation
+     * @param <T>      the response type
+     * @return the result of the operation, or the stored result of the first request with this key
+     * @throws IllegalArgumentException if the key is longer than {@value #MAX_KEY_LENGTH} characters
+     * @throws ResponseStatusException  with {@code 422 UNPROCESSABLE_ENTITY} if the key was used for a different
+     *                                  request, or {@code 409 CONFLICT} if the first request is still being processed
+     *                                  by another instance
+     */
+    public <T> T execute(String key, String tenantId, String scope, Object request, Class<T> type,
+                         Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must not exceed " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = hash(request);
+        LocalKey localKey = new LocalKey(tenantId, scope, key);
+        while (true) {
+            Entry entry = new Entry(requestHash);
+            Entry existing = local.putIfAbsent(localKey, entry);
+            if (existing == null) {
+                return run(localKey, entry, type, action);
+            }
+            if (existing.isExpired(System.currentTimeMillis())) {
+                local.remove(localKey, existing);
+                continue;
+            }
+            if (!existing.requestHash.equals(requestHash)) {
+                throw keyReused();
+            }
+            try {
+                return read(existing.response.join(), type);
+            } catch (CompletionException e) {
+                // the first request failed and released the key; try again
+            }
+        }
+    }
+
+    /**
+     * Removes expired keys from memory and from the database. The database is purged by one instance at a time.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long nowMs = System.currentTimeMillis();
+        local.values().removeIf(entry -> entry.isExpired(nowMs));
+        try {
+            jobRunner.runExclusive(PURGE_JOB, PURGE_LOCK_AT_MOST_FOR, PURGE_LOCK_AT_LEAST_FOR,
+                    () -> repository.deleteExpired(LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to purge expired idempotency keys", e);
+        }
+    }
+
+    private <T> T run(LocalKey localKey, Entry entry, Class<T> type, Supplier<T> action) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (repository.claim(localKey.tenantId, localKey.scope, localKey.key, entry.requestHash,
+                    now, now.plus(processingLease)) == 0) {
+                String body = replay(localKey, entry.requestHash);
+                entry.complete(body, localTtl);
+                return read(body, type);
+            }
+        } catch (RuntimeException e) {
+            fail(localKey, entry, e);
+            throw e;
+        }
+
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            fail(localKey, entry, e);
+            releaseClaim(localKey);
+            throw e;
+        }
+
+        String body;
+        try {
+            body = write(result);
+        } catch (RuntimeException e) {
+            fail(localKey, entry, e);
+            releaseClaim(localKey);
+            throw e;
+        }
+        try {
+            repository.complete(localKey.tenantId, localKey.scope, localKey.key, body,
+                    LocalDateTime.now().plus(ttl));
+        } catch (RuntimeException e) {
+            // the operation already succeeded; retries on this instance are still answered from memory,
+            // and elsewhere the claim can be taken over once its processing lease runs out
+            log.warn("Failed to store response for idempotency key {}", localKey.key, e);
+        }
+        entry.complete(body, localTtl);
+        return result;
+    }
+
+    private String replay(LocalKey localKey, String requestHash) {
+        IdempotencyRecord record = repository
+                .findById(new IdempotencyRecord.Key(localKey.tenantId, localKey.scope, localKey.key))
+                .orElseThrow(this::inProgress);
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw keyReused();
+        }
+        if (record.getResponseBody() == null) {
+            throw inProgress();
+        }
+        return record.getResponseBody();
+    }
+
+    private void fail(LocalKey localKey, Entry entry, RuntimeException e) {
+        local.remove(localKey, entry);
+        entry.response.completeExceptionally(e);
+    }
+
+    private void releaseClaim(LocalKey localKey) {
+        try {
+            repository.release(localKey.tenantId, localKey.scope, localKey.key);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release idempotency key {}", localKey.key, e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to hash request", e);
+        }
+    }
+
+    private String write(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
+        }
+    }
+
+    private <T> T read(String body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to deserialize stored response", e);
+        }
+    }
+
+    private ResponseStatusException keyReused() {
+        return new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                "Idempotency-Key was already used for a different request");
+    }
+
+    private ResponseStatusException inProgress() {
+        return new ResponseStatusException(HttpStatus.CONFLICT,
+                "A request with this Idempotency-Key is still being processed");
+    }
+
+    private record LocalKey(String tenantId, String scope, String key) {
+    }
+
+    /**
+     * Response of a key on this instance; pending until the first request completes.
+     */
+    private static final class Entry {
+
+        private final String requestHash;
+        private final CompletableFuture<String> response = new CompletableFuture<>();
+        private volatile long expiresAtMs = Long.MAX_VALUE;
+
+        private Entry(String requestHash) {
+            this.requestHash = requestHash;
+        }
+
+        private void complete(String body, Duration ttl) {
+            expiresAtMs = System.currentTimeMillis() + ttl.toMillis();
+            response.complete(body);
+        }
+
+        private boolean isExpired(long nowMs) {
+            return nowMs >= expiresAtMs;
+        }
+    }
+}
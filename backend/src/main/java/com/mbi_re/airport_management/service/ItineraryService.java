@@ -0,0 +1,343 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.dto.FlightDTO;
+import com.mbi_re.airport_management.dto.ItineraryDTO;
+import com.mbi_re.airport_management.event.FlightChangedEvent;
+import com.mbi_re.airport_management.event.FlightSeatsSoldEvent;
+import com.mbi_re.airport_management.model.FlightStatus;
+import com.mbi_re.airport_management.repository.FlightRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Searches direct and connecting itineraries between two airports of a tenant.
+ * <p>
+ * The tenant's flights from yesterday onwards are held in a compact timetable: parallel arrays of
+ * departure and arrival minutes, airport numbers and free seats, sorted by departure. Itineraries are
+ * found with a connection scan (CSA): for every flight leaving the origin on the requested date, the
+ * later flights are scanned once in departure order while the earliest arrival at every airport is
+ * kept per number of legs, so each first flight yields its best direct, 1-stop and 2-stop journey.
+ * A connection needs at least {@code itinerary.min-connection-minutes} and at most
+ * {@code itinerary.max-connection-minutes} between arrival and the next departure. The scan stops at
+ * the best arrivals found so far, or {@value #MAX_JOURNEY_MINUTES} minutes after the first departure.
+ * </p>
+ * <p>
+ * Itineraries that leave earlier, arrive later and stop more often than another one are dropped.
+ * As elsewhere in the application, departure and arrival times are read on the same clock and an
+ * arrival before the departure time means the next day.
+ * </p>
+ * <p>
+ * Timetables are built on the first search of a tenant, dropped on every {@link FlightChangedEvent}
+ * and kept up to date on {@link FlightSeatsSoldEvent}.
+ * </p>
+ */
+@Service
+public class ItineraryService {
+
+    /** Most stops an itinerary may have */
+    public static final int MAX_STOPS = 2;
+
+    /** Most itineraries returned by one search */
+    static final int MAX_RESULTS = 20;
+
+    /** Longest journey considered, from the first departure to the last arrival */
+    static final long MAX_JOURNEY_MINUTES = 36 * 60;
+
+    private static final long UNREACHED = Long.MAX_VALUE;
+
+    private final FlightRepository flightRepository;
+    private final long minConnectionMinutes;
+    private final long maxConnectionMinutes;
+    private final Clock clock;
+
+    private final Map<String, Timetable> timetables = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ItineraryService(FlightRepository flightRepository,
+                            @Value("${itinerary.min-connection-minutes:45}") long minConnectionMinutes,
+                            @Value("${itinerary.max-connection-minutes:720}") long maxConnectionMinutes) {
+        this(flightRepository, minConnectionMinutes, maxConnectionMinutes, Clock.systemDefaultZone());
+    }
+
+    ItineraryService(FlightRepository flightRepository, long minConnectionMinutes, long maxConnectionMinutes,
+                     Clock clock) {
+        this.flightRepository = flightRepository;
+        this.minConnectionMinutes = minConnectionMinutes;
+        this.maxConnectionMinutes = maxConnectionMinutes;
+        this.clock = clock;
+    }
+
+    /**
+     * Searches itineraries whose first flight leaves the origin on the given date.
+     *
+     * @param tenantId   the tenant ID
+     * @param from       departure airport code, case-insensitive
+     * @param to         arrival airport code, case-insensitive
+     * @param date       date of the first departure
+     * @param passengers seats needed on every flight
+     * @param maxStops   most stops allowed, capped at {@link #MAX_STOPS}
+     * @return the itineraries ordered by arrival, at most {@value #MAX_RESULTS}; empty for past dates
+     */
+    public List<ItineraryDTO> search(String tenantId, String from, String to, LocalDate date,
+                                     int passengers, int maxStops) {
+        LocalDate today = LocalDate.now(clock);
+        if (date.isBefore(today.minusDays(1))) {
+            return List.of();
+        }
+        Timetable timetable = timetable(tenantId, today);
+        Integer origin = timetable.airports.get(normalize(from));
+        Integer destination = timetable.airports.get(normalize(to));
+        if (origin == null || destination == null || origin.equals(destination)) {
+            return List.of();
+        }
+
+        int legs = Math.max(0, Math.min(maxStops, MAX_STOPS)) + 1;
+        long dayStart = minutes(date, LocalTime.MIDNIGHT);
+        long dayEnd = dayStart + 24 * 60;
+        List<Journey> journeys = new ArrayList<>();
+        for (int i = timetable.firstDepartingAt(dayStart); i < timetable.size() && timetable.departure[i] < dayEnd; i++) {
+            if (timetable.origin[i] == origin && timetable.seats.get(i) >= passengers) {
+                scan(timetable, i, destination, legs, passengers, journeys);
+            }
+        }
+        return paretoFront(journeys).stream()
+                .limit(MAX_RESULTS)
+                .map(journey -> toDTO(timetable, journey))
+                .toList();
+    }
+
+    /**
+     * Drops the timetable of a tenant whose flight was created, changed or deleted.
+     *
+     * @param event the flight change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        timetables.remove(event.tenantId());
+    }
+
+    /**
+     * Decrements the free seats of a flight in the tenant's timetable once the sale is committed.
+     *
+     * @param event the seat sale
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsSold(FlightSeatsSoldEvent event) {
+        Timetable timetable = timetables.get(event.tenantId());
+        Integer position = timetable != null ? timetable.positions.get(event.flightId()) : null;
+        if (position != null) {
+            timetable.seats.addAndGet(position, -event.seats());
+        }
+    }
+
+    /**
+     * Scans the flights after {@code first} and records the best journey to the destination per number of legs.
+     */
+    private void scan(Timetable t, int first, int destination, int legs, int passengers, List<Journey> journeys) {
+        int airports = t.airports.size();
+        long[][] arrival = new long[legs][airports];
+        int[][][] path = new int[legs][airports][];
+        for (long[] row : arrival) {
+            Arrays.fill(row, UNREACHED);
+        }
+        arrival[0][t.destination[first]] = t.arrival[first];
+        path[0][t.destination[first]] = new int[]{first};
+
+        long latestDeparture = legs > 1 ? t.departure[first] + MAX_JOURNEY_MINUTES : t.departure[first];
+        for (int j = first + 1; j < t.size() && t.departure[j] <= latestDeparture; j++) {
+            if (t.departure[j] >= latestUseful(arrival, destination)) {
+                break;
+            }
+            int at = t.origin[j];
+            int next = t.destination[j];
+            if (at == destination || next == t.origin[first] || t.seats.get(j) < passengers) {
+                continue;
+            }
+            for (int k = 1; k < legs; k++) {
+                long arrived = arrival[k - 1][at];
+                if (arrived == UNREACHED) {
+                    continue;
+                }
+                long wait = t.departure[j] - arrived;
+                if (wait < minConnectionMinutes || wait > maxConnectionMinutes
+                        || t.arrival[j] >= arrival[k][next] || visits(t, path[k - 1][at], next)) {
+                    continue;
+                }
+                arrival[k][next] = t.arrival[j];
+                int[] legsSoFar = Arrays.copyOf(path[k - 1][at], k + 1);
+                legsSoFar[k] = j;
+                path[k][next] = legsSoFar;
+            }
+        }
+
+        for (int k = 0; k < legs; k++) {
+            if (path[k][destination] != null) {
+                journeys.add(new Journey(path[k][destination], t.departure[first], arrival[k][destination]));
+            }
+        }
+    }
+
+    /**
+     * Flights leaving after every leg count has reached the destination cannot improve any journey.
+     */
+    private static long latestUseful(long[][] arrival, int destination) {
+        long latest = 0;
+        for (long[] byAirport : arrival) {
+            latest = Math.max(latest, byAirport[destination]);
+        }
+        return latest;
+    }
+
+    private static boolean visits(Timetable t, int[] path, int airport) {
+        for (int leg : path) {
+            if (t.destination[leg] == airport) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Journey> paretoFront(List<Journey> journeys) {
+        List<Journey> sorted = new ArrayList<>(journeys);
+        sorted.sort(Comparator.comparingLong(Journey::arrival)
+                .thenComparing(Comparator.comparingLong(Journey::departure).reversed())
+                .thenComparingInt(Journey::stops));
+        List<Journey> front = new ArrayList<>();
+        for (Journey journey : sorted) {
+            boolean dominated = front.stream().anyMatch(better -> better.departure() >= journey.departure()
+                    && better.stops() <= journey.stops());
+            if (!dominated) {
+                front.add(journey);
+            }
+        }
+        return front;
+    }
+
+    private ItineraryDTO toDTO(Timetable t, Journey journey) {
+        List<FlightDTO> legs = new ArrayList<>(journey.legs().length);
+        double price = 0;
+        for (int leg : journey.legs()) {
+            legs.add(t.flights[leg].toBuilder().availableSeat(t.seats.get(leg)).build());
+            price += t.flights[leg].getPrice();
+        }
+        return ItineraryDTO.builder()
+                .legs(legs)
+                .stops(journey.stops())
+                .departure(toDateTime(journey.departure()))
+                .arrival(toDateTime(journey.arrival()))
+                .durationMinutes(journey.arrival() - journey.departure())
+                .totalPrice(price)
+                .build();
+    }
+
+    private Timetable timetable(String tenantId, LocalDate today) {
+        // rebuilt once a day so that past flights do not pile up
+        return timetables.compute(tenantId, (tenant, current) ->
+                current != null && !current.from.isBefore(today.minusDays(2)) ? current
+                        : new Timetable(today.minusDays(1), flightRepository.findSearchFlights(tenant, today.minusDays(1))));
+    }
+
+    private static long minutes(LocalDate date, LocalTime time) {
+        return date.toEpochDay() * 24 * 60 + time.toSecondOfDay() / 60;
+    }
+
+    private static LocalDateTime toDateTime(long minutes) {
+        return LocalDate.ofEpochDay(Math.floorDiv(minutes, 24 * 60))
+                .atTime(LocalTime.ofSecondOfDay(Math.floorMod(minutes, 24 * 60) * 60));
+    }
+
+    private static String normalize(String airport) {
+        return airport == null ? "" : airport.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * A journey to the destination: the timetable positions of its flights and its first departure
+     * and last arrival in minutes.
+     */
+    private record Journey(int[] legs, long departure, long arrival) {
+
+        private int stops() {
+            return legs.length - 1;
+        }
+    }
+
+    /**
+     * The bookable flights of one tenant as parallel arrays sorted by departure.
+     * Only the free seats change after the timetable is built.
+     */
+    private static final class Timetable {
+
+        private final LocalDate from;
+        private final FlightDTO[] flights;
+        private final long[] departure;
+        private final long[] arrival;
+        private final int[] origin;
+        private final int[] destination;
+        private final AtomicIntegerArray seats;
+        private final Map<String, Integer> airports = new HashMap<>();
+        private final Map<Long, Integer> positions = new HashMap<>();
+
+        private Timetable(LocalDate from, List<FlightDTO> all) {
+            this.from = from;
+            List<FlightDTO> bookable = new ArrayList<>();
+            for (FlightDTO flight : all) {
+                if (flight.getFlightDate() != null && flight.getDepartureTime() != null
+                        && flight.getArrivalTime() != null && flight.getDepartureAirport() != null
+                        && flight.getArrivalAirport() != null && flight.getFlightStatus() != FlightStatus.CANCELLED) {
+                    bookable.add(flight);
+                }
+            }
+            bookable.sort(Comparator.comparing(FlightDTO::getFlightDate)
+                    .thenComparing(FlightDTO::getDepartureTime)
+                    .thenComparing(FlightDTO::getId));
+
+            int n = bookable.size();
+            flights = bookable.toArray(new FlightDTO[0]);
+            departure = new long[n];
+            arrival = new long[n];
+            origin = new int[n];
+            destination = new int[n];
+            seats = new AtomicIntegerArray(n);
+            for (int i = 0; i < n; i++) {
+                FlightDTO flight = flights[i];
+                departure[i] = minutes(flight.getFlightDate(), flight.getDepartureTime());
+                arrival[i] = minutes(flight.getFlightDate(), flight.getArrivalTime());
+                if (arrival[i] < departure[i]) {
+                    arrival[i] += 24 * 60;
+                }
+                origin[i] = airports.computeIfAbsent(normalize(flight.getDepartureAirport()), code -> airports.size());
+                destination[i] = airports.computeIfAbsent(normalize(flight.getArrivalAirport()), code -> airports.size());
+                seats.set(i, flight.getAvailableSeat());
+                positions.put(flight.getId(), i);
+            }
+        }
+
+        private int size() {
+            return flights.length;
+        }
+
+        private int firstDepartingAt(long minute) {
+            int low = 0;
+            int high = departure.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (departure[mid] < minute) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
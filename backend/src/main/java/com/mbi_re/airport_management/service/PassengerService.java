@@ -1,16 +1,23 @@
 package com.mbi_re.airport_management.service;
 
+import com.mbi_re.airport_management.config.KeyedCollectionCache;
+import com.mbi_re.airport_management.dto.CursorPageDTO;
 import com.mbi_re.airport_management.dto.PassengerDTO;
 import com.mbi_re.airport_management.model.Passenger;
 import com.mbi_re.airport_management.repository.PassengerRepository;
+import com.mbi_re.airport_management.utils.KeysetPagination;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -20,24 +27,51 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class PassengerService {
 
+    private static final KeysetPagination<Passenger> PAGES = new KeysetPagination<>(Passenger::getId)
+            .field("fullName", Passenger::getFullName, Function.identity());
+
     @Autowired
     private PassengerRepository passengerRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     /**
      * Retrieves all passengers associated with the specified tenant.
-     * Uses caching to improve performance by avoiding repeated database queries.
+     * Uses caching to improve performance by avoiding repeated database queries;
+     * concurrent cache misses for a tenant share a single query.
      *
      * @param tenantId the tenant identifier to filter passengers
      * @return a list of passengers belonging to the tenant
      */
-    @Cacheable(value = "passengers", key = "#tenantId")
+    @Cacheable(value = "passengers", key = "#tenantId", sync = true)
     public List<Passenger> getAllByTenantId(String tenantId) {
         return passengerRepository.findAllByTenantId(tenantId);
     }
 
+    /**
+     * Retrieves one page of the tenant's passengers using cursor (keyset) pagination.
+     * Unlike {@link #getAllByTenantId(String)}, the result is bounded by {@code limit} and not cached.
+     *
+     * @param tenantId  the tenant identifier
+     * @param email     optional email filter (case-insensitive)
+     * @param sort      sort field: {@code id} or {@code fullName}
+     * @param direction {@code asc} or {@code desc}
+     * @param cursor    cursor returned with the previous page, or {@code null} for the first page
+     * @param limit     page size
+     * @return the page of passengers and the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PassengerDTO> getPassengersPage(String tenantId, String email, String sort, String direction,
+                                                         String cursor, Integer limit) {
+        Specification<Passenger> filter = Specification.<Passenger>where(KeysetPagination.tenant(tenantId))
+                .and(KeysetPagination.equalIgnoreCaseIfPresent("email", email));
+        return PAGES.page(passengerRepository, filter, sort, direction, cursor, limit, this::toDTO);
+    }
+
     /**
      * Updates an existing passenger's details by ID and tenant ID.
-     * Evicts the cache for the tenant after successful update to keep data consistent.
+     * Replaces the passenger in the tenant's cached list.
      *
      * @param id       the ID of the passenger to update
      * @param updated  the DTO containing updated passenger data
@@ -45,7 +79,7 @@ public class PassengerService {
      * @return the updated Passenger entity
      * @throws RuntimeException if the passenger does not exist or tenant is unauthorized
      */
-    @CacheEvict(value = "passengers", key = "#tenantId")
+    @CachePut(value = "passengers", key = "#tenantId")
     public Passenger update(Long id, PassengerDTO updated, String tenantId) {
         return passengerRepository.findByIdAndTenantId(id, tenantId)
                 .map(p -> {
@@ -60,31 +94,31 @@ public class PassengerService {
 
     /**
      * Saves a new passenger record for a specific tenant.
-     * Evicts the tenant's cache to ensure new passenger is included in future queries.
+     * Adds the new passenger to the tenant's cached list.
      *
      * @param dto the passenger DTO containing passenger data and tenant ID
      * @return the saved passenger DTO with generated ID and tenant info
      */
-    @CacheEvict(value = "passengers", key = "#dto.tenantId")
     public PassengerDTO savePassenger(PassengerDTO dto) {
         Passenger passenger = toEntity(dto);
         Passenger saved = passengerRepository.save(passenger);
+        KeyedCollectionCache.upsert(cacheManager.getCache("passengers"), saved.getTenantId(), saved);
         return toDTO(saved);
     }
 
     /**
      * Deletes a passenger by ID and tenant ID.
-     * Evicts the tenant's cache after deletion to maintain cache consistency.
+     * Removes the passenger from the tenant's cached list.
      *
      * @param id       the ID of the passenger to delete
      * @param tenantId the tenant identifier for authorization
      * @throws RuntimeException if the passenger does not exist or tenant is unauthorized
      */
-    @CacheEvict(value = "passengers", key = "#tenantId")
     public void deleteById(Long id, String tenantId) {
         Optional<Passenger> passenger = passengerRepository.findByIdAndTenantId(id, tenantId);
         if (passenger.isPresent()) {
             passengerRepository.deleteByIdAndTenantId(id, tenantId);
+            KeyedCollectionCache.remove(cacheManager.getCache("passengers"), tenantId, id);
         } else {
             throw new RuntimeException("Passenger not found or unauthorized");
         }
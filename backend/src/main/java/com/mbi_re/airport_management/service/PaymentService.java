@@ -1,14 +1,21 @@
 package com.mbi_re.airport_management.service;
 
+import com.mbi_re.airport_management.config.KeyedCollectionCache;
+import com.mbi_re.airport_management.dto.CursorPageDTO;
 import com.mbi_re.airport_management.dto.PaymentDTO;
 import com.mbi_re.airport_management.model.Payment;
 import com.mbi_re.airport_management.repository.PaymentRepository;
+import com.mbi_re.airport_management.utils.KeysetPagination;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -20,9 +27,16 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class PaymentService {
 
+    private static final KeysetPagination<Payment> PAGES = new KeysetPagination<>(Payment::getId)
+            .field("paymentTime", Payment::getPaymentTime, LocalDateTime::parse)
+            .field("amount", Payment::getAmount, BigDecimal::new);
+
     @Autowired
     private PaymentRepository paymentRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     /**
      * Retrieves all payment records associated with the specified tenant.
      * Uses caching to optimize performance for repeated requests.
@@ -38,30 +52,52 @@ public class PaymentService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Retrieves one page of the tenant's payments using cursor (keyset) pagination.
+     * Unlike {@link #getPaymentsByTenant(String)}, the result is bounded by {@code limit} and not cached.
+     *
+     * @param tenantId  the tenant identifier
+     * @param status    optional payment status filter (e.g. "PAID")
+     * @param method    optional payment method filter
+     * @param sort      sort field: {@code id}, {@code paymentTime} or {@code amount}
+     * @param direction {@code asc} or {@code desc}
+     * @param cursor    cursor returned with the previous page, or {@code null} for the first page
+     * @param limit     page size
+     * @return the page of payments and the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PaymentDTO> getPaymentsPage(String tenantId, String status, String method, String sort,
+                                                     String direction, String cursor, Integer limit) {
+        Specification<Payment> filter = Specification.<Payment>where(KeysetPagination.tenant(tenantId))
+                .and(KeysetPagination.equalIfPresent("status", status))
+                .and(KeysetPagination.equalIfPresent("method", method));
+        return PAGES.page(paymentRepository, filter, sort, direction, cursor, limit, this::toDTO);
+    }
+
     /**
      * Deletes a payment record identified by its reference and tenant ID.
-     * Evicts the cached payments for the tenant to ensure cache consistency.
+     * Removes the payment from the tenant's cached list.
      *
      * @param reference the unique payment reference identifier
      * @param tenantId  the tenant identifier for authorization
      */
-    @CacheEvict(value = "payments", key = "#tenantId")
     public void deletePaymentByReference(String reference, String tenantId) {
         Payment payment = paymentRepository.findByReferenceAndTenantId(reference, tenantId);
         if (payment != null) {
             paymentRepository.delete(payment);
+            KeyedCollectionCache.remove(cacheManager.getCache("payments"), tenantId, reference);
         }
     }
 
     /**
      * Saves a new payment record for the specified tenant.
      * Automatically sets the current time as the payment time.
-     * Evicts the tenant's payment cache after saving to keep data fresh.
+     * Adds the payment to the tenant's cached list.
      *
      * @param dto the PaymentDTO containing payment details and tenant ID
      * @return the saved PaymentDTO with persisted details
      */
-    @CacheEvict(value = "payments", key = "#dto.tenantId")
+    @CachePut(value = "payments", key = "#dto.tenantId")
     public PaymentDTO savePayment(PaymentDTO dto) {
         Payment payment = toEntity(dto);
         payment.setPaymentTime(LocalDateTime.now());
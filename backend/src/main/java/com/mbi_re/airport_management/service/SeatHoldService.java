@@ -0,0 +1,238 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.dto.SeatHoldDTO;
+import com.mbi_re.airport_management.event.SeatHoldExpiredEvent;
+import com.mbi_re.airport_management.model.Seat;
+import com.mbi_re.airport_management.repository.SeatRepository;
+import com.mbi_re.airport_management.utils.HierarchicalTimingWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Service for temporary seat holds between seat selection and payment.
+ * <p>
+ * A hold writes its seats as booked rows that also carry the hold ID and expiry, so the seats are taken
+ * on every node and the hold survives a restart. It is either confirmed, which clears the hold columns
+ * and keeps the seats booked, or expires after {@code seat.hold.ttl}, which deletes the rows and frees the seats.
+ * Confirmation only succeeds before the expiry, so the two never both win.
+ * </p>
+ * <p>
+ * Expiry is driven by a {@link HierarchicalTimingWheel} on the node that created the hold, so each tick only
+ * touches the holds that are due. Holds whose node went away are expired by a slower sweep over the database,
+ * run by one instance at a time.
+ * </p>
+ */
+@Slf4j
+@Service
+public class SeatHoldService {
+
+    private static final long TICK_MS = 1000;
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 3;
+
+    private static final String SWEEP_JOB = "seat-hold-sweep";
+    private static final Duration SWEEP_LOCK_AT_MOST_FOR = Duration.ofMinutes(5);
+    private static final Duration SWEEP_LOCK_AT_LEAST_FOR = Duration.ofSeconds(30);
+    /** How long the sweep leaves an expired hold to the timing wheel of the node that created it */
+    private static final Duration SWEEP_GRACE = Duration.ofSeconds(30);
+
+    private final SeatInventory seatInventory;
+    private final SeatRepository seatRepository;
+    private final ClusterJobRunner jobRunner;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration ttl;
+
+    private final HierarchicalTimingWheel<Hold> expiryWheel =
+            new HierarchicalTimingWheel<>(TICK_MS, WHEEL_SIZE, WHEEL_LEVELS, System.currentTimeMillis());
+
+    public SeatHoldService(SeatInventory seatInventory,
+                           SeatRepository seatRepository,
+                           ClusterJobRunner jobRunner,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${seat.hold.ttl:10m}") Duration ttl) {
+        this.seatInventory = seatInventory;
+        this.seatRepository = seatRepository;
+        this.jobRunner = jobRunner;
+        this.eventPublisher = eventPublisher;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Holds the given seats of a flight for the configured TTL. Either all seats are held or none.
+     *
+     * @param flightId    the flight ID
+     * @param seatNumbers the seat numbers to hold (e.g. "A1")
+     * @param tenantId    the tenant ID
+     * @return the created hold
+     * @throws RuntimeException         if the flight or one of the seats does not exist for the tenant
+     * @throws IllegalArgumentException if no seat is given
+     * @throws ResponseStatusException  with {@code 409 CONFLICT} if one of the seats is already taken
+     */
+    public SeatHoldDTO hold(Long flightId, List<String> seatNumbers, String tenantId) {
+        SeatInventory.FlightSeats seats = seatInventory.get(flightId, tenantId)
+                .orElseThrow(() -> new RuntimeException("Flight not found"));
+        int[] ordinals = seats.ordinalsOf(seatNumbers);
+        seatInventory.reserveAll(seats, ordinals);
+
+        String holdId = UUID.randomUUID().toString();
+        long expiresAtMs = System.currentTimeMillis() + ttl.toMillis();
+        LocalDateTime expiresAt = toLocalDateTime(expiresAtMs);
+        try {
+            seatInventory.holdAll(seats, ordinals, holdId, expiresAt);
+        } catch (RuntimeException e) {
+            seatInventory.releaseAll(seats, ordinals);
+            throw e;
+        }
+        expiryWheel.schedule(new Hold(holdId, tenantId), expiresAtMs);
+
+        List<String> held = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            held.add(seats.getLayout().seatNumber(ordinal));
+        }
+        return new SeatHoldDTO(holdId, flightId, held, expiresAt);
+    }
+
+    /**
+     * Returns an active hold.
+     *
+     * @param holdId   the hold ID
+     * @param tenantId the tenant ID
+     * @return the hold, or empty if it does not exist, has expired or belongs to another tenant
+     */
+    public Optional<SeatHoldDTO> getHold(String holdId, String tenantId) {
+        List<Seat> rows = seatRepository.findByHoldIdAndTenantId(holdId, tenantId);
+        if (rows.isEmpty() || !rows.get(0).getHoldExpiresAt().isAfter(LocalDateTime.now())) {
+            return Optional.empty();
+        }
+        List<String> seatNumbers = rows.stream()
+                .sorted(Comparator.comparing(Seat::getId))
+                .map(Seat::getSeatNumber)
+                .toList();
+        return Optional.of(new SeatHoldDTO(holdId, rows.get(0).getFlight().getId(), seatNumbers,
+                rows.get(0).getHoldExpiresAt()));
+    }
+
+    /**
+     * Confirms a hold: its seats stay booked and no longer expire.
+     * Joins the caller's transaction, so the confirmation is undone if the caller rolls back.
+     *
+     * @param holdId   the hold ID
+     * @param tenantId the tenant ID
+     * @return the confirmed hold
+     * @throws ResponseStatusException with {@code 409 CONFLICT} if the hold has expired or does not exist
+     */
+    public SeatHoldDTO confirm(String holdId, String tenantId) {
+        SeatHoldDTO hold = getHold(holdId, tenantId).orElseThrow(SeatHoldService::expired);
+        if (seatRepository.confirmHold(holdId, tenantId, LocalDateTime.now()) == 0) {
+            throw expired();
+        }
+        return hold;
+    }
+
+    /**
+     * Cancels a hold and frees its seats. A booking waiting on the hold can no longer be confirmed,
+     * so a {@link SeatHoldExpiredEvent} is published for it as well.
+     *
+     * @param holdId   the hold ID
+     * @param tenantId the tenant ID
+     * @throws ResponseStatusException with {@code 409 CONFLICT} if the hold has expired or does not exist
+     */
+    public void release(String holdId, String tenantId) {
+        List<Seat> rows = seatRepository.findByHoldIdAndTenantId(holdId, tenantId);
+        if (rows.isEmpty() || seatRepository.deleteHold(holdId, tenantId) == 0) {
+            throw expired();
+        }
+        seatInventory.releaseAll(rows);
+        eventPublisher.publishEvent(new SeatHoldExpiredEvent(holdId, tenantId));
+    }
+
+    /**
+     * Expires the holds of this node whose TTL has passed and frees their seats.
+     * Publishes a {@link SeatHoldExpiredEvent} for each expired hold.
+     */
+    @Scheduled(fixedRate = TICK_MS)
+    public void expireHolds() {
+        expireHolds(System.currentTimeMillis());
+    }
+
+    /**
+     * Expires the holds that are due at the given time.
+     *
+     * @param nowMs the current time in milliseconds
+     */
+    void expireHolds(long nowMs) {
+        LocalDateTime now = toLocalDateTime(nowMs);
+        for (Hold hold : expiryWheel.advance(nowMs)) {
+            try {
+                expire(hold.holdId(), hold.tenantId(), seatRepository.findByHoldIdAndTenantId(hold.holdId(),
+                        hold.tenantId()), now);
+            } catch (RuntimeException e) {
+                log.warn("Failed to expire seat hold {}; the sweep will retry", hold.holdId(), e);
+            }
+        }
+    }
+
+    /**
+     * Expires the holds left behind by nodes that stopped before their timing wheel fired, e.g. after a
+     * restart. One instance at a time sweeps the database.
+     */
+    @Scheduled(fixedDelayString = "${seat.hold.sweep-interval-ms:60000}")
+    public void sweepExpiredHolds() {
+        try {
+            jobRunner.runExclusive(SWEEP_JOB, SWEEP_LOCK_AT_MOST_FOR, SWEEP_LOCK_AT_LEAST_FOR,
+                    () -> sweepExpiredHolds(LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to sweep expired seat holds", e);
+        }
+    }
+
+    /**
+     * Expires the holds that expired more than {@link #SWEEP_GRACE} before the given time.
+     *
+     * @param now the current time
+     */
+    void sweepExpiredHolds(LocalDateTime now) {
+        Map<String, List<Seat>> expired = seatRepository.findByHoldExpiresAtBefore(now.minus(SWEEP_GRACE)).stream()
+                .collect(Collectors.groupingBy(Seat::getHoldId));
+        expired.forEach((holdId, rows) -> expire(holdId, rows.get(0).getTenantId(), rows, now));
+    }
+
+    private void expire(String holdId, String tenantId, List<Seat> rows, LocalDateTime now) {
+        // a confirmed or released hold has no rows left
+        if (rows.isEmpty() || rows.get(0).getHoldExpiresAt().isAfter(now)) {
+            return;
+        }
+        // past its expiry the hold can no longer be confirmed, so its booking is expired first;
+        // if deleting the rows fails, the sweep finds them again and the event is harmless to repeat
+        eventPublisher.publishEvent(new SeatHoldExpiredEvent(holdId, tenantId));
+        if (seatRepository.deleteHold(holdId, tenantId) > 0) {
+            seatInventory.releaseAll(rows);
+        }
+    }
+
+    private static ResponseStatusException expired() {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "Seat hold expired or not found");
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMs) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMs), ZoneId.systemDefault());
+    }
+
+    /**
+     * A hold waiting for its expiry on this node.
+     */
+    private record Hold(String holdId, String tenantId) {
+    }
+}
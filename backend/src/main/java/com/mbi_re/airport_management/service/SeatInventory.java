@@ -0,0 +1,394 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.model.Flight;
+import com.mbi_re.airport_management.model.Seat;
+import com.mbi_re.airport_management.model.SeatLayout;
+import com.mbi_re.airport_management.repository.FlightRepository;
+import com.mbi_re.airport_management.repository.SeatRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory seat occupancy for flights, kept as one bitmap per flight.
+ * <p>
+ * A flight's bitmap is loaded from the booked seats on first access and afterwards serves
+ * availability reads without touching the database. Seats are claimed with a compare-and-set
+ * on the bitmap word, so concurrent buyers on this node never both win the same seat and only
+ * the winner goes to the database.
+ * </p>
+ * <p>
+ * Across nodes the seat row is the real claim: it is inserted with {@code ON CONFLICT DO NOTHING}
+ * before the buyer gets an answer, and a seat whose row is already there was taken on another node
+ * and is refused with {@code 409 CONFLICT}. Seats held for checkout are rows as well, so holds are
+ * shared by all nodes too. Loaded seat maps pick up seats booked, held or freed elsewhere on {@link #refresh()}.
+ * </p>
+ * <p>
+ * Only flights that are still being sold stay loaded: {@link #refresh()} first drops the maps of
+ * flights dated before today and of flights not read for {@link #IDLE_TIMEOUT_MS}, so its queries
+ * scale with the flights on sale rather than with the flight history.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SeatInventory {
+
+    /** How long a seat map stays loaded without being read */
+    static final long IDLE_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(30);
+
+    private final SeatRepository seatRepository;
+    private final FlightRepository flightRepository;
+
+    private final ConcurrentHashMap<Long, FlightSeats> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the seat map of a flight, loading it from the database on first access.
+     *
+     * @param flightId the flight ID
+     * @param tenantId the tenant the flight must belong to
+     * @return the seat map, or empty if the flight does not exist for the tenant
+     */
+    public Optional<FlightSeats> get(Long flightId, String tenantId) {
+        FlightSeats seats = flights.computeIfAbsent(flightId, this::load);
+        if (seats == null || !seats.getTenantId().equals(tenantId)) {
+            return Optional.empty();
+        }
+        seats.lastReadMs = System.currentTimeMillis();
+        return Optional.of(seats);
+    }
+
+    /**
+     * Claims a seat and writes its row before returning.
+     *
+     * @param seats   the seat map of the flight
+     * @param ordinal the seat position
+     * @return {@code true} if this call claimed the seat, {@code false} if it was already taken
+     *         on this node or on another one
+     */
+    public boolean claim(FlightSeats seats, int ordinal) {
+        if (!seats.tryClaim(ordinal)) {
+            return false;
+        }
+        List<Seat> lost;
+        try {
+            lost = seatRepository.saveBookedSeats(List.of(seats.toSeat(ordinal)));
+        } catch (RuntimeException e) {
+            seats.clear(ordinal);
+            throw e;
+        }
+        if (!lost.isEmpty()) {
+            // booked on another node; the bit stays set and the rest of the map catches up
+            refresh(seats);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Claims a seat in memory only, without persisting it.
+     * The seat must later be either {@link #persistAll persisted} or {@link #release released}.
+     *
+     * @param seats   the seat map of the flight
+     * @param ordinal the seat position
+     * @return {@code true} if this call claimed the seat, {@code false} if it was already taken
+     */
+    public boolean reserve(FlightSeats seats, int ordinal) {
+        return seats.tryClaim(ordinal);
+    }
+
+    /**
+     * Reserves several seats in memory, all or nothing.
+     *
+     * @param seats    the seat map of the flight
+     * @param ordinals the seat positions
+     * @throws ResponseStatusException with {@code 409 CONFLICT} if one of the seats is already taken;
+     *                                 no seat is reserved in that case
+     */
+    public void reserveAll(FlightSeats seats, int[] ordinals) {
+        for (int i = 0; i < ordinals.length; i++) {
+            if (!seats.tryClaim(ordinals[i])) {
+                for (int j = 0; j < i; j++) {
+                    seats.clear(ordinals[j]);
+                }
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Seat already booked: " + seats.getLayout().seatNumber(ordinals[i]));
+            }
+        }
+    }
+
+    /**
+     * Writes the rows of seats previously {@link #reserveAll reserved}, all or nothing.
+     * The caller keeps the reservations and releases them if this fails.
+     *
+     * @param seats    the seat map of the flight
+     * @param ordinals the seat positions
+     * @throws ResponseStatusException with {@code 409 CONFLICT} if one of the seats was booked on another
+     *                                 node; the rows written so far are rolled back
+     */
+    @Transactional
+    public void persistAll(FlightSeats seats, int[] ordinals) {
+        write(seats, ordinals, null, null);
+    }
+
+    /**
+     * Writes the rows of seats previously {@link #reserveAll reserved} as held until the given time, all or nothing.
+     * Held rows take the seats on every node like booked ones, until the hold is confirmed or its rows are deleted.
+     *
+     * @param seats     the seat map of the flight
+     * @param ordinals  the seat positions
+     * @param holdId    the hold ID
+     * @param expiresAt when the hold expires
+     * @throws ResponseStatusException with {@code 409 CONFLICT} if one of the seats was booked on another node
+     */
+    @Transactional
+    public void holdAll(FlightSeats seats, int[] ordinals, String holdId, LocalDateTime expiresAt) {
+        write(seats, ordinals, holdId, expiresAt);
+    }
+
+    /**
+     * Frees a seat that was {@link #reserve reserved} but never persisted.
+     *
+     * @param seats   the seat map of the flight
+     * @param ordinal the seat position
+     */
+    public void release(FlightSeats seats, int ordinal) {
+        seats.clear(ordinal);
+    }
+
+    /**
+     * Frees several seats that were {@link #reserveAll reserved} but never persisted.
+     *
+     * @param seats    the seat map of the flight
+     * @param ordinals the seat positions
+     */
+    public void releaseAll(FlightSeats seats, int[] ordinals) {
+        for (int ordinal : ordinals) {
+            seats.clear(ordinal);
+        }
+    }
+
+    /**
+     * Frees seats whose rows were deleted, in the seat maps loaded on this node.
+     * Other nodes pick the change up on their next {@link #refresh()}.
+     *
+     * @param rows the deleted seat rows
+     */
+    public void releaseAll(List<Seat> rows) {
+        for (Seat row : rows) {
+            FlightSeats seats = flights.get(row.getFlight().getId());
+            if (seats != null && seats.getTenantId().equals(row.getTenantId())) {
+                seats.clear(SeatLayout.ordinalOfSeat(row.getId()));
+            }
+        }
+    }
+
+    /**
+     * Drops the in-memory seat map of a flight.
+     * Must be called when a flight is deleted or its layout changes.
+     *
+     * @param flightId the flight ID
+     */
+    public void evict(Long flightId) {
+        flights.remove(flightId);
+    }
+
+    /**
+     * Drops the seat maps of past and idle flights, then reloads the remaining ones from the database,
+     * so seats booked, held or freed on other nodes show up here. The rows are the real claim, so a
+     * reservation of this node whose row is not written yet may briefly show as free; a buyer of that
+     * seat is still refused when its own row is written.
+     */
+    @Scheduled(fixedDelayString = "${seat.inventory.refresh-interval-ms:30000}")
+    public void refresh() {
+        refresh(LocalDate.now(), System.currentTimeMillis());
+    }
+
+    /**
+     * Refreshes the seat maps as of the given date and time.
+     *
+     * @param today the current date
+     * @param nowMs the current time in milliseconds
+     */
+    void refresh(LocalDate today, long nowMs) {
+        flights.values().removeIf(seats -> (seats.flightDate != null && seats.flightDate.isBefore(today))
+                || nowMs - seats.lastReadMs > IDLE_TIMEOUT_MS);
+        flights.values().forEach(this::refresh);
+    }
+
+    /**
+     * @return number of flights whose seat map is loaded
+     */
+    int loadedFlights() {
+        return flights.size();
+    }
+
+    private void refresh(FlightSeats seats) {
+        try {
+            loadBooked(seats);
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh the seat map of flight {}", seats.getFlightId(), e);
+        }
+    }
+
+    private void write(FlightSeats seats, int[] ordinals, String holdId, LocalDateTime expiresAt) {
+        List<Seat> rows = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            Seat row = seats.toSeat(ordinal);
+            row.setHoldId(holdId);
+            row.setHoldExpiresAt(expiresAt);
+            rows.add(row);
+        }
+        List<Seat> lost = seatRepository.saveBookedSeats(rows);
+        if (!lost.isEmpty()) {
+            refresh(seats);
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Seat already booked: " + lost.get(0).getSeatNumber());
+        }
+    }
+
+    private void loadBooked(FlightSeats seats) {
+        long[] words = new long[seats.bits.length()];
+        for (Seat booked : seatRepository.findByFlightIdAndTenantIdAndBookedTrue(seats.getFlightId(),
+                seats.getTenantId())) {
+            int ordinal = SeatLayout.ordinalOfSeat(booked.getId());
+            if (seats.getLayout().contains(ordinal)) {
+                words[ordinal >>> 6] |= 1L << ordinal;
+            }
+        }
+        for (int i = 0; i < words.length; i++) {
+            seats.bits.set(i, words[i]);
+        }
+    }
+
+    private FlightSeats load(Long flightId) {
+        Flight flight = flightRepository.findById(flightId).orElse(null);
+        if (flight == null) {
+            return null;
+        }
+        FlightSeats seats = new FlightSeats(flight.getId(), flight.getFlightNumber(), flight.getTenantId(),
+                flight.getFlightDate(), SeatLayout.of(flight));
+        loadBooked(seats);
+        return seats;
+    }
+
+    /**
+     * Occupancy bitmap of a single flight: bit {@code ordinal} is set when the seat is booked.
+     */
+    public static final class FlightSeats {
+
+        private final Long flightId;
+        private final String flightNumber;
+        private final String tenantId;
+        private final LocalDate flightDate;
+        private final SeatLayout layout;
+        private final AtomicLongArray bits;
+        private volatile long lastReadMs;
+
+        FlightSeats(Long flightId, String flightNumber, String tenantId, LocalDate flightDate, SeatLayout layout) {
+            this.flightId = flightId;
+            this.flightNumber = flightNumber;
+            this.tenantId = tenantId;
+            this.flightDate = flightDate;
+            this.layout = layout;
+            this.lastReadMs = System.currentTimeMillis();
+            this.bits = new AtomicLongArray((layout.getCapacity() + 63) / 64);
+        }
+
+        public Long getFlightId() {
+            return flightId;
+        }
+
+        public String getFlightNumber() {
+            return flightNumber;
+        }
+
+        public String getTenantId() {
+            return tenantId;
+        }
+
+        public SeatLayout getLayout() {
+            return layout;
+        }
+
+        /**
+         * Resolves seat numbers to distinct seat positions.
+         *
+         * @param seatNumbers the seat numbers (e.g. "A1")
+         * @return the seat positions, in request order without duplicates
+         * @throws IllegalArgumentException if no seat is given
+         * @throws RuntimeException         if a seat does not exist on this flight
+         */
+        public int[] ordinalsOf(List<String> seatNumbers) {
+            if (seatNumbers == null || seatNumbers.isEmpty()) {
+                throw new IllegalArgumentException("At least one seat is required");
+            }
+            return seatNumbers.stream()
+                    .mapToInt(seatNumber -> {
+                        int ordinal = layout.ordinalOf(seatNumber);
+                        if (ordinal < 0) {
+                            throw new RuntimeException("Seat not found: " + seatNumber);
+                        }
+                        return ordinal;
+                    })
+                    .distinct()
+                    .toArray();
+        }
+
+        /**
+         * @param ordinal the seat position
+         * @return {@code true} if the seat is booked
+         */
+        public boolean isBooked(int ordinal) {
+            return (bits.get(ordinal >>> 6) & (1L << ordinal)) != 0;
+        }
+
+        /**
+         * Sets the seat bit with compare-and-set.
+         *
+         * @param ordinal the seat position
+         * @return {@code true} if the bit was clear and this call set it
+         */
+        boolean tryClaim(int ordinal) {
+            int index = ordinal >>> 6;
+            long mask = 1L << ordinal;
+            while (true) {
+                long word = bits.get(index);
+                if ((word & mask) != 0) {
+                    return false;
+                }
+                if (bits.compareAndSet(index, word, word | mask)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Clears the seat bit.
+         *
+         * @param ordinal the seat position
+         */
+        void clear(int ordinal) {
+            bits.getAndUpdate(ordinal >>> 6, word -> word & ~(1L << ordinal));
+        }
+
+        Seat toSeat(int ordinal) {
+            Flight flight = new Flight();
+            flight.setId(flightId);
+            flight.setFlightNumber(flightNumber);
+            return new Seat(SeatLayout.seatId(flightId, ordinal), layout.seatNumber(ordinal), flight, tenantId, true);
+        }
+    }
+}
@@ -1,16 +1,16 @@
 package com.mbi_re.airport_management.service;
 
 import com.mbi_re.airport_management.dto.SeatDTO;
-import com.mbi_re.airport_management.model.Seat;
-import com.mbi_re.airport_management.repository.SeatRepository;
+import com.mbi_re.airport_management.model.SeatLayout;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service class for managing seat-related operations such as availability checks and booking.
@@ -19,24 +19,23 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SeatService {
 
-    @Autowired
-    private SeatRepository seatRepository;
+    private final SeatInventory seatInventory;
 
     /**
      * Retrieves all available (unbooked) seats for a specific flight and tenant.
      * <p>
+     * Seats are derived from the flight's {@link SeatLayout} and its in-memory occupancy in {@link SeatInventory}.
      * This method evicts the cache entry for available seats of the given flight and tenant,
      * ensuring that stale cache entries are removed after availability changes.
      * </p>
      *
      * @param flightId the ID of the flight to fetch available seats for
      * @param tenantId the tenant ID to scope the seats
-     * @return list of {@link SeatDTO} representing available seats
+     * @return list of {@link SeatDTO} representing available seats, empty if the flight does not exist
      */
     @CacheEvict(value = "availableSeats", key = "#flightId + '_' + #tenantId")
     public List<SeatDTO> getAvailableSeats(Long flightId, String tenantId) {
-        List<Seat> seats = seatRepository.findByFlightIdAndTenantIdAndBookedFalse(flightId, tenantId);
-        return seats.stream().map(this::convertToDTO).collect(Collectors.toList());
+        return buildSeatMap(flightId, tenantId, false);
     }
 
     /**
@@ -44,46 +43,77 @@ public class SeatService {
      *
      * @param flightId the ID of the flight to fetch seats for
      * @param tenantId the tenant ID to scope the seats
-     * @return list of {@link SeatDTO} representing all seats for the flight
+     * @return list of {@link SeatDTO} representing all seats for the flight, empty if the flight does not exist
      */
     public List<SeatDTO> getAllSeats(Long flightId, String tenantId) {
-        List<Seat> seats = seatRepository.findByFlightIdAndTenantId(flightId, tenantId);
-        return seats.stream().map(this::convertToDTO).collect(Collectors.toList());
+        return buildSeatMap(flightId, tenantId, true);
     }
 
     /**
      * Marks a specific seat as booked (unavailable) for a tenant.
      * <p>
-     * If the seat with the given ID and tenant does not exist, an exception is thrown.
+     * The seat is claimed atomically in {@link SeatInventory}, so only one of several concurrent
+     * requests for the same seat succeeds. The seat row is written before returning, so a seat booked
+     * meanwhile on another node is refused as well.
      * </p>
      *
      * @param seatId   the ID of the seat to mark as booked
      * @param tenantId the tenant ID for scoping
      * @return updated {@link SeatDTO} with the booked status set to true
-     * @throws RuntimeException if the seat is not found for the given tenant
+     * @throws RuntimeException        if the seat is not found for the given tenant
+     * @throws ResponseStatusException with {@code 409 CONFLICT} if the seat is already booked, here or on another node
      */
     public SeatDTO markSeatAsUnavailable(Long seatId, String tenantId) {
-        Seat seat = seatRepository.findByIdAndTenantId(seatId, tenantId)
+        SeatInventory.FlightSeats seats = seatInventory.get(SeatLayout.flightIdOf(seatId), tenantId)
                 .orElseThrow(() -> new RuntimeException("Seat not found"));
-        seat.setBooked(true);
-        Seat updatedSeat = seatRepository.save(seat);
-        return convertToDTO(updatedSeat);
+        int ordinal = SeatLayout.ordinalOfSeat(seatId);
+        if (!seats.getLayout().contains(ordinal)) {
+            throw new RuntimeException("Seat not found");
+        }
+        if (!seatInventory.claim(seats, ordinal)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Seat already booked");
+        }
+        return toDTO(seats, ordinal);
     }
 
     /**
-     * Converts a {@link Seat} entity into a {@link SeatDTO}.
+     * Builds the seat map of a flight from its in-memory occupancy.
      *
-     * @param seat the {@link Seat} entity to convert
+     * @param flightId      the flight ID
+     * @param tenantId      the tenant ID
+     * @param includeBooked whether booked seats are included in the result
+     * @return seats in layout order (A1, A2, ..., B1, ...)
+     */
+    private List<SeatDTO> buildSeatMap(Long flightId, String tenantId, boolean includeBooked) {
+        SeatInventory.FlightSeats seats = seatInventory.get(flightId, tenantId).orElse(null);
+        if (seats == null) {
+            return List.of();
+        }
+        int capacity = seats.getLayout().getCapacity();
+        List<SeatDTO> result = new ArrayList<>(capacity);
+        for (int ordinal = 0; ordinal < capacity; ordinal++) {
+            if (includeBooked || !seats.isBooked(ordinal)) {
+                result.add(toDTO(seats, ordinal));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Converts a seat position of a flight into a {@link SeatDTO}.
+     *
+     * @param seats   the flight's seat map
+     * @param ordinal the seat position
      * @return the corresponding {@link SeatDTO}
      */
-    private SeatDTO convertToDTO(Seat seat) {
+    private SeatDTO toDTO(SeatInventory.FlightSeats seats, int ordinal) {
         return new SeatDTO(
-                seat.getId(),
-                seat.getSeatNumber(),
-                seat.getFlight().getId(),
-                seat.getFlight().getFlightNumber(),
-                seat.getTenantId(),
-                seat.isBooked()
+                SeatLayout.seatId(seats.getFlightId(), ordinal),
+                seats.getLayout().seatNumber(ordinal),
+                seats.getFlightId(),
+                seats.getFlightNumber(),
+                seats.getTenantId(),
+                seats.isBooked(ordinal)
         );
     }
 }
@@ -0,0 +1,108 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.model.Airport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service resolving the local time zone and service date of a tenant.
+ * <p>
+ * A tenant's time zone is the time zone of its airport; when a tenant has several airports, the one
+ * created first wins. Tenants without an airport or with an unknown time zone use the server's zone.
+ * A single airport of the tenant can also be asked for, e.g. for its departures board.
+ * Airports are read through {@link AirportService#getAllAirports(String)}, so the lookup is served from
+ * the "airports" cache and follows airport changes.
+ * </p>
+ */
+@Slf4j
+@Service
+public class TenantTimeZoneService {
+
+    private final AirportService airportService;
+    private final Clock clock;
+
+    private final Set<String> knownTenants = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public TenantTimeZoneService(AirportService airportService) {
+        this(airportService, Clock.systemDefaultZone());
+    }
+
+    TenantTimeZoneService(AirportService airportService, Clock clock) {
+        this.airportService = airportService;
+        this.clock = clock;
+    }
+
+    /**
+     * @param tenantId the tenant ID
+     * @return the time zone of the tenant's airport
+     */
+    public ZoneId zoneOf(String tenantId) {
+        knownTenants.add(tenantId);
+        return airportService.getAllAirports(tenantId).stream()
+                .filter(airport -> airport.getTimezone() != null && !airport.getTimezone().isBlank())
+                .min(Comparator.comparing(Airport::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(airport -> parse(airport.getTimezone()))
+                .orElse(clock.getZone());
+    }
+
+    /**
+     * @param tenantId the tenant ID
+     * @param airport  the code or name of one of the tenant's airports, case-insensitive
+     * @return the time zone of that airport, or the tenant's time zone if the airport is unknown or has none
+     */
+    public ZoneId zoneOf(String tenantId, String airport) {
+        if (airport == null) {
+            return zoneOf(tenantId);
+        }
+        String value = airport.trim();
+        return airportService.getAllAirports(tenantId).stream()
+                .filter(candidate -> value.equalsIgnoreCase(candidate.getCode()) || value.equalsIgnoreCase(candidate.getName()))
+                .filter(candidate -> candidate.getTimezone() != null && !candidate.getTimezone().isBlank())
+                .findFirst()
+                .map(candidate -> parse(candidate.getTimezone()))
+                .orElseGet(() -> zoneOf(tenantId));
+    }
+
+    /**
+     * @param tenantId the tenant ID
+     * @return the current time at the tenant's airport
+     */
+    public ZonedDateTime now(String tenantId) {
+        return ZonedDateTime.now(clock.withZone(zoneOf(tenantId)));
+    }
+
+    /**
+     * @param tenantId the tenant ID
+     * @return the current date at the tenant's airport
+     */
+    public LocalDate today(String tenantId) {
+        return now(tenantId).toLocalDate();
+    }
+
+    /**
+     * @return the tenants whose time zone was looked up since startup
+     */
+    public Set<String> knownTenants() {
+        return Set.copyOf(knownTenants);
+    }
+
+    private ZoneId parse(String timezone) {
+        try {
+            return ZoneId.of(timezone.trim());
+        } catch (DateTimeException e) {
+            log.warn("Unknown airport time zone '{}', using {}", timezone, clock.getZone());
+            return clock.getZone();
+        }
+    }
+}
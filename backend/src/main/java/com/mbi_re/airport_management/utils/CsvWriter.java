@@ -0,0 +1,51 @@
+package com.mbi_re.airport_management.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Minimal RFC 4180 CSV writer.
+ * <p>
+ * Values containing a comma, quote or line break are quoted, with embedded quotes doubled;
+ * {@code null} is written as an empty field. Rows end with CRLF. The writer does not buffer
+ * or close the underlying {@link Writer}.
+ * </p>
+ */
+public class CsvWriter {
+
+    private final Writer out;
+
+    public CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes one row.
+     *
+     * @param values the field values, converted with {@code toString()}
+     * @throws IOException if writing fails
+     */
+    public void writeRow(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            if (values[i] != null) {
+                writeField(values[i].toString());
+            }
+        }
+        out.write("\r\n");
+    }
+
+    private void writeField(String value) throws IOException {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
@@ -0,0 +1,154 @@
+package com.mbi_re.airport_management.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel for expiring a large number of deadlines cheaply.
+ * <p>
+ * Level 0 has one bucket per tick; each higher level has buckets that are {@code wheelSize}
+ * times wider. A deadline is stored in the lowest level whose window covers it and is moved
+ * down one level when its bucket comes due, so scheduling is O(1) and each tick only touches
+ * the bucket that is due, regardless of how many deadlines are outstanding.
+ * Deadlines beyond the top level are parked in its farthest bucket and re-placed on cascade.
+ * </p>
+ * <p>
+ * All methods are synchronized; items are never cancelled here, callers are expected to
+ * ignore expirations that are no longer relevant.
+ * </p>
+ *
+ * @param <T> the type of the scheduled items
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final int levels;
+    private final List<List<Entry<T>>> buckets;
+    private final List<T> overdue = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    /**
+     * Creates a timing wheel.
+     *
+     * @param tickMs    duration of a tick in milliseconds
+     * @param wheelSize number of buckets per level
+     * @param levels    number of levels; the wheel covers {@code tickMs * wheelSize^levels} without re-placing
+     * @param startMs   the current time in milliseconds
+     */
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, int levels, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel configuration");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.levels = levels;
+        this.buckets = new ArrayList<>(levels * wheelSize);
+        for (int i = 0; i < levels * wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.currentTick = startMs / tickMs;
+    }
+
+    /**
+     * Schedules an item to expire at the given time.
+     * Items whose deadline has already passed are returned by the next {@link #advance(long)}.
+     *
+     * @param item       the item
+     * @param deadlineMs the expiry time in milliseconds
+     */
+    public synchronized void schedule(T item, long deadlineMs) {
+        // round up so that an item never expires before its deadline
+        long deadlineTick = (deadlineMs + tickMs - 1) / tickMs;
+        place(new Entry<>(item, deadlineTick));
+        size++;
+    }
+
+    /**
+     * Advances the wheel to the given time and returns the items that expired on the way.
+     *
+     * @param nowMs the current time in milliseconds
+     * @return expired items, in deadline order between ticks
+     */
+    public synchronized List<T> advance(long nowMs) {
+        List<T> expired = new ArrayList<>(overdue);
+        overdue.clear();
+
+        long targetTick = nowMs / tickMs;
+        while (currentTick < targetTick) {
+            currentTick++;
+            // cascade from the highest level whose bucket boundary was just crossed
+            long span = 1;
+            int top = 0;
+            for (int level = 1; level < levels; level++) {
+                span *= wheelSize;
+                if (currentTick % span != 0) {
+                    break;
+                }
+                top = level;
+            }
+            for (int level = top; level >= 1; level--) {
+                List<Entry<T>> bucket = bucket(level, currentTick / pow(level));
+                List<Entry<T>> moving = new ArrayList<>(bucket);
+                bucket.clear();
+                moving.forEach(this::place);
+            }
+            List<Entry<T>> bucket = bucket(0, currentTick);
+            List<Entry<T>> due = new ArrayList<>(bucket);
+            bucket.clear();
+            for (Entry<T> entry : due) {
+                if (entry.deadlineTick <= currentTick) {
+                    expired.add(entry.item);
+                } else {
+                    // only possible for a single-level wheel parking far deadlines
+                    place(entry);
+                }
+            }
+            expired.addAll(overdue);
+            overdue.clear();
+        }
+        size -= expired.size();
+        return expired;
+    }
+
+    /**
+     * @return number of items scheduled and not yet returned by {@link #advance(long)}
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private void place(Entry<T> entry) {
+        if (entry.deadlineTick <= currentTick) {
+            overdue.add(entry.item);
+            return;
+        }
+        long span = 1;
+        for (int level = 0; level < levels; level++) {
+            if (entry.deadlineTick / span - currentTick / span < wheelSize) {
+                bucket(level, entry.deadlineTick / span).add(entry);
+                return;
+            }
+            span *= wheelSize;
+        }
+        // beyond the top level: park in its farthest bucket and re-place on cascade
+        long topSpan = pow(levels - 1);
+        bucket(levels - 1, currentTick / topSpan + wheelSize - 1).add(entry);
+    }
+
+    private List<Entry<T>> bucket(int level, long slot) {
+        return buckets.get(level * wheelSize + (int) (slot % wheelSize));
+    }
+
+    private long pow(int level) {
+        long span = 1;
+        for (int i = 0; i < level; i++) {
+            span *= wheelSize;
+        }
+        return span;
+    }
+
+    private record Entry<T>(T item, long deadlineTick) {
+    }
+}
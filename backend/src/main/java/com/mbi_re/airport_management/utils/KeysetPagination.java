@@ -0,0 +1,253 @@
+package com.mbi_re.airport_management.utils;
+
+import com.mbi_re.airport_management.dto.CursorPageDTO;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cursor (keyset) pagination over a JPA entity.
+ * <p>
+ * Instead of an offset, each page continues after the sort value and ID of the last row of the
+ * previous page, so every page is a bounded index range scan no matter how deep the client pages.
+ * Rows are ordered by one of the registered sort fields with the ID as tie-breaker. NULL sort
+ * values follow the database default: last when ascending, first when descending.
+ * </p>
+ * <p>
+ * The cursor is an opaque Base64 token; it carries the sort it was created for and is rejected
+ * when used with a different one.
+ * </p>
+ *
+ * @param <T> the entity type
+ */
+public class KeysetPagination<T> {
+
+    /** Number of rows returned when the client does not ask for a page size */
+    public static final int DEFAULT_LIMIT = 50;
+
+    /** Largest page size a client may ask for */
+    public static final int MAX_LIMIT = 200;
+
+    private static final String ID = "id";
+    private static final String NULL_VALUE = "~";
+    private static final String VALUE_PREFIX = "=";
+
+    private final Function<T, Long> idGetter;
+    private final Map<String, Field<T>> fields = new LinkedHashMap<>();
+
+    /**
+     * @param idGetter returns the ID of an entity; {@code id} is always a valid sort field
+     */
+    public KeysetPagination(Function<T, Long> idGetter) {
+        this.idGetter = idGetter;
+        field(ID, idGetter, Long::valueOf);
+    }
+
+    /**
+     * Registers a sort field.
+     *
+     * @param name   the entity attribute name
+     * @param getter returns the attribute value of an entity
+     * @param parser parses the value back from its {@code toString()} form
+     * @param <V>    the attribute type
+     * @return this instance
+     */
+    public <V extends Comparable<? super V>> KeysetPagination<T> field(String name, Function<T, V> getter,
+                                                                        Function<String, V> parser) {
+        fields.put(name, new Field<>(getter, parser));
+        return this;
+    }
+
+    /**
+     * Loads one page.
+     *
+     * @param repository the repository of the entity
+     * @param filter     the tenant and filter restrictions
+     * @param sortField  the sort field, {@code id} when {@code null}
+     * @param direction  {@code asc} or {@code desc}, {@code asc} when {@code null}
+     * @param cursor     the cursor of the previous page, {@code null} for the first page
+     * @param limit      the page size, {@link #DEFAULT_LIMIT} when {@code null}; capped at {@link #MAX_LIMIT}
+     * @param mapper     converts entities to the response type
+     * @param <R>        the response type
+     * @return the page and the cursor of the next one
+     * @throws ResponseStatusException with {@code 400 BAD_REQUEST} for an unknown sort field or direction,
+     *                                 or a cursor that is malformed or was created for another sort
+     */
+    public <R> CursorPageDTO<R> page(JpaSpecificationExecutor<T> repository, Specification<T> filter,
+                                     String sortField, String direction, String cursor, Integer limit,
+                                     Function<T, R> mapper) {
+        String field = sortField == null || sortField.isBlank() ? ID : sortField;
+        if (!fields.containsKey(field)) {
+            throw badRequest("Unsupported sort field: " + field + ", expected one of " + fields.keySet());
+        }
+        Sort.Direction dir = parseDirection(direction);
+        int size = limit == null ? DEFAULT_LIMIT : Math.min(Math.max(limit, 1), MAX_LIMIT);
+
+        Specification<T> spec = filter;
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(after(decode(cursor, field, dir)));
+        }
+        Sort sort = ID.equals(field)
+                ? Sort.by(dir, ID)
+                : Sort.by(dir, field).and(Sort.by(dir, ID));
+
+        // one extra row tells whether there is a next page without a count query
+        List<T> rows = repository.findBy(spec, query -> query.sortBy(sort).limit(size + 1).all());
+        boolean hasMore = rows.size() > size;
+        List<T> page = hasMore ? rows.subList(0, size) : rows;
+
+        List<R> items = new ArrayList<>(page.size());
+        page.forEach(row -> items.add(mapper.apply(row)));
+        String nextCursor = hasMore ? encode(field, dir, page.get(page.size() - 1)) : null;
+        return new CursorPageDTO<>(items, nextCursor, hasMore);
+    }
+
+    private Specification<T> after(Cursor cursor) {
+        return (root, query, cb) -> {
+            Path<Long> id = root.get(ID);
+            Predicate idAfter = cursor.direction.isAscending()
+                    ? cb.greaterThan(id, cursor.id)
+                    : cb.lessThan(id, cursor.id);
+            if (ID.equals(cursor.field)) {
+                return idAfter;
+            }
+            Path<Comparable<Object>> path = root.get(cursor.field);
+            if (cursor.value == null) {
+                // inside the NULL block: last when ascending, first when descending
+                Predicate inNullBlock = cb.and(cb.isNull(path), idAfter);
+                return cursor.direction.isAscending() ? inNullBlock : cb.or(inNullBlock, cb.isNotNull(path));
+            }
+            Predicate sameValue = cb.and(cb.equal(path, cursor.value), idAfter);
+            if (cursor.direction.isAscending()) {
+                return cb.or(cb.greaterThan(path, cursor.value), sameValue, cb.isNull(path));
+            }
+            return cb.or(cb.lessThan(path, cursor.value), sameValue);
+        };
+    }
+
+    private String encode(String field, Sort.Direction direction, T last) {
+        Object value = fields.get(field).getter.apply(last);
+        String token = field + "|" + direction.name() + "|" + idGetter.apply(last) + "|"
+                + (value == null ? NULL_VALUE : VALUE_PREFIX + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cursor decode(String cursor, String field, Sort.Direction direction) {
+        try {
+            String token = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = token.split("\\|", 4);
+            if (parts.length != 4 || !parts[0].equals(field) || !parts[1].equals(direction.name())) {
+                throw badRequest("Cursor does not match the requested sort");
+            }
+            Long id = Long.valueOf(parts[2]);
+            Comparable<Object> value = null;
+            if (!NULL_VALUE.equals(parts[3])) {
+                if (!parts[3].startsWith(VALUE_PREFIX)) {
+                    throw badRequest("Invalid cursor");
+                }
+                value = (Comparable<Object>) fields.get(field).parser.apply(parts[3].substring(VALUE_PREFIX.length()));
+            }
+            return new Cursor(field, direction, id, value);
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw badRequest("Invalid cursor");
+        }
+    }
+
+    private static Sort.Direction parseDirection(String direction) {
+        if (direction == null || direction.isBlank()) {
+            return Sort.Direction.ASC;
+        }
+        return Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> badRequest("Unsupported sort direction: " + direction));
+    }
+
+    private static ResponseStatusException badRequest(String message) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, message);
+    }
+
+    /**
+     * Builds the tenant restriction. Unlike the optional filters it is never skipped.
+     *
+     * @param tenantId the tenant identifier
+     * @param <T>      the entity type
+     * @return the restriction
+     */
+    public static <T> Specification<T> tenant(String tenantId) {
+        return (root, query, cb) -> cb.equal(root.get("tenantId"), tenantId);
+    }
+
+    /**
+     * Builds an equality restriction that is skipped when the value is {@code null} or blank.
+     *
+     * @param attribute the entity attribute
+     * @param value     the expected value
+     * @param <T>       the entity type
+     * @return the restriction, or no restriction
+     */
+    public static <T> Specification<T> equalIfPresent(String attribute, Object value) {
+        return (root, query, cb) -> isAbsent(value) ? null : cb.equal(root.get(attribute), value);
+    }
+
+    /**
+     * Builds a case-insensitive equality restriction that is skipped when the value is {@code null} or blank.
+     *
+     * @param attribute the entity attribute
+     * @param value     the expected value
+     * @param <T>       the entity type
+     * @return the restriction, or no restriction
+     */
+    public static <T> Specification<T> equalIgnoreCaseIfPresent(String attribute, String value) {
+        return (root, query, cb) -> isAbsent(value)
+                ? null
+                : cb.equal(cb.lower(root.get(attribute)), value.trim().toLowerCase());
+    }
+
+    /**
+     * Builds a range restriction; each bound is skipped when it is {@code null}.
+     *
+     * @param attribute the entity attribute
+     * @param from      the inclusive lower bound
+     * @param to        the inclusive upper bound
+     * @param <T>       the entity type
+     * @param <V>       the attribute type
+     * @return the restriction, or no restriction
+     */
+    public static <T, V extends Comparable<? super V>> Specification<T> between(String attribute, V from, V to) {
+        return (root, query, cb) -> {
+            Path<V> path = root.get(attribute);
+            List<Predicate> predicates = new ArrayList<>(2);
+            if (from != null) {
+                predicates.add(cb.greaterThanOrEqualTo(path, from));
+            }
+            if (to != null) {
+                predicates.add(cb.lessThanOrEqualTo(path, to));
+            }
+            return predicates.isEmpty() ? null : cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static boolean isAbsent(Object value) {
+        return value == null || (value instanceof String s && s.isBlank());
+    }
+
+    private record Field<T>(Function<T, ? extends Comparable<?>> getter, Function<String, ? extends Comparable<?>> parser) {
+    }
+
+    private record Cursor(String field, Sort.Direction direction, Long id, Comparable<Object> value) {
+    }
+}
@@ -0,0 +1,24 @@
+-- High-write tables move from IDENTITY/SERIAL ids to pooled sequences so that
+-- Hibernate can batch INSERTs. INCREMENT BY must match allocationSize on the entities.
+
+CREATE SEQUENCE IF NOT EXISTS seat_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS payments_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS passengers_seq INCREMENT BY 50;
+
+-- The next nextval() returns last_value + 50, so the first pooled block starts above MAX(id).
+SELECT setval('seat_seq', GREATEST(COALESCE((SELECT MAX(id) FROM seat), 0), 1));
+SELECT setval('bookings_seq', GREATEST(COALESCE((SELECT MAX(id) FROM bookings), 0), 1));
+SELECT setval('payments_seq', GREATEST(COALESCE((SELECT MAX(id) FROM payments), 0), 1));
+SELECT setval('passengers_seq', GREATEST(COALESCE((SELECT MAX(id) FROM passengers), 0), 1));
+
+-- Keep raw INSERTs without an id on the same sequence as Hibernate.
+ALTER TABLE seat ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE payments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE passengers ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+ALTER TABLE seat ALTER COLUMN id SET DEFAULT nextval('seat_seq');
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_seq');
+ALTER TABLE payments ALTER COLUMN id SET DEFAULT nextval('payments_seq');
+ALTER TABLE passengers ALTER COLUMN id SET DEFAULT nextval('passengers_seq');
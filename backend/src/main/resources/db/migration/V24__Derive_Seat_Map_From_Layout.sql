@@ -0,0 +1,38 @@
+-- Seat maps are derived from the flight's layout; only booked seats keep a row in "seat".
+-- Seat ids become flight_id * 1000 + ordinal (see SeatLayout), so they no longer come from a sequence.
+
+ALTER TABLE flight ADD COLUMN IF NOT EXISTS seat_capacity INT;
+ALTER TABLE flight ADD COLUMN IF NOT EXISTS seats_per_row INT;
+
+-- Existing flights keep the layout that was materialized for them (6 seats per row).
+UPDATE flight f
+SET seat_capacity = LEAST(COALESCE(NULLIF((SELECT COUNT(*) FROM seat s WHERE s.flight_id = f.id), 0),
+                                   f.available_seat, 0), 1000),
+    seats_per_row = 6
+WHERE f.seat_capacity IS NULL;
+
+DELETE FROM seat WHERE booked = FALSE;
+
+-- Rows that cannot be mapped onto the layout are unreachable after the switch.
+DELETE FROM seat
+WHERE flight_id IS NULL
+   OR CASE WHEN seat_number ~ '^.[1-6]$'
+           THEN (ascii(substr(seat_number, 1, 1)) - 65) * 6 + CAST(substring(seat_number from 2) AS INT) - 1
+                NOT BETWEEN 0 AND 999
+           ELSE TRUE
+      END;
+
+ALTER TABLE seat ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS seat_seq;
+
+-- Re-key in two steps so that the new ids never collide with old ones.
+UPDATE seat SET id = -id;
+UPDATE seat
+SET id = flight_id * 1000 + (ascii(substr(seat_number, 1, 1)) - 65) * 6 + CAST(substring(seat_number from 2) AS INT) - 1;
+
+-- The old generator continued past 'Z' with '[', '\', ...; those rows are now AA, AB, ...
+UPDATE seat
+SET seat_number = chr(64 + (ascii(substr(seat_number, 1, 1)) - 65) / 26)
+               || chr(65 + (ascii(substr(seat_number, 1, 1)) - 65) % 26)
+               || substring(seat_number from 2)
+WHERE ascii(substr(seat_number, 1, 1)) > 90;
@@ -0,0 +1,4 @@
+-- Bookings created from a seat hold stay PENDING until the hold is confirmed.
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS hold_id VARCHAR(64);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_hold_id ON bookings (hold_id) WHERE hold_id IS NOT NULL;
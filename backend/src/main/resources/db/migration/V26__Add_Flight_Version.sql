@@ -0,0 +1,2 @@
+-- Optimistic versioning for flight seat inventory (group bookings update it with a conditional UPDATE).
+ALTER TABLE flight ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,41 @@
+-- Normalized seat ownership: one row per booked seat instead of the comma-joined bookings.seat_number.
+CREATE TABLE IF NOT EXISTS booking_seat (
+    tenant_id   VARCHAR(255) NOT NULL,
+    flight_id   BIGINT       NOT NULL REFERENCES flight (id) ON DELETE CASCADE,
+    seat_number VARCHAR(16)  NOT NULL,
+    booking_id  BIGINT       NOT NULL REFERENCES bookings (id) ON DELETE CASCADE,
+    PRIMARY KEY (tenant_id, flight_id, seat_number)
+);
+
+CREATE INDEX IF NOT EXISTS idx_booking_seat_booking_id ON booking_seat (booking_id);
+
+-- Backfill. bookings.flight_number holds either a flight number or, from the web client, the flight id;
+-- a flight number is only used when it identifies a single flight of the tenant.
+-- If several bookings claim the same seat, the most recent one keeps it.
+WITH resolved AS (
+    SELECT b.id AS booking_id,
+           b.tenant_id,
+           b.seat_number,
+           b.booking_time,
+           COALESCE(
+               (SELECT f.id FROM flight f
+                WHERE f.tenant_id = b.tenant_id AND f.id::text = b.flight_number),
+               (SELECT MIN(f.id) FROM flight f
+                WHERE f.tenant_id = b.tenant_id AND f.flight_number = b.flight_number
+                HAVING COUNT(*) = 1)
+           ) AS flight_id
+    FROM bookings b
+    WHERE b.seat_number IS NOT NULL
+      AND COALESCE(b.status, '') NOT IN ('CANCELLED', 'EXPIRED')
+)
+INSERT INTO booking_seat (tenant_id, flight_id, seat_number, booking_id)
+SELECT DISTINCT ON (r.tenant_id, r.flight_id, s.seat_number)
+       r.tenant_id, r.flight_id, s.seat_number, r.booking_id
+FROM resolved r
+CROSS JOIN LATERAL (
+    SELECT upper(trim(x)) AS seat_number FROM unnest(string_to_array(r.seat_number, ',')) AS x
+) s
+WHERE r.flight_id IS NOT NULL
+  AND s.seat_number <> ''
+ORDER BY r.tenant_id, r.flight_id, s.seat_number, r.booking_time DESC NULLS LAST, r.booking_id DESC
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,13 @@
+-- Stored responses for POST requests sent with an Idempotency-Key header.
+-- response_body stays NULL while the first request is still being processed.
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    tenant_id     VARCHAR(255) NOT NULL,
+    scope         VARCHAR(64)  NOT NULL,
+    idem_key      VARCHAR(255) NOT NULL,
+    request_hash  VARCHAR(64)  NOT NULL,
+    response_body TEXT,
+    expires_at    TIMESTAMP    NOT NULL,
+    PRIMARY KEY (tenant_id, scope, idem_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,14 @@
+-- Indexes backing the cursor-paginated listings: each page is a range scan on (tenant_id, sort key, id).
+CREATE INDEX IF NOT EXISTS idx_flight_tenant_id ON flight (tenant_id, id);
+CREATE INDEX IF NOT EXISTS idx_flight_tenant_date ON flight (tenant_id, flight_date, id);
+CREATE INDEX IF NOT EXISTS idx_flight_tenant_number ON flight (tenant_id, flight_number, id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_tenant_id ON bookings (tenant_id, id);
+CREATE INDEX IF NOT EXISTS idx_bookings_tenant_time ON bookings (tenant_id, booking_time, id);
+
+CREATE INDEX IF NOT EXISTS idx_passengers_tenant_id ON passengers (tenant_id, id);
+CREATE INDEX IF NOT EXISTS idx_passengers_tenant_name ON passengers (tenant_id, full_name, id);
+
+CREATE INDEX IF NOT EXISTS idx_payments_tenant_id ON payments (tenant_id, id);
+CREATE INDEX IF NOT EXISTS idx_payments_tenant_time ON payments (tenant_id, payment_time, id);
+CREATE INDEX IF NOT EXISTS idx_payments_tenant_amount ON payments (tenant_id, amount, id);
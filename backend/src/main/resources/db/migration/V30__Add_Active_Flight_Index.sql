@@ -0,0 +1,3 @@
+-- Flights the status scheduler still has to move forward; completed history stays out of the index.
+CREATE INDEX IF NOT EXISTS idx_flight_active_date ON flight (flight_date)
+    WHERE flight_status IS NULL OR flight_status NOT IN ('LANDED', 'CANCELLED', 'DIVERTED');
@@ -0,0 +1,4 @@
+-- Set-based status sweeps filter active flights on date and departure time; replaces the date-only index.
+DROP INDEX IF EXISTS idx_flight_active_date;
+CREATE INDEX IF NOT EXISTS idx_flight_active_schedule ON flight (flight_date, departure_time)
+    WHERE flight_status IS NULL OR flight_status NOT IN ('LANDED', 'CANCELLED', 'DIVERTED');
@@ -0,0 +1,8 @@
+-- Leases of scheduled jobs, so that each job (or job shard) runs on one instance at a time.
+-- A lease is free once locked_until has passed; times are taken from the database clock.
+CREATE TABLE IF NOT EXISTS scheduler_lock (
+    name         VARCHAR(128) PRIMARY KEY,
+    locked_until TIMESTAMP    NOT NULL,
+    locked_at    TIMESTAMP    NOT NULL,
+    locked_by    VARCHAR(255) NOT NULL
+);
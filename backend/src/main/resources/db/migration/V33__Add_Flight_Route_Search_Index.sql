@@ -0,0 +1,4 @@
+-- Route search (/api/flights/filter) matches airports case-insensitively with lower() inside one tenant
+-- and a date range; the trailing departure_time lets the index also return rows in the requested order.
+CREATE INDEX IF NOT EXISTS idx_flight_route_search
+    ON flight (tenant_id, lower(departure_airport), lower(arrival_airport), flight_date, departure_time);
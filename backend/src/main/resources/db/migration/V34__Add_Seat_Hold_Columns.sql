@@ -0,0 +1,8 @@
+-- A held seat is written like a booked one, plus the hold it belongs to and when that hold expires, so
+-- holds survive restarts and are visible to every instance. Confirming a hold clears both columns;
+-- expiring or releasing it deletes the rows.
+ALTER TABLE seat ADD COLUMN IF NOT EXISTS hold_id VARCHAR(36);
+ALTER TABLE seat ADD COLUMN IF NOT EXISTS hold_expires_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_seat_hold_id ON seat (hold_id) WHERE hold_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_seat_hold_expires_at ON seat (hold_expires_at) WHERE hold_expires_at IS NOT NULL;
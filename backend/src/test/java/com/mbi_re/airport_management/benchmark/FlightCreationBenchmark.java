@@ -0,0 +1,89 @@
+package com.mbi_re.airport_management.benchmark;
+
+import com.mbi_re.airport_management.dto.FlightDTO;
+import com.mbi_re.airport_management.model.Airline;
+import com.mbi_re.airport_management.model.FlightStatus;
+import com.mbi_re.airport_management.repository.AirlineRepository;
+import com.mbi_re.airport_management.service.FlightService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures how many flights per second {@link FlightService#addFlight} can create
+ * for narrow-body and wide-body layouts. Seat maps are derived from the layout, so the
+ * cost should no longer grow with the number of seats.
+ * <p>
+ * Runs against the datasource configured in application.properties and is skipped unless
+ * started with {@code mvn test -Dtest=FlightCreationBenchmark -Dbenchmark=true}.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class FlightCreationBenchmark {
+
+    private static final String TENANT = "benchmark";
+    private static final int WARMUP_FLIGHTS = 10;
+    private static final int MEASURED_FLIGHTS = 50;
+
+    @Autowired
+    private FlightService flightService;
+    @Autowired
+    private AirlineRepository airlineRepository;
+
+    private Airline airline;
+    private final List<Long> createdFlights = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Airline benchmarkAirline = new Airline();
+        benchmarkAirline.setName("Benchmark Air " + System.nanoTime());
+        benchmarkAirline.setTenantId(TENANT);
+        airline = airlineRepository.save(benchmarkAirline);
+    }
+
+    @AfterEach
+    void tearDown() {
+        createdFlights.forEach(id -> flightService.deleteFlight(id, TENANT));
+        airlineRepository.delete(airline);
+    }
+
+    @Test
+    void flightsCreatedPerSecond() {
+        for (int seats : new int[]{150, 300, 500}) {
+            createFlights(WARMUP_FLIGHTS, seats);
+
+            long start = System.nanoTime();
+            createFlights(MEASURED_FLIGHTS, seats);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            System.out.printf("addFlight with %d seats: %.1f flights/s (%.2f ms/flight)%n",
+                    seats, MEASURED_FLIGHTS / seconds, seconds * 1000 / MEASURED_FLIGHTS);
+        }
+    }
+
+    private void createFlights(int count, int seats) {
+        for (int i = 0; i < count; i++) {
+            FlightDTO dto = new FlightDTO();
+            dto.setFlightNumber("BM" + seats + "-" + i);
+            dto.setDepartureAirport("PRN");
+            dto.setArrivalAirport("IST");
+            dto.setDepartureTime(LocalTime.of(10, 0));
+            dto.setArrivalTime(LocalTime.of(12, 0));
+            dto.setFlightDate(LocalDate.now().plusDays(30));
+            dto.setAvailableSeat(seats);
+            dto.setPrice(100.0);
+            dto.setFlightStatus(FlightStatus.SCHEDULED);
+            dto.setTenantId(TENANT);
+            dto.setAirlineId(airline.getId());
+            createdFlights.add(flightService.addFlight(dto).getId());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.mbi_re.airport_management.benchmark;
+
+import com.mbi_re.airport_management.model.Announcement;
+import com.mbi_re.airport_management.model.Passenger;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.function.IntFunction;
+
+/**
+ * Compares write throughput of an entity with pooled sequence ids ({@link Passenger})
+ * against one that still uses IDENTITY ({@link Announcement}). Both rows are similar in size;
+ * the difference is that Hibernate can batch the former but must round-trip per row for the latter.
+ * <p>
+ * Skipped unless started with {@code mvn test -Dtest=IdGenerationBenchmark -Dbenchmark=true}.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class IdGenerationBenchmark {
+
+    private static final String TENANT = "benchmark";
+    private static final int ROWS_PER_TRANSACTION = 1_000;
+    private static final int TRANSACTIONS = 20;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("DELETE FROM Passenger p WHERE p.tenantId = :t")
+                    .setParameter("t", TENANT).executeUpdate();
+            entityManager.createQuery("DELETE FROM Announcement a WHERE a.tenantId = :t")
+                    .setParameter("t", TENANT).executeUpdate();
+        });
+    }
+
+    @Test
+    void pooledSequenceVersusIdentity() {
+        IntFunction<Object> passenger = i -> new Passenger(null, "Passenger " + i, "p" + i + "@example.com",
+                "+38344000000", 30L, TENANT);
+        IntFunction<Object> announcement = i -> {
+            Announcement a = new Announcement();
+            a.setTitle("Announcement " + i);
+            a.setMessage("p" + i + "@example.com");
+            a.setCreatedAt(LocalDateTime.now());
+            a.setTenantId(TENANT);
+            return a;
+        };
+
+        // warm up both paths before measuring
+        measure(passenger, 2);
+        measure(announcement, 2);
+
+        double pooled = measure(passenger, TRANSACTIONS);
+        double identity = measure(announcement, TRANSACTIONS);
+
+        System.out.printf("SEQUENCE (pooled, batched): %.0f rows/s%n", pooled);
+        System.out.printf("IDENTITY (unbatched):       %.0f rows/s%n", identity);
+        System.out.printf("speed-up: %.1fx%n", pooled / identity);
+    }
+
+    private double measure(IntFunction<Object> factory, int transactions) {
+        long start = System.nanoTime();
+        for (int t = 0; t < transactions; t++) {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                    entityManager.persist(factory.apply(i));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return transactions * ROWS_PER_TRANSACTION / seconds;
+    }
+}
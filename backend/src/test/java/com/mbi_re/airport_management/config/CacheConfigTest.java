@@ -0,0 +1,231 @@
+package com.mbi_re.airport_management.config;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import com.mbi_re.airport_management.dto.CacheStatsDTO;
+import com.mbi_re.airport_management.dto.FaqDTO;
+import com.mbi_re.airport_management.service.CacheStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    private final CaffeineCacheManager cacheManager = CacheConfig.cacheManager(CacheConfig.DEFAULT_SPEC,
+            Map.of("flights_all", "maximumWeight=10,expireAfterWrite=1m"));
+
+    @Test
+    void testCacheManager_AppliesDefaultAndCustomPolicies() {
+        Policy<Object, Object> defaults = nativeCache("bookings").policy();
+        assertEquals(500, defaults.eviction().orElseThrow().getMaximum());
+        assertEquals(Duration.ofMinutes(10), defaults.expireAfterWrite().orElseThrow().getExpiresAfter());
+
+        Policy<Object, Object> custom = nativeCache("flights_all").policy();
+        assertTrue(custom.eviction().orElseThrow().isWeighted());
+        assertEquals(10, custom.eviction().orElseThrow().getMaximum());
+        assertEquals(Duration.ofMinutes(1), custom.expireAfterWrite().orElseThrow().getExpiresAfter());
+    }
+
+    @Test
+    void testCacheManager_WeighsListsByTheirSize() {
+        Cache cache = cacheManager.getCache("flights_all");
+        cache.put("tenantA", List.of(1, 2, 3, 4, 5, 6));
+        cache.put("tenantB", List.of(1, 2, 3, 4, 5, 6));
+        nativeCache("flights_all").cleanUp();
+
+        assertEquals(1, nativeCache("flights_all").estimatedSize());
+    }
+
+    @Test
+    void testCacheStats_ReportHitsAndMisses() {
+        Cache cache = cacheManager.getCache("bookings");
+        cache.get("tenantA_all");
+        cache.put("tenantA_all", List.of());
+        cache.get("tenantA_all");
+
+        CacheStatsDTO stats = new CacheStatsService(cacheManager).getStats().stream()
+                .filter(entry -> entry.getName().equals("bookings"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    void testCacheManager_RejectsInvalidSpec() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CacheConfig.cacheManager(CacheConfig.DEFAULT_SPEC, Map.of("bookings", "maximumSize=ten")));
+    }
+
+    @Test
+    void testSynchronizedGet_LoadsOncePerKey() throws Exception {
+        Cache cache = cacheManager.getCache("bookings");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<Integer>>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(callers.submit(() -> cache.get("tenantA_all", () -> {
+                    loads.incrementAndGet();
+                    loading.countDown();
+                    release.await();
+                    return List.of(1);
+                })));
+            }
+            loading.await();
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<List<Integer>> result : results) {
+                assertEquals(List.of(1), result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testStaleWhileRevalidate_ServesEvictedValueUntilReloaded() {
+        List<Runnable> reloads = new ArrayList<>();
+        Cache cache = CacheConfig.cacheManager(CacheConfig.DEFAULT_SPEC, Map.of(), Set.of("bookings"), reloads::add)
+                .getCache("bookings");
+        cache.put("tenantA", List.of(1));
+        cache.evict("tenantA");
+
+        assertNull(cache.get("tenantA"));
+        assertEquals(List.of(1), cache.get("tenantA", () -> List.of(1, 2)));
+        assertEquals(List.of(1), cache.get("tenantA", () -> List.of(1, 2, 3)));
+        assertEquals(1, reloads.size());
+
+        reloads.get(0).run();
+
+        assertEquals(List.of(1, 2), cache.get("tenantA", () -> List.of()));
+    }
+
+    @Test
+    void testStaleWhileRevalidate_EvictionDuringReloadKeepsEntryStale() {
+        List<Runnable> reloads = new ArrayList<>();
+        Cache cache = CacheConfig.cacheManager(CacheConfig.DEFAULT_SPEC, Map.of(), Set.of("bookings"), reloads::add)
+                .getCache("bookings");
+        cache.put("tenantA", List.of(1));
+        cache.evict("tenantA");
+        cache.get("tenantA", () -> List.of(1, 2));
+
+        cache.evict("tenantA");
+        reloads.get(0).run();
+
+        assertEquals(List.of(1), cache.get("tenantA", () -> List.of(1, 2, 3)));
+        assertEquals(2, reloads.size());
+    }
+
+    @Test
+    void testStaleWhileRevalidate_MarksStaleOnlyAfterCommit() {
+        List<Runnable> reloads = new ArrayList<>();
+        Cache cache = CacheConfig.cacheManager(CacheConfig.DEFAULT_SPEC, Map.of(), Set.of("bookings"), reloads::add)
+                .getCache("bookings");
+        cache.put("tenantA", List.of(1));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evict("tenantA");
+            cache.clear();
+            assertEquals(List.of(1), cache.get("tenantA", () -> List.of(1, 2)));
+            assertTrue(reloads.isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNull(cache.get("tenantA"));
+        assertEquals(List.of(1), cache.get("tenantA", () -> List.of(1, 2)));
+        assertEquals(1, reloads.size());
+    }
+
+    @Test
+    void testStaleWhileRevalidate_ReloadsInCallerTenant() throws Exception {
+        ExecutorService reloadExecutor = Executors.newSingleThreadExecutor();
+        try {
+            Cache cache = CacheConfig.cacheManager(CacheConfig.DEFAULT_SPEC, Map.of(), Set.of("bookings"), reloadExecutor)
+                    .getCache("bookings");
+            cache.put("tenanta_all", List.of());
+            cache.clear();
+            CompletableFuture<String> reloadTenant = new CompletableFuture<>();
+
+            TenantContext.setTenantId("tenantA");
+            try {
+                cache.get("tenanta_all", () -> {
+                    reloadTenant.complete(TenantContext.getTenantId());
+                    return List.of();
+                });
+            } finally {
+                TenantContext.clear();
+            }
+
+            assertEquals("tenanta", reloadTenant.get(5, TimeUnit.SECONDS));
+        } finally {
+            reloadExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testKeyedCollection_PatchesElementsInPlace() {
+        Cache cache = cacheManager.getCache("faqs");
+        cache.get("tenantA", () -> List.of(faq(1L, "Q1"), faq(2L, "Q2")));
+
+        cache.put("tenantA", faq(2L, "Q2 updated"));
+        cache.put("tenantA", faq(3L, "Q3"));
+        KeyedCollectionCache.remove(cache, "tenantA", 1L);
+
+        List<?> faqs = cache.get("tenantA", List.class);
+        assertEquals(List.of(faq(2L, "Q2 updated"), faq(3L, "Q3")), faqs);
+        assertEquals(3, ((KeyedCollectionCache.KeyedList) faqs).getVersion());
+    }
+
+    @Test
+    void testKeyedCollection_LeavesMissingEntriesToTheNextLoad() {
+        Cache cache = cacheManager.getCache("faqs");
+
+        cache.put("tenantA", faq(1L, "Q1"));
+        KeyedCollectionCache.remove(cache, "tenantA", 1L);
+
+        assertNull(cache.get("tenantA"));
+    }
+
+    @Test
+    void testKeyedCollection_EvictsWhenElementHasNoKey() {
+        Cache cache = cacheManager.getCache("faqs");
+        cache.put("tenantA", List.of(faq(1L, "Q1")));
+
+        cache.put("tenantA", faq(null, "Q2"));
+
+        assertNull(cache.get("tenantA"));
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+
+    private static FaqDTO faq(Long id, String question) {
+        FaqDTO faq = new FaqDTO();
+        faq.setId(id);
+        faq.setQuestion(question);
+        return faq;
+    }
+}
@@ -7,7 +7,10 @@ import com.mbi_re.airport_management.model.FlightStatus;
 import com.mbi_re.airport_management.repository.FlightRepository;
 import com.mbi_re.airport_management.security.JwtAuthenticationFilter;
 import com.mbi_re.airport_management.security.JwtService;
+import com.mbi_re.airport_management.service.CurrencyConverterService;
+import com.mbi_re.airport_management.service.FareCalendarService;
 import com.mbi_re.airport_management.service.FlightService;
+import com.mbi_re.airport_management.service.ItineraryService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -42,6 +45,12 @@ public class FlightControllerTest {
     @MockBean
     private FlightService flightService;
     @MockBean
+    private ItineraryService itineraryService;
+    @MockBean
+    private FareCalendarService fareCalendarService;
+    @MockBean
+    private CurrencyConverterService currencyConverterService;
+    @MockBean
     private JwtService jwtService;
     @MockBean
     private JwtAuthenticationFilter jwtAuthenticationFilter;
@@ -2,11 +2,24 @@ package com.mbi_re.airport_management.service;
 
 import com.mbi_re.airport_management.config.TenantContext;
 import com.mbi_re.airport_management.dto.BookingDTO;
+import com.mbi_re.airport_management.dto.GroupBookingDTO;
+import com.mbi_re.airport_management.dto.SeatHoldDTO;
+import com.mbi_re.airport_management.event.FlightSeatsSoldEvent;
+import com.mbi_re.airport_management.event.SeatHoldExpiredEvent;
 import com.mbi_re.airport_management.model.Booking;
+import com.mbi_re.airport_management.model.Flight;
+import com.mbi_re.airport_management.model.BookingSeat;
 import com.mbi_re.airport_management.repository.BookingRepository;
+import com.mbi_re.airport_management.repository.BookingSeatRepository;
+import com.mbi_re.airport_management.repository.FlightRepository;
+import com.mbi_re.airport_management.repository.SeatRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -18,11 +31,24 @@ class BookingServiceTest {
 
     private BookingService bookingService;
     private BookingRepository bookingRepository;
+    private SeatHoldService seatHoldService;
+    private FlightRepository flightRepository;
+    private SeatRepository seatRepository;
+    private SeatInventory seatInventory;
+    private BookingSeatRepository bookingSeatRepository;
+    private ApplicationEventPublisher eventPublisher;
 
     @BeforeEach
     void setUp() {
         bookingRepository = mock(BookingRepository.class);
-        bookingService = new BookingService(bookingRepository);
+        seatHoldService = mock(SeatHoldService.class);
+        flightRepository = mock(FlightRepository.class);
+        seatRepository = mock(SeatRepository.class);
+        bookingSeatRepository = mock(BookingSeatRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        seatInventory = new SeatInventory(seatRepository, flightRepository);
+        bookingService = new BookingService(bookingRepository, seatHoldService, seatInventory,
+                flightRepository, bookingSeatRepository, eventPublisher);
     }
 
     @Test
@@ -160,7 +186,221 @@ class BookingServiceTest {
 
             bookingService.deleteBooking(888L);
 
-            verify(bookingRepository, never()).delete(any());
+            verify(bookingRepository, never()).delete(any(Booking.class));
         }
     }
+
+    @Test
+    void testCreateBooking_WithHoldIsPending() {
+        BookingDTO dto = new BookingDTO();
+        dto.setFlightNumber("LH123");
+        dto.setPassengerName("John Doe");
+        dto.setHoldId("hold-1");
+
+        when(seatHoldService.getHold("hold-1", "tenant1"))
+                .thenReturn(Optional.of(new SeatHoldDTO("hold-1", 1L, List.of("A1", "A2"), LocalDateTime.now())));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Booking result = bookingService.createBooking(dto, "tenant1");
+
+        assertEquals("PENDING", result.getStatus());
+        assertEquals("A1,A2", result.getSeatNumber());
+        assertEquals("hold-1", result.getHoldId());
+    }
+
+    @Test
+    void testConfirmBooking_SellsHeldSeats() {
+        try (MockedStatic<TenantContext> mocked = mockStatic(TenantContext.class)) {
+            mocked.when(TenantContext::getTenantId).thenReturn("tenant8");
+
+            Booking booking = new Booking();
+            booking.setId(4L);
+            booking.setStatus("PENDING");
+            booking.setHoldId("hold-1");
+
+            when(bookingRepository.findByIdAndTenantId(4L, "tenant8")).thenReturn(Optional.of(booking));
+            when(bookingRepository.save(booking)).thenReturn(booking);
+            when(seatHoldService.confirm("hold-1", "tenant8"))
+                    .thenReturn(new SeatHoldDTO("hold-1", 3L, List.of("A1", "A2"), LocalDateTime.now()));
+            when(flightRepository.decrementAvailableSeats(3L, "tenant8", 2)).thenReturn(1);
+
+            assertEquals("PAID", bookingService.confirmBooking(4L).orElseThrow().getStatus());
+            verify(eventPublisher).publishEvent(new FlightSeatsSoldEvent(3L, "tenant8", 2));
+        }
+    }
+
+    @Test
+    void testConfirmBooking_ExpiredHold() {
+        try (MockedStatic<TenantContext> mocked = mockStatic(TenantContext.class)) {
+            mocked.when(TenantContext::getTenantId).thenReturn("tenant8");
+
+            Booking booking = new Booking();
+            booking.setId(5L);
+            booking.setStatus("PENDING");
+            booking.setHoldId("hold-2");
+
+            when(bookingRepository.findByIdAndTenantId(5L, "tenant8")).thenReturn(Optional.of(booking));
+            when(seatHoldService.confirm("hold-2", "tenant8"))
+                    .thenThrow(new ResponseStatusException(HttpStatus.CONFLICT, "Seat hold expired or not found"));
+
+            assertThrows(ResponseStatusException.class, () -> bookingService.confirmBooking(5L));
+            assertEquals("PENDING", booking.getStatus());
+            verify(bookingRepository, never()).save(booking);
+            verify(flightRepository, never()).decrementAvailableSeats(any(), any(), anyInt());
+        }
+    }
+
+    @Test
+    void testOnSeatHoldExpired_MarksPendingBookingExpired() {
+        Booking booking = new Booking();
+        booking.setStatus("PENDING");
+
+        when(bookingRepository.findByHoldIdAndTenantId("hold-3", "tenant9")).thenReturn(Optional.of(booking));
+
+        bookingService.onSeatHoldExpired(new SeatHoldExpiredEvent("hold-3", "tenant9"));
+
+        assertEquals("EXPIRED", booking.getStatus());
+        verify(bookingRepository).save(booking);
+    }
+
+    @Test
+    void testCreateGroupBooking_BooksAllSeats() {
+        mockFlight();
+        when(flightRepository.decrementAvailableSeats(3L, "tenantG", 3)).thenReturn(1);
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Booking result = bookingService.createGroupBooking(groupBooking("A1", "A2", "A3"), "tenantG");
+
+        assertEquals("PAID", result.getStatus());
+        assertEquals("A1,A2,A3", result.getSeatNumber());
+        assertEquals("FL300", result.getFlightNumber());
+        verify(seatRepository).saveBookedSeats(argThat(seats -> seats.size() == 3));
+        verify(bookingSeatRepository).saveAllAndFlush(argThat((List<BookingSeat> seats) -> seats.size() == 3
+                && seats.get(0).getFlightId() == 3L && seats.get(0).getSeatNumber().equals("A1")));
+        assertTrue(seatInventory.get(3L, "tenantG").orElseThrow().isBooked(2));
+        verify(eventPublisher).publishEvent(new FlightSeatsSoldEvent(3L, "tenantG", 3));
+    }
+
+    @Test
+    void testCreateGroupBooking_NotEnoughSeatsReleasesReservation() {
+        mockFlight();
+        when(flightRepository.decrementAvailableSeats(3L, "tenantG", 2)).thenReturn(0);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () ->
+                bookingService.createGroupBooking(groupBooking("A1", "A2"), "tenantG"));
+
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        assertFalse(seatInventory.get(3L, "tenantG").orElseThrow().isBooked(0));
+        verify(seatRepository, never()).saveBookedSeats(any());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void testCreateGroupBooking_SeatTakenRejectsWholeGroup() {
+        mockFlight();
+        seatInventory.claim(seatInventory.get(3L, "tenantG").orElseThrow(), 1);
+
+        assertThrows(ResponseStatusException.class, () ->
+                bookingService.createGroupBooking(groupBooking("A1", "A2", "A3"), "tenantG"));
+
+        assertFalse(seatInventory.get(3L, "tenantG").orElseThrow().isBooked(0));
+        verify(flightRepository, never()).decrementAvailableSeats(any(), any(), anyInt());
+    }
+
+    @Test
+    void testCreateBooking_ClaimsAndLinksSeatsOfFlightGivenById() {
+        Flight flight = new Flight();
+        flight.setId(12L);
+        flight.setTenantId("tenant1");
+        flight.setSeatCapacity(12);
+        flight.setSeatsPerRow(6);
+        when(flightRepository.findByIdAndTenantId(12L, "tenant1")).thenReturn(Optional.of(flight));
+        when(flightRepository.findById(12L)).thenReturn(Optional.of(flight));
+        when(flightRepository.decrementAvailableSeats(12L, "tenant1", 2)).thenReturn(1);
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(40L);
+            return booking;
+        });
+
+        BookingDTO dto = new BookingDTO();
+        dto.setFlightNumber("12");
+        dto.setSeatNumber("a1, A2,A1");
+        bookingService.createBooking(dto, "tenant1");
+
+        verify(seatRepository).saveBookedSeats(argThat(seats -> seats.size() == 2));
+        assertTrue(seatInventory.get(12L, "tenant1").orElseThrow().isBooked(1));
+        verify(eventPublisher).publishEvent(new FlightSeatsSoldEvent(12L, "tenant1", 2));
+        verify(bookingSeatRepository).saveAllAndFlush(argThat((List<BookingSeat> seats) -> seats.size() == 2
+                && seats.get(1).getSeatNumber().equals("A2") && seats.get(1).getBookingId() == 40L));
+    }
+
+    @Test
+    void testCreateBooking_SeatTakenIsConflict() {
+        mockFlight();
+        when(flightRepository.findByIdAndTenantId(3L, "tenantG"))
+                .thenAnswer(invocation -> flightRepository.findById(3L));
+        seatInventory.claim(seatInventory.get(3L, "tenantG").orElseThrow(), 0);
+
+        BookingDTO dto = new BookingDTO();
+        dto.setFlightNumber("3");
+        dto.setSeatNumber("A1");
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () ->
+                bookingService.createBooking(dto, "tenantG"));
+
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        verify(flightRepository, never()).decrementAvailableSeats(any(), any(), anyInt());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void testCreateBooking_SeatOfOtherBookingIsConflict() {
+        BookingDTO dto = new BookingDTO();
+        dto.setHoldId("hold-4");
+
+        when(seatHoldService.getHold("hold-4", "tenant1"))
+                .thenReturn(Optional.of(new SeatHoldDTO("hold-4", 1L, List.of("A1"), LocalDateTime.now())));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bookingSeatRepository.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates \"booking_seat_pkey\""));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () ->
+                bookingService.createBooking(dto, "tenant1"));
+
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+    }
+
+    @Test
+    void testGetSeatOwner() {
+        try (MockedStatic<TenantContext> mocked = mockStatic(TenantContext.class)) {
+            mocked.when(TenantContext::getTenantId).thenReturn("tenant1");
+
+            Booking booking = new Booking();
+            booking.setId(40L);
+            when(bookingSeatRepository.findByTenantIdAndFlightIdAndSeatNumber("tenant1", 12L, "C12"))
+                    .thenReturn(Optional.of(new BookingSeat("tenant1", 12L, "C12", 40L)));
+            when(bookingRepository.findByIdAndTenantId(40L, "tenant1")).thenReturn(Optional.of(booking));
+
+            assertSame(booking, bookingService.getSeatOwner(12L, "c12").orElseThrow());
+            assertTrue(bookingService.getSeatOwner(12L, "C13").isEmpty());
+        }
+    }
+
+    private void mockFlight() {
+        Flight flight = new Flight();
+        flight.setId(3L);
+        flight.setFlightNumber("FL300");
+        flight.setTenantId("tenantG");
+        flight.setSeatCapacity(12);
+        flight.setSeatsPerRow(6);
+        when(flightRepository.findById(3L)).thenReturn(Optional.of(flight));
+    }
+
+    private GroupBookingDTO groupBooking(String... seatNumbers) {
+        GroupBookingDTO dto = new GroupBookingDTO();
+        dto.setFlightId(3L);
+        dto.setSeatNumbers(List.of(seatNumbers));
+        dto.setPassengerName("Family Doe");
+        return dto;
+    }
 }
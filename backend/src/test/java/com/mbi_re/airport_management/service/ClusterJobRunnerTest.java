@@ -0,0 +1,102 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.repository.SchedulerLockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ClusterJobRunnerTest {
+
+    private static final Duration AT_MOST = Duration.ofMinutes(5);
+    private static final Duration AT_LEAST = Duration.ofSeconds(10);
+
+    @Mock
+    private SchedulerLockRepository lockRepository;
+
+    private ClusterJobRunner jobRunner;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        jobRunner = new ClusterJobRunner(lockRepository, "node-1");
+        when(lockRepository.tryLock(anyString(), anyString(), anyLong())).thenReturn(1);
+    }
+
+    @Test
+    void testRunExclusive_RunsAndReleasesWhenLockIsAcquired() {
+        AtomicInteger runs = new AtomicInteger();
+
+        assertTrue(jobRunner.runExclusive("job", AT_MOST, AT_LEAST, runs::incrementAndGet));
+
+        assertEquals(1, runs.get());
+        verify(lockRepository).tryLock("job", "node-1", AT_MOST.toMillis());
+        verify(lockRepository).unlock("job", "node-1", AT_LEAST.toMillis());
+    }
+
+    @Test
+    void testRunExclusive_SkipsWhenLockIsHeldOrUnavailable() {
+        when(lockRepository.tryLock(eq("held"), anyString(), anyLong())).thenReturn(0);
+        when(lockRepository.tryLock(eq("broken"), anyString(), anyLong())).thenThrow(new RuntimeException("db down"));
+        AtomicInteger runs = new AtomicInteger();
+
+        assertFalse(jobRunner.runExclusive("held", AT_MOST, AT_LEAST, runs::incrementAndGet));
+        assertFalse(jobRunner.runExclusive("broken", AT_MOST, AT_LEAST, runs::incrementAndGet));
+
+        assertEquals(0, runs.get());
+        verify(lockRepository, never()).unlock(anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    void testRunExclusive_ReleasesWhenJobFails() {
+        assertThrows(IllegalStateException.class, () -> jobRunner.runExclusive("job", AT_MOST, AT_LEAST, () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        verify(lockRepository).unlock("job", "node-1", AT_LEAST.toMillis());
+    }
+
+    @Test
+    void testRunSharded_RunsOnlyShardsWhoseLockIsAcquired() {
+        when(lockRepository.tryLock(eq("job:1/3"), anyString(), anyLong())).thenReturn(0);
+        List<ClusterJobRunner.Shard> ran = new ArrayList<>();
+
+        assertEquals(2, jobRunner.runSharded("job", 3, AT_MOST, AT_LEAST, ran::add));
+
+        assertEquals(2, ran.size());
+        assertTrue(ran.contains(new ClusterJobRunner.Shard(0, 3)));
+        assertTrue(ran.contains(new ClusterJobRunner.Shard(2, 3)));
+        assertThrows(IllegalArgumentException.class,
+                () -> jobRunner.runSharded("job", 0, AT_MOST, AT_LEAST, ran::add));
+    }
+
+    @Test
+    void testRelease_FreesShardLeaseRightAway() {
+        jobRunner.release("job", new ClusterJobRunner.Shard(1, 3));
+
+        verify(lockRepository).unlock("job:1/3", "node-1", 0);
+    }
+
+    @Test
+    void testShard_AssignsEachTenantToExactlyOneShard() {
+        for (String tenant : List.of("tenantA", "tenantB", "tenantC", "x")) {
+            int owners = 0;
+            for (int i = 0; i < 4; i++) {
+                if (new ClusterJobRunner.Shard(i, 4).owns(tenant)) {
+                    owners++;
+                }
+            }
+            assertEquals(1, owners, tenant);
+        }
+        assertTrue(new ClusterJobRunner.Shard(0, 1).owns("tenantA"));
+    }
+}
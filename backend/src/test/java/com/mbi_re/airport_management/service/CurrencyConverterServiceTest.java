@@ -0,0 +1,105 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.config.TenantContext;
+import com.mbi_re.airport_management.dto.FareCalendarDayDTO;
+import com.mbi_re.airport_management.dto.FlightDTO;
+import com.mbi_re.airport_management.repository.CurrencyRateRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CurrencyConverterServiceTest {
+
+    @Mock
+    private CurrencyRateRepository currencyRateRepository;
+
+    @Mock
+    private CurrencyRateTable currencyRateTable;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private CurrencyConverterService currencyConverterService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(currencyConverterService, "priceCurrency", "USD");
+        TenantContext.setTenantId("tenant1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void testConvertAll_ReadsRatesOnce() {
+        when(currencyRateTable.factor("tenant1", "EUR", "USD")).thenReturn(2.0);
+
+        double[] converted = currencyConverterService.convertAll("EUR", "USD", new double[]{1.0, 2.5, 10.0});
+
+        assertArrayEquals(new double[]{2.0, 5.0, 20.0}, converted, 1e-9);
+        verify(currencyRateTable, times(1)).factor("tenant1", "EUR", "USD");
+    }
+
+    @Test
+    void testConvertAll_UnknownCurrencyIsBadRequest() {
+        when(currencyRateTable.factor("tenant1", "XYZ", "USD"))
+                .thenThrow(new IllegalArgumentException("Currency not found: XYZ"));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> currencyConverterService.convertAll("XYZ", "USD", new double[]{1.0}));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        assertEquals("Currency not found: XYZ", ex.getReason());
+    }
+
+    @Test
+    void testConvertFlightPrices_LeavesOriginalsUntouched() {
+        when(currencyRateTable.factor("tenant1", "USD", "EUR")).thenReturn(0.5);
+        FlightDTO flight = FlightDTO.builder().id(1L).price(100.0).build();
+
+        List<FlightDTO> converted = currencyConverterService.convertFlightPrices("tenant1", List.of(flight), "EUR");
+
+        assertEquals(50.0, converted.get(0).getPrice(), 1e-9);
+        assertEquals(1L, converted.get(0).getId());
+        assertEquals(100.0, flight.getPrice(), 1e-9);
+    }
+
+    @Test
+    void testConvertFareCalendar_KeepsMissingPrices() {
+        when(currencyRateTable.factor("tenant1", "USD", "EUR")).thenReturn(0.5);
+        LocalDate date = LocalDate.of(2025, 6, 1);
+        List<FareCalendarDayDTO> days = List.of(new FareCalendarDayDTO(date, 80.0, 3L, 1L),
+                new FareCalendarDayDTO(date.plusDays(1), null, 0L, 1L));
+
+        List<FareCalendarDayDTO> converted = currencyConverterService.convertFareCalendar("tenant1", days, "EUR");
+
+        assertEquals(40.0, converted.get(0).getMinPrice(), 1e-9);
+        assertNull(converted.get(1).getMinPrice());
+    }
+
+    @Test
+    void testConvertFlightPrices_UnknownCurrencyIsBadRequest() {
+        when(currencyRateTable.factor("tenant1", "USD", "XYZ"))
+                .thenThrow(new IllegalArgumentException("Currency not found: XYZ"));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> currencyConverterService.convertFlightPrices("tenant1", List.of(), "XYZ"));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    }
+}
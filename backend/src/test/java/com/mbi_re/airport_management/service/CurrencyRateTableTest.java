@@ -0,0 +1,84 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.event.CurrencyRateChangedEvent;
+import com.mbi_re.airport_management.model.CurrencyRate;
+import com.mbi_re.airport_management.repository.CurrencyRateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CurrencyRateTableTest {
+
+    private CurrencyRateRepository currencyRateRepository;
+    private CurrencyRateTable currencyRateTable;
+
+    @BeforeEach
+    void setUp() {
+        currencyRateRepository = mock(CurrencyRateRepository.class);
+        currencyRateTable = new CurrencyRateTable(currencyRateRepository);
+        when(currencyRateRepository.findAllByTenantId("tenantA"))
+                .thenReturn(List.of(rate("USD", 1.0, "tenantA"), rate("EUR", 0.5, "tenantA")));
+        when(currencyRateRepository.findAllByTenantId("tenantB"))
+                .thenReturn(List.of(rate("USD", 1.0, "tenantB"), rate("GBP", 0.8, "tenantB")));
+    }
+
+    @Test
+    void testConvert_LoadsRatesOncePerTenant() {
+        assertEquals(20.0, currencyRateTable.convert("tenantA", "EUR", "USD", 10.0), 1e-9);
+        assertEquals(5.0, currencyRateTable.convert("tenantA", "usd", "eur", 10.0), 1e-9);
+
+        verify(currencyRateRepository, times(1)).findAllByTenantId("tenantA");
+    }
+
+    @Test
+    void testConvert_UnknownCurrencyOfTenant() {
+        currencyRateTable.convert("tenantB", "GBP", "USD", 1.0);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> currencyRateTable.convert("tenantA", "GBP", "USD", 1.0));
+        assertEquals("Currency not found: GBP", ex.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> currencyRateTable.convert("tenantA", "USD", "CHF", 1.0));
+    }
+
+    @Test
+    void testOnRateChanged_ReloadsTenant() {
+        currencyRateTable.convert("tenantA", "EUR", "USD", 1.0);
+        when(currencyRateRepository.findAllByTenantId("tenantA"))
+                .thenReturn(List.of(rate("USD", 1.0, "tenantA"), rate("EUR", 0.25, "tenantA")));
+
+        currencyRateTable.onRateChanged(new CurrencyRateChangedEvent("EUR", "tenantA"));
+
+        assertEquals(40.0, currencyRateTable.convert("tenantA", "EUR", "USD", 10.0), 1e-9);
+    }
+
+    @Test
+    void testOnRateChanged_IgnoresTenantNotLoaded() {
+        currencyRateTable.onRateChanged(new CurrencyRateChangedEvent("EUR", "tenantA"));
+
+        verifyNoInteractions(currencyRateRepository);
+    }
+
+    @Test
+    void testOnRateChanged_DropsOtherTenantsHoldingTheCode() {
+        currencyRateTable.convert("tenantA", "EUR", "USD", 1.0);
+        currencyRateTable.convert("tenantB", "GBP", "USD", 1.0);
+
+        currencyRateTable.onRateChanged(new CurrencyRateChangedEvent("GBP", "tenantA"));
+        currencyRateTable.convert("tenantB", "GBP", "USD", 1.0);
+
+        verify(currencyRateRepository, times(2)).findAllByTenantId("tenantA");
+        verify(currencyRateRepository, times(2)).findAllByTenantId("tenantB");
+    }
+
+    private static CurrencyRate rate(String code, double rateToUSD, String tenantId) {
+        CurrencyRate rate = new CurrencyRate();
+        rate.setCode(code);
+        rate.setRateToUSD(rateToUSD);
+        rate.setTenantId(tenantId);
+        return rate;
+    }
+}
@@ -0,0 +1,117 @@
+package com.mbi_re.airport_management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mbi_re.airport_management.dto.FlightDTO;
+import com.mbi_re.airport_management.model.Booking;
+import com.mbi_re.airport_management.model.Flight;
+import com.mbi_re.airport_management.repository.BookingRepository;
+import com.mbi_re.airport_management.repository.FlightRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ExportServiceTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private FlightService flightService;
+    @Mock
+    private EntityManager entityManager;
+
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ExportService(flightRepository, bookingRepository, flightService, entityManager, objectMapper);
+    }
+
+    private Booking booking(long id, String passengerName) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setPassengerName(passengerName);
+        booking.setFlightNumber("FL100");
+        booking.setSeatNumber("A1");
+        booking.setBookingTime(LocalDateTime.of(2025, 6, 1, 10, 30));
+        booking.setStatus("PAID");
+        return booking;
+    }
+
+    @Test
+    void testExportBookings_NdjsonWritesOneLinePerRowAndDetaches() throws Exception {
+        Booking first = booking(1L, "Ana");
+        Booking second = booking(2L, "Besim");
+        AtomicBoolean closed = new AtomicBoolean();
+        when(bookingRepository.streamByTenantId("tenantA"))
+                .thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportBookings("tenantA", ExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"passengerName\":\"Ana\""));
+        assertTrue(lines[1].contains("\"bookingTime\":\"2025-06-01T10:30:00\""));
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testExportManifest_CsvQuotesSpecialCharacters() throws Exception {
+        when(bookingRepository.streamByFlight("tenantA", 7L))
+                .thenReturn(Stream.of(booking(1L, "Doe, \"JD\" John")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportManifest("tenantA", 7L, ExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals("id,bookingId,passengerName,passengerId,flightNumber,seatNumber,bookingTime,status,checkedIn", lines[0]);
+        assertEquals("1,,\"Doe, \"\"JD\"\" John\",,FL100,A1,2025-06-01T10:30,PAID,false", lines[1]);
+    }
+
+    @Test
+    void testExportFlights_MapsToDtoAndDetaches() throws Exception {
+        Flight flight = new Flight();
+        flight.setId(3L);
+        FlightDTO dto = new FlightDTO();
+        dto.setId(3L);
+        dto.setFlightNumber("FL300");
+        when(flightRepository.streamByTenantId("tenantA")).thenReturn(Stream.of(flight));
+        when(flightService.mapToDTO(flight)).thenReturn(dto);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportFlights("tenantA", ExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].startsWith("3,FL300,"));
+        verify(entityManager).detach(flight);
+    }
+
+    @Test
+    void testFormat_RejectsUnknown() {
+        assertEquals(ExportService.Format.CSV, ExportService.Format.from("CSV"));
+        assertThrows(ResponseStatusException.class, () -> ExportService.Format.from("xml"));
+    }
+}
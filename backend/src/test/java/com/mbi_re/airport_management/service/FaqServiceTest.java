@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.cache.CacheManager;
 
 import java.util.*;
 
@@ -19,6 +20,9 @@ class FaqServiceTest {
     @Mock
     private FaqRepository faqRepository;
 
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private FaqService faqService;
 
@@ -0,0 +1,76 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.dto.FareCalendarDayDTO;
+import com.mbi_re.airport_management.dto.FlightDTO;
+import com.mbi_re.airport_management.event.FlightSeatsSoldEvent;
+import com.mbi_re.airport_management.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FareCalendarServiceTest {
+
+    private static final YearMonth JUNE = YearMonth.of(2025, 6);
+
+    private FlightRepository flightRepository;
+    private Cache cache;
+    private FareCalendarService fareCalendarService;
+
+    @BeforeEach
+    void setUp() {
+        flightRepository = mock(FlightRepository.class);
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+        cache = cacheManager.getCache(FareCalendarService.CACHE);
+        fareCalendarService = new FareCalendarService(flightRepository, cacheManager);
+        cache.put(FareCalendarService.key("tenantA", "PRN", "IST", JUNE), List.of());
+    }
+
+    @Test
+    void testGetFareCalendar_QueriesTheWholeMonth() {
+        List<FareCalendarDayDTO> days = List.of(new FareCalendarDayDTO(LocalDate.of(2025, 6, 3), 89.0, 120L, 2L));
+        when(flightRepository.findFareCalendar("tenantA", "PRN", "IST", JUNE.atDay(1), LocalDate.of(2025, 6, 30)))
+                .thenReturn(days);
+
+        assertEquals(days, fareCalendarService.getFareCalendar("tenantA", "PRN", "IST", JUNE));
+    }
+
+    @Test
+    void testKey_IgnoresAirportCase() {
+        assertEquals("tenantA_PRN_IST_2025-06", FareCalendarService.key("tenantA", " prn", "Ist", JUNE));
+    }
+
+    @Test
+    void testEvict_WaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            fareCalendarService.evict("tenantA", "prn", "ist", LocalDate.of(2025, 6, 20));
+            assertNotNull(cache.get("tenantA_PRN_IST_2025-06"));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertNull(cache.get("tenantA_PRN_IST_2025-06"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testOnSeatsSold_EvictsTheFlightMonth() {
+        when(flightRepository.findSearchFlightById(7L)).thenReturn(Optional.of(FlightDTO.builder()
+                .id(7L).departureAirport("PRN").arrivalAirport("IST").flightDate(LocalDate.of(2025, 6, 9)).build()));
+
+        fareCalendarService.onSeatsSold(new FlightSeatsSoldEvent(7L, "tenantA", 2));
+
+        assertNull(cache.get("tenantA_PRN_IST_2025-06"));
+    }
+}
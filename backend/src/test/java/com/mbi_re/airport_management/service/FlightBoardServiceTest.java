@@ -0,0 +1,146 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.dto.BoardEntryDTO;
+import com.mbi_re.airport_management.event.FlightChangedEvent;
+import com.mbi_re.airport_management.event.FlightStatusChangedEvent;
+import com.mbi_re.airport_management.event.GateAssignmentChangedEvent;
+import com.mbi_re.airport_management.model.*;
+import com.mbi_re.airport_management.repository.FlightRepository;
+import com.mbi_re.airport_management.repository.GateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.*;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FlightBoardServiceTest {
+
+    private static final ZoneId ZONE = ZoneId.of("UTC");
+    private static final LocalDate DATE = LocalDate.of(2025, 6, 1);
+
+    @Mock
+    private FlightRepository flightRepository;
+    @Mock
+    private GateRepository gateRepository;
+    @Mock
+    private AirportService airportService;
+
+    private FlightBoardService boardService;
+    private Terminal terminal;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Clock clock = Clock.fixed(DATE.atTime(8, 0).atZone(ZONE).toInstant(), ZONE);
+        boardService = new FlightBoardService(flightRepository, gateRepository,
+                new TenantTimeZoneService(airportService, clock), clock);
+        terminal = new Terminal();
+        terminal.setId(1L);
+        terminal.setName("T1");
+    }
+
+    private Flight flight(long id, LocalTime departure, LocalTime arrival) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setTenantId("tenantA");
+        flight.setFlightNumber("W6" + id);
+        flight.setDepartureAirport("TIA");
+        flight.setArrivalAirport("FCO");
+        flight.setFlightDate(DATE);
+        flight.setDepartureTime(departure);
+        flight.setArrivalTime(arrival);
+        flight.setTerminal(terminal);
+        flight.setFlightStatus(FlightStatus.SCHEDULED);
+        return flight;
+    }
+
+    private List<Long> ids(List<BoardEntryDTO> entries) {
+        return entries.stream().map(BoardEntryDTO::getFlightId).toList();
+    }
+
+    @Test
+    void testRebuild_ServesDeparturesAndArrivalsWithinWindow() {
+        Flight soon = flight(1L, LocalTime.of(9, 0), LocalTime.of(10, 30));
+        Flight later = flight(2L, LocalTime.of(13, 0), LocalTime.of(14, 30));
+        Flight past = flight(3L, LocalTime.of(7, 0), LocalTime.of(8, 30));
+        Gate gate = new Gate();
+        gate.setGateNumber("A5");
+        gate.setFlight(soon);
+        when(flightRepository.findBoardFlights(DATE.minusDays(2), DATE.plusDays(3))).thenReturn(List.of(soon, later, past));
+        when(gateRepository.findAssignedForFlightDates(any(), any())).thenReturn(List.of(gate));
+
+        boardService.rebuild();
+
+        List<BoardEntryDTO> departures = boardService.getDepartures("tenantA", "tia", 1L, null);
+        assertEquals(List.of(1L), ids(departures));
+        assertEquals("A5", departures.get(0).getGateNumber());
+        assertEquals("T1", departures.get(0).getTerminalName());
+        assertEquals(List.of(1L, 2L), ids(boardService.getDepartures("tenantA", "TIA", null, Duration.ofHours(6))));
+        assertEquals(List.of(3L, 1L), ids(boardService.getArrivals("tenantA", "FCO", null)));
+        assertTrue(boardService.getDepartures("tenantA", "TIA", 2L, null).isEmpty());
+        assertTrue(boardService.getDepartures("tenantB", "TIA", null, null).isEmpty());
+    }
+
+    @Test
+    void testRead_UsesTheLocalTimeOfTheAirport() {
+        // 08:00 UTC is 10:00 in Tirana, so the 09:00 departure has already left there
+        Airport tirana = new Airport();
+        tirana.setCode("TIA");
+        tirana.setTimezone("Europe/Tirane");
+        when(airportService.getAllAirports("tenantA")).thenReturn(List.of(tirana));
+        when(flightRepository.findBoardFlights(any(), any())).thenReturn(List.of(
+                flight(1L, LocalTime.of(9, 0), LocalTime.of(10, 30)),
+                flight(2L, LocalTime.of(11, 0), LocalTime.of(12, 30))));
+
+        boardService.rebuild();
+
+        assertEquals(List.of(2L), ids(boardService.getDepartures("tenantA", "tia", null, null)));
+        assertEquals(List.of(1L, 2L), ids(boardService.getArrivals("tenantA", "FCO", null)));
+    }
+
+    @Test
+    void testEvents_UpdateBoardsIncrementally() {
+        when(flightRepository.findBoardFlights(any(), any())).thenReturn(List.of());
+        boardService.rebuild();
+
+        Flight flight = flight(1L, LocalTime.of(9, 0), LocalTime.of(10, 30));
+        when(flightRepository.findBoardFlightById(1L)).thenReturn(Optional.of(flight));
+        boardService.onFlightChanged(new FlightChangedEvent(1L, "tenantA"));
+        assertEquals(List.of(1L), ids(boardService.getDepartures("tenantA", "TIA", 1L, null)));
+
+        boardService.onStatusChanged(new FlightStatusChangedEvent(1L, "tenantA", FlightStatus.BOARDING));
+        assertEquals(FlightStatus.BOARDING, boardService.getDepartures("tenantA", "TIA", 1L, null).get(0).getFlightStatus());
+
+        Gate gate = new Gate();
+        gate.setGateNumber("B2");
+        gate.setFlight(flight);
+        when(gateRepository.findByFlightId(1L)).thenReturn(List.of(gate));
+        boardService.onGateAssignmentChanged(new GateAssignmentChangedEvent("tenantA", 7L, "B2", null, 1L));
+        assertEquals("B2", boardService.getDepartures("tenantA", "TIA", 1L, null).get(0).getGateNumber());
+
+        when(flightRepository.findBoardFlightById(1L)).thenReturn(Optional.empty());
+        boardService.onFlightChanged(new FlightChangedEvent(1L, "tenantA"));
+        assertTrue(boardService.getDepartures("tenantA", "TIA", 1L, null).isEmpty());
+        assertTrue(boardService.getArrivals("tenantA", "FCO", null).isEmpty());
+    }
+
+    @Test
+    void testFlightChange_OutsideDateWindowIsIgnored() {
+        when(flightRepository.findBoardFlights(any(), any())).thenReturn(List.of());
+        boardService.rebuild();
+        Flight flight = flight(1L, LocalTime.of(9, 0), LocalTime.of(10, 30));
+        flight.setFlightDate(DATE.plusDays(10));
+        when(flightRepository.findBoardFlightById(1L)).thenReturn(Optional.of(flight));
+
+        boardService.onFlightChanged(new FlightChangedEvent(1L, "tenantA"));
+
+        assertTrue(boardService.getDepartures("tenantA", "TIA", null, Duration.ofHours(24)).isEmpty());
+    }
+}
@@ -0,0 +1,101 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.dto.FlightUpdateDTO;
+import com.mbi_re.airport_management.event.FlightChangedEvent;
+import com.mbi_re.airport_management.event.FlightStatusChangedEvent;
+import com.mbi_re.airport_management.event.GateAssignmentChangedEvent;
+import com.mbi_re.airport_management.model.Flight;
+import com.mbi_re.airport_management.model.FlightStatus;
+import com.mbi_re.airport_management.model.Gate;
+import com.mbi_re.airport_management.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FlightBroadcastServiceTest {
+
+    private static final String TOPIC = "/topic/tenants/tenantA/flights";
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+    @Mock
+    private FlightRepository flightRepository;
+
+    private FlightBroadcastService broadcastService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        broadcastService = new FlightBroadcastService(messagingTemplate, flightRepository);
+    }
+
+    private List<FlightUpdateDTO> sent(int times) {
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(times)).convertAndSend(eq(TOPIC), captor.capture());
+        return captor.getAllValues().stream().map(FlightUpdateDTO.class::cast).toList();
+    }
+
+    @Test
+    void testStatusChange_SendsStatusDelta() {
+        broadcastService.onStatusChanged(new FlightStatusChangedEvent(1L, "tenantA", FlightStatus.BOARDING));
+
+        FlightUpdateDTO update = sent(1).get(0);
+        assertEquals(FlightUpdateDTO.Type.STATUS, update.getType());
+        assertEquals(1L, update.getFlightId());
+        assertEquals(FlightStatus.BOARDING, update.getChanges().get("flightStatus"));
+    }
+
+    @Test
+    void testFlightChange_SendsUpsertOrDelete() {
+        Gate gate = new Gate();
+        gate.setId(7L);
+        gate.setGateNumber("B2");
+        Flight flight = new Flight();
+        flight.setId(1L);
+        flight.setFlightNumber("W64001");
+        flight.setGate(gate);
+        when(flightRepository.findByIdAndTenantId(1L, "tenantA")).thenReturn(Optional.of(flight));
+        when(flightRepository.findByIdAndTenantId(2L, "tenantA")).thenReturn(Optional.empty());
+
+        broadcastService.onFlightChanged(new FlightChangedEvent(1L, "tenantA"));
+        broadcastService.onFlightChanged(new FlightChangedEvent(2L, "tenantA"));
+
+        List<FlightUpdateDTO> updates = sent(2);
+        assertEquals(FlightUpdateDTO.Type.UPSERT, updates.get(0).getType());
+        assertEquals("W64001", updates.get(0).getChanges().get("flightNumber"));
+        assertEquals("B2", updates.get(0).getChanges().get("gateNumber"));
+        assertEquals(FlightUpdateDTO.Type.DELETE, updates.get(1).getType());
+        assertEquals(2L, updates.get(1).getFlightId());
+    }
+
+    @Test
+    void testGateMove_ClearsPreviousFlightAndSetsNewOne() {
+        broadcastService.onGateAssignmentChanged(new GateAssignmentChangedEvent("tenantA", 7L, "B2", 1L, 2L));
+
+        List<FlightUpdateDTO> updates = sent(2);
+        assertEquals(1L, updates.get(0).getFlightId());
+        assertTrue(updates.get(0).getChanges().containsKey("gateId"));
+        assertNull(updates.get(0).getChanges().get("gateId"));
+        assertEquals(2L, updates.get(1).getFlightId());
+        assertEquals("B2", updates.get(1).getChanges().get("gateNumber"));
+    }
+
+    @Test
+    void testSendFailure_IsNotPropagated() {
+        doThrow(new MessageDeliveryException("closed")).when(messagingTemplate).convertAndSend(anyString(), any(Object.class));
+
+        assertDoesNotThrow(() ->
+                broadcastService.onStatusChanged(new FlightStatusChangedEvent(1L, "tenantA", FlightStatus.LANDED)));
+    }
+}
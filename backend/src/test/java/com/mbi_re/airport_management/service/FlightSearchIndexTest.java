@@ -0,0 +1,114 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.dto.FlightDTO;
+import com.mbi_re.airport_management.event.FlightChangedEvent;
+import com.mbi_re.airport_management.event.FlightSeatsSoldEvent;
+import com.mbi_re.airport_management.event.FlightStatusChangedEvent;
+import com.mbi_re.airport_management.model.FlightStatus;
+import com.mbi_re.airport_management.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FlightSearchIndexTest {
+
+    private static final ZoneId ZONE = ZoneId.of("UTC");
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+
+    private FlightRepository flightRepository;
+    private FlightSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        flightRepository = mock(FlightRepository.class);
+        Clock clock = Clock.fixed(TODAY.atTime(8, 0).atZone(ZONE).toInstant(), ZONE);
+        index = new FlightSearchIndex(flightRepository, "tenantA, tenantB", clock);
+        when(flightRepository.findSearchFlights("tenantA", TODAY.minusDays(1))).thenReturn(List.of(
+                flight(3L, "PRN", "IST", TODAY.plusDays(1), 9, 50),
+                flight(1L, "PRN", "IST", TODAY, 18, 50),
+                flight(2L, "prn", "ist", TODAY, 7, 1),
+                flight(4L, "PRN", "FCO", TODAY, 10, 50)));
+        when(flightRepository.findSearchFlights("tenantB", TODAY.minusDays(1))).thenReturn(List.of());
+        index.rebuild();
+    }
+
+    @Test
+    void testSearch_ReturnsRouteFlightsInDateOrderWithEnoughSeats() {
+        assertEquals(List.of(2L, 1L, 3L), ids(index.search("tenantA", "prn", "IST", TODAY, TODAY.plusDays(5), 1)));
+        assertEquals(List.of(1L), ids(index.search("tenantA", "PRN", "IST", TODAY, TODAY, 2)));
+        assertEquals(List.of(3L), ids(index.search("tenantA", "PRN", "IST", TODAY.plusDays(1), TODAY.plusDays(1), 1)));
+        assertTrue(index.search("tenantA", "IST", "PRN", TODAY, TODAY.plusDays(5), 1).isEmpty());
+    }
+
+    @Test
+    void testCovers_OnlyIndexedTenantsAndDates() {
+        assertTrue(index.covers("tenantA", TODAY.minusDays(1)));
+        assertFalse(index.covers("tenantA", TODAY.minusDays(2)));
+        assertTrue(index.covers("tenantB", TODAY));
+        assertFalse(index.covers("tenantC", TODAY));
+    }
+
+    @Test
+    void testOnFlightChanged_AddsMovesAndRemovesFlights() {
+        when(flightRepository.findSearchFlightById(5L)).thenReturn(Optional.of(flight(5L, "PRN", "IST", TODAY, 12, 10)));
+        index.onFlightChanged(new FlightChangedEvent(5L, "tenantA"));
+        assertEquals(List.of(2L, 5L, 1L), ids(index.search("tenantA", "PRN", "IST", TODAY, TODAY, 1)));
+
+        when(flightRepository.findSearchFlightById(1L)).thenReturn(Optional.of(flight(1L, "PRN", "FCO", TODAY, 6, 50)));
+        index.onFlightChanged(new FlightChangedEvent(1L, "tenantA"));
+        assertEquals(List.of(2L, 5L), ids(index.search("tenantA", "PRN", "IST", TODAY, TODAY, 1)));
+        assertEquals(List.of(1L, 4L), ids(index.search("tenantA", "PRN", "FCO", TODAY, TODAY, 1)));
+
+        when(flightRepository.findSearchFlightById(5L)).thenReturn(Optional.empty());
+        index.onFlightChanged(new FlightChangedEvent(5L, "tenantA"));
+        assertEquals(List.of(2L), ids(index.search("tenantA", "PRN", "IST", TODAY, TODAY, 1)));
+    }
+
+    @Test
+    void testOnFlightChanged_IgnoresTenantsWithoutIndex() {
+        index.onFlightChanged(new FlightChangedEvent(9L, "tenantC"));
+
+        verify(flightRepository, never()).findSearchFlightById(any());
+    }
+
+    @Test
+    void testOnSeatsSoldAndStatusChanged_ReplaceTheEntry() {
+        FlightDTO before = index.search("tenantA", "PRN", "IST", TODAY, TODAY, 1).get(1);
+        when(flightRepository.findSearchFlightById(1L)).thenReturn(Optional.of(flight(1L, "PRN", "IST", TODAY, 18, 1)));
+
+        index.onSeatsSold(new FlightSeatsSoldEvent(1L, "tenantA", 49));
+        // a repeated or already rebuilt sale does not count twice
+        index.onSeatsSold(new FlightSeatsSoldEvent(1L, "tenantA", 49));
+        index.onStatusChanged(new FlightStatusChangedEvent(1L, "tenantA", FlightStatus.BOARDING));
+
+        FlightDTO after = index.search("tenantA", "PRN", "IST", TODAY, TODAY, 1).get(1);
+        assertEquals(1, after.getAvailableSeat());
+        assertEquals(FlightStatus.BOARDING, after.getFlightStatus());
+        assertEquals(50, before.getAvailableSeat());
+        assertTrue(index.search("tenantA", "PRN", "IST", TODAY, TODAY, 2).isEmpty());
+    }
+
+    private static FlightDTO flight(Long id, String from, String to, LocalDate date, int hour, int seats) {
+        return FlightDTO.builder()
+                .id(id)
+                .flightNumber("FL" + id)
+                .departureAirport(from)
+                .arrivalAirport(to)
+                .flightDate(date)
+                .departureTime(LocalTime.of(hour, 0))
+                .availableSeat(seats)
+                .tenantId("tenantA")
+                .build();
+    }
+
+    private static List<Long> ids(List<FlightDTO> flights) {
+        return flights.stream().map(FlightDTO::getId).toList();
+    }
+}
@@ -0,0 +1,163 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.dto.FlightDTO;
+import com.mbi_re.airport_management.event.FlightChangedEvent;
+import com.mbi_re.airport_management.model.Flight;
+import com.mbi_re.airport_management.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.*;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FlightServiceTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+    @Mock
+    private SeatRepository seatRepository;
+    @Mock
+    private GateRepository gateRepository;
+    @Mock
+    private TerminalRepository terminalRepository;
+    @Mock
+    private AirlineRepository airlineRepository;
+    @Mock
+    private SeatInventory seatInventory;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private TenantTimeZoneService tenantTimeZoneService;
+    @Mock
+    private CacheManager cacheManager;
+    @Mock
+    private FlightSearchIndex flightSearchIndex;
+    @Mock
+    private FareCalendarService fareCalendarService;
+
+    @InjectMocks
+    private FlightService flightService;
+
+    @Captor
+    private ArgumentCaptor<Flight> flightCaptor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(flightRepository.save(any(Flight.class))).thenAnswer(invocation -> {
+            Flight flight = invocation.getArgument(0);
+            flight.setId(10L);
+            return flight;
+        });
+        ReflectionTestUtils.setField(flightService, "prewarmLead", Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testAddFlight_StoresLayoutWithoutCreatingSeats() {
+        FlightDTO result = flightService.addFlight(sampleFlight(14));
+
+        assertEquals(10L, result.getId());
+        assertEquals(14, result.getSeatCapacity());
+        assertEquals(6, result.getSeatsPerRow());
+        verify(flightRepository).save(flightCaptor.capture());
+        assertEquals(14, flightCaptor.getValue().getSeatCapacity());
+        verifyNoInteractions(seatRepository);
+        verify(eventPublisher).publishEvent(new FlightChangedEvent(10L, "tenantA"));
+        verify(fareCalendarService).evict("tenantA", "PRN", "IST", LocalDate.now().plusDays(1));
+    }
+
+    @Test
+    void testAddFlight_CustomLayout() {
+        FlightDTO dto = sampleFlight(100);
+        dto.setSeatCapacity(120);
+        dto.setSeatsPerRow(4);
+
+        FlightDTO result = flightService.addFlight(dto);
+
+        assertEquals(120, result.getSeatCapacity());
+        assertEquals(4, result.getSeatsPerRow());
+        assertEquals(100, result.getAvailableSeat());
+    }
+
+    @Test
+    void testAddFlight_CapacityTooLarge() {
+        assertThrows(IllegalArgumentException.class, () -> flightService.addFlight(sampleFlight(1001)));
+        verify(flightRepository, never()).save(any());
+    }
+
+    @Test
+    void testPrewarm_LoadsTomorrowShortlyBeforeLocalMidnight() {
+        Cache cache = new ConcurrentMapCache("flights_today_upcoming");
+        cache.put("tenantA_2025-05-31", List.of());
+        when(cacheManager.getCache("flights_today_upcoming")).thenReturn(cache);
+        when(tenantTimeZoneService.knownTenants()).thenReturn(Set.of("tenantA"));
+        when(tenantTimeZoneService.now("tenantA"))
+                .thenReturn(ZonedDateTime.of(2025, 6, 1, 23, 57, 0, 0, ZoneId.of("Europe/Tirane")));
+        when(flightRepository.findByFlightDateGreaterThanEqualAndTenantId(LocalDate.of(2025, 6, 2), "tenantA"))
+                .thenReturn(List.of());
+
+        assertEquals(1, flightService.prewarmTodayAndUpcoming());
+        assertNotNull(cache.get("tenantA_2025-06-02"));
+        assertNull(cache.get("tenantA_2025-05-31"));
+
+        // already warm
+        assertEquals(0, flightService.prewarmTodayAndUpcoming());
+        verify(flightRepository, times(1)).findByFlightDateGreaterThanEqualAndTenantId(any(), any());
+    }
+
+    @Test
+    void testPrewarm_WaitsUntilTheLeadBeforeMidnight() {
+        when(cacheManager.getCache("flights_today_upcoming")).thenReturn(new ConcurrentMapCache("flights_today_upcoming"));
+        when(tenantTimeZoneService.knownTenants()).thenReturn(Set.of("tenantA"));
+        when(tenantTimeZoneService.now("tenantA"))
+                .thenReturn(ZonedDateTime.of(2025, 6, 1, 23, 50, 0, 0, ZoneId.of("Europe/Tirane")));
+
+        assertEquals(0, flightService.prewarmTodayAndUpcoming());
+        verify(flightRepository, never()).findByFlightDateGreaterThanEqualAndTenantId(any(), any());
+    }
+
+    @Test
+    void testSearchFlights_UsesIndexWhenItCoversTheDates() {
+        LocalDate start = LocalDate.of(2025, 6, 1);
+        LocalDate end = start.plusDays(3);
+        List<FlightDTO> indexed = List.of(sampleFlight(10));
+        when(flightSearchIndex.covers("tenantA", start)).thenReturn(true);
+        when(flightSearchIndex.search("tenantA", "PRN", "IST", start, end, 2)).thenReturn(indexed);
+
+        assertSame(indexed, flightService.searchFlights("tenantA", "PRN", "IST", start, end, 2));
+        verify(flightRepository, never()).searchRoute(any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void testSearchFlights_FallsBackToDatabase() {
+        LocalDate start = LocalDate.of(2025, 6, 1);
+        when(flightRepository.searchRoute("tenantB", "PRN", "IST", start, start, 1)).thenReturn(List.of());
+
+        assertTrue(flightService.searchFlights("tenantB", "PRN", "IST", start, start, 1).isEmpty());
+        verify(flightSearchIndex, never()).search(any(), any(), any(), any(), any(), anyInt());
+    }
+
+    private FlightDTO sampleFlight(int seats) {
+        FlightDTO dto = new FlightDTO();
+        dto.setFlightNumber("FL100");
+        dto.setDepartureAirport("PRN");
+        dto.setArrivalAirport("IST");
+        dto.setDepartureTime(LocalTime.of(9, 0));
+        dto.setArrivalTime(LocalTime.of(11, 0));
+        dto.setFlightDate(LocalDate.now().plusDays(1));
+        dto.setAvailableSeat(seats);
+        dto.setPrice(120.0);
+        dto.setTenantId("tenantA");
+        return dto;
+    }
+}
@@ -0,0 +1,241 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.dto.FlightScheduleDTO;
+import com.mbi_re.airport_management.event.FlightChangedEvent;
+import com.mbi_re.airport_management.event.FlightStatusChangedEvent;
+import com.mbi_re.airport_management.model.FlightStatus;
+import com.mbi_re.airport_management.repository.FlightRepository;
+import com.mbi_re.airport_management.repository.SchedulerLockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.*;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FlightStatusServiceTest {
+
+    private static final ZoneId ZONE = ZoneId.of("UTC");
+    private static final LocalDate DATE = LocalDate.of(2025, 6, 1);
+
+    @Mock
+    private FlightRepository flightRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private SchedulerLockRepository lockRepository;
+
+    private MutableClock clock;
+    private FlightStatusService flightStatusService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        clock = new MutableClock(DATE.atTime(8, 0).atZone(ZONE).toInstant());
+        when(lockRepository.tryLock(anyString(), anyString(), anyLong())).thenReturn(1);
+        flightStatusService = new FlightStatusService(flightRepository, eventPublisher,
+                new ClusterJobRunner(lockRepository, "node-1"), 30_000, 1, clock);
+        when(flightRepository.updateStatus(anyCollection(), any(), anyCollection()))
+                .thenAnswer(invocation -> ((java.util.Collection<?>) invocation.getArgument(0)).size());
+    }
+
+    private FlightScheduleDTO schedule(long id, LocalTime departure, LocalTime arrival, FlightStatus status) {
+        return new FlightScheduleDTO(id, "tenantA", DATE, departure, arrival, status);
+    }
+
+    @Test
+    void testTransitions_FollowScheduleAndOnlyRunWhenDue() {
+        flightStatusService.track(schedule(1L, LocalTime.of(10, 0), LocalTime.of(12, 0), FlightStatus.SCHEDULED));
+
+        assertEquals(0, flightStatusService.processDue());
+
+        clock.set(DATE.atTime(9, 0));
+        assertEquals(1, flightStatusService.processDue());
+        verify(flightRepository).updateStatus(List.of(1L), FlightStatus.BOARDING, FlightStatusService.TERMINAL);
+
+        clock.set(DATE.atTime(9, 59));
+        assertEquals(0, flightStatusService.processDue());
+
+        clock.set(DATE.atTime(10, 0));
+        assertEquals(1, flightStatusService.processDue());
+        clock.set(DATE.atTime(12, 0));
+        assertEquals(1, flightStatusService.processDue());
+
+        verify(eventPublisher).publishEvent(new FlightStatusChangedEvent(1L, "tenantA", FlightStatus.IN_AIR));
+        verify(eventPublisher).publishEvent(new FlightStatusChangedEvent(1L, "tenantA", FlightStatus.LANDED));
+        assertEquals(0, flightStatusService.trackedFlights());
+    }
+
+    @Test
+    void testTrack_OutdatedStatusIsCorrectedImmediately() {
+        flightStatusService.track(schedule(1L, LocalTime.of(7, 30), LocalTime.of(9, 0), FlightStatus.UNKNOWN));
+
+        assertEquals(1, flightStatusService.processDue());
+        verify(flightRepository).updateStatus(List.of(1L), FlightStatus.IN_AIR, FlightStatusService.TERMINAL);
+    }
+
+    @Test
+    void testTrack_OvernightFlightLandsNextDay() {
+        flightStatusService.track(schedule(1L, LocalTime.of(7, 0), LocalTime.of(6, 0), FlightStatus.IN_AIR));
+
+        clock.set(DATE.atTime(23, 59));
+        assertEquals(0, flightStatusService.processDue());
+        clock.set(DATE.plusDays(1).atTime(6, 0));
+        assertEquals(1, flightStatusService.processDue());
+        verify(flightRepository).updateStatus(List.of(1L), FlightStatus.LANDED, FlightStatusService.TERMINAL);
+    }
+
+    @Test
+    void testProcessDue_BatchesFlightsPerStatus() {
+        flightStatusService.track(schedule(1L, LocalTime.of(9, 30), LocalTime.of(11, 0), FlightStatus.SCHEDULED));
+        flightStatusService.track(schedule(2L, LocalTime.of(9, 45), LocalTime.of(11, 0), FlightStatus.SCHEDULED));
+
+        clock.set(DATE.atTime(8, 50));
+        assertEquals(2, flightStatusService.processDue());
+
+        verify(flightRepository).updateStatus(argThat(ids -> ids.size() == 2), eq(FlightStatus.BOARDING), anyCollection());
+    }
+
+    @Test
+    void testTrack_ReplacedTransitionsLeaveTheQueue() {
+        flightStatusService.track(schedule(1L, LocalTime.of(10, 0), LocalTime.of(12, 0), FlightStatus.SCHEDULED));
+        flightStatusService.track(schedule(1L, LocalTime.of(10, 0), LocalTime.of(12, 0), FlightStatus.SCHEDULED));
+        assertEquals(1, flightStatusService.queuedTransitions());
+
+        flightStatusService.track(schedule(1L, LocalTime.of(11, 0), LocalTime.of(12, 0), FlightStatus.SCHEDULED));
+        assertEquals(1, flightStatusService.queuedTransitions());
+
+        flightStatusService.track(schedule(1L, LocalTime.of(11, 0), LocalTime.of(12, 0), FlightStatus.CANCELLED));
+        assertEquals(0, flightStatusService.queuedTransitions());
+        assertEquals(0, flightStatusService.trackedFlights());
+    }
+
+    @Test
+    void testReconcile_DropsQueuedTransitionsOfFlightsNoLongerActive() {
+        when(flightRepository.findActiveSchedules(any(), anyCollection())).thenReturn(List.of(
+                schedule(1L, LocalTime.of(10, 0), LocalTime.of(12, 0), FlightStatus.SCHEDULED),
+                schedule(2L, LocalTime.of(10, 0), LocalTime.of(12, 0), FlightStatus.SCHEDULED)));
+        flightStatusService.renewLeases();
+        flightStatusService.reconcile();
+        assertEquals(2, flightStatusService.queuedTransitions());
+
+        when(flightRepository.findActiveSchedules(any(), anyCollection())).thenReturn(List.of(
+                schedule(2L, LocalTime.of(10, 0), LocalTime.of(12, 0), FlightStatus.SCHEDULED)));
+        flightStatusService.reconcile();
+        assertEquals(1, flightStatusService.queuedTransitions());
+
+        when(lockRepository.tryLock(anyString(), anyString(), anyLong())).thenReturn(0);
+        flightStatusService.renewLeases();
+        assertEquals(0, flightStatusService.queuedTransitions());
+    }
+
+    @Test
+    void testRenewLeases_RunsWithoutReconcileAndReconcilesOnlyAcquiredShards() {
+        when(flightRepository.findActiveSchedules(any(), anyCollection())).thenReturn(List.of(
+                schedule(1L, LocalTime.of(10, 0), LocalTime.of(12, 0), FlightStatus.SCHEDULED)));
+
+        flightStatusService.renewLeases();
+        flightStatusService.renewLeases();
+
+        verify(lockRepository, times(2)).tryLock(FlightStatusService.SHARD_JOB, "node-1", 90_000);
+        verify(flightRepository, times(1)).findActiveSchedules(any(), anyCollection());
+        assertEquals(1, flightStatusService.trackedFlights());
+    }
+
+    @Test
+    void testStop_ReleasesShardLeases() {
+        when(flightRepository.findActiveSchedules(any(), anyCollection())).thenReturn(List.of(
+                schedule(1L, LocalTime.of(10, 0), LocalTime.of(12, 0), FlightStatus.SCHEDULED)));
+        flightStatusService.renewLeases();
+
+        flightStatusService.stop();
+
+        verify(lockRepository).unlock(FlightStatusService.SHARD_JOB, "node-1", 0);
+        assertEquals(0, flightStatusService.trackedFlights());
+        flightStatusService.onFlightChanged(new FlightChangedEvent(1L, "tenantA"));
+        verify(flightRepository, never()).findScheduleById(1L);
+    }
+
+    @Test
+    void testOnFlightChanged_DeletedOrCancelledFlightIsDropped() {
+        flightStatusService.renewLeases();
+        flightStatusService.track(schedule(1L, LocalTime.of(10, 0), LocalTime.of(12, 0), FlightStatus.SCHEDULED));
+        flightStatusService.track(schedule(2L, LocalTime.of(10, 0), LocalTime.of(12, 0), FlightStatus.SCHEDULED));
+        when(flightRepository.findScheduleById(1L)).thenReturn(Optional.empty());
+        when(flightRepository.findScheduleById(2L)).thenReturn(Optional.of(
+                schedule(2L, LocalTime.of(10, 0), LocalTime.of(12, 0), FlightStatus.CANCELLED)));
+
+        flightStatusService.onFlightChanged(new FlightChangedEvent(1L, "tenantA"));
+        flightStatusService.onFlightChanged(new FlightChangedEvent(2L, "tenantA"));
+
+        clock.set(DATE.atTime(9, 0));
+        assertEquals(0, flightStatusService.processDue());
+        assertEquals(0, flightStatusService.trackedFlights());
+        verify(flightRepository, never()).updateStatus(anyCollection(), any(), anyCollection());
+    }
+
+    @Test
+    void testReconcile_MarksHistoryLandedAndTracksActiveFlights() {
+        when(flightRepository.findActiveSchedules(DATE.minusDays(1), FlightStatusService.TERMINAL)).thenReturn(List.of(
+                schedule(1L, LocalTime.of(10, 0), LocalTime.of(12, 0), FlightStatus.SCHEDULED)));
+
+        flightStatusService.renewLeases();
+        flightStatusService.reconcile();
+
+        verify(flightRepository, times(2)).markLandedBefore(DATE.minusDays(1), FlightStatusService.TERMINAL);
+        assertEquals(1, flightStatusService.trackedFlights());
+    }
+
+    @Test
+    void testReconcile_TracksNothingWithoutShardLease() {
+        when(lockRepository.tryLock(eq(FlightStatusService.SHARD_JOB), anyString(), anyLong())).thenReturn(0);
+        when(flightRepository.findScheduleById(1L)).thenReturn(Optional.of(
+                schedule(1L, LocalTime.of(10, 0), LocalTime.of(12, 0), FlightStatus.SCHEDULED)));
+
+        flightStatusService.renewLeases();
+        flightStatusService.reconcile();
+        flightStatusService.onFlightChanged(new FlightChangedEvent(1L, "tenantA"));
+
+        assertEquals(0, flightStatusService.trackedFlights());
+        verify(flightRepository, never()).markLandedBefore(any(), anyCollection());
+        verify(flightRepository, never()).findActiveSchedules(any(), anyCollection());
+    }
+
+    /**
+     * Clock whose time is set by the test.
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(LocalDateTime time) {
+            this.instant = time.atZone(ZONE).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
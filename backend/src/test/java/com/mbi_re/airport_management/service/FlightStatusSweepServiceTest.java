@@ -0,0 +1,81 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.event.FlightStatusChangedEvent;
+import com.mbi_re.airport_management.model.FlightStatus;
+import com.mbi_re.airport_management.repository.FlightRepository;
+import com.mbi_re.airport_management.repository.SchedulerLockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.*;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FlightStatusSweepServiceTest {
+
+    private static final ZoneId ZONE = ZoneId.of("UTC");
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 8, 0);
+
+    @Mock
+    private FlightRepository flightRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private SchedulerLockRepository lockRepository;
+
+    private FlightStatusSweepService sweepService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Clock clock = Clock.fixed(NOW.atZone(ZONE).toInstant(), ZONE);
+        sweepService = new FlightStatusSweepService(flightRepository, eventPublisher,
+                new ClusterJobRunner(lockRepository, "node-1"), clock);
+        when(lockRepository.tryLock(anyString(), anyString(), anyLong())).thenReturn(1);
+        when(flightRepository.transitionStatus(any(), any(), any())).thenReturn(Map.of());
+    }
+
+    @Test
+    void testSweep_AppliesTransitionsFromLastToFirstStatus() {
+        assertEquals(0, sweepService.sweep());
+
+        Duration window = Duration.ofMinutes(60);
+        InOrder inOrder = inOrder(flightRepository);
+        inOrder.verify(flightRepository).transitionStatus(FlightStatus.LANDED, NOW, window);
+        inOrder.verify(flightRepository).transitionStatus(FlightStatus.IN_AIR, NOW, window);
+        inOrder.verify(flightRepository).transitionStatus(FlightStatus.BOARDING, NOW, window);
+        inOrder.verify(flightRepository).transitionStatus(FlightStatus.SCHEDULED, NOW, window);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testSweep_PublishesChangedFlights() {
+        when(flightRepository.transitionStatus(eq(FlightStatus.BOARDING), any(), any()))
+                .thenReturn(Map.of(1L, "tenantA", 2L, "tenantB"));
+        when(flightRepository.transitionStatus(eq(FlightStatus.LANDED), any(), any()))
+                .thenReturn(Map.of(3L, "tenantA"));
+
+        assertEquals(3, sweepService.sweep());
+
+        verify(eventPublisher).publishEvent(new FlightStatusChangedEvent(1L, "tenantA", FlightStatus.BOARDING));
+        verify(eventPublisher).publishEvent(new FlightStatusChangedEvent(2L, "tenantB", FlightStatus.BOARDING));
+        verify(eventPublisher).publishEvent(new FlightStatusChangedEvent(3L, "tenantA", FlightStatus.LANDED));
+    }
+
+    @Test
+    void testSweep_SkipsWhileAnotherInstanceHoldsTheLock() {
+        when(lockRepository.tryLock(eq(FlightStatusSweepService.JOB), anyString(), anyLong())).thenReturn(0);
+
+        assertEquals(0, sweepService.sweep());
+
+        verify(flightRepository, never()).transitionStatus(any(), any(), any());
+        verify(lockRepository, never()).unlock(anyString(), anyString(), anyLong());
+    }
+}
@@ -2,6 +2,7 @@ package com.mbi_re.airport_management.service;
 
 import com.mbi_re.airport_management.dto.GateDTO;
 import com.mbi_re.airport_management.dto.GateResponseDTO;
+import com.mbi_re.airport_management.event.GateAssignmentChangedEvent;
 import com.mbi_re.airport_management.model.Flight;
 import com.mbi_re.airport_management.model.Gate;
 import com.mbi_re.airport_management.model.Terminal;
@@ -11,6 +12,7 @@ import com.mbi_re.airport_management.repository.TerminalRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
@@ -23,6 +25,7 @@ class GateServiceTest {
     private GateRepository gateRepository;
     private TerminalRepository terminalRepository;
     private FlightRepository flightRepository;
+    private ApplicationEventPublisher eventPublisher;
     private GateService gateService;
 
     @BeforeEach
@@ -30,7 +33,8 @@ class GateServiceTest {
         gateRepository = mock(GateRepository.class);
         terminalRepository = mock(TerminalRepository.class);
         flightRepository = mock(FlightRepository.class);
-        gateService = new GateService(gateRepository, terminalRepository, flightRepository);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        gateService = new GateService(gateRepository, terminalRepository, flightRepository, eventPublisher);
     }
 
     @Test
@@ -70,6 +74,31 @@ class GateServiceTest {
         assertEquals("OPEN", savedGate.getStatus());
         assertEquals(terminal, savedGate.getTerminal());
         assertEquals(flight, savedGate.getFlight());
+        verify(eventPublisher).publishEvent(new GateAssignmentChangedEvent(tenantId, null, "A1", null, 2L));
+    }
+
+    @Test
+    void updateGate_MovingToAnotherFlight_PublishesAssignment() {
+        String tenantId = "tenant1";
+        Flight previous = new Flight();
+        previous.setId(2L);
+        Flight next = new Flight();
+        next.setId(3L);
+        Gate gate = new Gate();
+        gate.setId(1L);
+        gate.setGateNumber("A1");
+        gate.setTenantId(tenantId);
+        gate.setFlight(previous);
+        GateDTO dto = new GateDTO();
+        dto.setFlightId(3L);
+
+        when(gateRepository.findByIdAndTenantId(1L, tenantId)).thenReturn(Optional.of(gate));
+        when(flightRepository.findByIdAndTenantId(3L, tenantId)).thenReturn(Optional.of(next));
+        when(gateRepository.save(any(Gate.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        gateService.updateGate(1L, dto, tenantId);
+
+        verify(eventPublisher).publishEvent(new GateAssignmentChangedEvent(tenantId, 1L, "A1", 2L, 3L));
     }
 
     @Test
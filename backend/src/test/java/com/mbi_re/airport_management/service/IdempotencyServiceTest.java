@@ -0,0 +1,184 @@
+package com.mbi_re.airport_management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mbi_re.airport_management.dto.PaymentDTO;
+import com.mbi_re.airport_management.model.IdempotencyRecord;
+import com.mbi_re.airport_management.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+    @Mock
+    private ClusterJobRunner jobRunner;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        idempotencyService = new IdempotencyService(repository, objectMapper, jobRunner, Duration.ofHours(24), Duration.ofMinutes(10),
+                Duration.ofMinutes(2));
+        when(repository.claim(any(), any(), any(), any(), any(), any())).thenReturn(1);
+    }
+
+    private PaymentDTO payment(String reference) {
+        PaymentDTO dto = new PaymentDTO();
+        dto.setMethod("CARD");
+        dto.setAmount(new BigDecimal("99.50"));
+        dto.setReference(reference);
+        dto.setTenantId("tenantA");
+        return dto;
+    }
+
+    @Test
+    void testExecute_WithoutKeyAlwaysRuns() {
+        AtomicInteger calls = new AtomicInteger();
+
+        idempotencyService.execute(null, "tenantA", "payments", payment("R1"), PaymentDTO.class,
+                () -> { calls.incrementAndGet(); return payment("R1"); });
+        idempotencyService.execute(" ", "tenantA", "payments", payment("R1"), PaymentDTO.class,
+                () -> { calls.incrementAndGet(); return payment("R1"); });
+
+        assertEquals(2, calls.get());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testExecute_RetryReplaysResponseFromMemory() {
+        AtomicInteger calls = new AtomicInteger();
+
+        PaymentDTO first = idempotencyService.execute("key-1", "tenantA", "payments", payment("R1"), PaymentDTO.class,
+                () -> { calls.incrementAndGet(); return payment("R1"); });
+        PaymentDTO retry = idempotencyService.execute("key-1", "tenantA", "payments", payment("R1"), PaymentDTO.class,
+                () -> { calls.incrementAndGet(); return payment("R2"); });
+
+        assertEquals(1, calls.get());
+        assertEquals("R1", first.getReference());
+        assertEquals("R1", retry.getReference());
+        assertEquals(new BigDecimal("99.50"), retry.getAmount());
+        verify(repository, times(1)).claim(eq("tenantA"), eq("payments"), eq("key-1"), any(), any(), any());
+        verify(repository).complete(eq("tenantA"), eq("payments"), eq("key-1"), contains("\"reference\":\"R1\""),
+                any());
+    }
+
+    @Test
+    void testExecute_RetryOnOtherInstanceReplaysStoredResponse() throws Exception {
+        idempotencyService.execute("key-1", "tenantA", "payments", payment("R1"), PaymentDTO.class,
+                () -> payment("R1"));
+        IdempotencyService otherInstance =
+                new IdempotencyService(repository, objectMapper, jobRunner, Duration.ofHours(24), Duration.ofMinutes(10),
+                Duration.ofMinutes(2));
+        IdempotencyRecord stored = new IdempotencyRecord("tenantA", "payments", "key-1",
+                hashOf(payment("R1")), objectMapper.writeValueAsString(payment("R1")), LocalDateTime.now().plusHours(1));
+        when(repository.claim(any(), any(), any(), any(), any(), any())).thenReturn(0);
+        when(repository.findById(new IdempotencyRecord.Key("tenantA", "payments", "key-1")))
+                .thenReturn(Optional.of(stored));
+
+        PaymentDTO retry = otherInstance.execute("key-1", "tenantA", "payments", payment("R1"), PaymentDTO.class,
+                () -> fail("operation must not run again"));
+
+        assertEquals("R1", retry.getReference());
+    }
+
+    @Test
+    void testExecute_KeyReusedForDifferentRequest() {
+        idempotencyService.execute("key-1", "tenantA", "payments", payment("R1"), PaymentDTO.class,
+                () -> payment("R1"));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () ->
+                idempotencyService.execute("key-1", "tenantA", "payments", payment("R2"), PaymentDTO.class,
+                        () -> payment("R2")));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, ex.getStatusCode());
+    }
+
+    @Test
+    void testExecute_StillProcessingElsewhere() {
+        IdempotencyRecord pending = new IdempotencyRecord("tenantA", "payments", "key-1",
+                hashOf(payment("R1")), null, LocalDateTime.now().plusHours(1));
+        when(repository.claim(any(), any(), any(), any(), any(), any())).thenReturn(0);
+        when(repository.findById(any())).thenReturn(Optional.of(pending));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () ->
+                idempotencyService.execute("key-1", "tenantA", "payments", payment("R1"), PaymentDTO.class,
+                        () -> payment("R1")));
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+    }
+
+    @Test
+    void testExecute_FailureReleasesKey() {
+        assertThrows(RuntimeException.class, () ->
+                idempotencyService.execute("key-1", "tenantA", "payments", payment("R1"), PaymentDTO.class,
+                        () -> { throw new RuntimeException("Payment failed"); }));
+        PaymentDTO retry = idempotencyService.execute("key-1", "tenantA", "payments", payment("R1"),
+                PaymentDTO.class, () -> payment("R1"));
+
+        verify(repository).release("tenantA", "payments", "key-1");
+        assertEquals("R1", retry.getReference());
+    }
+
+    @Test
+    void testExecute_ClaimsWithProcessingLeaseAndExtendsOnCompletion() {
+        LocalDateTime before = LocalDateTime.now();
+
+        idempotencyService.execute("key-1", "tenantA", "payments", payment("R1"), PaymentDTO.class,
+                () -> payment("R1"));
+
+        verify(repository).claim(eq("tenantA"), eq("payments"), eq("key-1"), any(), any(),
+                argThat(expiresAt -> expiresAt.isBefore(before.plusMinutes(3))));
+        verify(repository).complete(eq("tenantA"), eq("payments"), eq("key-1"), any(),
+                argThat(expiresAt -> expiresAt.isAfter(before.plusHours(23))));
+    }
+
+    @Test
+    void testExecute_SerializationFailureReleasesKey() {
+        Object unserializable = new Object();
+
+        assertThrows(IllegalStateException.class, () ->
+                idempotencyService.execute("key-1", "tenantA", "payments", payment("R1"), Object.class,
+                        () -> unserializable));
+
+        verify(repository).release("tenantA", "payments", "key-1");
+        verify(repository, never()).complete(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testExecute_KeysAreScopedPerTenant() {
+        AtomicInteger calls = new AtomicInteger();
+
+        idempotencyService.execute("key-1", "tenantA", "payments", payment("R1"), PaymentDTO.class,
+                () -> { calls.incrementAndGet(); return payment("R1"); });
+        idempotencyService.execute("key-1", "tenantB", "payments", payment("R1"), PaymentDTO.class,
+                () -> { calls.incrementAndGet(); return payment("R1"); });
+
+        assertEquals(2, calls.get());
+    }
+
+    private String hashOf(Object request) {
+        try {
+            byte[] digest = java.security.MessageDigest.getInstance("SHA-256")
+                    .digest(objectMapper.writeValueAsBytes(request));
+            return java.util.HexFormat.of().formatHex(digest);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
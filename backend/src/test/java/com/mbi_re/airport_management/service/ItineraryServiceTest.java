@@ -0,0 +1,107 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.dto.FlightDTO;
+import com.mbi_re.airport_management.dto.ItineraryDTO;
+import com.mbi_re.airport_management.event.FlightChangedEvent;
+import com.mbi_re.airport_management.event.FlightSeatsSoldEvent;
+import com.mbi_re.airport_management.model.FlightStatus;
+import com.mbi_re.airport_management.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ItineraryServiceTest {
+
+    private static final ZoneId ZONE = ZoneId.of("UTC");
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+
+    private FlightRepository flightRepository;
+    private ItineraryService itineraryService;
+
+    @BeforeEach
+    void setUp() {
+        flightRepository = mock(FlightRepository.class);
+        Clock clock = Clock.fixed(TODAY.atTime(6, 0).atZone(ZONE).toInstant(), ZONE);
+        itineraryService = new ItineraryService(flightRepository, 45, 720, clock);
+        when(flightRepository.findSearchFlights("tenantA", TODAY.minusDays(1))).thenReturn(List.of(
+                flight(1L, "PRN", "IST", "08:00", "10:00", 100),
+                flight(2L, "IST", "JFK", "10:30", "14:00", 100),   // too short a connection after 1
+                flight(3L, "IST", "JFK", "11:00", "15:00", 100),
+                flight(4L, "PRN", "VIE", "07:00", "08:30", 100),
+                flight(5L, "VIE", "FRA", "09:30", "10:30", 100),
+                flight(6L, "FRA", "JFK", "11:30", "14:30", 100),
+                flight(7L, "PRN", "JFK", "06:00", "16:00", 100),
+                flight(8L, "PRN", "JFK", "12:00", "20:00", 0)));
+    }
+
+    @Test
+    void testSearch_FindsDirectAndConnectingItineraries() {
+        List<ItineraryDTO> itineraries = itineraryService.search("tenantA", "prn", "jfk", TODAY, 1, 2);
+
+        // 4-5-6 arrives first; 1-3 leaves later but arrives after it with fewer stops; 7 is direct
+        assertEquals(List.of(List.of(4L, 5L, 6L), List.of(1L, 3L), List.of(7L)), legs(itineraries));
+        ItineraryDTO first = itineraries.get(0);
+        assertEquals(2, first.getStops());
+        assertEquals(TODAY.atTime(7, 0), first.getDeparture());
+        assertEquals(TODAY.atTime(14, 30), first.getArrival());
+        assertEquals(450, first.getDurationMinutes());
+        assertEquals(300.0, first.getTotalPrice());
+    }
+
+    @Test
+    void testSearch_LimitsStops() {
+        assertEquals(List.of(List.of(1L, 3L), List.of(7L)), legs(itineraryService.search("tenantA", "PRN", "JFK", TODAY, 1, 1)));
+        assertEquals(List.of(List.of(7L)), legs(itineraryService.search("tenantA", "PRN", "JFK", TODAY, 1, 0)));
+    }
+
+    @Test
+    void testSearch_SkipsFlightsWithoutEnoughSeats() {
+        itineraryService.search("tenantA", "PRN", "JFK", TODAY, 1, 2);
+        itineraryService.onSeatsSold(new FlightSeatsSoldEvent(5L, "tenantA", 99));
+
+        assertEquals(List.of(List.of(1L, 3L), List.of(7L)), legs(itineraryService.search("tenantA", "PRN", "JFK", TODAY, 2, 2)));
+        verify(flightRepository, times(1)).findSearchFlights("tenantA", TODAY.minusDays(1));
+    }
+
+    @Test
+    void testOnFlightChanged_RebuildsTheTimetable() {
+        itineraryService.search("tenantA", "PRN", "JFK", TODAY, 1, 2);
+        itineraryService.onFlightChanged(new FlightChangedEvent(7L, "tenantA"));
+        itineraryService.search("tenantA", "PRN", "JFK", TODAY, 1, 2);
+
+        verify(flightRepository, times(2)).findSearchFlights("tenantA", TODAY.minusDays(1));
+    }
+
+    @Test
+    void testSearch_UnknownAirportOrPastDate() {
+        assertTrue(itineraryService.search("tenantA", "PRN", "XXX", TODAY, 1, 2).isEmpty());
+        assertTrue(itineraryService.search("tenantA", "PRN", "JFK", TODAY.minusDays(5), 1, 2).isEmpty());
+    }
+
+    private static FlightDTO flight(Long id, String from, String to, String departure, String arrival, int seats) {
+        return FlightDTO.builder()
+                .id(id)
+                .flightNumber("FL" + id)
+                .departureAirport(from)
+                .arrivalAirport(to)
+                .flightDate(TODAY)
+                .departureTime(LocalTime.parse(departure))
+                .arrivalTime(LocalTime.parse(arrival))
+                .availableSeat(seats)
+                .price(100)
+                .flightStatus(FlightStatus.SCHEDULED)
+                .tenantId("tenantA")
+                .build();
+    }
+
+    private static List<List<Long>> legs(List<ItineraryDTO> itineraries) {
+        return itineraries.stream()
+                .map(itinerary -> itinerary.getLegs().stream().map(FlightDTO::getId).toList())
+                .toList();
+    }
+}
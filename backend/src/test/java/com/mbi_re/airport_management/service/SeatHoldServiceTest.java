@@ -0,0 +1,222 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.dto.SeatHoldDTO;
+import com.mbi_re.airport_management.event.SeatHoldExpiredEvent;
+import com.mbi_re.airport_management.model.Flight;
+import com.mbi_re.airport_management.model.Seat;
+import com.mbi_re.airport_management.repository.FlightRepository;
+import com.mbi_re.airport_management.repository.SeatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SeatHoldServiceTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    @Mock
+    private SeatRepository seatRepository;
+    @Mock
+    private FlightRepository flightRepository;
+    @Mock
+    private ClusterJobRunner jobRunner;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    /** The seat table, shared by every node */
+    private final Map<Long, Seat> rows = new TreeMap<>();
+
+    private SeatInventory seatInventory;
+    private SeatHoldService seatHoldService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        seatInventory = new SeatInventory(seatRepository, flightRepository);
+        seatHoldService = new SeatHoldService(seatInventory, seatRepository, jobRunner, eventPublisher, TTL);
+
+        Flight flight = new Flight();
+        flight.setId(1L);
+        flight.setFlightNumber("FL123");
+        flight.setTenantId("tenantA");
+        flight.setSeatCapacity(12);
+        flight.setSeatsPerRow(6);
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
+
+        when(seatRepository.saveBookedSeats(anyList())).thenAnswer(invocation -> {
+            List<Seat> seats = invocation.getArgument(0);
+            List<Seat> lost = seats.stream().filter(seat -> rows.containsKey(seat.getId())).toList();
+            if (lost.isEmpty()) {
+                seats.forEach(seat -> rows.put(seat.getId(), seat));
+            }
+            return lost;
+        });
+        when(seatRepository.findByFlightIdAndTenantIdAndBookedTrue(1L, "tenantA"))
+                .thenAnswer(invocation -> new ArrayList<>(rows.values()));
+        when(seatRepository.findByHoldIdAndTenantId(anyString(), anyString())).thenAnswer(invocation ->
+                rows.values().stream()
+                        .filter(seat -> invocation.getArgument(0).equals(seat.getHoldId())
+                                && invocation.getArgument(1).equals(seat.getTenantId()))
+                        .toList());
+        when(seatRepository.findByHoldExpiresAtBefore(any())).thenAnswer(invocation ->
+                rows.values().stream()
+                        .filter(seat -> seat.getHoldExpiresAt() != null
+                                && seat.getHoldExpiresAt().isBefore(invocation.getArgument(0)))
+                        .toList());
+        when(seatRepository.confirmHold(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            List<Seat> held = heldRows(invocation.getArgument(0), invocation.getArgument(1)).stream()
+                    .filter(seat -> seat.getHoldExpiresAt().isAfter(invocation.getArgument(2)))
+                    .toList();
+            held.forEach(seat -> {
+                seat.setHoldId(null);
+                seat.setHoldExpiresAt(null);
+            });
+            return held.size();
+        });
+        when(seatRepository.deleteHold(anyString(), anyString())).thenAnswer(invocation -> {
+            List<Seat> held = heldRows(invocation.getArgument(0), invocation.getArgument(1));
+            held.forEach(seat -> rows.remove(seat.getId()));
+            return held.size();
+        });
+    }
+
+    @Test
+    void testHold_WritesHeldRows() {
+        SeatHoldDTO hold = seatHoldService.hold(1L, List.of("A1", "B2"), "tenantA");
+
+        assertNotNull(hold.getHoldId());
+        assertEquals(List.of("A1", "B2"), hold.getSeatNumbers());
+        assertTrue(isBooked(0));
+        assertTrue(isBooked(7));
+        assertEquals(2, rows.size());
+        assertTrue(rows.values().stream().allMatch(seat -> hold.getHoldId().equals(seat.getHoldId())
+                && seat.getHoldExpiresAt().equals(hold.getExpiresAt())));
+    }
+
+    @Test
+    void testHold_AllOrNothing() {
+        seatHoldService.hold(1L, List.of("A2"), "tenantA");
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () ->
+                seatHoldService.hold(1L, List.of("A1", "A2"), "tenantA"));
+
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        assertFalse(isBooked(0));
+    }
+
+    @Test
+    void testHold_SeatHeldOnOtherNodeIsConflict() {
+        rows.put(1000L, new Seat(1000L, "A1", flight(), "tenantA", true));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () ->
+                seatHoldService.hold(1L, List.of("A1", "A2"), "tenantA"));
+
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        assertFalse(isBooked(1));
+        assertEquals(1, rows.size());
+    }
+
+    @Test
+    void testGetHold_ReadsHoldCreatedOnOtherNode() {
+        SeatHoldDTO hold = otherNode().hold(1L, List.of("B2", "A1"), "tenantA");
+
+        SeatHoldDTO found = seatHoldService.getHold(hold.getHoldId(), "tenantA").orElseThrow();
+
+        assertEquals(1L, found.getFlightId());
+        assertEquals(List.of("A1", "B2"), found.getSeatNumbers());
+        assertEquals(hold.getExpiresAt(), found.getExpiresAt());
+        assertTrue(seatHoldService.getHold(hold.getHoldId(), "tenantB").isEmpty());
+    }
+
+    @Test
+    void testConfirm_KeepsSeatsBooked() {
+        SeatHoldDTO hold = otherNode().hold(1L, List.of("A1"), "tenantA");
+
+        seatHoldService.confirm(hold.getHoldId(), "tenantA");
+
+        Seat seat = rows.get(1000L);
+        assertNull(seat.getHoldId());
+        assertNull(seat.getHoldExpiresAt());
+        seatHoldService.sweepExpiredHolds(LocalDateTime.now().plus(TTL).plusMinutes(5));
+        assertTrue(rows.containsKey(1000L));
+        assertTrue(isBooked(0));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testExpire_ReleasesSeatsAndPublishesEvent() {
+        SeatHoldDTO hold = seatHoldService.hold(1L, List.of("A1"), "tenantA");
+
+        seatHoldService.expireHolds(System.currentTimeMillis() + TTL.toMillis() / 2);
+        assertTrue(isBooked(0));
+
+        seatHoldService.expireHolds(System.currentTimeMillis() + TTL.toMillis() + 2000);
+        assertFalse(isBooked(0));
+        assertTrue(rows.isEmpty());
+        verify(eventPublisher).publishEvent(new SeatHoldExpiredEvent(hold.getHoldId(), "tenantA"));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () ->
+                seatHoldService.confirm(hold.getHoldId(), "tenantA"));
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+    }
+
+    @Test
+    void testSweep_ExpiresHoldsLeftByStoppedNode() {
+        SeatHoldDTO hold = otherNode().hold(1L, List.of("A1", "A2"), "tenantA");
+        LocalDateTime afterExpiry = hold.getExpiresAt().plusMinutes(1);
+
+        seatHoldService.sweepExpiredHolds(hold.getExpiresAt().minusMinutes(1));
+        assertEquals(2, rows.size());
+
+        seatHoldService.sweepExpiredHolds(afterExpiry);
+        assertTrue(rows.isEmpty());
+        verify(eventPublisher).publishEvent(new SeatHoldExpiredEvent(hold.getHoldId(), "tenantA"));
+    }
+
+    @Test
+    void testRelease_OtherTenant() {
+        SeatHoldDTO hold = seatHoldService.hold(1L, List.of("A1"), "tenantA");
+
+        assertThrows(ResponseStatusException.class, () -> seatHoldService.release(hold.getHoldId(), "tenantB"));
+        assertTrue(seatHoldService.getHold(hold.getHoldId(), "tenantA").isPresent());
+
+        seatHoldService.release(hold.getHoldId(), "tenantA");
+        assertFalse(isBooked(0));
+        assertTrue(rows.isEmpty());
+        verify(eventPublisher).publishEvent(new SeatHoldExpiredEvent(hold.getHoldId(), "tenantA"));
+    }
+
+    private List<Seat> heldRows(String holdId, String tenantId) {
+        return rows.values().stream()
+                .filter(seat -> holdId.equals(seat.getHoldId()) && tenantId.equals(seat.getTenantId())
+                        && seat.getHoldExpiresAt() != null)
+                .toList();
+    }
+
+    private SeatHoldService otherNode() {
+        return new SeatHoldService(new SeatInventory(seatRepository, flightRepository), seatRepository, jobRunner,
+                mock(ApplicationEventPublisher.class), TTL);
+    }
+
+    private Flight flight() {
+        Flight flight = new Flight();
+        flight.setId(1L);
+        return flight;
+    }
+
+    private boolean isBooked(int ordinal) {
+        return seatInventory.get(1L, "tenantA").orElseThrow().isBooked(ordinal);
+    }
+}
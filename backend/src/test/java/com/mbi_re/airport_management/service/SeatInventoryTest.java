@@ -0,0 +1,161 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.model.Flight;
+import com.mbi_re.airport_management.model.Seat;
+import com.mbi_re.airport_management.repository.FlightRepository;
+import com.mbi_re.airport_management.repository.SeatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SeatInventoryTest {
+
+    @Mock
+    private SeatRepository seatRepository;
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Captor
+    private ArgumentCaptor<List<Seat>> seatsCaptor;
+
+    private SeatInventory seatInventory;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        seatInventory = new SeatInventory(seatRepository, flightRepository);
+
+        Flight flight = new Flight();
+        flight.setId(5L);
+        flight.setFlightNumber("FL500");
+        flight.setTenantId("tenantA");
+        flight.setSeatCapacity(600);
+        flight.setSeatsPerRow(6);
+        flight.setFlightDate(LocalDate.of(2025, 6, 1));
+        when(flightRepository.findById(5L)).thenReturn(Optional.of(flight));
+    }
+
+    @Test
+    void testGet_LoadsBookedSeatsOnce() {
+        Seat booked = new Seat(5003L, "A4", null, "tenantA", true);
+        when(seatRepository.findByFlightIdAndTenantIdAndBookedTrue(5L, "tenantA")).thenReturn(List.of(booked));
+
+        SeatInventory.FlightSeats seats = seatInventory.get(5L, "tenantA").orElseThrow();
+        seatInventory.get(5L, "tenantA");
+
+        assertTrue(seats.isBooked(3));
+        assertFalse(seats.isBooked(4));
+        verify(flightRepository, times(1)).findById(5L);
+        assertTrue(seatInventory.get(5L, "tenantB").isEmpty());
+    }
+
+    @Test
+    void testClaim_ConcurrentBuyersGetEachSeatOnce() throws Exception {
+        SeatInventory.FlightSeats seats = seatInventory.get(5L, "tenantA").orElseThrow();
+        int threads = 8;
+        AtomicInteger wins = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int ordinal = 0; ordinal < 600; ordinal++) {
+                    if (seatInventory.claim(seats, ordinal)) {
+                        wins.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(600, wins.get());
+        verify(seatRepository, times(600)).saveBookedSeats(seatsCaptor.capture());
+        Set<Long> persisted = new HashSet<>();
+        seatsCaptor.getAllValues().forEach(batch -> batch.forEach(seat -> persisted.add(seat.getId())));
+        assertEquals(600, persisted.size());
+    }
+
+    @Test
+    void testClaim_SeatBookedOnOtherNodeIsRefused() {
+        SeatInventory.FlightSeats seats = seatInventory.get(5L, "tenantA").orElseThrow();
+        when(seatRepository.saveBookedSeats(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(seatRepository.findByFlightIdAndTenantIdAndBookedTrue(5L, "tenantA"))
+                .thenReturn(List.of(new Seat(5000L, "A1", null, "tenantA", true),
+                        new Seat(5004L, "A5", null, "tenantA", true)));
+
+        assertFalse(seatInventory.claim(seats, 0));
+
+        assertTrue(seats.isBooked(0));
+        assertTrue(seats.isBooked(4));
+    }
+
+    @Test
+    void testClaim_DatabaseFailureFreesSeat() {
+        SeatInventory.FlightSeats seats = seatInventory.get(5L, "tenantA").orElseThrow();
+        when(seatRepository.saveBookedSeats(any())).thenThrow(new RuntimeException("db down"));
+
+        assertThrows(RuntimeException.class, () -> seatInventory.claim(seats, 0));
+
+        assertFalse(seats.isBooked(0));
+    }
+
+    @Test
+    void testPersistAll_SeatBookedOnOtherNodeIsConflict() {
+        SeatInventory.FlightSeats seats = seatInventory.get(5L, "tenantA").orElseThrow();
+        int[] ordinals = {0, 1};
+        seatInventory.reserveAll(seats, ordinals);
+        when(seatRepository.saveBookedSeats(any()))
+                .thenAnswer(invocation -> List.of(((List<Seat>) invocation.getArgument(0)).get(1)));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> seatInventory.persistAll(seats, ordinals));
+
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        assertEquals("Seat already booked: A2", ex.getReason());
+    }
+
+    @Test
+    void testEvict_ReloadsSeatMap() {
+        seatInventory.get(5L, "tenantA");
+
+        seatInventory.evict(5L);
+        seatInventory.get(5L, "tenantA");
+
+        verify(flightRepository, times(2)).findById(5L);
+    }
+
+    @Test
+    void testRefresh_DropsPastAndIdleFlights() {
+        seatInventory.get(5L, "tenantA");
+        long nowMs = System.currentTimeMillis();
+
+        seatInventory.refresh(LocalDate.of(2025, 6, 1), nowMs);
+        assertEquals(1, seatInventory.loadedFlights());
+        verify(seatRepository, times(2)).findByFlightIdAndTenantIdAndBookedTrue(5L, "tenantA");
+
+        seatInventory.refresh(LocalDate.of(2025, 6, 1), nowMs + SeatInventory.IDLE_TIMEOUT_MS + 1);
+        assertEquals(0, seatInventory.loadedFlights());
+
+        seatInventory.get(5L, "tenantA");
+        seatInventory.refresh(LocalDate.of(2025, 6, 2), nowMs);
+        assertEquals(0, seatInventory.loadedFlights());
+        verify(seatRepository, times(3)).findByFlightIdAndTenantIdAndBookedTrue(5L, "tenantA");
+    }
+}
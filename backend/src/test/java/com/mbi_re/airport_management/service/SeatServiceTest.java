@@ -3,10 +3,14 @@ package com.mbi_re.airport_management.service;
 import com.mbi_re.airport_management.dto.SeatDTO;
 import com.mbi_re.airport_management.model.Flight;
 import com.mbi_re.airport_management.model.Seat;
+import com.mbi_re.airport_management.repository.FlightRepository;
 import com.mbi_re.airport_management.repository.SeatRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.*;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,83 +22,131 @@ class SeatServiceTest {
 
     @Mock
     private SeatRepository seatRepository;
+    @Mock
+    private FlightRepository flightRepository;
 
-    @InjectMocks
     private SeatService seatService;
 
+    private Flight flight;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        seatService = new SeatService(new SeatInventory(seatRepository, flightRepository));
+
+        flight = new Flight();
+        flight.setId(1L);
+        flight.setFlightNumber("FL123");
+        flight.setTenantId("tenantA");
+        flight.setSeatCapacity(8);
+        flight.setSeatsPerRow(6);
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
     }
 
     @Test
     void testGetAvailableSeats() {
-        Seat seat1 = getSampleSeat(false);
-        Seat seat2 = getSampleSeat(false);
-        seat2.setId(2L);
-        seat2.setSeatNumber("2B");
-
-        when(seatRepository.findByFlightIdAndTenantIdAndBookedFalse(1L, "tenantA"))
-                .thenReturn(List.of(seat1, seat2));
+        when(seatRepository.findByFlightIdAndTenantIdAndBookedTrue(1L, "tenantA"))
+                .thenReturn(List.of(getBookedSeat(1002L, "A3")));
 
         List<SeatDTO> availableSeats = seatService.getAvailableSeats(1L, "tenantA");
 
-        assertEquals(2, availableSeats.size());
-        assertFalse(availableSeats.get(0).isBooked());
-        verify(seatRepository).findByFlightIdAndTenantIdAndBookedFalse(1L, "tenantA");
+        assertEquals(7, availableSeats.size());
+        assertTrue(availableSeats.stream().noneMatch(SeatDTO::isBooked));
+        assertTrue(availableSeats.stream().noneMatch(s -> s.getSeatNumber().equals("A3")));
+        assertEquals("A1", availableSeats.get(0).getSeatNumber());
+        assertEquals(1000L, availableSeats.get(0).getId());
+        assertEquals("B2", availableSeats.get(6).getSeatNumber());
+        verify(seatRepository).findByFlightIdAndTenantIdAndBookedTrue(1L, "tenantA");
     }
 
     @Test
     void testGetAllSeats() {
-        Seat seat = getSampleSeat(true);
+        when(seatRepository.findByFlightIdAndTenantIdAndBookedTrue(1L, "tenantA"))
+                .thenReturn(List.of(getBookedSeat(1006L, "B1")));
+
+        List<SeatDTO> seats = seatService.getAllSeats(1L, "tenantA");
+
+        assertEquals(8, seats.size());
+        assertEquals("B1", seats.get(6).getSeatNumber());
+        assertEquals(1006L, seats.get(6).getId());
+        assertTrue(seats.get(6).isBooked());
+        assertFalse(seats.get(0).isBooked());
+        assertEquals("FL123", seats.get(0).getFlightNumber());
+    }
 
-        when(seatRepository.findByFlightIdAndTenantId(1L, "tenantA")).thenReturn(List.of(seat));
+    @Test
+    void testGetAllSeats_LegacyFlightWithoutLayout() {
+        flight.setSeatCapacity(null);
+        flight.setSeatsPerRow(null);
+        flight.setAvailableSeat(12);
 
         List<SeatDTO> seats = seatService.getAllSeats(1L, "tenantA");
 
-        assertEquals(1, seats.size());
-        assertEquals("1A", seats.get(0).getSeatNumber());
-        verify(seatRepository).findByFlightIdAndTenantId(1L, "tenantA");
+        assertEquals(12, seats.size());
+        assertEquals("B6", seats.get(11).getSeatNumber());
     }
 
     @Test
-    void testMarkSeatAsUnavailable_Success() {
-        Seat seat = getSampleSeat(false);
-        Seat updatedSeat = getSampleSeat(true); // same seat but booked
+    void testGetAllSeats_UnknownFlight() {
+        when(flightRepository.findById(2L)).thenReturn(Optional.empty());
 
-        when(seatRepository.findByIdAndTenantId(1L, "tenantA")).thenReturn(Optional.of(seat));
-        when(seatRepository.save(any(Seat.class))).thenReturn(updatedSeat);
+        assertTrue(seatService.getAllSeats(2L, "tenantA").isEmpty());
+        verifyNoInteractions(seatRepository);
+    }
 
-        SeatDTO result = seatService.markSeatAsUnavailable(1L, "tenantA");
+    @Test
+    void testMarkSeatAsUnavailable_Success() {
+        SeatDTO result = seatService.markSeatAsUnavailable(1007L, "tenantA");
 
         assertTrue(result.isBooked());
-        assertEquals("1A", result.getSeatNumber());
-        verify(seatRepository).save(seat);
+        assertEquals("B2", result.getSeatNumber());
+        assertEquals(1007L, result.getId());
+        assertEquals(7, seatService.getAvailableSeats(1L, "tenantA").size());
+        verify(seatRepository).saveBookedSeats(argThat(seats -> seats.size() == 1 && seats.get(0).getId() == 1007L));
     }
 
     @Test
-    void testMarkSeatAsUnavailable_NotFound() {
-        when(seatRepository.findByIdAndTenantId(99L, "tenantA")).thenReturn(Optional.empty());
+    void testMarkSeatAsUnavailable_AlreadyBooked() {
+        seatService.markSeatAsUnavailable(1007L, "tenantA");
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () ->
+                seatService.markSeatAsUnavailable(1007L, "tenantA"));
+
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+    }
 
+    @Test
+    void testMarkSeatAsUnavailable_OtherTenant() {
+        RuntimeException ex = assertThrows(RuntimeException.class, () ->
+                seatService.markSeatAsUnavailable(1007L, "tenantB"));
+
+        assertEquals("Seat not found", ex.getMessage());
+    }
+
+    @Test
+    void testMarkSeatAsUnavailable_NotFound() {
         RuntimeException ex = assertThrows(RuntimeException.class, () ->
                 seatService.markSeatAsUnavailable(99L, "tenantA"));
 
         assertEquals("Seat not found", ex.getMessage());
     }
 
+    @Test
+    void testMarkSeatAsUnavailable_OutsideLayout() {
+        RuntimeException ex = assertThrows(RuntimeException.class, () ->
+                seatService.markSeatAsUnavailable(1008L, "tenantA"));
+
+        assertEquals("Seat not found", ex.getMessage());
+        verify(seatRepository, never()).saveBookedSeats(any());
+    }
 
-    private Seat getSampleSeat(boolean booked) {
+    private Seat getBookedSeat(Long id, String seatNumber) {
         Seat seat = new Seat();
-        seat.setId(1L);
-        seat.setSeatNumber("1A");
-        seat.setBooked(booked);
+        seat.setId(id);
+        seat.setSeatNumber(seatNumber);
+        seat.setBooked(true);
         seat.setTenantId("tenantA");
-
-        Flight flight = new Flight();
-        flight.setId(1L);
-        flight.setFlightNumber("FL123");
         seat.setFlight(flight);
-
         return seat;
     }
 }
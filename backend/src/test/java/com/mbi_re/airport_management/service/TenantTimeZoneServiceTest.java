@@ -0,0 +1,61 @@
+package com.mbi_re.airport_management.service;
+
+import com.mbi_re.airport_management.model.Airport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TenantTimeZoneServiceTest {
+
+    // 22:30 UTC on 1 June is already 2 June in Tokyo and still 1 June in New York
+    private static final Instant NOW = LocalDateTime.of(2025, 6, 1, 22, 30).toInstant(ZoneOffset.UTC);
+
+    private AirportService airportService;
+    private TenantTimeZoneService tenantTimeZoneService;
+
+    @BeforeEach
+    void setUp() {
+        airportService = mock(AirportService.class);
+        tenantTimeZoneService = new TenantTimeZoneService(airportService, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void testToday_UsesTheAirportTimeZone() {
+        when(airportService.getAllAirports("tokyo")).thenReturn(List.of(airport(1L, "Asia/Tokyo")));
+        when(airportService.getAllAirports("nyc")).thenReturn(List.of(airport(1L, "America/New_York")));
+
+        assertEquals(LocalDate.of(2025, 6, 2), tenantTimeZoneService.today("tokyo"));
+        assertEquals(LocalDate.of(2025, 6, 1), tenantTimeZoneService.today("nyc"));
+        assertEquals(Set.of("tokyo", "nyc"), tenantTimeZoneService.knownTenants());
+    }
+
+    @Test
+    void testZoneOf_PrefersTheFirstAirport() {
+        when(airportService.getAllAirports("tenantA"))
+                .thenReturn(List.of(airport(7L, "Asia/Tokyo"), airport(3L, "Europe/Tirane")));
+
+        assertEquals(ZoneId.of("Europe/Tirane"), tenantTimeZoneService.zoneOf("tenantA"));
+    }
+
+    @Test
+    void testZoneOf_FallsBackToServerZone() {
+        when(airportService.getAllAirports("none")).thenReturn(List.of());
+        when(airportService.getAllAirports("invalid")).thenReturn(List.of(airport(1L, "Mars/Olympus")));
+
+        assertEquals(ZoneOffset.UTC, tenantTimeZoneService.zoneOf("none"));
+        assertEquals(ZoneOffset.UTC, tenantTimeZoneService.zoneOf("invalid"));
+    }
+
+    private Airport airport(Long id, String timezone) {
+        Airport airport = new Airport();
+        airport.setId(id);
+        airport.setTimezone(timezone);
+        return airport;
+    }
+}
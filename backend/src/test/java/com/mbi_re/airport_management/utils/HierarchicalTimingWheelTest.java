@@ -0,0 +1,49 @@
+package com.mbi_re.airport_management.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void testExpiresEachItemAtItsDeadline() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(10, 8, 3, 0);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            // covers all levels and deadlines beyond the top level (10 * 8^3 = 5120 ms)
+            long deadline = 1 + random.nextInt(20_000);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+
+        int expired = 0;
+        for (long now = 0; now <= 20_010; now += 10) {
+            for (long deadline : wheel.advance(now)) {
+                assertTrue(deadline <= now, "expired too early");
+                assertTrue(deadline > now - 10, "expired too late");
+                expired++;
+            }
+        }
+        assertEquals(deadlines.size(), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testOverdueAndCoarseAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 64, 2, 5000);
+        wheel.schedule("past", 1000);
+        wheel.schedule("soon", 7000);
+        wheel.schedule("later", 600_000);
+
+        assertEquals(List.of("past"), wheel.advance(5000));
+        assertEquals(List.of("soon"), wheel.advance(60_000));
+        assertTrue(wheel.advance(599_999).isEmpty());
+        assertEquals(List.of("later"), wheel.advance(600_000));
+    }
+}
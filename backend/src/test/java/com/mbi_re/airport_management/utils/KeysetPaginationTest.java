@@ -0,0 +1,119 @@
+package com.mbi_re.airport_management.utils;
+
+import com.mbi_re.airport_management.dto.CursorPageDTO;
+import com.mbi_re.airport_management.model.Payment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class KeysetPaginationTest {
+
+    private final KeysetPagination<Payment> pagination = new KeysetPagination<>(Payment::getId)
+            .field("paymentTime", Payment::getPaymentTime, LocalDateTime::parse)
+            .field("amount", Payment::getAmount, BigDecimal::new);
+
+    private JpaSpecificationExecutor<Payment> repository;
+    private FluentQuery.FetchableFluentQuery<Payment> query;
+    private List<Payment> rows;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        repository = mock(JpaSpecificationExecutor.class);
+        query = mock(FluentQuery.FetchableFluentQuery.class);
+        rows = new ArrayList<>();
+        when(query.sortBy(any())).thenReturn(query);
+        when(query.limit(anyInt())).thenReturn(query);
+        when(query.all()).thenAnswer(invocation -> rows);
+        when(repository.findBy(any(Specification.class), any())).thenAnswer(invocation ->
+                ((Function<FluentQuery.FetchableFluentQuery<Payment>, Object>) invocation.getArgument(1)).apply(query));
+    }
+
+    private Payment payment(long id, LocalDateTime time) {
+        Payment payment = new Payment();
+        payment.setId(id);
+        payment.setPaymentTime(time);
+        payment.setAmount(BigDecimal.TEN);
+        return payment;
+    }
+
+    @Test
+    void testPage_FetchesOneExtraRowAndReturnsCursor() {
+        LocalDateTime time = LocalDateTime.of(2025, 6, 1, 10, 30);
+        for (long id = 1; id <= 3; id++) {
+            rows.add(payment(id, time.plusMinutes(id)));
+        }
+
+        CursorPageDTO<Long> page = pagination.page(repository, KeysetPagination.tenant("tenantA"),
+                "paymentTime", "desc", null, 2, Payment::getId);
+
+        assertEquals(List.of(1L, 2L), page.getItems());
+        assertTrue(page.isHasMore());
+        assertNotNull(page.getNextCursor());
+        verify(query).limit(3);
+        verify(query).sortBy(Sort.by(Sort.Direction.DESC, "paymentTime").and(Sort.by(Sort.Direction.DESC, "id")));
+    }
+
+    @Test
+    void testPage_LastPageHasNoCursor() {
+        rows.add(payment(1, null));
+
+        CursorPageDTO<Long> page = pagination.page(repository, KeysetPagination.tenant("tenantA"),
+                null, null, null, null, Payment::getId);
+
+        assertEquals(List.of(1L), page.getItems());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+        verify(query).limit(KeysetPagination.DEFAULT_LIMIT + 1);
+        verify(query).sortBy(Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    @Test
+    void testPage_CursorIsAcceptedForSameSortOnly() {
+        rows.add(payment(1, null));
+        rows.add(payment(2, null));
+        String cursor = pagination.page(repository, KeysetPagination.tenant("tenantA"),
+                "paymentTime", "asc", null, 1, Payment::getId).getNextCursor();
+
+        assertDoesNotThrow(() -> pagination.page(repository, KeysetPagination.tenant("tenantA"),
+                "paymentTime", "asc", cursor, 1, Payment::getId));
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () ->
+                pagination.page(repository, KeysetPagination.tenant("tenantA"), "amount", "asc", cursor, 1, Payment::getId));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    }
+
+    @Test
+    void testPage_RejectsInvalidInput() {
+        Specification<Payment> filter = KeysetPagination.tenant("tenantA");
+
+        assertThrows(ResponseStatusException.class, () ->
+                pagination.page(repository, filter, "reference", null, null, null, Payment::getId));
+        assertThrows(ResponseStatusException.class, () ->
+                pagination.page(repository, filter, null, "sideways", null, null, Payment::getId));
+        assertThrows(ResponseStatusException.class, () ->
+                pagination.page(repository, filter, null, null, "not-a-cursor", null, Payment::getId));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testPage_CapsLimit() {
+        pagination.page(repository, KeysetPagination.tenant("tenantA"), null, null, null, 10_000, Payment::getId);
+
+        verify(query).limit(KeysetPagination.MAX_LIMIT + 1);
+    }
+}